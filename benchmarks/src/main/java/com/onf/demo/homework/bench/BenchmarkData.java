@@ -0,0 +1,102 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Identifier;
+import com.onf.demo.homework.struct.Location;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+
+/**
+ * Builds {@link Driver} and {@link Task} records for benchmarks from a seeded {@link Random}, so
+ * that every run of a scenario works over exactly the same data. Identifiers come from the same
+ * stream as coordinates, so even hash ordering is repeatable.
+ */
+@SuppressWarnings({"WeakerAccess", "MagicNumber"})
+final class BenchmarkData {
+  // -- internals -- //
+  /**
+   * Southern edge of the area tasks are placed in, roughly San Francisco.
+   */
+  static final double minLatitude = 37.70;
+
+  /**
+   * Northern edge of the area tasks are placed in.
+   */
+  static final double maxLatitude = 37.83;
+
+  /**
+   * Western edge of the area tasks are placed in.
+   */
+  static final double minLongitude = -122.52;
+
+  /**
+   * Eastern edge of the area tasks are placed in.
+   */
+  static final double maxLongitude = -122.35;
+
+  private BenchmarkData() { /* disallow instantiation */ }
+
+  // -- static API -- //
+  /**
+   * @param random Seeded source of randomness.
+   * @return Identifier drawn from the random stream.
+   */
+  static @NotNull Identifier identifier(final @NotNull Random random) {
+    return Identifier.of(random.nextLong(), random.nextLong());
+  }
+
+  /**
+   * @param random Seeded source of randomness.
+   * @param index Position of the driver, used to name it.
+   * @return Driver with an identifier drawn from the random stream.
+   */
+  static @NotNull Driver driver(final @NotNull Random random, final int index) {
+    return new Driver(identifier(random), "Driver " + index);
+  }
+
+  /**
+   * @param random Seeded source of randomness.
+   * @return Task at a point drawn uniformly from the benchmark area.
+   */
+  static @NotNull Task task(final @NotNull Random random) {
+    final double latitude = minLatitude + random.nextDouble() * (maxLatitude - minLatitude);
+    final double longitude = minLongitude + random.nextDouble() * (maxLongitude - minLongitude);
+    final UUID locationId = new UUID(random.nextLong(), random.nextLong());
+    final Location location = new Location(locationId.toString(), null, Geopoint.of(latitude, longitude));
+    return new Task(identifier(random), location);
+  }
+
+  /**
+   * @param random Seeded source of randomness.
+   * @param count Number of drivers to build.
+   * @return Drivers, in the order they were drawn.
+   */
+  static @NotNull List<Driver> drivers(final @NotNull Random random, final int count) {
+    final List<Driver> drivers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      drivers.add(driver(random, i));
+    }
+    return drivers;
+  }
+
+  /**
+   * @param random Seeded source of randomness.
+   * @param count Number of tasks to build.
+   * @return Tasks, in the order they were drawn.
+   */
+  static @NotNull List<Task> tasks(final @NotNull Random random, final int count) {
+    final List<Task> tasks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      tasks.add(task(random));
+    }
+    return tasks;
+  }
+}
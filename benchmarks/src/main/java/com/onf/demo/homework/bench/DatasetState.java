@@ -0,0 +1,106 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Seeded benchmark scenario: a set of drivers, a set of tasks to spread over them, and a pool of
+ * extra tasks to probe resolvers with. The default parameters are the 1k, 10k and 100k driver
+ * scenarios from the README, at 25 tasks each.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("WeakerAccess")
+public class DatasetState {
+  // -- internals -- //
+  /**
+   * Number of probe tasks to cycle through, so no single point decides a resolve benchmark.
+   */
+  static final int probeCount = 4096;
+
+  /**
+   * Number of drivers in the scenario.
+   */
+  @Param({"1000", "10000", "100000"})
+  public int drivers;
+
+  /**
+   * Number of tasks in the scenario, per driver.
+   */
+  @Param({"25"})
+  public int tasksPerDriver;
+
+  /**
+   * Seed the scenario is drawn from.
+   */
+  @Param({"1"})
+  public long seed;
+
+  /**
+   * Drivers in the scenario.
+   */
+  List<Driver> driverList;
+
+  /**
+   * Tasks in the scenario, in the order they are drawn.
+   */
+  List<Task> taskList;
+
+  /**
+   * Drivers and tasks, wrapped up for {@link com.onf.demo.homework.manager.TaskManager}.
+   */
+  SampleDataset dataset;
+
+  /**
+   * Tasks that aren't part of the scenario, for resolvers to find a place for.
+   */
+  Task[] probes;
+
+  /**
+   * Position of the next probe to hand out.
+   */
+  int nextProbe;
+
+  // -- setup -- //
+  /**
+   * Draw the scenario from its seed, then let subclasses build on it.
+   */
+  @Setup(Level.Trial)
+  public void setupDataset() {
+    final Random random = new Random(seed);
+    this.driverList = BenchmarkData.drivers(random, drivers);
+    this.taskList = BenchmarkData.tasks(random, drivers * tasksPerDriver);
+    this.dataset = SampleDataset.of(taskList, driverList);
+    this.probes = BenchmarkData.tasks(random, probeCount).toArray(new Task[probeCount]);
+    this.nextProbe = 0;
+    this.prepare();
+  }
+
+  /**
+   * Build any further state on top of the drawn scenario. Runs once per trial, after the
+   * scenario has been drawn.
+   */
+  void prepare() {
+    // nothing further by default
+  }
+
+  // -- private API -- //
+  /**
+   * @return Next probe task, cycling through the pool.
+   */
+  Task nextProbe() {
+    final Task probe = probes[nextProbe];
+    nextProbe = (nextProbe + 1) % probeCount;
+    return probe;
+  }
+}
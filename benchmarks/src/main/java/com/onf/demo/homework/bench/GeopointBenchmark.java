@@ -0,0 +1,100 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the per-point kernels every resolve leans on: distance between two tasks, and geopoint
+ * hashing and equality. None of them should allocate once warm, so under <pre>-prof gc</pre> each
+ * should report a <pre>gc.alloc.rate.norm</pre> of zero bytes per operation.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@SuppressWarnings("WeakerAccess")
+public class GeopointBenchmark {
+  /**
+   * A pair of tasks to measure between, plus an equal copy of one of their geopoints.
+   */
+  @State(Scope.Thread)
+  public static class Points {
+    /**
+     * Seed the points are drawn from.
+     */
+    @Param({"1"})
+    public long seed;
+
+    /**
+     * Task to measure from.
+     */
+    Task start;
+
+    /**
+     * Task to measure to.
+     */
+    Task finish;
+
+    /**
+     * Geopoint equal to, but not the same object as, the start task's.
+     */
+    Geopoint startCopy;
+
+    /**
+     * Draw the points from their seed.
+     */
+    @Setup
+    public void setupPoints() {
+      final Random random = new Random(seed);
+      this.start = BenchmarkData.task(random);
+      this.finish = BenchmarkData.task(random);
+      final Geopoint point = start.getLocation().getGeopoint();
+      this.startCopy = Geopoint.of(point.getLatitudeValue(), point.getLongitudeValue());
+    }
+  }
+
+  /**
+   * @param points Tasks to measure between.
+   * @return Distance between them.
+   */
+  @Benchmark
+  public double calculateDistanceForPoints(final Points points) {
+    return Tasklist.calculateDistanceForPoints(points.start, points.finish);
+  }
+
+  /**
+   * @param points Tasks to hash.
+   * @return Hash of the start task's geopoint.
+   */
+  @Benchmark
+  public int geopointHashCode(final Points points) {
+    return points.start.getLocation().getGeopoint().hashCode();
+  }
+
+  /**
+   * @param points Tasks to compare.
+   * @return Whether the start task's geopoint equals its copy, which it always does.
+   */
+  @Benchmark
+  public boolean geopointEquals(final Points points) {
+    return points.start.getLocation().getGeopoint().equals(points.startCopy);
+  }
+}
@@ -0,0 +1,52 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.manager.BlindTaskManager;
+import com.onf.demo.homework.manager.TaskManager;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+
+
+/**
+ * Benchmark scenario with every driver's route already loaded, so resolve, export and report
+ * benchmarks can start from a full board without paying for a full
+ * {@link TaskManager#setupWithDataset} first.
+ *
+ * <p>Routes are loaded directly: driver <pre>i</pre> gets the <pre>i</pre>th run of
+ * <pre>tasksPerDriver</pre> tasks, in draw order. This takes time linear in the number of tasks,
+ * where resolving each task would take time proportional to tasks times drivers.</p>
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("WeakerAccess")
+public class LoadedBoardState extends DatasetState {
+  // -- internals -- //
+  /**
+   * Manager with every route loaded.
+   */
+  TaskManager manager;
+
+  /**
+   * Blind manager, imported from {@link #manager}.
+   */
+  BlindTaskManager blindManager;
+
+  // -- setup -- //
+  /**
+   * Load every route onto a fresh manager, and import the board into a blind manager.
+   */
+  @Override
+  void prepare() {
+    final SampleDataset driversOnly = SampleDataset.of(Collections.<Task>emptyList(), driverList);
+    this.manager = TaskManager.setupWithDataset(driversOnly);
+    for (int i = 0; i < driverList.size(); i++) {
+      final Driver driver = driverList.get(i);
+      manager.assignToDriver(driver, taskList.subList(i * tasksPerDriver, (i + 1) * tasksPerDriver));
+    }
+    this.blindManager = new BlindTaskManager(manager);
+  }
+}
@@ -0,0 +1,93 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures reading a fully-loaded board back out: {@link com.onf.demo.homework.manager.TaskManager#export()},
+ * and the sorted report, both built in memory and streamed to a writer.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("WeakerAccess")
+public class ReportBenchmark {
+  /**
+   * Writer that throws away everything written to it, so streaming is measured without I/O.
+   */
+  static final class DiscardingWriter extends Writer {
+    @Override
+    public void write(final char[] buffer, final int offset, final int length) {
+      // discard
+    }
+
+    @Override
+    public void write(final String value, final int offset, final int length) {
+      // discard
+    }
+
+    @Override
+    public Writer append(final CharSequence value) {
+      return this;
+    }
+
+    @Override
+    public void flush() {
+      // nothing to flush
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+  }
+
+  /**
+   * Shared writer for streamed reports.
+   */
+  static final Writer discard = new DiscardingWriter();
+
+  /**
+   * @param state Loaded board.
+   * @return Exported board, so the work isn't optimized away.
+   */
+  @Benchmark
+  public Map<Driver, LinkedHashSet<Task>> export(final LoadedBoardState state) {
+    return state.manager.export();
+  }
+
+  /**
+   * @param state Loaded board.
+   * @return Report, so the work isn't optimized away.
+   */
+  @Benchmark
+  public StringBuilder report(final LoadedBoardState state) {
+    return state.manager.report();
+  }
+
+  /**
+   * @param state Loaded board.
+   * @throws IOException Never, since the writer discards everything.
+   */
+  @Benchmark
+  public void streamReport(final LoadedBoardState state) throws IOException {
+    state.manager.report(discard);
+  }
+}
@@ -0,0 +1,53 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.manager.BlindTaskManager;
+import com.onf.demo.homework.manager.TaskManager;
+import com.onf.demo.homework.struct.Driver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures single resolves against a fully-loaded board: where {@link TaskManager} would put one
+ * more task, and where {@link BlindTaskManager} would. Both cost appending the task to the end of
+ * each route; {@link BlindTaskManager} scans its cached route summaries instead of the manager's
+ * own columns. Neither assigns the task, so the board is the same for every call.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("WeakerAccess")
+public class ResolveBenchmark {
+  /**
+   * Resolve the next probe task with {@link TaskManager}, which appends to routes.
+   *
+   * @param state Loaded board.
+   * @return Chosen driver, so the work isn't optimized away.
+   */
+  @Benchmark
+  public Driver resolveLowestCostAssignment(final LoadedBoardState state) {
+    return state.manager.resolveLowestCostAssignment(state.nextProbe());
+  }
+
+  /**
+   * Resolve the next probe task with {@link BlindTaskManager}, which scans an append cost over
+   * its cached route summaries.
+   *
+   * @param state Loaded board.
+   * @return Chosen driver, so the work isn't optimized away.
+   */
+  @Benchmark
+  public Driver blindResolveLowestCostAssignment(final LoadedBoardState state) {
+    return state.blindManager.resolveLowestCostAssignment(state.nextProbe());
+  }
+}
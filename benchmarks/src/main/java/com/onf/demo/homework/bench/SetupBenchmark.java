@@ -0,0 +1,38 @@
+package com.onf.demo.homework.bench;
+
+
+import com.onf.demo.homework.manager.TaskManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures {@link TaskManager#setupWithDataset}, which resolves and assigns every task in the
+ * scenario one at a time. This is the full run the README asks to be timed, so each operation is
+ * long; iterations are kept few.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@SuppressWarnings("WeakerAccess")
+public class SetupBenchmark {
+  /**
+   * Build a manager from the scenario, resolving every task.
+   *
+   * @param state Scenario to build from.
+   * @return Manager, so the work isn't optimized away.
+   */
+  @Benchmark
+  public TaskManager setupWithDataset(final DatasetState state) {
+    return TaskManager.setupWithDataset(state.dataset);
+  }
+}
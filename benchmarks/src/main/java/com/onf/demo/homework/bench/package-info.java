@@ -0,0 +1,9 @@
+/**
+ * JMH benchmarks for the {@link com.onf.demo.homework.manager.TaskManager} homework problem, run
+ * over seeded scenarios of 1k, 10k and 100k drivers.
+ *
+ * @author sam
+ * @since 1.2
+ */
+
+package com.onf.demo.homework.bench;
@@ -1,9 +1,11 @@
 package com.onf.demo.homework;
 
 
+import com.onf.demo.homework.collection.RouteSnapshot;
 import com.onf.demo.homework.collection.Tasklist;
 import com.onf.demo.homework.manager.BlindTaskManager;
 import com.onf.demo.homework.manager.TaskManager;
+import com.onf.demo.homework.metrics.AssignerMetrics;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import org.jetbrains.annotations.NotNull;
@@ -14,8 +16,9 @@ import java.util.Map;
 
 
 /**
- * Specifies a common interface between {@link TaskManager} and {@link BlindTaskManager},
- * where {@link Task} records may be assigned to {@link Driver} {@link Tasklist}s.
+ * Specifies a common interface between {@link TaskManager}, {@link BlindTaskManager} and
+ * {@link com.onf.demo.homework.manager.InsertionTaskManager}, where {@link Task} records may be
+ * assigned to {@link Driver} {@link Tasklist}s.
  */
 public interface TaskAssigner {
   /**
@@ -36,6 +39,16 @@ public interface TaskAssigner {
    */
   void assignToDriver(final @NotNull Driver driver, final @NotNull Iterable<Task> tasks);
 
+  /**
+   * Resolve and assign each of a stream of {@link Task} records, in order. The outcome is the
+   * same as calling {@link #resolveLowestCostAssignment(Task)} and then
+   * {@link #assignToDriver(Driver, Task)} for each task in turn, but implementations may
+   * evaluate upcoming tasks ahead of time to get there faster.
+   *
+   * @param tasks Tasks to assign, in order.
+   */
+  void assignAll(final @NotNull Iterable<Task> tasks);
+
   /**
    * Resolve the lowest-cost {@link Driver} assignment possible for a given {@link Task}.
    *
@@ -59,4 +72,21 @@ public interface TaskAssigner {
    * @return Current task-board, sans pre-computed weighting data.
    */
   @NotNull Map<Driver, LinkedHashSet<Task>> export();
+
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route. Unlike {@link #export()}, routes
+   * are not copied where the implementation can avoid it, and the snapshot stays as it is while
+   * more tasks are assigned.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @NotNull Map<Driver, RouteSnapshot> snapshot();
+
+  /**
+   * Metrics this assigner reports resolves, assigns and board size to. Shared by every assigner
+   * of the same kind, via {@link com.onf.demo.homework.metrics.MetricsRegistry#global()}.
+   *
+   * @return Metrics for this kind of assigner.
+   */
+  @NotNull AssignerMetrics metrics();
 }
@@ -1,15 +1,28 @@
 package com.onf.demo.homework.cli;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.logging.Logger;
 
 
 /**
  * Logging facade.
+ *
+ * <p>Messages can be given as a template, with a <pre>{}</pre> for each of up to three arguments,
+ * which is only turned into a string if the message will actually be logged. Hot paths should
+ * log this way, so that logging costs a flag check when it is off. Once {@link #_enableAsync()} is
+ * called, messages are handed to a background thread through an {@link AsyncAppender}, so logging
+ * never blocks the caller either.</p>
  */
 @SuppressWarnings({"UtilityClassCanBeEnum", "UtilityClass", "WeakerAccess"})
 public final class AppLogger {
+  // -- defaults -- //
+  /**
+   * Default number of messages the asynchronous ring buffer holds.
+   */
+  public final static int defaultAsyncCapacity = 8192;
+
   // -- internals -- //
   /**
    * App-wide logger.
@@ -19,12 +32,17 @@ public final class AppLogger {
   /**
    * Logging status.
    */
-  private static boolean _loggingEnabled = false;
+  private static volatile boolean _loggingEnabled = false;
 
   /**
    * Verbose logging status.
    */
-  private static boolean _verboseEnabled = false;
+  private static volatile boolean _verboseEnabled = false;
+
+  /**
+   * Background appender, if logging is asynchronous.
+   */
+  private static volatile @Nullable AsyncAppender _appender = null;
 
   // -- disable/enable logging -- //
   /**
@@ -50,7 +68,96 @@ public final class AppLogger {
     _verboseEnabled = verbose;
   }
 
+  /**
+   * Write log messages from a background thread, through a ring buffer of the default size.
+   */
+  public static void _enableAsync() {
+    _enableAsync(defaultAsyncCapacity);
+  }
+
+  /**
+   * Write log messages from a background thread, through a ring buffer of the given size. If the
+   * buffer fills up, messages are dropped rather than blocking, and the number dropped is logged.
+   *
+   * @param capacity Number of messages the ring buffer holds.
+   */
+  public static synchronized void _enableAsync(final int capacity) {
+    if (_appender != null)
+      return;
+    final AsyncAppender appender = new AsyncAppender(logging, capacity);
+    appender.start();
+    _appender = appender;
+  }
+
+  /**
+   * Write out any queued messages, and go back to writing log messages on the calling thread.
+   */
+  public static synchronized void _disableAsync() {
+    final AsyncAppender appender = _appender;
+    if (appender == null)
+      return;
+    _appender = null;
+    appender.stop();
+  }
+
+  // -- static API -- //
+  /**
+   * Fill in a message template, replacing each <pre>{}</pre> with the next argument.
+   *
+   * @param template Message template.
+   * @param argCount Number of arguments to fill in; with none, the template is returned as-is.
+   * @param first First argument.
+   * @param second Second argument.
+   * @param third Third argument.
+   * @return Formatted message.
+   */
+  static @NotNull String format(final @NotNull String template, final int argCount,
+                                final @Nullable Object first, final @Nullable Object second,
+                                final @Nullable Object third) {
+    if (argCount == 0)
+      return template;
+    final StringBuilder builder = new StringBuilder(template.length() + 32 * argCount);
+    int start = 0;
+    int used = 0;
+    while (used < argCount) {
+      final int placeholder = template.indexOf("{}", start);
+      if (placeholder < 0)
+        break;
+      builder.append(template, start, placeholder)
+             .append(used == 0 ? first : used == 1 ? second : third);
+      start = placeholder + 2;
+      used++;
+    }
+    return builder.append(template, start, template.length()).toString();
+  }
+
+  /**
+   * Log a message, on this thread or through the background appender.
+   */
+  private static void emit(final @NotNull String phase, final @NotNull String template, final int argCount,
+                           final @Nullable Object first, final @Nullable Object second, final @Nullable Object third) {
+    final AsyncAppender appender = _appender;
+    if (appender != null)
+      appender.offer(phase, template, argCount, first, second, third);
+    else
+      logging.info("[" + phase + "]: " + format(template, argCount, first, second, third));
+  }
+
   // -- public API -- //
+  /**
+   * @return Whether log messages are being emitted, to guard work done only to build a message.
+   */
+  public static boolean isEnabled() {
+    return _loggingEnabled;
+  }
+
+  /**
+   * @return Whether verbose log messages are being emitted.
+   */
+  public static boolean isVerboseEnabled() {
+    return _loggingEnabled && _verboseEnabled;
+  }
+
   /**
    * Say something from some part of the app, as a log statement.
    *
@@ -60,7 +167,55 @@ public final class AppLogger {
   public static void say(final @NotNull String phase,
                          final @NotNull String message) {
     if (_loggingEnabled)
-      logging.info("[" + phase + "]: " + message);
+      emit(phase, message, 0, null, null, null);
+  }
+
+  /**
+   * Say something from some part of the app, formatting the message only if it will be logged.
+   *
+   * @param phase Where we are during processing.
+   * @param template What we want to say, with a <pre>{}</pre> for the argument.
+   * @param arg Argument to fill in.
+   */
+  public static void say(final @NotNull String phase,
+                         final @NotNull String template,
+                         final @Nullable Object arg) {
+    if (_loggingEnabled)
+      emit(phase, template, 1, arg, null, null);
+  }
+
+  /**
+   * Say something from some part of the app, formatting the message only if it will be logged.
+   *
+   * @param phase Where we are during processing.
+   * @param template What we want to say, with a <pre>{}</pre> for each argument.
+   * @param first First argument to fill in.
+   * @param second Second argument to fill in.
+   */
+  public static void say(final @NotNull String phase,
+                         final @NotNull String template,
+                         final @Nullable Object first,
+                         final @Nullable Object second) {
+    if (_loggingEnabled)
+      emit(phase, template, 2, first, second, null);
+  }
+
+  /**
+   * Say something from some part of the app, formatting the message only if it will be logged.
+   *
+   * @param phase Where we are during processing.
+   * @param template What we want to say, with a <pre>{}</pre> for each argument.
+   * @param first First argument to fill in.
+   * @param second Second argument to fill in.
+   * @param third Third argument to fill in.
+   */
+  public static void say(final @NotNull String phase,
+                         final @NotNull String template,
+                         final @Nullable Object first,
+                         final @Nullable Object second,
+                         final @Nullable Object third) {
+    if (_loggingEnabled)
+      emit(phase, template, 3, first, second, third);
   }
 
   /**
@@ -72,7 +227,48 @@ public final class AppLogger {
   public static void verbose(final @NotNull String phase,
                              final @NotNull String message) {
     if (_loggingEnabled && _verboseEnabled)
-      logging.info("[" + phase + "]: " + message);
+      emit(phase, message, 0, null, null, null);
+  }
+
+  /**
+   * Say something verbose from some part of the app, formatting the message only if it will be
+   * logged.
+   *
+   * @param phase Where we are during processing.
+   * @param template What we want to say, with a <pre>{}</pre> for the argument.
+   * @param arg Argument to fill in.
+   */
+  public static void verbose(final @NotNull String phase,
+                             final @NotNull String template,
+                             final @Nullable Object arg) {
+    if (_loggingEnabled && _verboseEnabled)
+      emit(phase, template, 1, arg, null, null);
+  }
+
+  /**
+   * Say something verbose from some part of the app, formatting the message only if it will be
+   * logged.
+   *
+   * @param phase Where we are during processing.
+   * @param template What we want to say, with a <pre>{}</pre> for each argument.
+   * @param first First argument to fill in.
+   * @param second Second argument to fill in.
+   */
+  public static void verbose(final @NotNull String phase,
+                             final @NotNull String template,
+                             final @Nullable Object first,
+                             final @Nullable Object second) {
+    if (_loggingEnabled && _verboseEnabled)
+      emit(phase, template, 2, first, second, null);
+  }
+
+  /**
+   * Wait for every message logged so far to be written out, if logging is asynchronous.
+   */
+  public static void flush() {
+    final AsyncAppender appender = _appender;
+    if (appender != null)
+      appender.flush();
   }
 
   /**
@@ -95,6 +291,7 @@ public final class AppLogger {
    * @param doThrow Whether to throw an exception or straight-up exit.
    */
   public static void exit(final String message, boolean doThrow) {
+    flush();  // so the error comes after everything logged before it
     logging.severe(message);
     if (doThrow) throw new IllegalStateException(message);
     else System.exit(1);
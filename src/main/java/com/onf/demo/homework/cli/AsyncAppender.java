@@ -0,0 +1,259 @@
+package com.onf.demo.homework.cli;
+
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+
+/**
+ * Hands log messages off to a background thread, through a bounded ring buffer, so threads that
+ * log never wait on the logger. Any number of threads may log; one thread formats messages and
+ * writes them out, in the order they were claimed.
+ *
+ * <p>Each slot in the ring carries a sequence number. A logging thread claims the next slot with
+ * one compare-and-set on the tail, fills it in, and publishes it by advancing the slot's sequence;
+ * the writer thread takes slots in order once they are published. Slots are allocated up front and
+ * templates are only formatted by the writer, so logging allocates nothing. If the ring is full,
+ * the message is dropped rather than blocking, and the writer reports how many were lost.</p>
+ */
+final class AsyncAppender {
+  // -- internals -- //
+  /**
+   * How long the writer sleeps when there is nothing to write.
+   */
+  private static final long idleNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /**
+   * Logger messages are written to.
+   */
+  final @NotNull Logger logger;
+
+  /**
+   * Ring size minus one, for masking positions into slots.
+   */
+  final int mask;
+
+  /**
+   * Sequence of each slot: equal to a position when the slot is free to claim for it, and one
+   * past it once the message for that position is published.
+   */
+  final AtomicLongArray sequences;
+
+  /**
+   * Message slots: phase, template, number of arguments, and up to three arguments each.
+   */
+  final String[] phases;
+  final String[] templates;
+  final int[] argCounts;
+  final Object[] args;
+
+  /**
+   * Next position to claim.
+   */
+  final AtomicLong tail;
+
+  /**
+   * Next position to write out. Only advanced by the writer.
+   */
+  final AtomicLong head;
+
+  /**
+   * Number of messages dropped because the ring was full.
+   */
+  final AtomicLong dropped;
+
+  /**
+   * Number of dropped messages already reported.
+   */
+  long reportedDrops;
+
+  /**
+   * Background writer, once started.
+   */
+  @Nullable Thread writer;
+
+  /**
+   * Whether the writer should keep running.
+   */
+  volatile boolean running;
+
+  // -- constructor -- //
+  /**
+   * Create an appender, without starting its writer.
+   *
+   * @param logger Logger to write messages to.
+   * @param capacity Number of messages the ring holds, rounded up to a power of two.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  AsyncAppender(final @NotNull Logger logger, final int capacity) {
+    if (capacity < 1)
+      throw new IllegalArgumentException("Cannot log through a ring of fewer than one message.");
+    final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+    this.logger = logger;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++)
+      this.sequences.set(i, i);
+    this.phases = new String[size];
+    this.templates = new String[size];
+    this.argCounts = new int[size];
+    this.args = new Object[size * 3];
+    this.tail = new AtomicLong();
+    this.head = new AtomicLong();
+    this.dropped = new AtomicLong();
+    this.reportedDrops = 0L;
+    this.writer = null;
+    this.running = false;
+  }
+
+  // -- API -- //
+  /**
+   * Queue a message, without waiting. Safe to call from any thread.
+   *
+   * @param phase Where we are during processing.
+   * @param template Message, with a <pre>{}</pre> for each argument.
+   * @param argCount Number of arguments.
+   * @param first First argument, if any.
+   * @param second Second argument, if any.
+   * @param third Third argument, if any.
+   * @return Whether the message was queued; <pre>false</pre> if the ring was full and it was
+   *         dropped.
+   */
+  boolean offer(final @NotNull String phase, final @NotNull String template, final int argCount,
+                final @Nullable Object first, final @Nullable Object second, final @Nullable Object third) {
+    long position;
+    while (true) {
+      position = tail.get();
+      final long available = sequences.get((int)position & mask) - position;
+      if (available == 0L) {
+        if (tail.compareAndSet(position, position + 1))
+          break;
+      } else if (available < 0L) {
+        dropped.incrementAndGet();
+        return false;
+      }
+      // otherwise another thread claimed this position first: try the next one
+    }
+    final int slot = (int)position & mask;
+    phases[slot] = phase;
+    templates[slot] = template;
+    argCounts[slot] = argCount;
+    args[slot * 3] = first;
+    args[slot * 3 + 1] = second;
+    args[slot * 3 + 2] = third;
+    sequences.lazySet(slot, position + 1);
+    return true;
+  }
+
+  /**
+   * Write out every published message. Must only be called from one thread at a time: the writer,
+   * once started.
+   *
+   * @return Number of messages written.
+   */
+  int drain() {
+    int written = 0;
+    long position = head.get();
+    while (true) {
+      final int slot = (int)position & mask;
+      if (sequences.get(slot) != position + 1)
+        break;
+      final String message = AppLogger.format(templates[slot], argCounts[slot],
+                                              args[slot * 3], args[slot * 3 + 1], args[slot * 3 + 2]);
+      final String phase = phases[slot];
+      phases[slot] = null;
+      templates[slot] = null;
+      args[slot * 3] = null;
+      args[slot * 3 + 1] = null;
+      args[slot * 3 + 2] = null;
+      sequences.lazySet(slot, position + mask + 1);
+      head.lazySet(++position);
+      logger.info("[" + phase + "]: " + message);
+      written++;
+    }
+
+    final long drops = dropped.get();
+    if (drops != reportedDrops) {
+      logger.warning("[AppLogger]: Dropped " + (drops - reportedDrops) + " messages, logging faster than they could be written.");
+      reportedDrops = drops;
+    }
+    return written;
+  }
+
+  /**
+   * Start the background writer.
+   */
+  synchronized void start() {
+    if (writer != null)
+      return;
+    running = true;
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (running) {
+          if (drain() == 0)
+            LockSupport.parkNanos(idleNanos);
+        }
+        drain();
+      }
+    }, "AppLogger");
+    thread.setDaemon(true);
+    thread.start();
+    writer = thread;
+  }
+
+  /**
+   * Wait for every message queued so far to be written out.
+   */
+  void flush() {
+    final long target = tail.get();
+    final Thread thread;
+    synchronized (this) {
+      thread = writer;
+      if (thread == null) {
+        drain();  // no writer to wait on
+        return;
+      }
+    }
+    while (head.get() < target && thread.isAlive())
+      LockSupport.parkNanos(idleNanos);
+  }
+
+  /**
+   * Write out everything queued, and stop the background writer.
+   */
+  synchronized void stop() {
+    final Thread thread = writer;
+    if (thread == null)
+      return;
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writer = null;
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of messages the ring holds.
+   */
+  int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * @return Number of messages dropped so far because the ring was full.
+   */
+  long getDropped() {
+    return dropped.get();
+  }
+}
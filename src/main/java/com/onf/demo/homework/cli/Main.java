@@ -2,14 +2,24 @@
 package com.onf.demo.homework.cli;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onf.demo.homework.manager.TaskManager;
+import com.onf.demo.homework.metrics.MetricsRegistry;
+import com.onf.demo.homework.util.BinaryDataset;
+import com.onf.demo.homework.util.DatasetReader;
+import com.onf.demo.homework.util.DatasetSpec;
 import com.onf.demo.homework.util.FileUtil;
+import com.onf.demo.homework.util.GeneratedDataset;
+import com.onf.demo.homework.util.Hotspots;
 import com.onf.demo.homework.util.KnownDataset;
 import com.onf.demo.homework.util.SampleDataset;
 import org.apache.commons.cli.*;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 
 /**
@@ -25,14 +35,88 @@ public final class Main {
 
   static {
     AppLogger._enableLogging();  // in a CLI context, we want to emit logs
+    AppLogger._enableAsync();  // ...without holding up the work being logged
   }
 
   /**
-   * Main entrypoint function for the command-line tool.
+   * @param option Long name of the option, for error messages.
+   * @param noun What the option counts, for error messages.
+   * @param value Value passed to the option.
+   * @return Value, as a positive number.
+   * @throws ParseException If the value isn't a positive whole number.
+   */
+  static int parsePositiveIntOption(final String option,
+                                    final String noun,
+                                    final String value) throws ParseException {
+    final int count;
+    try {
+      count = Integer.parseInt(value);
+    } catch (NumberFormatException err) {
+      throw new ParseException("Option --" + option + " takes a number of " + noun + ", not '" + value + "'.");
+    }
+    if (count < 1)
+      throw new ParseException("Option --" + option + " must be at least 1.");
+    return count;
+  }
+
+  /**
+   * @param value Value passed to the <pre>--seed</pre> option.
+   * @return Seed to generate the dataset from.
+   * @throws ParseException If the value isn't a whole number.
+   */
+  static long parseSeedOption(final String value) throws ParseException {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException err) {
+      throw new ParseException("Option --seed takes a whole number, not '" + value + "'.");
+    }
+  }
+
+  /**
+   * @param cmd Parsed command line.
+   * @return Spec to generate a dataset from, sized, skewed and seeded by <pre>--drivers</pre>,
+   *         <pre>--hotspots</pre> and <pre>--seed</pre>, if passed.
+   * @throws ParseException If the driver count, hotspot count or seed isn't a valid number.
+   */
+  static DatasetSpec generatedSpec(final CommandLine cmd) throws ParseException {
+    DatasetSpec spec = DatasetSpec.defaultSpec();
+    if (cmd.hasOption("drivers")) {
+      final int drivers = parsePositiveIntOption("drivers", "drivers", cmd.getOptionValue("drivers"));
+      spec = spec.withNumberOfDrivers(drivers);
+    }
+    if (cmd.hasOption("hotspots")) {
+      final int hotspots = parsePositiveIntOption("hotspots", "hotspots", cmd.getOptionValue("hotspots"));
+      spec = spec.withHotspots(Hotspots.of(hotspots));
+    }
+    if (cmd.hasOption("seed")) {
+      final long seed = parseSeedOption(cmd.getOptionValue("seed"));
+      AppLogger.say("CLI", "Generating sample dataset from seed " + seed + "...");
+      return spec.withSeed(seed);
+    }
+    AppLogger.say("CLI", "Generating sample dataset...");
+    return spec;
+  }
+
+  /**
+   * Main entrypoint function for the command-line tool. Queued log messages are always written
+   * before returning, even if the run fails, since they lead up to the failure.
    *
    * @param args Command line arguments.
    */
   public static void main(final String[] args) throws ParseException, IOException {
+    try {
+      run(args);
+    } finally {
+      AppLogger.flush();
+    }
+  }
+
+  /**
+   * Parse the command line and run the tool.
+   *
+   * @param args Command line arguments.
+   */
+  private static void run(final String[] args) throws ParseException, IOException {
     // create Options object
     Options options = new Options();
 
@@ -53,26 +137,84 @@ public final class Main {
 
     // add dataset option
     Option dataset = Option.builder("d")
-                         .hasArg(false)
+                         .hasArg(true)
                          .longOpt("dataset")
+                         .argName("name")
                          .desc("named dataset to use")
-                         .optionalArg(true)
                          .type(KnownDataset.class)
                          .build();
     options.addOption(dataset);
 
     // add datafile option
     Option datafile = Option.builder("f")
-                           .hasArg(false)
+                           .hasArg(true)
                            .longOpt("datafile")
-                           .desc("data file to use, either -d or -f may be passed")
-                           .optionalArg(true)
+                           .argName("file")
+                           .desc("data file to use, as JSON on disk or in the JAR, or binary on disk; either -d or -f may be passed")
                            .build();
     options.addOption(datafile);
 
+    // add top-k report option
+    Option top = Option.builder("k")
+                       .hasArg(true)
+                       .longOpt("top")
+                       .argName("count")
+                       .desc("only report the given number of most-loaded drivers")
+                       .build();
+    options.addOption(top);
+
+    // add convert option
+    Option convert = Option.builder("c")
+                           .hasArg(true)
+                           .longOpt("convert")
+                           .argName("file")
+                           .desc("write the dataset to a binary data file, instead of running the simulation")
+                           .build();
+    options.addOption(convert);
+
+    // add seed option
+    Option seed = Option.builder("s")
+                        .hasArg(true)
+                        .longOpt("seed")
+                        .argName("number")
+                        .desc("seed for generated datasets, so every run generates the same data")
+                        .build();
+    options.addOption(seed);
+
+    // add generated dataset size option
+    Option drivers = Option.builder("n")
+                           .hasArg(true)
+                           .longOpt("drivers")
+                           .argName("count")
+                           .desc("number of drivers to generate, when neither -d nor -f is passed")
+                           .build();
+    options.addOption(drivers);
+
+    // add hotspot option
+    Option hotspots = Option.builder("H")
+                            .hasArg(true)
+                            .longOpt("hotspots")
+                            .argName("count")
+                            .desc("cluster generated tasks around the given number of hotspots, instead of spreading them evenly")
+                            .build();
+    options.addOption(hotspots);
+
+    // add streaming option
+    Option stream = new Option("S", "stream", false,
+                               "generate tasks as they are assigned, instead of all up front");
+    options.addOption(stream);
+
+    // add metrics option
+    Option metrics = new Option("m", "metrics", false,
+                                "publish assignment metrics over JMX, and print a summary after the report");
+    options.addOption(metrics);
+
     CommandLineParser parser = new DefaultParser();
     CommandLine cmd = parser.parse(options, args);
 
+    // validate the report size up front, rather than after a full run
+    final int topK = cmd.hasOption("top") ? parsePositiveIntOption("top", "drivers", cmd.getOptionValue("top")) : 0;
+
     // enforce quietness
     if (cmd.hasOption("quiet"))
       AppLogger._disableLogging();
@@ -89,31 +231,61 @@ public final class Main {
       // otherwise, execute according to options
       if (cmd.hasOption("dataset") && cmd.hasOption("datafile")) {
         AppLogger.exit("Cannot pass both a dataset and datafile.");
+      } else if (cmd.hasOption("convert")) {
+        final SampleDataset sample;
+        if (cmd.hasOption("dataset")) {
+          AppLogger.say("CLI", "Loading known dataset '" + cmd.getOptionValue("dataset").toUpperCase() + "'...");
+          sample = SampleDataset.loadKnownDataset(KnownDataset.valueOf(cmd.getOptionValue("dataset")));
+        } else if (cmd.hasOption("datafile")) {
+          AppLogger.say("CLI", "Loading dataset from file '" + cmd.getOptionValue("datafile") + "'...");
+          try (final DatasetReader reader = new FileUtil().openDataset(cmd.getOptionValue("datafile"))) {
+            sample = reader.toDataset();
+          }
+        } else {
+          sample = SampleDataset.generateDataset(generatedSpec(cmd));
+        }
+
+        // write it out in binary form, ready to be mapped back in with -f
+        AppLogger.say("CLI", "Writing binary dataset to '" + cmd.getOptionValue("convert") + "'...");
+        BinaryDataset.write(sample, new File(cmd.getOptionValue("convert")));
+        AppLogger.say("CLI", "Finished.");
       } else {
-        SampleDataset subject;
+        if (cmd.hasOption("metrics"))
+          MetricsRegistry.global().registerMBeans();
+
+        final TaskManager manager;
         if (cmd.hasOption("dataset")) {
           // load a known/embedded dataset
           AppLogger.say("CLI", "Loading known dataset '" + cmd.getOptionValue("dataset").toUpperCase() + "'...");
           final KnownDataset knownDataset = KnownDataset.valueOf(cmd.getOptionValue("dataset"));
-          subject = SampleDataset.loadKnownDataset(knownDataset);
+          manager = TaskManager.setupWithDataset(SampleDataset.loadKnownDataset(knownDataset));
         } else if (cmd.hasOption("datafile")) {
-          // load an arbitrary data file
+          // stream an arbitrary data file straight into the route calculator
           AppLogger.say("CLI", "Loading dataset from file '" + cmd.getOptionValue("datafile") + "'...");
-          final String fileContents = new FileUtil().fileContentsFromJARAsString(cmd.getOptionValue("datafile"));
-          subject = new ObjectMapper().readerFor(SampleDataset.class).readValue(fileContents);
+          try (final DatasetReader reader = new FileUtil().openDataset(cmd.getOptionValue("datafile"))) {
+            manager = TaskManager.setupWithLoader(reader);
+          }
+        } else if (cmd.hasOption("stream")) {
+          // generate tasks on demand, straight into the route calculator
+          try (final GeneratedDataset generated = SampleDataset.streamDataset(generatedSpec(cmd))) {
+            manager = TaskManager.setupWithLoader(generated);
+          }
         } else {
           // default behavior
-          AppLogger.say("CLI", "Generating sample dataset...");
-          subject = SampleDataset.generateDataset();
+          manager = TaskManager.setupWithDataset(SampleDataset.generateDataset(generatedSpec(cmd)));
         }
 
-        if (subject == null)
-          AppLogger.exit("Failed to load dataset.");
-
         // run the route calculator
-        final TaskManager manager = TaskManager.setupWithDataset(subject);
         AppLogger.say("CLI", "Ready to run simulation.");
-        System.out.print(manager.report().toString());
+        final Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        if (topK > 0) {
+          manager.report(out, topK);
+        } else {
+          manager.report(out);
+        }
+        if (cmd.hasOption("metrics"))
+          MetricsRegistry.global().dump(out);
+        out.flush();
         AppLogger.say("CLI", "Finished.");
       }
     }
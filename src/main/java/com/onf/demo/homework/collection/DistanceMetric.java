@@ -0,0 +1,275 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * Ways of measuring the distance between two points, used to cost routes. Each metric has a
+ * scalar kernel, and a batch kernel that scores one point against arrays of candidate coordinates
+ * in a single tight loop, which is what every resolve spends its time in.
+ *
+ * <p>Each metric also supplies the lower bounds that {@link RouteIndex} needs to prune its
+ * search: a bound on the distance from a point to anything inside a bounding box, and a bound on
+ * the detour caused by inserting a point into a segment.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public enum DistanceMetric {
+  /**
+   * Sum of the absolute differences in latitude and longitude. This is the default, and what
+   * {@link Tasklist#calculateDistanceForPoints(Task, Task)} has always used.
+   */
+  MANHATTAN {
+    @Override
+    public double distance(final double startLatitude, final double startLongitude,
+                           final double endLatitude, final double endLongitude) {
+      return Math.abs(startLatitude - endLatitude) + Math.abs(startLongitude - endLongitude);
+    }
+
+    @Override
+    public void distances(final double latitude, final double longitude,
+                          final double[] latitudes, final double[] longitudes,
+                          final int from, final int to, final double[] out) {
+      for (int i = from; i < to; i++) {
+        out[i] = Math.abs(latitudes[i] - latitude) + Math.abs(longitudes[i] - longitude);
+      }
+    }
+
+    @Override
+    public double distanceToBox(final double latitude, final double longitude,
+                                final double minLatitude, final double minLongitude,
+                                final double maxLatitude, final double maxLongitude) {
+      return gap(latitude, minLatitude, maxLatitude) + gap(longitude, minLongitude, maxLongitude);
+    }
+
+    @Override
+    public double detourLowerBound(final double boxDistance, final double longestSegment) {
+      // leaving a segment's bounding box costs the way out and the way back
+      return 2.0 * boxDistance;
+    }
+  },
+
+  /**
+   * Straight-line distance in latitude/longitude space.
+   */
+  EUCLIDEAN {
+    @Override
+    public double distance(final double startLatitude, final double startLongitude,
+                           final double endLatitude, final double endLongitude) {
+      final double latitudeDelta = startLatitude - endLatitude;
+      final double longitudeDelta = startLongitude - endLongitude;
+      return Math.sqrt(latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta);
+    }
+
+    @Override
+    public void distances(final double latitude, final double longitude,
+                          final double[] latitudes, final double[] longitudes,
+                          final int from, final int to, final double[] out) {
+      for (int i = from; i < to; i++) {
+        final double latitudeDelta = latitudes[i] - latitude;
+        final double longitudeDelta = longitudes[i] - longitude;
+        out[i] = Math.sqrt(latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta);
+      }
+    }
+
+    @Override
+    public double distanceToBox(final double latitude, final double longitude,
+                                final double minLatitude, final double minLongitude,
+                                final double maxLatitude, final double maxLongitude) {
+      final double latitudeGap = gap(latitude, minLatitude, maxLatitude);
+      final double longitudeGap = gap(longitude, minLongitude, maxLongitude);
+      return Math.sqrt(latitudeGap * latitudeGap + longitudeGap * longitudeGap);
+    }
+
+    @Override
+    public double detourLowerBound(final double boxDistance, final double longestSegment) {
+      // cheapest detour is straight out from the middle of the longest possible segment
+      return (Math.sqrt(longestSegment * longestSegment + 4.0 * boxDistance * boxDistance)
+              - longestSegment);
+    }
+  },
+
+  /**
+   * Square of the straight-line distance. Cheaper than {@link #EUCLIDEAN}, and penalizes long
+   * hops more heavily, but not a true metric: inserting a point into a segment can shorten the
+   * route, so insertion costs may be negative.
+   */
+  SQUARED_EUCLIDEAN {
+    @Override
+    public double distance(final double startLatitude, final double startLongitude,
+                           final double endLatitude, final double endLongitude) {
+      final double latitudeDelta = startLatitude - endLatitude;
+      final double longitudeDelta = startLongitude - endLongitude;
+      return latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta;
+    }
+
+    @Override
+    public void distances(final double latitude, final double longitude,
+                          final double[] latitudes, final double[] longitudes,
+                          final int from, final int to, final double[] out) {
+      for (int i = from; i < to; i++) {
+        final double latitudeDelta = latitudes[i] - latitude;
+        final double longitudeDelta = longitudes[i] - longitude;
+        out[i] = latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta;
+      }
+    }
+
+    @Override
+    public double distanceToBox(final double latitude, final double longitude,
+                                final double minLatitude, final double minLongitude,
+                                final double maxLatitude, final double maxLongitude) {
+      final double latitudeGap = gap(latitude, minLatitude, maxLatitude);
+      final double longitudeGap = gap(longitude, minLongitude, maxLongitude);
+      return latitudeGap * latitudeGap + longitudeGap * longitudeGap;
+    }
+
+    @Override
+    public double detourLowerBound(final double boxDistance, final double longestSegment) {
+      // |a-t|^2 + |t-b|^2 - |a-b|^2 = 2|t-m|^2 - |a-b|^2 / 2, where m is the segment midpoint
+      return 2.0 * boxDistance - longestSegment / 2.0;
+    }
+
+    @Override
+    public boolean isTriangular() {
+      return false;
+    }
+  },
+
+  /**
+   * Great-circle distance over the Earth's surface, in kilometers, treating coordinates as
+   * degrees of latitude and longitude.
+   */
+  HAVERSINE {
+    @Override
+    public double distance(final double startLatitude, final double startLongitude,
+                           final double endLatitude, final double endLongitude) {
+      final double latitudeSine = Math.sin(Math.toRadians(endLatitude - startLatitude) / 2.0);
+      final double longitudeSine = Math.sin(Math.toRadians(endLongitude - startLongitude) / 2.0);
+      final double a = (latitudeSine * latitudeSine
+                        + Math.cos(Math.toRadians(startLatitude)) * Math.cos(Math.toRadians(endLatitude))
+                          * longitudeSine * longitudeSine);
+      return 2.0 * earthRadius * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    @Override
+    public void distances(final double latitude, final double longitude,
+                          final double[] latitudes, final double[] longitudes,
+                          final int from, final int to, final double[] out) {
+      final double latitudeCosine = Math.cos(Math.toRadians(latitude));
+      for (int i = from; i < to; i++) {
+        final double latitudeSine = Math.sin(Math.toRadians(latitudes[i] - latitude) / 2.0);
+        final double longitudeSine = Math.sin(Math.toRadians(longitudes[i] - longitude) / 2.0);
+        final double a = (latitudeSine * latitudeSine
+                          + latitudeCosine * Math.cos(Math.toRadians(latitudes[i]))
+                            * longitudeSine * longitudeSine);
+        out[i] = 2.0 * earthRadius * Math.asin(Math.min(1.0, Math.sqrt(a)));
+      }
+    }
+
+    @Override
+    public double distanceToBox(final double latitude, final double longitude,
+                                final double minLatitude, final double minLongitude,
+                                final double maxLatitude, final double maxLongitude) {
+      // any path between two latitudes is at least as long as the meridian between them
+      return earthRadius * Math.toRadians(gap(latitude, minLatitude, maxLatitude));
+    }
+
+    @Override
+    public double detourLowerBound(final double boxDistance, final double longestSegment) {
+      return Math.max(0.0, 2.0 * boxDistance - longestSegment);
+    }
+  };
+
+  /**
+   * Mean radius of the Earth, in kilometers.
+   */
+  public static final double earthRadius = 6371.0088;
+
+  // -- kernels -- //
+  /**
+   * Measure the distance between two points.
+   *
+   * @param startLatitude Start latitude.
+   * @param startLongitude Start longitude.
+   * @param endLatitude End latitude.
+   * @param endLongitude End longitude.
+   * @return Distance between the points.
+   */
+  public abstract double distance(double startLatitude, double startLongitude,
+                                  double endLatitude, double endLongitude);
+
+  /**
+   * Measure the distance from one point to each of a range of candidate points, writing each
+   * result at the same index as its candidate.
+   *
+   * @param latitude Latitude of the point being scored.
+   * @param longitude Longitude of the point being scored.
+   * @param latitudes Candidate latitudes.
+   * @param longitudes Candidate longitudes.
+   * @param from First candidate index, inclusive.
+   * @param to Last candidate index, exclusive.
+   * @param out Array to write distances into.
+   */
+  public abstract void distances(double latitude, double longitude,
+                                 double[] latitudes, double[] longitudes,
+                                 int from, int to, double[] out);
+
+  /**
+   * Lower bound on the distance from a point to anything inside a bounding box.
+   *
+   * @param latitude Latitude of the point.
+   * @param longitude Longitude of the point.
+   * @param minLatitude Smallest latitude in the box.
+   * @param minLongitude Smallest longitude in the box.
+   * @param maxLatitude Largest latitude in the box.
+   * @param maxLongitude Largest longitude in the box.
+   * @return Distance bound, or <pre>0.0</pre> if the point is inside the box.
+   */
+  public abstract double distanceToBox(double latitude, double longitude,
+                                       double minLatitude, double minLongitude,
+                                       double maxLatitude, double maxLongitude);
+
+  /**
+   * Lower bound on the route length added by inserting a point into a segment, given a bound on
+   * the point's distance to the segment's bounding box and the longest the segment could be.
+   *
+   * @param boxDistance Result of {@link #distanceToBox} for the segment's bounding box.
+   * @param longestSegment Longest possible length of the segment, under this metric.
+   * @return Bound on the added route length.
+   */
+  public abstract double detourLowerBound(double boxDistance, double longestSegment);
+
+  /**
+   * @return Whether this metric obeys the triangle inequality, meaning an insertion can never
+   *         shorten a route.
+   */
+  public boolean isTriangular() {
+    return true;
+  }
+
+  /**
+   * Measure the distance between two tasks.
+   *
+   * @param start Start task.
+   * @param finish End task.
+   * @return Distance between the tasks' geopoints.
+   */
+  public double distance(final @NotNull Task start, final @NotNull Task finish) {
+    final Geopoint startPoint = start.getLocation().getGeopoint();
+    final Geopoint endPoint = finish.getLocation().getGeopoint();
+    return this.distance(startPoint.getLatitudeValue(), startPoint.getLongitudeValue(),
+                         endPoint.getLatitudeValue(), endPoint.getLongitudeValue());
+  }
+
+  /**
+   * @param value Coordinate value.
+   * @param min Lower edge of the range.
+   * @param max Upper edge of the range.
+   * @return How far the value is outside of the range, or <pre>0.0</pre> if inside it.
+   */
+  static double gap(final double value, final double min, final double max) {
+    return Math.max(0.0, Math.max(min - value, value - max));
+  }
+}
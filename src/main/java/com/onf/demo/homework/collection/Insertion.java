@@ -0,0 +1,79 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import javax.annotation.concurrent.Immutable;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * Describes a candidate position for a {@link Task} in a {@link Driver}'s {@link Tasklist},
+ * along with the increase in route length that inserting it there would cause.
+ */
+@Immutable
+@SuppressWarnings("WeakerAccess")
+public final class Insertion {
+  // -- internals -- //
+  /**
+   * Tasklist the task would be inserted into.
+   */
+  final @NotNull Tasklist tasklist;
+
+  /**
+   * Position in the route the task would be inserted at.
+   */
+  final int index;
+
+  /**
+   * Increase in route length caused by the insertion.
+   */
+  final double cost;
+
+  // -- constructor -- //
+  /**
+   * Describe a candidate insertion.
+   *
+   * @param tasklist Tasklist the task would be inserted into.
+   * @param index Position in the route, from <pre>0</pre> (start) to the task count (end).
+   * @param cost Increase in route length caused by the insertion.
+   */
+  public Insertion(final @NotNull Tasklist tasklist,
+                   final int index,
+                   final double cost) {
+    this.tasklist = tasklist;
+    this.index = index;
+    this.cost = cost;
+  }
+
+  // -- getters -- //
+  /**
+   * @return Tasklist the task would be inserted into.
+   */
+  @NotNull
+  public Tasklist getTasklist() {
+    return tasklist;
+  }
+
+  /**
+   * @return {@link Driver} owning the tasklist the task would be inserted into.
+   */
+  @NotNull
+  public Driver getDriver() {
+    return tasklist.getDriver();
+  }
+
+  /**
+   * @return Position in the route the task would be inserted at.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return Increase in route length caused by the insertion.
+   */
+  public double getCost() {
+    return cost;
+  }
+}
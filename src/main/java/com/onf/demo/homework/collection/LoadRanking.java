@@ -0,0 +1,274 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+
+/**
+ * Ranks a set of {@link Tasklist} routes by load estimate as they change, so the least- and
+ * most-loaded {@link Driver}s can be asked for at any time during dispatch, without sorting the
+ * whole board.
+ *
+ * <p>Routes sit in a pair of indexed binary heaps, one ordered each way. Each {@link Tasklist}
+ * remembers its position in both, and tells its ranking whenever its load changes, so the route
+ * is moved up or down in each heap in <pre>O(log n)</pre>. Asking for the <pre>k</pre> least- or
+ * most-loaded routes walks the top of a heap in <pre>O(k log k)</pre>, however many routes are
+ * ranked.</p>
+ *
+ * <p>A route can be ranked by at most one {@link LoadRanking}. Not safe for use from more than
+ * one thread at a time.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class LoadRanking {
+  // -- internals -- //
+  /**
+   * Initial capacity for each heap.
+   */
+  private static final int initialCapacity = 16;
+
+  /**
+   * Heap with the least-loaded route on top.
+   */
+  final @NotNull Heap leastLoadedFirst;
+
+  /**
+   * Heap with the most-loaded route on top.
+   */
+  final @NotNull Heap mostLoadedFirst;
+
+  // -- embedded classes -- //
+  /**
+   * Indexed binary heap of routes, ordered by load estimate one way or the other. Each route's
+   * position is stored on the route itself, so it can be found again when its load changes.
+   */
+  static final class Heap {
+    /**
+     * Whether the most-loaded route is on top, rather than the least-loaded.
+     */
+    final boolean descending;
+
+    /**
+     * Routes in heap order.
+     */
+    @NotNull Tasklist[] routes;
+
+    /**
+     * Number of routes in the heap.
+     */
+    int size;
+
+    Heap(final boolean descending) {
+      this.descending = descending;
+      this.routes = new Tasklist[initialCapacity];
+      this.size = 0;
+    }
+
+    /**
+     * @param route Route in this heap.
+     * @return Position of the route in this heap.
+     */
+    int positionOf(final @NotNull Tasklist route) {
+      return descending ? route.mostLoadedRank : route.leastLoadedRank;
+    }
+
+    /**
+     * Put a route at a position in this heap, and record the position on the route.
+     */
+    void place(final @NotNull Tasklist route, final int position) {
+      routes[position] = route;
+      if (descending)
+        route.mostLoadedRank = position;
+      else
+        route.leastLoadedRank = position;
+    }
+
+    /**
+     * @return Whether the route at one position belongs above the route at another.
+     */
+    boolean above(final int position, final int other) {
+      final double load = routes[position].loadEstimate;
+      final double otherLoad = routes[other].loadEstimate;
+      return descending ? load > otherLoad : load < otherLoad;
+    }
+
+    /**
+     * Add a route at the bottom of this heap, then move it up to where it belongs.
+     */
+    void add(final @NotNull Tasklist route) {
+      if (size == routes.length)
+        routes = Arrays.copyOf(routes, size * 2);
+      place(route, size);
+      size += 1;
+      siftUp(size - 1);
+    }
+
+    /**
+     * Move a route whose load has changed to where it now belongs.
+     */
+    void update(final @NotNull Tasklist route) {
+      final int position = positionOf(route);
+      if (position > 0 && above(position, (position - 1) / 2))
+        siftUp(position);
+      else
+        siftDown(position);
+    }
+
+    /**
+     * Move the route at a position up until its parent is at least as highly ranked.
+     */
+    private void siftUp(int position) {
+      final Tasklist route = routes[position];
+      while (position > 0) {
+        final int parent = (position - 1) / 2;
+        final double parentLoad = routes[parent].loadEstimate;
+        if (descending ? route.loadEstimate <= parentLoad : route.loadEstimate >= parentLoad)
+          break;
+        place(routes[parent], position);
+        position = parent;
+      }
+      place(route, position);
+    }
+
+    /**
+     * Move the route at a position down until both children rank no higher.
+     */
+    private void siftDown(int position) {
+      final Tasklist route = routes[position];
+      while (true) {
+        int child = position * 2 + 1;
+        if (child >= size)
+          break;
+        if (child + 1 < size && above(child + 1, child))
+          child += 1;
+        final double childLoad = routes[child].loadEstimate;
+        if (descending ? childLoad <= route.loadEstimate : childLoad >= route.loadEstimate)
+          break;
+        place(routes[child], position);
+        position = child;
+      }
+      place(route, position);
+    }
+
+    /**
+     * Collect the top routes in this heap, in heap order, without disturbing it. Walks the heap
+     * best-first from the root, keeping a frontier of positions whose parents have been taken.
+     *
+     * @param count Most routes to collect.
+     * @return Top routes, best first.
+     * @throws IllegalArgumentException If the count is negative.
+     */
+    @NotNull List<Tasklist> top(final int count) {
+      if (count < 0)
+        throw new IllegalArgumentException("Cannot collect a negative number of routes.");
+      final int wanted = Math.min(count, size);
+      final List<Tasklist> result = new ArrayList<>(wanted);
+      if (wanted == 0)
+        return result;
+
+      final PriorityQueue<Integer> frontier = new PriorityQueue<>(
+          Math.min(wanted * 2, size), new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer left, final Integer right) {
+              if (above(left, right))
+                return -1;
+              return above(right, left) ? 1 : 0;
+            }
+          });
+      frontier.add(0);
+      while (result.size() < wanted) {
+        final int position = frontier.poll();
+        result.add(routes[position]);
+        final int child = position * 2 + 1;
+        if (child < size)
+          frontier.add(child);
+        if (child + 1 < size)
+          frontier.add(child + 1);
+      }
+      return result;
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Construct an empty load ranking.
+   */
+  public LoadRanking() {
+    this.leastLoadedFirst = new Heap(false);
+    this.mostLoadedFirst = new Heap(true);
+  }
+
+  // -- private API -- //
+  /**
+   * Re-rank a route after its load estimate has changed. Called by {@link Tasklist} itself.
+   *
+   * @param tasklist Route whose load has changed.
+   */
+  void update(final @NotNull Tasklist tasklist) {
+    this.leastLoadedFirst.update(tasklist);
+    this.mostLoadedFirst.update(tasklist);
+  }
+
+  // -- public API -- //
+  /**
+   * Start ranking a route. From here on, the route keeps its place up to date as tasks are
+   * assigned to it.
+   *
+   * @param tasklist Route to rank.
+   * @throws IllegalStateException If the route is already ranked.
+   */
+  public void track(final @NotNull Tasklist tasklist) {
+    if (tasklist.ranking != null)
+      throw new IllegalStateException("Route for '" + tasklist.getDriver() + "' is already ranked.");
+    tasklist.ranking = this;
+    this.leastLoadedFirst.add(tasklist);
+    this.mostLoadedFirst.add(tasklist);
+  }
+
+  /**
+   * @return Least-loaded route, or <pre>null</pre> if no routes are ranked.
+   */
+  public @Nullable Tasklist leastLoaded() {
+    return this.leastLoadedFirst.size > 0 ? this.leastLoadedFirst.routes[0] : null;
+  }
+
+  /**
+   * @return Most-loaded route, or <pre>null</pre> if no routes are ranked.
+   */
+  public @Nullable Tasklist mostLoaded() {
+    return this.mostLoadedFirst.size > 0 ? this.mostLoadedFirst.routes[0] : null;
+  }
+
+  /**
+   * @param count Most routes to return.
+   * @return Up to <pre>count</pre> least-loaded routes, least loaded first.
+   * @throws IllegalArgumentException If the count is negative.
+   */
+  public @NotNull List<Tasklist> leastLoaded(final int count) {
+    return this.leastLoadedFirst.top(count);
+  }
+
+  /**
+   * @param count Most routes to return.
+   * @return Up to <pre>count</pre> most-loaded routes, most loaded first.
+   * @throws IllegalArgumentException If the count is negative.
+   */
+  public @NotNull List<Tasklist> mostLoaded(final int count) {
+    return this.mostLoadedFirst.top(count);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of routes ranked.
+   */
+  public int getSize() {
+    return this.leastLoadedFirst.size;
+  }
+}
@@ -0,0 +1,564 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Identifier;
+import com.onf.demo.homework.struct.Location;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+
+/**
+ * Stores every {@link Driver}'s route outside of the Java heap, in a memory-mapped file or a
+ * direct buffer, using fixed-size records. Nothing is kept per task on the heap, so a large board
+ * adds almost nothing for the garbage collector to trace, and a board written to a file can be
+ * re-opened later without replaying any assignments.
+ *
+ * <p>The layout is a header, then a table of driver records, then a fixed-capacity block of task
+ * records for each driver slot, with every number little-endian:</p>
+ * <pre>
+ *   header:  magic (the bytes ONFB), version (int), driver capacity (int), route capacity (int),
+ *            driver count (int), distance metric (int), padding to 32 bytes
+ *   driver:  uuid (2 longs), task count (int), name length (int), route distance (double),
+ *            name (64 bytes of UTF-8)
+ *   task:    task uuid (2 longs), location uuid (2 longs), latitude (double), longitude (double)
+ * </pre>
+ *
+ * <p>Task, location and driver UUIDs must be in canonical UUID form. Location labels are not
+ * stored, and driver names longer than 64 bytes are cut short.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MappedTaskboard implements Closeable {
+  // -- layout -- //
+  /**
+   * Marks the start of a taskboard file: the bytes <pre>ONFB</pre>, in that order, so the int is
+   * read big-endian.
+   */
+  static final int magic = 0x4F4E4642;
+
+  /**
+   * Version of the record layout.
+   */
+  static final int layoutVersion = 1;
+
+  /**
+   * Header size and field offsets.
+   */
+  static final int headerSize = 32;
+  static final int headerDriverCapacity = 8;
+  static final int headerRouteCapacity = 12;
+  static final int headerDriverCount = 16;
+  static final int headerMetric = 20;
+
+  /**
+   * Driver record size and field offsets, relative to the start of the record.
+   */
+  static final int driverRecordSize = 96;
+  static final int driverTaskCount = 16;
+  static final int driverNameLength = 20;
+  static final int driverDistance = 24;
+  static final int driverName = 32;
+  static final int maxNameBytes = driverRecordSize - driverName;
+
+  /**
+   * Task record size and field offsets, relative to the start of the record.
+   */
+  static final int taskRecordSize = 48;
+  static final int taskLocation = 16;
+  static final int taskLatitude = 32;
+  static final int taskLongitude = 40;
+
+  // -- internals -- //
+  /**
+   * Backing storage, either mapped from a file or allocated directly.
+   */
+  final @NotNull ByteBuffer buffer;
+
+  /**
+   * Channel the buffer is mapped from, or <pre>null</pre> for a direct buffer.
+   */
+  final @Nullable FileChannel channel;
+
+  /**
+   * Maximum number of drivers this board can hold.
+   */
+  final int driverCapacity;
+
+  /**
+   * Maximum number of tasks each driver's route can hold.
+   */
+  final int routeCapacity;
+
+  /**
+   * Metric that route lengths are measured with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  /**
+   * Number of drivers on this board, mirrored from the header.
+   */
+  int driverCount;
+
+  // -- constructor -- //
+  /**
+   * Wrap a buffer holding a taskboard layout.
+   *
+   * @param buffer Backing storage, with the header already written.
+   * @param channel Channel the buffer is mapped from, if any.
+   */
+  private MappedTaskboard(final @NotNull ByteBuffer buffer, final @Nullable FileChannel channel) {
+    this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    this.channel = channel;
+    this.driverCapacity = this.buffer.getInt(headerDriverCapacity);
+    this.routeCapacity = this.buffer.getInt(headerRouteCapacity);
+    this.driverCount = this.buffer.getInt(headerDriverCount);
+    this.metric = DistanceMetric.values()[this.buffer.getInt(headerMetric)];
+  }
+
+  // -- static API -- //
+  /**
+   * Allocate an empty taskboard in a direct buffer, outside of the heap but not backed by a file,
+   * measuring routes with {@link DistanceMetric#MANHATTAN}.
+   *
+   * @param driverCapacity Maximum number of drivers.
+   * @param routeCapacity Maximum number of tasks per driver.
+   * @return Empty taskboard.
+   * @throws IllegalArgumentException If the capacities are not positive, or too large to address.
+   */
+  public static @NotNull MappedTaskboard allocate(final int driverCapacity, final int routeCapacity) {
+    return allocate(driverCapacity, routeCapacity, DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Allocate an empty taskboard in a direct buffer, outside of the heap but not backed by a file.
+   *
+   * @param driverCapacity Maximum number of drivers.
+   * @param routeCapacity Maximum number of tasks per driver.
+   * @param metric Metric to measure routes with.
+   * @return Empty taskboard.
+   * @throws IllegalArgumentException If the capacities are not positive, or too large to address.
+   */
+  public static @NotNull MappedTaskboard allocate(final int driverCapacity,
+                                                  final int routeCapacity,
+                                                  final @NotNull DistanceMetric metric) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect((int)sizeFor(driverCapacity, routeCapacity));
+    return new MappedTaskboard(writeHeader(buffer, driverCapacity, routeCapacity, metric), null);
+  }
+
+  /**
+   * Create an empty taskboard in a memory-mapped file, replacing anything already there, measuring
+   * routes with {@link DistanceMetric#MANHATTAN}.
+   *
+   * @param file File to map.
+   * @param driverCapacity Maximum number of drivers.
+   * @param routeCapacity Maximum number of tasks per driver.
+   * @return Empty taskboard.
+   * @throws IOException If the file cannot be created or mapped.
+   * @throws IllegalArgumentException If the capacities are not positive, or too large to address.
+   */
+  public static @NotNull MappedTaskboard create(final @NotNull File file,
+                                                final int driverCapacity,
+                                                final int routeCapacity) throws IOException {
+    return create(file, driverCapacity, routeCapacity, DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Create an empty taskboard in a memory-mapped file, replacing anything already there. The
+   * metric is stored with the board, so it is kept when the file is re-opened.
+   *
+   * @param file File to map.
+   * @param driverCapacity Maximum number of drivers.
+   * @param routeCapacity Maximum number of tasks per driver.
+   * @param metric Metric to measure routes with.
+   * @return Empty taskboard.
+   * @throws IOException If the file cannot be created or mapped.
+   * @throws IllegalArgumentException If the capacities are not positive, or too large to address.
+   */
+  public static @NotNull MappedTaskboard create(final @NotNull File file,
+                                                final int driverCapacity,
+                                                final int routeCapacity,
+                                                final @NotNull DistanceMetric metric) throws IOException {
+    final long size = sizeFor(driverCapacity, routeCapacity);
+    final FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+    try {
+      channel.truncate(0);
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      return new MappedTaskboard(writeHeader(buffer, driverCapacity, routeCapacity, metric), channel);
+    } catch (IOException | RuntimeException err) {
+      channel.close();
+      throw err;
+    }
+  }
+
+  /**
+   * Re-open a taskboard previously written to a file, with every route intact.
+   *
+   * @param file File to map.
+   * @return Taskboard held in the file.
+   * @throws IOException If the file cannot be mapped, or does not hold a whole taskboard.
+   */
+  public static @NotNull MappedTaskboard open(final @NotNull File file) throws IOException {
+    final FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+    try {
+      final long size = channel.size();
+      if (size < headerSize)
+        throw new IOException("File is " + size + " bytes, too short to hold a taskboard.");
+      if (size > Integer.MAX_VALUE)
+        throw new IOException("File is too large to hold a taskboard.");
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      checkHeader(buffer);
+      return new MappedTaskboard(buffer, channel);
+    } catch (IOException | RuntimeException err) {
+      channel.close();
+      throw err;
+    }
+  }
+
+  /**
+   * @param driverCapacity Maximum number of drivers.
+   * @param routeCapacity Maximum number of tasks per driver.
+   * @return Number of bytes needed to hold a taskboard of this size.
+   * @throws IllegalArgumentException If the capacities are not positive, or too large to address.
+   */
+  static long sizeFor(final int driverCapacity, final int routeCapacity) {
+    if (driverCapacity < 1 || routeCapacity < 1)
+      throw new IllegalArgumentException("Taskboard capacities must be at least 1.");
+    final long size = headerSize
+                          + (long)driverCapacity * driverRecordSize
+                          + (long)driverCapacity * routeCapacity * taskRecordSize;
+    if (size > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Taskboard of " + driverCapacity + " drivers with "
+                                             + routeCapacity + " tasks each is too large to map.");
+    return size;
+  }
+
+  // -- private API -- //
+  /**
+   * Make sure a buffer holds a whole taskboard, before anything reads from it.
+   *
+   * @param buffer Buffer to check, at least as long as the header.
+   * @throws IOException If the header is wrong, or the buffer is the wrong size for it.
+   */
+  private static void checkHeader(final @NotNull ByteBuffer buffer) throws IOException {
+    buffer.order(ByteOrder.BIG_ENDIAN);
+    final int marker = buffer.getInt(0);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (marker != magic || buffer.getInt(4) != layoutVersion)
+      throw new IOException("File does not hold a version " + layoutVersion + " taskboard.");
+
+    final int driverCapacity = buffer.getInt(headerDriverCapacity);
+    final int routeCapacity = buffer.getInt(headerRouteCapacity);
+    final int driverCount = buffer.getInt(headerDriverCount);
+    final int metricOrdinal = buffer.getInt(headerMetric);
+    if (driverCapacity < 1 || routeCapacity < 1 || driverCount < 0 || driverCount > driverCapacity)
+      throw new IOException("Taskboard header is corrupt.");
+    if (metricOrdinal < 0 || metricOrdinal >= DistanceMetric.values().length)
+      throw new IOException("Taskboard holds an unknown distance metric: " + metricOrdinal + ".");
+
+    final long expected;
+    try {
+      expected = sizeFor(driverCapacity, routeCapacity);
+    } catch (final IllegalArgumentException err) {
+      throw new IOException("Taskboard header is corrupt.", err);
+    }
+    if (expected != buffer.limit())
+      throw new IOException("Taskboard should be " + expected + " bytes, but is " + buffer.limit() + ".");
+  }
+
+  /**
+   * Write an empty taskboard header into a buffer.
+   */
+  private static ByteBuffer writeHeader(final ByteBuffer buffer,
+                                        final int driverCapacity,
+                                        final int routeCapacity,
+                                        final DistanceMetric metric) {
+    buffer.order(ByteOrder.BIG_ENDIAN);
+    buffer.putInt(0, magic);  // so the bytes read ONFB
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(4, layoutVersion);
+    buffer.putInt(headerDriverCapacity, driverCapacity);
+    buffer.putInt(headerRouteCapacity, routeCapacity);
+    buffer.putInt(headerDriverCount, 0);
+    buffer.putInt(headerMetric, metric.ordinal());
+    return buffer;
+  }
+
+  /**
+   * @param identifier Identifier to store.
+   * @return The same identifier.
+   * @throws IllegalArgumentException If the identifier isn't a canonical UUID.
+   */
+  private static Identifier compact(final Identifier identifier) {
+    if (!identifier.isCompact())
+      throw new IllegalArgumentException("Cannot store non-UUID identifier '" + identifier + "'.");
+    return identifier;
+  }
+
+  /**
+   * @param slot Driver slot.
+   * @return Offset of the driver's record.
+   */
+  private int driverOffset(final int slot) {
+    return headerSize + slot * driverRecordSize;
+  }
+
+  /**
+   * @param slot Driver slot.
+   * @param index Position in the driver's route.
+   * @return Offset of the task record.
+   */
+  private int taskOffset(final int slot, final int index) {
+    return headerSize
+               + this.driverCapacity * driverRecordSize
+               + (slot * this.routeCapacity + index) * taskRecordSize;
+  }
+
+  /**
+   * @param slot Driver slot to check.
+   * @throws IndexOutOfBoundsException If no driver occupies the slot.
+   */
+  private void checkSlot(final int slot) {
+    if (slot < 0 || slot >= this.driverCount)
+      throw new IndexOutOfBoundsException("No driver in slot " + slot
+                                              + " of a board with " + this.driverCount + " drivers.");
+  }
+
+  // -- public API -- //
+  /**
+   * Add a {@link Driver} to the board, with an empty route.
+   *
+   * @param driver Driver to add.
+   * @return Slot the driver now occupies.
+   * @throws IllegalStateException If the board is full.
+   */
+  public int addDriver(final @NotNull Driver driver) {
+    if (this.driverCount == this.driverCapacity)
+      throw new IllegalStateException("Taskboard is full at " + this.driverCapacity + " drivers.");
+    final int slot = this.driverCount;
+    final int offset = this.driverOffset(slot);
+    final Identifier uuid = compact(driver.getIdentifier());
+    this.buffer.putLong(offset, uuid.getMostSignificantBits());
+    this.buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+    this.buffer.putInt(offset + driverTaskCount, 0);
+    this.buffer.putDouble(offset + driverDistance, 0.0);
+
+    final byte[] name = driver.getName() == null
+                            ? null
+                            : driver.getName().getBytes(StandardCharsets.UTF_8);
+    if (name == null) {
+      this.buffer.putInt(offset + driverNameLength, -1);
+    } else {
+      int length = Math.min(name.length, maxNameBytes);
+      while (length < name.length && (name[length] & 0xC0) == 0x80) {
+        length--;  // don't split a multi-byte character
+      }
+      this.buffer.putInt(offset + driverNameLength, length);
+      for (int i = 0; i < length; i++) {
+        this.buffer.put(offset + driverName + i, name[i]);
+      }
+    }
+
+    this.driverCount += 1;
+    this.buffer.putInt(headerDriverCount, this.driverCount);
+    return slot;
+  }
+
+  /**
+   * Read back the {@link Driver} in a slot.
+   *
+   * @param slot Driver slot.
+   * @return Driver in the slot, rebuilt from its record.
+   */
+  public @NotNull Driver driverAt(final int slot) {
+    this.checkSlot(slot);
+    final int offset = this.driverOffset(slot);
+    final Identifier uuid = Identifier.of(this.buffer.getLong(offset), this.buffer.getLong(offset + 8));
+    final int length = this.buffer.getInt(offset + driverNameLength);
+    String name = null;
+    if (length >= 0) {
+      final byte[] bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = this.buffer.get(offset + driverName + i);
+      }
+      name = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return new Driver(uuid, name);
+  }
+
+  /**
+   * Append a {@link Task} to the end of a driver's route.
+   *
+   * @param slot Driver slot.
+   * @param task Task to append.
+   * @throws IllegalStateException If the driver's route is full.
+   */
+  public void appendTask(final int slot, final @NotNull Task task) {
+    this.checkSlot(slot);
+    final int count = this.getTaskCount(slot);
+    if (count == this.routeCapacity)
+      throw new IllegalStateException("Route in slot " + slot + " is full at "
+                                          + this.routeCapacity + " tasks.");
+
+    final Geopoint point = task.getLocation().getGeopoint();
+    final double latitude = point.getLatitudeValue();
+    final double longitude = point.getLongitudeValue();
+    final double addedDistance = this.costToAppend(slot, latitude, longitude);
+
+    final int offset = this.taskOffset(slot, count);
+    final Identifier taskId = compact(task.getIdentifier());
+    final UUID locationId = UUID.fromString(task.getLocation().getUuid());
+    this.buffer.putLong(offset, taskId.getMostSignificantBits());
+    this.buffer.putLong(offset + 8, taskId.getLeastSignificantBits());
+    this.buffer.putLong(offset + taskLocation, locationId.getMostSignificantBits());
+    this.buffer.putLong(offset + taskLocation + 8, locationId.getLeastSignificantBits());
+    this.buffer.putDouble(offset + taskLatitude, latitude);
+    this.buffer.putDouble(offset + taskLongitude, longitude);
+
+    final int driverOffset = this.driverOffset(slot);
+    this.buffer.putDouble(driverOffset + driverDistance,
+                          this.buffer.getDouble(driverOffset + driverDistance) + addedDistance);
+    this.buffer.putInt(driverOffset + driverTaskCount, count + 1);
+  }
+
+  /**
+   * Calculate how much route length appending a point to a driver's route would add, straight
+   * from the stored coordinates.
+   *
+   * @param slot Driver slot.
+   * @param latitude Latitude of the point being appended.
+   * @param longitude Longitude of the point being appended.
+   * @return Added route length, or <pre>0.0</pre> if the route is empty.
+   */
+  public double costToAppend(final int slot, final double latitude, final double longitude) {
+    final int count = this.buffer.getInt(this.driverOffset(slot) + driverTaskCount);
+    if (count == 0)
+      return 0.0;  // it would be this driver's first task: no cost
+    final int offset = this.taskOffset(slot, count - 1);
+    return this.metric.distance(this.buffer.getDouble(offset + taskLatitude),
+                                this.buffer.getDouble(offset + taskLongitude),
+                                latitude, longitude);
+  }
+
+  /**
+   * Read back a {@link Task} from a driver's route. Location labels are not stored, so the
+   * rebuilt location has none.
+   *
+   * @param slot Driver slot.
+   * @param index Position in the route.
+   * @return Task at the given position, rebuilt from its record.
+   */
+  public @NotNull Task taskAt(final int slot, final int index) {
+    this.checkSlot(slot);
+    if (index < 0 || index >= this.getTaskCount(slot))
+      throw new IndexOutOfBoundsException("No task at position " + index + " in slot " + slot + ".");
+    final int offset = this.taskOffset(slot, index);
+    final Identifier taskId = Identifier.of(this.buffer.getLong(offset), this.buffer.getLong(offset + 8));
+    final UUID locationId = new UUID(this.buffer.getLong(offset + taskLocation),
+                                     this.buffer.getLong(offset + taskLocation + 8));
+    final Geopoint point = Geopoint.of(this.buffer.getDouble(offset + taskLatitude),
+                                       this.buffer.getDouble(offset + taskLongitude));
+    return new Task(taskId, new Location(locationId.toString(), null, point));
+  }
+
+  /**
+   * Read back every {@link Task} in a driver's route.
+   *
+   * @param slot Driver slot.
+   * @return Tasks in the route, in order.
+   */
+  public @NotNull Task[] tasksAt(final int slot) {
+    final Task[] tasks = new Task[this.getTaskCount(slot)];
+    for (int index = 0; index < tasks.length; index++) {
+      tasks[index] = this.taskAt(slot, index);
+    }
+    return tasks;
+  }
+
+  /**
+   * Write any changes through to the backing file, if there is one.
+   */
+  public void flush() {
+    if (this.buffer instanceof MappedByteBuffer)
+      ((MappedByteBuffer)this.buffer).force();
+  }
+
+  /**
+   * Flush and release the backing file, if there is one. The board must not be used afterwards.
+   *
+   * @throws IOException If the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    this.flush();
+    if (this.channel != null)
+      this.channel.close();
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of drivers on this board.
+   */
+  public int getDriverCount() {
+    return driverCount;
+  }
+
+  /**
+   * @return Maximum number of drivers this board can hold.
+   */
+  public int getDriverCapacity() {
+    return driverCapacity;
+  }
+
+  /**
+   * @return Maximum number of tasks each driver's route can hold.
+   */
+  public int getRouteCapacity() {
+    return routeCapacity;
+  }
+
+  /**
+   * @return Metric that route lengths are measured with.
+   */
+  public @NotNull DistanceMetric getMetric() {
+    return metric;
+  }
+
+  /**
+   * @param slot Driver slot.
+   * @return Number of tasks in the driver's route.
+   */
+  public int getTaskCount(final int slot) {
+    this.checkSlot(slot);
+    return this.buffer.getInt(this.driverOffset(slot) + driverTaskCount);
+  }
+
+  /**
+   * @param slot Driver slot.
+   * @return Total length of the driver's route.
+   */
+  public double getDistance(final int slot) {
+    this.checkSlot(slot);
+    return this.buffer.getDouble(this.driverOffset(slot) + driverDistance);
+  }
+
+  /**
+   * @param slot Driver slot.
+   * @return Whether the driver's route has room for another task.
+   */
+  public boolean hasRoom(final int slot) {
+    return this.getTaskCount(slot) < this.routeCapacity;
+  }
+}
@@ -0,0 +1,545 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+
+/**
+ * Spatial index over every insertion position in a set of {@link Tasklist} routes, backed by an
+ * R-tree. Each route of <pre>n</pre> tasks contributes <pre>n + 1</pre> entries: one for the start
+ * of the route, one for each segment between adjacent tasks, and one for the end of the route.
+ *
+ * <p>Queries run best-first over the tree, using a lower bound on the cost of any insertion below
+ * each node, worked out by the index's {@link DistanceMetric} from the distance to the node's
+ * bounding box and the longest segment below it. The bound is admissible: it never exceeds the
+ * true cost of any insertion below the node, so the first entry popped is always the cheapest.
+ * How much of the tree a query can skip depends on how close the bound runs to the true cost;
+ * with {@link DistanceMetric#MANHATTAN}, inserting a task into a segment costs exactly twice its
+ * distance to the segment's bounding box, so the bound is exact at the leaves.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class RouteIndex {
+  // -- internals -- //
+  /**
+   * Maximum number of children per tree node.
+   */
+  private static final int maxChildren = 16;
+
+  /**
+   * Minimum number of children per non-root tree node.
+   */
+  private static final int minChildren = 6;
+
+  /**
+   * Metric that insertion costs are measured with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  /**
+   * Root node of the R-tree.
+   */
+  @NotNull Node root;
+
+  /**
+   * Entries for each tracked route, in route order, so that entry <pre>i</pre> describes
+   * insertion position <pre>i</pre>.
+   */
+  final @NotNull Map<Driver, List<Entry>> routes;
+
+  /**
+   * Number of entries currently held in the tree.
+   */
+  int size;
+
+  /**
+   * Sequence counter, used to break ties between equal-cost candidates deterministically.
+   */
+  long sequence;
+
+  /**
+   * Number of boxes and entries costed by the last call to {@link #resolveCheapestInsertion(Task)}.
+   */
+  int lastEvaluated;
+
+  // -- embedded classes -- //
+  /**
+   * Axis-aligned bounding box, in latitude/longitude space.
+   */
+  abstract static class Box {
+    double minLatitude = Double.POSITIVE_INFINITY;
+    double minLongitude = Double.POSITIVE_INFINITY;
+    double maxLatitude = Double.NEGATIVE_INFINITY;
+    double maxLongitude = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Length of the longest segment in or below this box.
+     */
+    double longestSegment = 0.0;
+
+    /**
+     * Grow this box to cover another.
+     *
+     * @param other Box to cover.
+     */
+    final void include(final Box other) {
+      minLatitude = Math.min(minLatitude, other.minLatitude);
+      minLongitude = Math.min(minLongitude, other.minLongitude);
+      maxLatitude = Math.max(maxLatitude, other.maxLatitude);
+      maxLongitude = Math.max(maxLongitude, other.maxLongitude);
+      longestSegment = Math.max(longestSegment, other.longestSegment);
+    }
+
+    /**
+     * @return Half-perimeter of this box, used as its size when organizing the tree.
+     */
+    final double margin() {
+      return (maxLatitude - minLatitude) + (maxLongitude - minLongitude);
+    }
+
+    /**
+     * @param other Box to cover.
+     * @return Half-perimeter of the box covering both this box and another.
+     */
+    final double marginWith(final Box other) {
+      return (Math.max(maxLatitude, other.maxLatitude) - Math.min(minLatitude, other.minLatitude))
+             + (Math.max(maxLongitude, other.maxLongitude) - Math.min(minLongitude, other.minLongitude));
+    }
+
+    /**
+     * Lower bound on the cost of inserting a point at any position in or below this box: either
+     * next to a single task at the start or end of a route, which costs at least the distance
+     * to the box, or into a segment, which costs at least the metric's detour bound.
+     *
+     * @param metric Metric that costs are measured with.
+     * @param latitude Latitude of the point.
+     * @param longitude Longitude of the point.
+     * @return Bound on the insertion cost.
+     */
+    final double lowerBound(final DistanceMetric metric, final double latitude, final double longitude) {
+      final double boxDistance = metric.distanceToBox(latitude, longitude,
+                                                      minLatitude, minLongitude,
+                                                      maxLatitude, maxLongitude);
+      return Math.min(boxDistance, metric.detourLowerBound(boxDistance, longestSegment));
+    }
+  }
+
+  /**
+   * Leaf entry, describing one insertion position in one route: before <pre>to</pre> if
+   * <pre>from</pre> is <pre>null</pre>, after <pre>from</pre> if <pre>to</pre> is
+   * <pre>null</pre>, or between the two otherwise.
+   */
+  static final class Entry extends Box {
+    final @NotNull Tasklist tasklist;
+    final @Nullable Task from;
+    final @Nullable Task to;
+    @Nullable Node leaf;
+
+    /**
+     * Insertion position this entry describes, kept in step with its place in the route's list.
+     */
+    int position;
+
+    Entry(final @NotNull DistanceMetric metric,
+          final @NotNull Tasklist tasklist,
+          final @Nullable Task from,
+          final @Nullable Task to) {
+      this.tasklist = tasklist;
+      this.from = from;
+      this.to = to;
+      if (from != null) includePoint(from.getLocation().getGeopoint());
+      if (to != null) includePoint(to.getLocation().getGeopoint());
+      if (from != null && to != null) longestSegment = metric.distance(from, to);
+    }
+
+    private void includePoint(final Geopoint point) {
+      minLatitude = Math.min(minLatitude, point.getLatitudeValue());
+      minLongitude = Math.min(minLongitude, point.getLongitudeValue());
+      maxLatitude = Math.max(maxLatitude, point.getLatitudeValue());
+      maxLongitude = Math.max(maxLongitude, point.getLongitudeValue());
+    }
+
+    /**
+     * @param metric Metric that costs are measured with.
+     * @param task Task to insert.
+     * @return Exact increase in route length caused by inserting the task at this position.
+     */
+    double costFor(final DistanceMetric metric, final Task task) {
+      if (from == null)
+        //noinspection ConstantConditions
+        return metric.distance(task, to);
+      if (to == null)
+        return metric.distance(from, task);
+      return metric.distance(from, task) + metric.distance(task, to) - longestSegment;
+    }
+  }
+
+  /**
+   * Interior or leaf node of the R-tree.
+   */
+  static final class Node extends Box {
+    final boolean isLeaf;
+    final @NotNull List<Box> children = new ArrayList<>(maxChildren + 1);
+    @Nullable Node parent;
+
+    Node(final boolean isLeaf) {
+      this.isLeaf = isLeaf;
+    }
+
+    void add(final Box child) {
+      children.add(child);
+      adopt(child);
+      include(child);
+    }
+
+    void adopt(final Box child) {
+      if (isLeaf)
+        ((Entry)child).leaf = this;
+      else
+        ((Node)child).parent = this;
+    }
+
+    void recalculateBounds() {
+      minLatitude = Double.POSITIVE_INFINITY;
+      minLongitude = Double.POSITIVE_INFINITY;
+      maxLatitude = Double.NEGATIVE_INFINITY;
+      maxLongitude = Double.NEGATIVE_INFINITY;
+      longestSegment = 0.0;
+      for (final Box child : children) include(child);
+    }
+  }
+
+  /**
+   * Candidate in a best-first search, ordered by cost (or lower bound), then by sequence.
+   */
+  private static final class Candidate implements Comparable<Candidate> {
+    final double cost;
+    final long order;
+    final Box box;
+
+    Candidate(final double cost, final long order, final Box box) {
+      this.cost = cost;
+      this.order = order;
+      this.box = box;
+    }
+
+    @Override
+    public int compareTo(final @NotNull Candidate other) {
+      final int byCost = Double.compare(cost, other.cost);
+      return byCost != 0 ? byCost : Long.compare(order, other.order);
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Construct an empty route index, measuring costs with {@link DistanceMetric#MANHATTAN}.
+   */
+  public RouteIndex() {
+    this(DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Construct an empty route index.
+   *
+   * @param metric Metric to measure insertion costs with.
+   */
+  public RouteIndex(final @NotNull DistanceMetric metric) {
+    this.metric = metric;
+    this.root = new Node(true);
+    this.routes = new HashMap<>();
+    this.size = 0;
+    this.sequence = 0;
+  }
+
+  // -- tree maintenance -- //
+  /**
+   * Add an entry to the tree.
+   *
+   * @param entry Entry to add.
+   */
+  private void insert(final Entry entry) {
+    // descend to the leaf needing the least enlargement
+    Node node = root;
+    while (!node.isLeaf) {
+      Node best = null;
+      double bestEnlargement = Double.MAX_VALUE;
+      for (final Box child : node.children) {
+        final double enlargement = child.marginWith(entry) - child.margin();
+        if (best == null || enlargement < bestEnlargement
+                || (enlargement == bestEnlargement && child.margin() < best.margin())) {
+          best = (Node)child;
+          bestEnlargement = enlargement;
+        }
+      }
+      //noinspection ConstantConditions
+      node = best;
+    }
+
+    node.add(entry);
+    size++;
+    while (node != null) {
+      if (node.children.size() > maxChildren)
+        node = split(node);
+      else
+        node.include(entry);
+      node = node.parent;
+    }
+  }
+
+  /**
+   * Split an overflowing node in two, using Guttman's quadratic split, and attach the new sibling
+   * to the parent (growing the tree if the root was split).
+   *
+   * @param node Overflowing node.
+   * @return The node that now holds the original node's first half.
+   */
+  private Node split(final Node node) {
+    final List<Box> pending = new ArrayList<>(node.children);
+    node.children.clear();
+    node.recalculateBounds();
+    final Node sibling = new Node(node.isLeaf);
+
+    // pick the two children that would waste the most space together
+    int seedA = 0, seedB = 1;
+    double worstWaste = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < pending.size(); i++) {
+      for (int j = i + 1; j < pending.size(); j++) {
+        final double waste = (pending.get(i).marginWith(pending.get(j))
+                              - pending.get(i).margin() - pending.get(j).margin());
+        if (waste > worstWaste) {
+          worstWaste = waste;
+          seedA = i;
+          seedB = j;
+        }
+      }
+    }
+    final Box first = pending.get(seedA);
+    final Box second = pending.get(seedB);
+    pending.remove(seedB);
+    pending.remove(seedA);
+    node.add(first);
+    sibling.add(second);
+
+    // distribute the rest, keeping both halves at least minimally full
+    while (!pending.isEmpty()) {
+      if (node.children.size() + pending.size() == minChildren) {
+        for (final Box child : pending) node.add(child);
+        break;
+      }
+      if (sibling.children.size() + pending.size() == minChildren) {
+        for (final Box child : pending) sibling.add(child);
+        break;
+      }
+      int chosen = 0;
+      double biggestPreference = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < pending.size(); i++) {
+        final double preference = Math.abs((node.marginWith(pending.get(i)) - node.margin())
+                                           - (sibling.marginWith(pending.get(i)) - sibling.margin()));
+        if (preference > biggestPreference) {
+          biggestPreference = preference;
+          chosen = i;
+        }
+      }
+      final Box child = pending.remove(chosen);
+      final double growNode = node.marginWith(child) - node.margin();
+      final double growSibling = sibling.marginWith(child) - sibling.margin();
+      if (growNode < growSibling || (growNode == growSibling
+                                     && node.children.size() <= sibling.children.size()))
+        node.add(child);
+      else
+        sibling.add(child);
+    }
+
+    if (node.parent == null) {
+      final Node newRoot = new Node(false);
+      newRoot.add(node);
+      newRoot.add(sibling);
+      root = newRoot;
+    } else {
+      node.parent.add(sibling);
+      node.parent.recalculateBounds();
+    }
+    return node;
+  }
+
+  /**
+   * Remove an entry from the tree, condensing under-full nodes and re-inserting their entries.
+   *
+   * @param entry Entry to remove.
+   */
+  private void remove(final Entry entry) {
+    final Node leaf = entry.leaf;
+    if (leaf == null || !leaf.children.remove(entry))
+      throw new IllegalStateException("Entry is not held by this index.");
+    entry.leaf = null;
+    size--;
+
+    final List<Entry> orphans = new ArrayList<>();
+    Node node = leaf;
+    while (node.parent != null) {
+      final Node parent = node.parent;
+      if (node.children.size() < minChildren) {
+        parent.children.remove(node);
+        collectEntries(node, orphans);
+      } else {
+        node.recalculateBounds();
+      }
+      node = parent;
+    }
+    root.recalculateBounds();
+    while (!root.isLeaf && root.children.size() == 1) {
+      root = (Node)root.children.get(0);
+      root.parent = null;
+    }
+    if (!root.isLeaf && root.children.isEmpty())
+      root = new Node(true);
+
+    size -= orphans.size();
+    for (final Entry orphan : orphans) insert(orphan);
+  }
+
+  /**
+   * Gather every entry below a node.
+   *
+   * @param node Node to walk.
+   * @param target List to add entries to.
+   */
+  private static void collectEntries(final Node node, final List<Entry> target) {
+    for (final Box child : node.children) {
+      if (node.isLeaf)
+        target.add((Entry)child);
+      else
+        collectEntries((Node)child, target);
+    }
+  }
+
+  // -- public API -- //
+  /**
+   * Start tracking a route, indexing every insertion position it currently has. Routes with
+   * no tasks have no positions to index until their first task is recorded.
+   *
+   * @param tasklist Route to track.
+   */
+  public void track(final @NotNull Tasklist tasklist) {
+    if (routes.containsKey(tasklist.getDriver()))
+      throw new IllegalStateException("Route for '" + tasklist.getDriver() + "' is already tracked.");
+    final List<Entry> entries = new ArrayList<>(tasklist.getTaskCount() + 1);
+    Task previous = null;
+    for (final Task task : tasklist.getAssignedTasks()) {
+      entries.add(new Entry(metric, tasklist, previous, task));
+      previous = task;
+    }
+    if (previous != null)
+      entries.add(new Entry(metric, tasklist, previous, null));
+    for (int i = 0; i < entries.size(); i++) {
+      entries.get(i).position = i;
+      insert(entries.get(i));
+    }
+    routes.put(tasklist.getDriver(), entries);
+  }
+
+  /**
+   * Record that a {@link Task} was inserted into a tracked route at a given position, replacing
+   * the entry for that position with entries on either side of the new task.
+   *
+   * @param tasklist Route the task was inserted into.
+   * @param index Position the task was inserted at.
+   * @param task Task that was inserted.
+   */
+  public void recordInsertion(final @NotNull Tasklist tasklist, final int index, final @NotNull Task task) {
+    List<Entry> entries = routes.get(tasklist.getDriver());
+    if (entries == null) {
+      entries = new ArrayList<>();
+      routes.put(tasklist.getDriver(), entries);
+    }
+
+    final Entry before;
+    final Entry after;
+    if (entries.isEmpty()) {
+      // first task in the route: it is both the start and the end
+      before = new Entry(metric, tasklist, null, task);
+      after = new Entry(metric, tasklist, task, null);
+      entries.add(before);
+      entries.add(after);
+      before.position = 0;
+      after.position = 1;
+    } else {
+      final Entry replaced = entries.get(index);
+      remove(replaced);
+      before = new Entry(metric, tasklist, replaced.from, task);
+      after = new Entry(metric, tasklist, task, replaced.to);
+      entries.set(index, before);
+      entries.add(index + 1, after);
+      // every later entry has shifted along by one
+      for (int i = index; i < entries.size(); i++) {
+        entries.get(i).position = i;
+      }
+    }
+    insert(before);
+    insert(after);
+  }
+
+  /**
+   * Find the cheapest position to insert a {@link Task} at, across every tracked route.
+   *
+   * @param task Task to find a position for.
+   * @return Cheapest {@link Insertion}, or <pre>null</pre> if no route has any tasks yet.
+   */
+  public @Nullable Insertion resolveCheapestInsertion(final @NotNull Task task) {
+    lastEvaluated = 0;
+    if (size == 0)
+      return null;
+    final double latitude = task.getLocation().getGeopoint().getLatitudeValue();
+    final double longitude = task.getLocation().getGeopoint().getLongitudeValue();
+
+    final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+    queue.add(new Candidate(root.lowerBound(metric, latitude, longitude), sequence++, root));
+    lastEvaluated = 1;
+    while (!queue.isEmpty()) {
+      final Candidate candidate = queue.poll();
+      if (candidate.box instanceof Entry) {
+        // every remaining candidate costs at least this much: we're done
+        final Entry entry = (Entry)candidate.box;
+        return new Insertion(entry.tasklist, entry.position, candidate.cost);
+      }
+
+      final Node node = (Node)candidate.box;
+      for (final Box child : node.children) {
+        final double cost = node.isLeaf
+                                ? ((Entry)child).costFor(metric, task)
+                                : child.lowerBound(metric, latitude, longitude);
+        queue.add(new Candidate(cost, sequence++, child));
+      }
+      lastEvaluated += node.children.size();
+    }
+    throw new IllegalStateException("Non-empty index should always yield an insertion.");
+  }
+
+  // -- getters -- //
+  /**
+   * @return Metric that insertion costs are measured with.
+   */
+  public @NotNull DistanceMetric getMetric() {
+    return metric;
+  }
+
+  /**
+   * @return Number of insertion positions currently indexed.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return Number of boxes and entries costed by the last search, a measure of how much of the
+   *         tree it had to visit.
+   */
+  public int getLastEvaluated() {
+    return lastEvaluated;
+  }
+}
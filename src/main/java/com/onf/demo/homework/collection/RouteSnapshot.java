@@ -0,0 +1,330 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+
+/**
+ * Read-only view of a {@link Driver}'s route as it stood at a moment in time. A snapshot taken
+ * from a {@link Tasklist} shares the route's backing arrays rather than copying them; the route
+ * copies its arrays before any change that would disturb a snapshot, so the snapshot never
+ * changes, however many tasks are assigned afterwards. A {@link #lazy lazy} snapshot is built from
+ * a route's length and end tasks alone, and only reads the route's tasks, via a {@link Source},
+ * the first time they are asked for.
+ *
+ * <p>Behaves as an unmodifiable {@link java.util.List} of tasks, in route order.</p>
+ */
+@Immutable
+@SuppressWarnings("WeakerAccess")
+public final class RouteSnapshot extends AbstractList<Task> implements RandomAccess {
+  // -- internals -- //
+  /**
+   * Driver whose route this is.
+   */
+  final @NotNull Driver driver;
+
+  /**
+   * Tasks in the route, in route order, or <pre>null</pre> for a lazy snapshot. Only the first
+   * {@link #size} entries belong to this snapshot.
+   */
+  final @Nullable Task[] tasks;
+
+  /**
+   * Latitude of each task, in route order, or <pre>null</pre> for a lazy snapshot.
+   */
+  final @Nullable double[] latitudes;
+
+  /**
+   * Longitude of each task, in route order, or <pre>null</pre> for a lazy snapshot.
+   */
+  final @Nullable double[] longitudes;
+
+  /**
+   * First task in the route, or <pre>null</pre> if the route is empty.
+   */
+  final @Nullable Task firstTask;
+
+  /**
+   * Last task in the route, or <pre>null</pre> if the route is empty.
+   */
+  final @Nullable Task lastTask;
+
+  /**
+   * Where a lazy snapshot reads its tasks from, or <pre>null</pre> for a snapshot built over
+   * arrays.
+   */
+  final @Nullable Source source;
+
+  /**
+   * Tasks and coordinates of a lazy snapshot, once they have been read from its source.
+   */
+  volatile @Nullable Columns columns;
+
+  /**
+   * Number of tasks in the route.
+   */
+  final int size;
+
+  /**
+   * Length of the route.
+   */
+  final double knownDistance;
+
+  /**
+   * Metric the route length was measured with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  // -- embedded classes -- //
+  /**
+   * Source of a route's tasks, for a {@link #lazy lazy} snapshot. The route it describes must
+   * never change.
+   */
+  public interface Source {
+    /**
+     * Write every task in the route, in route order.
+     *
+     * @param tasks Array to write into, sized to the route.
+     */
+    void copyTasksInto(@NotNull Task[] tasks);
+  }
+
+  /**
+   * Tasks and coordinates of a lazy snapshot, read from its source.
+   */
+  static final class Columns {
+    final @NotNull Task[] tasks;
+    final @NotNull double[] latitudes;
+    final @NotNull double[] longitudes;
+
+    Columns(final @NotNull Task[] tasks) {
+      this.tasks = tasks;
+      this.latitudes = new double[tasks.length];
+      this.longitudes = new double[tasks.length];
+      for (int index = 0; index < tasks.length; index++) {
+        final Geopoint point = tasks[index].getLocation().getGeopoint();
+        this.latitudes[index] = point.getLatitudeValue();
+        this.longitudes[index] = point.getLongitudeValue();
+      }
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Wrap a route's backing arrays. The caller must never write to the first <pre>size</pre>
+   * entries of any of the arrays again.
+   *
+   * @param driver Driver whose route this is.
+   * @param tasks Tasks in the route.
+   * @param latitudes Latitude of each task.
+   * @param longitudes Longitude of each task.
+   * @param size Number of tasks in the route.
+   * @param knownDistance Length of the route.
+   * @param metric Metric the route length was measured with.
+   */
+  RouteSnapshot(final @NotNull Driver driver,
+                final @NotNull Task[] tasks,
+                final @NotNull double[] latitudes,
+                final @NotNull double[] longitudes,
+                final int size,
+                final double knownDistance,
+                final @NotNull DistanceMetric metric) {
+    this.driver = driver;
+    this.tasks = tasks;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.firstTask = size > 0 ? tasks[0] : null;
+    this.lastTask = size > 0 ? tasks[size - 1] : null;
+    this.source = null;
+    this.size = size;
+    this.knownDistance = knownDistance;
+    this.metric = metric;
+  }
+
+  /**
+   * Describe a route without reading its tasks yet.
+   */
+  private RouteSnapshot(final @NotNull Driver driver,
+                        final @NotNull Source source,
+                        final int size,
+                        final double knownDistance,
+                        final @Nullable Task firstTask,
+                        final @Nullable Task lastTask,
+                        final @NotNull DistanceMetric metric) {
+    this.driver = driver;
+    this.tasks = null;
+    this.latitudes = null;
+    this.longitudes = null;
+    this.firstTask = firstTask;
+    this.lastTask = lastTask;
+    this.source = source;
+    this.size = size;
+    this.knownDistance = knownDistance;
+    this.metric = metric;
+  }
+
+  // -- static API -- //
+  /**
+   * Capture a route held in some other collection, copying it. Used by managers that don't keep
+   * routes in a {@link Tasklist}.
+   *
+   * @param driver Driver whose route this is.
+   * @param tasks Tasks in the route, in route order.
+   * @param metric Metric to measure the route with.
+   * @return Snapshot of the route.
+   */
+  public static @NotNull RouteSnapshot of(final @NotNull Driver driver,
+                                          final @NotNull Collection<Task> tasks,
+                                          final @NotNull DistanceMetric metric) {
+    final int size = tasks.size();
+    final Task[] taskArray = new Task[size];
+    final double[] latitudes = new double[size];
+    final double[] longitudes = new double[size];
+    double knownDistance = 0.0;
+    int index = 0;
+    for (final Task task : tasks) {
+      final Geopoint point = task.getLocation().getGeopoint();
+      taskArray[index] = task;
+      latitudes[index] = point.getLatitudeValue();
+      longitudes[index] = point.getLongitudeValue();
+      if (index > 0)
+        knownDistance += metric.distance(latitudes[index - 1], longitudes[index - 1],
+                                         latitudes[index], longitudes[index]);
+      index++;
+    }
+    return new RouteSnapshot(driver, taskArray, latitudes, longitudes, size, knownDistance, metric);
+  }
+
+  /**
+   * Describe an immutable route held in some other structure, without copying it. Length, first
+   * and last task are known up front; the tasks are only read from the source, once, if something
+   * asks for them.
+   *
+   * @param driver Driver whose route this is.
+   * @param source Where to read the route's tasks from.
+   * @param size Number of tasks in the route.
+   * @param knownDistance Length of the route.
+   * @param firstTask First task in the route, or <pre>null</pre> if it is empty.
+   * @param lastTask Last task in the route, or <pre>null</pre> if it is empty.
+   * @param metric Metric the route length was measured with.
+   * @return Snapshot of the route.
+   */
+  public static @NotNull RouteSnapshot lazy(final @NotNull Driver driver,
+                                            final @NotNull Source source,
+                                            final int size,
+                                            final double knownDistance,
+                                            final @Nullable Task firstTask,
+                                            final @Nullable Task lastTask,
+                                            final @NotNull DistanceMetric metric) {
+    return new RouteSnapshot(driver, source, size, knownDistance, firstTask, lastTask, metric);
+  }
+
+  // -- private API -- //
+  /**
+   * @return Tasks and coordinates of a lazy snapshot, reading them from its source the first time.
+   */
+  private @NotNull Columns columns() {
+    Columns read = this.columns;
+    if (read == null) {
+      final Task[] copied = new Task[this.size];
+      //noinspection ConstantConditions
+      this.source.copyTasksInto(copied);
+      read = new Columns(copied);
+      this.columns = read;  // racing readers build the same columns, so either may win
+    }
+    return read;
+  }
+
+  // -- public API -- //
+  /**
+   * @param index Position in the route.
+   * @return Task at the given position.
+   */
+  @Override
+  public @NotNull Task get(final int index) {
+    if (index < 0 || index >= this.size)
+      throw new IndexOutOfBoundsException("No task at position " + index
+                                              + " in a route of " + this.size + " tasks.");
+    final Task[] eager = this.tasks;
+    return eager != null ? eager[index] : this.columns().tasks[index];
+  }
+
+  /**
+   * @return Number of tasks in this route.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * @param index Position in the route.
+   * @return Latitude of the task at the given position.
+   */
+  public double latitudeAt(final int index) {
+    final double[] eager = this.latitudes;
+    return eager != null ? eager[index] : this.columns().latitudes[index];
+  }
+
+  /**
+   * @param index Position in the route.
+   * @return Longitude of the task at the given position.
+   */
+  public double longitudeAt(final int index) {
+    final double[] eager = this.longitudes;
+    return eager != null ? eager[index] : this.columns().longitudes[index];
+  }
+
+  // -- getters -- //
+  /**
+   * @return {@link Driver} whose route this is.
+   */
+  public @NotNull Driver getDriver() {
+    return driver;
+  }
+
+  /**
+   * @return Length of the route, when the snapshot was taken.
+   */
+  public double getKnownDistance() {
+    return knownDistance;
+  }
+
+  /**
+   * @return Estimated load for the route, when the snapshot was taken. Matches
+   *         {@link Tasklist#getLoadEstimate()}.
+   */
+  public double getLoadEstimate() {
+    return knownDistance;
+  }
+
+  /**
+   * @return Metric the route length was measured with.
+   */
+  public @NotNull DistanceMetric getMetric() {
+    return metric;
+  }
+
+  /**
+   * @return First task in the route, or <pre>null</pre> if the route is empty.
+   */
+  public @Nullable Task getFirstTask() {
+    return firstTask;
+  }
+
+  /**
+   * @return Last task in the route, or <pre>null</pre> if the route is empty.
+   */
+  public @Nullable Task getLastTask() {
+    return lastTask;
+  }
+}
@@ -0,0 +1,221 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+
+/**
+ * Stores a route of {@link Task} records as parallel primitive arrays: one for latitudes, one
+ * for longitudes, and one pointing back at each task. Distance calculations run straight over
+ * the coordinate arrays, without walking from each task to its location and geopoint, and a scan
+ * over the route reads memory in order, which lets {@link DistanceMetric} batch kernels run in
+ * a tight loop.
+ *
+ * <p>This is a speed layout, not a memory one: every {@link Task} stays referenced from the task
+ * array, so the coordinate columns are stored on top of the tasks, and heap per task goes up by
+ * sixteen bytes rather than down. Replacing the task array with ids into a shared table wouldn't
+ * change that, since the table would still have to hold every task.</p>
+ *
+ * <p>Behaves as a {@link java.util.List} of tasks that supports adding at any position, but
+ * not removal or replacement.</p>
+ *
+ * <p>{@link RouteSnapshot} views share the backing arrays. Appending only writes past the end of
+ * every snapshot, so it never needs a copy; inserting anywhere else copies the arrays first, once
+ * per snapshot taken, so snapshots never see the change.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class RouteStore extends AbstractList<Task> implements RandomAccess {
+  // -- internals -- //
+  /**
+   * Initial capacity for the backing arrays, sized for a typical route.
+   */
+  private static final int initialCapacity = 32;
+
+  /**
+   * Tasks in this route, in route order.
+   */
+  @NotNull Task[] tasks;
+
+  /**
+   * Latitude of each task, in route order.
+   */
+  @NotNull double[] latitudes;
+
+  /**
+   * Longitude of each task, in route order.
+   */
+  @NotNull double[] longitudes;
+
+  /**
+   * Number of tasks in this route.
+   */
+  int size;
+
+  /**
+   * Whether a {@link RouteSnapshot} may still be looking at the backing arrays.
+   */
+  boolean shared;
+
+  // -- constructor -- //
+  /**
+   * Construct an empty route store.
+   */
+  public RouteStore() {
+    this(initialCapacity);
+  }
+
+  /**
+   * Construct an empty route store, with room for a given number of tasks before it grows.
+   *
+   * @param capacity Number of tasks to make room for.
+   */
+  public RouteStore(final int capacity) {
+    final int sized = Math.max(1, capacity);
+    this.tasks = new Task[sized];
+    this.latitudes = new double[sized];
+    this.longitudes = new double[sized];
+    this.size = 0;
+    this.shared = false;
+  }
+
+  // -- private API -- //
+  /**
+   * Make sure the backing arrays have room for one more task.
+   */
+  private void ensureRoomForOneMore() {
+    if (this.size < this.tasks.length)
+      return;
+    this.copyArrays(this.tasks.length * 2);
+  }
+
+  /**
+   * Move onto fresh copies of the backing arrays, leaving any snapshots with the old ones.
+   *
+   * @param capacity Capacity of the new arrays.
+   */
+  private void copyArrays(final int capacity) {
+    this.tasks = Arrays.copyOf(this.tasks, capacity);
+    this.latitudes = Arrays.copyOf(this.latitudes, capacity);
+    this.longitudes = Arrays.copyOf(this.longitudes, capacity);
+    this.shared = false;
+  }
+
+  // -- public API -- //
+  /**
+   * Insert a {@link Task} at a given position, shifting later tasks up by one.
+   *
+   * @param index Position to insert the task at, from <pre>0</pre> to {@link #size()}.
+   * @param task Task to insert.
+   * @throws IndexOutOfBoundsException If the index is outside of the route.
+   */
+  @Override
+  public void add(final int index, final @NotNull Task task) {
+    if (index < 0 || index > this.size)
+      throw new IndexOutOfBoundsException("Cannot insert at position " + index
+                                              + " in a route of " + this.size + " tasks.");
+    this.ensureRoomForOneMore();
+    final int shifted = this.size - index;
+    if (this.shared && shifted > 0)
+      this.copyArrays(this.tasks.length);  // shifting would disturb a snapshot
+    System.arraycopy(this.tasks, index, this.tasks, index + 1, shifted);
+    System.arraycopy(this.latitudes, index, this.latitudes, index + 1, shifted);
+    System.arraycopy(this.longitudes, index, this.longitudes, index + 1, shifted);
+
+    final Geopoint point = task.getLocation().getGeopoint();
+    this.tasks[index] = task;
+    this.latitudes[index] = point.getLatitudeValue();
+    this.longitudes[index] = point.getLongitudeValue();
+    this.size += 1;
+    this.modCount += 1;
+  }
+
+  /**
+   * @param index Position in the route.
+   * @return Task at the given position.
+   */
+  @Override
+  public @NotNull Task get(final int index) {
+    if (index < 0 || index >= this.size)
+      throw new IndexOutOfBoundsException("No task at position " + index
+                                              + " in a route of " + this.size + " tasks.");
+    return this.tasks[index];
+  }
+
+  /**
+   * @return Number of tasks in this route.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Calculate the distance from the task at a given position to a coordinate pair.
+   *
+   * @param metric Metric to measure with.
+   * @param index Position in the route.
+   * @param latitude Latitude to measure to.
+   * @param longitude Longitude to measure to.
+   * @return Distance between the two points.
+   */
+  public double distanceFrom(final @NotNull DistanceMetric metric,
+                             final int index,
+                             final double latitude,
+                             final double longitude) {
+    return metric.distance(this.latitudes[index], this.longitudes[index], latitude, longitude);
+  }
+
+  /**
+   * Calculate the distance from a coordinate pair to every task in this route, in one batch.
+   *
+   * @param metric Metric to measure with.
+   * @param latitude Latitude to measure from.
+   * @param longitude Longitude to measure from.
+   * @param out Array to write distances into, with room for at least {@link #size()} values.
+   */
+  public void distancesTo(final @NotNull DistanceMetric metric,
+                          final double latitude,
+                          final double longitude,
+                          final @NotNull double[] out) {
+    metric.distances(latitude, longitude, this.latitudes, this.longitudes, 0, this.size, out);
+  }
+
+  /**
+   * Take a read-only snapshot of this route, sharing the backing arrays.
+   *
+   * @param driver Driver whose route this is.
+   * @param knownDistance Length of the route.
+   * @param metric Metric the route length was measured with.
+   * @return Snapshot of this route as it stands now.
+   */
+  public @NotNull RouteSnapshot snapshot(final @NotNull Driver driver,
+                                         final double knownDistance,
+                                         final @NotNull DistanceMetric metric) {
+    this.shared = true;
+    return new RouteSnapshot(driver, this.tasks, this.latitudes, this.longitudes,
+                             this.size, knownDistance, metric);
+  }
+
+  /**
+   * @param index Position in the route.
+   * @return Latitude of the task at the given position.
+   */
+  public double latitudeAt(final int index) {
+    return this.latitudes[index];
+  }
+
+  /**
+   * @param index Position in the route.
+   * @return Longitude of the task at the given position.
+   */
+  public double longitudeAt(final int index) {
+    return this.longitudes[index];
+  }
+}
@@ -7,8 +7,9 @@ import com.onf.demo.homework.struct.Task;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 
 /**
@@ -24,9 +25,21 @@ public final class Tasklist implements Comparable<Tasklist> {
   final @NotNull Driver driver;
 
   /**
-   * List of assigned {@link Task} objects.
+   * Assigned {@link Task} objects, in route order, alongside their coordinates.
    */
-  final @NotNull Collection<Task> assignedTasks;
+  final @NotNull RouteStore assignedTasks;
+
+  /**
+   * Metric used to measure distances along this route.
+   */
+  final @NotNull DistanceMetric metric;
+
+  /**
+   * Length of each segment in this route, where segment <pre>i</pre> spans from task
+   * <pre>i</pre> to task <pre>i + 1</pre>. Kept so that the cost of inserting a task
+   * between any pair of tasks can be checked in constant time.
+   */
+  @NotNull double[] segmentLengths;
 
   /**
    * Last assigned task for this {@link Driver}.
@@ -50,15 +63,44 @@ public final class Tasklist implements Comparable<Tasklist> {
    */
   double knownDistance;
 
+  /**
+   * Ranking that keeps this route's place by load, or <pre>null</pre> if it isn't ranked.
+   */
+  @Nullable LoadRanking ranking;
+
+  /**
+   * Position of this route in its ranking's least-loaded-first heap.
+   */
+  int leastLoadedRank = -1;
+
+  /**
+   * Position of this route in its ranking's most-loaded-first heap.
+   */
+  int mostLoadedRank = -1;
+
   // -- constructor -- //
   /**
-   * Construct an empty task-list for a given {@link Driver}.
+   * Construct an empty task-list for a given {@link Driver}, measured with
+   * {@link DistanceMetric#MANHATTAN}.
    *
    * @param driver Driver object for this task-list.
    */
   public Tasklist(final @NotNull Driver driver) {
+    this(driver, DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Construct an empty task-list for a given {@link Driver}.
+   *
+   * @param driver Driver object for this task-list.
+   * @param metric Metric to measure distances with.
+   */
+  public Tasklist(final @NotNull Driver driver,
+                  final @NotNull DistanceMetric metric) {
     this.driver = driver;
-    this.assignedTasks = new ArrayList<>();
+    this.metric = metric;
+    this.assignedTasks = new RouteStore();
+    this.segmentLengths = new double[initialSegmentCapacity];
     this.loadEstimate = 0.0;
     this.knownDistance = 0.0;
     this.taskCount = 0;
@@ -66,37 +108,72 @@ public final class Tasklist implements Comparable<Tasklist> {
   }
 
   /**
-   * Construct a pre-filled task-list for a given {@link Driver}.
+   * Construct a pre-filled task-list for a given {@link Driver}, measured with
+   * {@link DistanceMetric#MANHATTAN}.
    *
    * @param driver Driver object for this task-list.
    * @param tasks Collection of tasks for this driver.
    */
   public Tasklist(final @NotNull Driver driver,
                   final @NotNull Collection<Task> tasks) {
+    this(driver, tasks, DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Construct a pre-filled task-list for a given {@link Driver}.
+   *
+   * @param driver Driver object for this task-list.
+   * @param tasks Collection of tasks for this driver.
+   * @param metric Metric to measure distances with.
+   */
+  public Tasklist(final @NotNull Driver driver,
+                  final @NotNull Collection<Task> tasks,
+                  final @NotNull DistanceMetric metric) {
     this.driver = driver;
+    this.metric = metric;
     this.knownDistance = 0.0;
 
     // note: copied here to avoid mutation of underlying private value -
     // chose not to use `unmodifiableCollection` because we modify tasks as we go
-    this.assignedTasks = new ArrayList<>(tasks.size());
+    this.assignedTasks = new RouteStore(Math.max(initialSegmentCapacity, tasks.size()));
     this.assignedTasks.addAll(tasks);
     this.taskCount = this.assignedTasks.size();
+    this.segmentLengths = new double[Math.max(initialSegmentCapacity, this.taskCount)];
 
-    Task lastTask = null;
     double currentKnownDistance = this.knownDistance;
-    for (final Task task : tasks) {
-      currentKnownDistance += calculateDistanceForPoints(lastTask, task);
-      lastTask = task;
+    for (int segmentIndex = 0; segmentIndex + 1 < this.taskCount; segmentIndex++) {
+      final double segmentLength = this.assignedTasks.distanceFrom(
+          metric,
+          segmentIndex,
+          this.assignedTasks.latitudeAt(segmentIndex + 1),
+          this.assignedTasks.longitudeAt(segmentIndex + 1));
+      this.segmentLengths[segmentIndex] = segmentLength;
+      currentKnownDistance += segmentLength;
     }
-    this.lastAssignedTask = lastTask;
+    this.lastAssignedTask = this.taskCount > 0 ? this.assignedTasks.get(this.taskCount - 1) : null;
     this.knownDistance = currentKnownDistance;
     recalculateLoadEstimate();
   }
 
+  /**
+   * Initial capacity for the segment length array, sized for a typical route.
+   */
+  private static final int initialSegmentCapacity = 32;
+
+  /**
+   * Per-thread scratch space for batched distance calculations.
+   */
+  private static final ThreadLocal<double[]> scratch = new ThreadLocal<double[]>() {
+    @Override
+    protected double[] initialValue() {
+      return new double[initialSegmentCapacity];
+    }
+  };
+
   // -- static API -- //
   /**
    * Calculate the distance cost between two tasks using their
-   * underlying geopoints.
+   * underlying geopoints, measured with {@link DistanceMetric#MANHATTAN}.
    *
    * @param start Start geopoint.
    * @param finish End geopoint.
@@ -107,19 +184,8 @@ public final class Tasklist implements Comparable<Tasklist> {
       // it's the first task for this driver: the distance is 0
       return 0.0;
 
-    final Geopoint startPoint = start.getLocation().getGeopoint();
-    final Geopoint endPoint = finish.getLocation().getGeopoint();
-
-    // get min and max points
-    final double largestLatitude = Math.max(startPoint.getLatitude(), endPoint.getLatitude());
-    final double largestLongitude =Math.max(startPoint.getLongitude(), endPoint.getLongitude());
-
-    final double smallestLatitude = Math.min(startPoint.getLatitude(), endPoint.getLatitude());
-    final double smallestLongitude = Math.min(startPoint.getLongitude(), endPoint.getLongitude());
-
     // return summed absolute difference of points
-    final double difference = (Math.abs(largestLatitude - smallestLatitude)
-                               + Math.abs(largestLongitude - smallestLongitude));
+    final double difference = DistanceMetric.MANHATTAN.distance(start, finish);
 
     // make sure we're acting sane
     assert difference >= 0.0;
@@ -135,6 +201,42 @@ public final class Tasklist implements Comparable<Tasklist> {
     this.loadEstimate = this.knownDistance;
   }
 
+  /**
+   * Make room for one more segment in {@link #segmentLengths}, and open a slot at the
+   * given segment index by shifting later segments up by one.
+   *
+   * @param segmentIndex Index of the segment slot to open.
+   */
+  private void openSegmentSlot(final int segmentIndex) {
+    final int segmentCount = Math.max(0, this.taskCount - 1);
+    if (segmentCount + 1 > this.segmentLengths.length)
+      this.segmentLengths = Arrays.copyOf(this.segmentLengths, this.segmentLengths.length * 2);
+    System.arraycopy(this.segmentLengths, segmentIndex,
+                     this.segmentLengths, segmentIndex + 1,
+                     segmentCount - segmentIndex);
+  }
+
+  /**
+   * Primitive kernel behind {@link #costToInsertTask(int, Task)}, working straight from the
+   * coordinates in {@link #assignedTasks}.
+   *
+   * @param index Position in the route, from <pre>0</pre> (start) to the task count (end).
+   * @param latitude Latitude of the task being inserted.
+   * @param longitude Longitude of the task being inserted.
+   * @return Increase in route length, or <pre>0.0</pre> if the route is empty.
+   */
+  private double costToInsertAt(final int index, final double latitude, final double longitude) {
+    if (this.taskCount == 0)
+      return 0.0;  // it would be this driver's first task: no cost
+    if (index == 0)
+      return this.assignedTasks.distanceFrom(metric, 0, latitude, longitude);
+    if (index == this.taskCount)
+      return this.assignedTasks.distanceFrom(metric, index - 1, latitude, longitude);
+    return (this.assignedTasks.distanceFrom(metric, index - 1, latitude, longitude)
+            + this.assignedTasks.distanceFrom(metric, index, latitude, longitude)
+            - this.segmentLengths[index - 1]);
+  }
+
   // -- interface compliance: Comparable<Tasklist> -- //
   /**
    * Compare two tasklists, using their estimated current cost to give them an
@@ -180,12 +282,52 @@ public final class Tasklist implements Comparable<Tasklist> {
    * @param task Task to assign to the local {@link Driver}.
    */
   public void assignTask(final @NotNull Task task) {
+    this.insertTask(this.taskCount, task);
+  }
+
+  /**
+   * Insert a {@link Task} into this list at a given position in the route, where
+   * <pre>0</pre> is the start of the route and {@link #getTaskCount()} is the end.
+   *
+   * @param index Position in the route to insert the task at.
+   * @param task Task to insert for the local {@link Driver}.
+   * @throws IndexOutOfBoundsException If the index is outside of the route.
+   */
+  public void insertTask(final int index, final @NotNull Task task) {
+    if (index < 0 || index > this.taskCount)
+      throw new IndexOutOfBoundsException("Cannot insert at position " + index
+                                              + " in a route of " + this.taskCount + " tasks.");
+
+    final double addedDistance = this.costToInsertTask(index, task);
+    if (this.taskCount > 0) {
+      if (index == this.taskCount) {
+        // appended: new segment from the old last task
+        this.openSegmentSlot(index - 1);
+        this.segmentLengths[index - 1] = addedDistance;
+      } else if (index == 0) {
+        // prepended: new segment to the old first task
+        this.openSegmentSlot(0);
+        this.segmentLengths[0] = addedDistance;
+      } else {
+        // split segment (index - 1) into two
+        this.openSegmentSlot(index);
+        final Geopoint point = task.getLocation().getGeopoint();
+        this.segmentLengths[index - 1] = this.assignedTasks.distanceFrom(
+            metric, index - 1, point.getLatitudeValue(), point.getLongitudeValue());
+        this.segmentLengths[index] = this.assignedTasks.distanceFrom(
+            metric, index, point.getLatitudeValue(), point.getLongitudeValue());
+      }
+    }
+
     //noinspection ConstantConditions
-    this.assignedTasks.add(task);
+    this.assignedTasks.add(index, task);
     this.taskCount += 1;
-    this.knownDistance += calculateDistanceForPoints(this.lastAssignedTask, task);
-    this.lastAssignedTask = task;
+    this.knownDistance += addedDistance;
+    if (index == this.taskCount - 1)
+      this.lastAssignedTask = task;
     this.recalculateLoadEstimate();
+    if (this.ranking != null)
+      this.ranking.update(this);
   }
 
   /**
@@ -201,12 +343,102 @@ public final class Tasklist implements Comparable<Tasklist> {
    *         task itself.
    */
   public double costToAssignTask(final Task task) {
-    if (lastAssignedTask == null)
+    if (this.taskCount == 0)
       return 0.0;  // it would be this driver's first task: no cost
-    return calculateDistanceForPoints(this.lastAssignedTask, task);
+    final Geopoint point = task.getLocation().getGeopoint();
+    return this.assignedTasks.distanceFrom(metric, this.taskCount - 1,
+                                           point.getLatitudeValue(), point.getLongitudeValue());
+  }
+
+  /**
+   * Query this {@link Driver}'s task-list about how much route length would be added by
+   * inserting a given {@link Task} at a given position. Runs in constant time, using the
+   * cached length of the segment that the task would split.
+   *
+   * @since 1.1
+   * @param index Position in the route, from <pre>0</pre> (start) to the task count (end).
+   * @param task Subject {@link Task} to query this task-list for.
+   * @return Increase in route length, or <pre>0.0</pre> if this would be this
+   *         {@link Driver}'s first assigned task.
+   */
+  public double costToInsertTask(final int index, final @NotNull Task task) {
+    final Geopoint point = task.getLocation().getGeopoint();
+    return this.costToInsertAt(index, point.getLatitudeValue(), point.getLongitudeValue());
+  }
+
+  /**
+   * Find the position in this route where inserting a given {@link Task} would add the
+   * least route length. On ties, the earliest position wins.
+   *
+   * @since 1.1
+   * @param task Subject {@link Task} to find a position for.
+   * @return Cheapest position to insert the task at, suitable for {@link #insertTask(int, Task)}.
+   */
+  public int cheapestInsertionIndex(final @NotNull Task task) {
+    return this.cheapestInsertion(task).getIndex();
+  }
+
+  /**
+   * Find the position in this route where inserting a given {@link Task} would add the
+   * least route length, along with how much it would add, so callers comparing routes don't
+   * need to cost the winning position again. On ties, the earliest position wins.
+   *
+   * @since 1.1
+   * @param task Subject {@link Task} to find a position for.
+   * @return Cheapest {@link Insertion} into this route.
+   */
+  public @NotNull Insertion cheapestInsertion(final @NotNull Task task) {
+    final Geopoint point = task.getLocation().getGeopoint();
+    final double latitude = point.getLatitudeValue();
+    final double longitude = point.getLongitudeValue();
+
+    if (this.taskCount == 0)
+      return new Insertion(this, 0, 0.0);  // it would be this driver's first task
+
+    // score the task against every stop in one batch, then combine into insertion costs
+    double[] distances = scratch.get();
+    if (distances.length < this.taskCount) {
+      distances = new double[Math.max(this.taskCount, distances.length * 2)];
+      scratch.set(distances);
+    }
+    this.assignedTasks.distancesTo(metric, latitude, longitude, distances);
+
+    int cheapestIndex = 0;
+    double cheapestCost = distances[0];
+    for (int index = 1; index < this.taskCount; index++) {
+      final double cost = distances[index - 1] + distances[index] - this.segmentLengths[index - 1];
+      if (cost < cheapestCost) {
+        cheapestCost = cost;
+        cheapestIndex = index;
+      }
+    }
+    if (distances[this.taskCount - 1] < cheapestCost) {
+      cheapestCost = distances[this.taskCount - 1];
+      cheapestIndex = this.taskCount;
+    }
+    return new Insertion(this, cheapestIndex, cheapestCost);
+  }
+
+  /**
+   * Take a read-only snapshot of this route, without copying it. The snapshot stays as it is
+   * while more tasks are assigned.
+   *
+   * @since 1.2
+   * @return Snapshot of this route as it stands now.
+   */
+  public @NotNull RouteSnapshot snapshot() {
+    return this.assignedTasks.snapshot(this.driver, this.knownDistance, this.metric);
   }
 
   // -- getters -- //
+  /**
+   * @return Metric used to measure distances along this route.
+   */
+  @NotNull
+  public DistanceMetric getMetric() {
+    return metric;
+  }
+
   /**
    * @return {@link Driver} object.
    */
@@ -216,11 +448,12 @@ public final class Tasklist implements Comparable<Tasklist> {
   }
 
   /**
-   * @return Assigned collection of {@link Task} records.
+   * @return Read-only view of the assigned {@link Task} records, in route order. Tasks are only
+   *         ever added through this tasklist, so its distances and ranking stay in step.
    */
   @NotNull
   public Collection<Task> getAssignedTasks() {
-    return assignedTasks;
+    return Collections.unmodifiableList(assignedTasks);
   }
 
   /**
@@ -2,18 +2,72 @@ package com.onf.demo.homework.manager;
 
 
 import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.RouteSnapshot;
 import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.metrics.AssignerMetrics;
+import com.onf.demo.homework.metrics.MetricsRegistry;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
  * Abstract base class that provides default functionality for {@link TaskAssigner} implementors.
  */
 abstract class BaseTaskManager implements TaskAssigner {
+  /**
+   * Orders route snapshots from least to most loaded.
+   */
+  private static final Comparator<RouteSnapshot> byLoad = new Comparator<RouteSnapshot>() {
+    @Override
+    public int compare(final RouteSnapshot left, final RouteSnapshot right) {
+      return Double.compare(left.getLoadEstimate(), right.getLoadEstimate());
+    }
+  };
+
+  /**
+   * Metrics this manager reports to, shared with every manager of its kind.
+   */
+  final @NotNull AssignerMetrics metrics;
+
+  /**
+   * Number of tasks assigned to this manager's board, for the board size gauge.
+   */
+  final @NotNull AtomicLong boardTasks;
+
+  /**
+   * Set up reporting to the metrics for this kind of manager.
+   */
+  BaseTaskManager() {
+    this.metrics = MetricsRegistry.global().assigner(this.getClass().getSimpleName());
+    this.boardTasks = new AtomicLong();
+  }
+
+  /**
+   * Record that a task was assigned, along with the size of the board afterwards.
+   *
+   * @param startNanos When the assign started, from {@link System#nanoTime()}.
+   * @param drivers Number of drivers on the board.
+   */
+  void recordAssign(final long startNanos, final int drivers) {
+    metrics.recordAssign(System.nanoTime() - startNanos);
+    metrics.recordBoardSize(drivers, boardTasks.incrementAndGet());
+  }
+
+  /**
+   * @return Metrics this manager reports to, shared with every manager of its kind.
+   */
+  @Override
+  public @NotNull AssignerMetrics metrics() {
+    return metrics;
+  }
+
   /**
    * Assign a collection of {@link Task} records to a {@link Driver}.
    *
@@ -26,51 +80,155 @@ abstract class BaseTaskManager implements TaskAssigner {
     }
   }
 
+  /**
+   * Resolve and assign each of a stream of {@link Task} records, one at a time.
+   *
+   * @param tasks Tasks to assign, in order.
+   */
+  public void assignAll(final @NotNull Iterable<Task> tasks) {
+    for (final Task task : tasks) {
+      assignToDriver(resolveLowestCostAssignment(task), task);
+    }
+  }
+
+  /**
+   * Take a snapshot of every {@link Driver}'s route by copying the output of {@link #export()},
+   * for implementations with nothing better to offer.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    return snapshotOf(this.export(), DistanceMetric.MANHATTAN);
+  }
+
+  /**
+   * Build a snapshot of a set of {@link Tasklist} routes, sharing their storage rather than
+   * copying it.
+   *
+   * @param tasklists Routes to snapshot.
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  static @NotNull Map<Driver, RouteSnapshot> snapshotOf(final @NotNull Collection<Tasklist> tasklists) {
+    final Map<Driver, RouteSnapshot> snapshot = new HashMap<>(tasklists.size());
+    for (final Tasklist tasklist : tasklists) {
+      snapshot.put(tasklist.getDriver(), tasklist.snapshot());
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Build a snapshot of a set of routes held in other collections, copying each one.
+   *
+   * @param routes Each driver's route, in route order.
+   * @param metric Metric to measure routes with.
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  static @NotNull Map<Driver, RouteSnapshot> snapshotOf(final @NotNull Map<Driver, ? extends Collection<Task>> routes,
+                                                        final @NotNull DistanceMetric metric) {
+    final Map<Driver, RouteSnapshot> snapshot = new HashMap<>(routes.size());
+    for (final Map.Entry<Driver, ? extends Collection<Task>> entry : routes.entrySet()) {
+      snapshot.put(entry.getKey(), RouteSnapshot.of(entry.getKey(), entry.getValue(), metric));
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
   /**
    * Build a report of drivers and their task loads. The list should be sorted by task load.
    *
    * @return {@link StringBuilder}, pre-filled with a report to be printed.
    */
   public @NotNull StringBuilder report() {
-    // not really worried about performance at the end of our run...
     final StringBuilder sb = new StringBuilder();
-    final List<Map.Entry<Driver, LinkedHashSet<Task>>> rawTasklistCollection = (
-        new ArrayList<>(this.export().entrySet()));
-
-    // rebuild into full Tasklist objects, with stats
-    final List<Tasklist> tasklistCollection = new ArrayList<>(rawTasklistCollection.size());
-    for (final Map.Entry<Driver, LinkedHashSet<Task>> tasklistForDriver : rawTasklistCollection) {
-      Tasklist tasklistObj = new Tasklist(tasklistForDriver.getKey(),
-                                          tasklistForDriver.getValue());
-      tasklistCollection.add(tasklistObj);
+    try {
+      this.writeReport(sb, this.sortedByLoad());
+    } catch (IOException err) {
+      throw new IllegalStateException("Appending to a StringBuilder should never fail.", err);
+    }
+    return sb;
+  }
+
+  /**
+   * Stream a report of drivers and their task loads, sorted by task load, in the same format as
+   * {@link #report()}, without holding the whole report in memory.
+   *
+   * @param out Writer to stream the report to. It is not flushed or closed.
+   * @throws IOException If writing fails.
+   */
+  public void report(final @NotNull Writer out) throws IOException {
+    this.writeReport(out, this.sortedByLoad());
+  }
+
+  /**
+   * Stream a report of only the most-loaded drivers, in the same format as {@link #report()}.
+   * Drivers are picked with a heap bounded to the number requested, so the full board is never
+   * sorted; the report lists them from least to most loaded, like the tail of a full report.
+   *
+   * @param out Writer to stream the report to. It is not flushed or closed.
+   * @param topK Number of drivers to include.
+   * @throws IOException If writing fails.
+   * @throws IllegalArgumentException If the number of drivers is less than <pre>1</pre>.
+   */
+  public void report(final @NotNull Writer out, final int topK) throws IOException {
+    if (topK < 1)
+      throw new IllegalArgumentException("Report must include at least 1 driver.");
+    final PriorityQueue<RouteSnapshot> heap = new PriorityQueue<>(topK, byLoad);
+    for (final RouteSnapshot route : this.snapshot().values()) {
+      if (heap.size() < topK) {
+        heap.add(route);
+      } else if (byLoad.compare(route, heap.peek()) > 0) {
+        heap.poll();
+        heap.add(route);
+      }
     }
 
-    // sort in descending order
-    Collections.sort(tasklistCollection);
-    Collections.reverse(tasklistCollection);
-
-    sb.append("");
-    sb.append("------------- Task Report -------------\n");
-
-    for (final Tasklist list : tasklistCollection) {
-      sb.append(list.getDriver().getName());
-      sb.append(": estimate(");
-      sb.append(list.getLoadEstimate());
-      sb.append("), ");
-      sb.append("assigned(");
-      sb.append(list.getAssignedTasks().size());
-      sb.append("), ");
-
-      // get first and last task, calculate total distance they have to go
-      final Task firstTask = list.getAssignedTasks().iterator().next();
-      final Task lastTask = list.getLastAssignedTask();
-      final Double totalDistanceForDriver = Tasklist.calculateDistanceForPoints(firstTask, lastTask);
-
-      sb.append("total(");
-      sb.append(totalDistanceForDriver);
-      sb.append(")\n");
+    final List<RouteSnapshot> routes = new ArrayList<>(heap.size());
+    while (!heap.isEmpty()) {
+      routes.add(heap.poll());
+    }
+    this.writeReport(out, routes);
+  }
+
+  /**
+   * @return Snapshot of every route, from least to most loaded.
+   */
+  private @NotNull List<RouteSnapshot> sortedByLoad() {
+    // snapshots carry their own stats, so there's nothing to rebuild
+    final List<RouteSnapshot> routes = new ArrayList<>(this.snapshot().values());
+    Collections.sort(routes, byLoad);
+    return routes;
+  }
+
+  /**
+   * Write a report over a set of routes, in the order given.
+   *
+   * @param out Destination for the report.
+   * @param routes Routes to report on.
+   * @throws IOException If writing fails.
+   */
+  private void writeReport(final @NotNull Appendable out,
+                           final @NotNull Iterable<RouteSnapshot> routes) throws IOException {
+    out.append("------------- Task Report -------------\n");
+
+    for (final RouteSnapshot route : routes) {
+      out.append(route.getDriver().getName());
+      out.append(": estimate(");
+      out.append(String.valueOf(route.getLoadEstimate()));
+      out.append("), ");
+      out.append("assigned(");
+      out.append(String.valueOf(route.size()));
+      out.append("), ");
+
+      // get first and last task, calculate total distance they have to go, without reading the
+      // rest of the route
+      final Task firstTask = route.getFirstTask();
+      final Task lastTask = route.getLastTask();
+      final double totalDistanceForDriver = firstTask == null || lastTask == null
+                                                ? 0.0
+                                                : route.getMetric().distance(firstTask, lastTask);
+
+      out.append("total(");
+      out.append(String.valueOf(totalDistanceForDriver));
+      out.append(")\n");
     }
-    sb.append("");
-    return sb;
   }
 }
@@ -2,15 +2,15 @@ package com.onf.demo.homework.manager;
 
 
 import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.RouteSnapshot;
 import com.onf.demo.homework.collection.Tasklist;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.*;
 
 
 /**
@@ -23,8 +23,84 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
   /**
    * Holds the global set of tasks for each driver, ordered by the order in which
    * they were originally inserted - so, however {@link TaskManager} inserted them.
+   * Each route starts out as the {@link RouteSnapshot} imported from the original manager,
+   * and is only copied into a set of its own the first time a task is assigned to it.
    */
-  Map<Driver, LinkedHashSet<Task>> taskboard;
+  final Map<Driver, Collection<Task>> taskboard;
+
+  /**
+   * Summed distance and last task for each driver's route, computed once from the imported
+   * task board and kept current as tasks are assigned, so resolving doesn't re-walk routes.
+   */
+  final Map<Driver, RouteSummary> routeCache;
+
+  /**
+   * Every cached route summary, in the order its driver was added. Resolves scan this list,
+   * so that sequential and parallel resolves see candidates in the same order.
+   */
+  final List<RouteSummary> roster;
+
+  /**
+   * Tuning parameters for this manager.
+   */
+  final ManagerSpec spec;
+
+  /**
+   * Resolves candidates in parallel, for boards large enough to benefit.
+   */
+  final ParallelResolver parallelResolver;
+
+  // -- embedded classes -- //
+  /**
+   * Running summary of a single {@link Driver}'s route.
+   */
+  static final class RouteSummary {
+    /**
+     * Driver whose route this is.
+     */
+    final @NotNull Driver driver;
+
+    /**
+     * Metric to measure the route with.
+     */
+    final @NotNull DistanceMetric metric;
+
+    /**
+     * Summed distance between adjacent tasks in the route.
+     */
+    double summedDistance;
+
+    /**
+     * Last task in the route, or <pre>null</pre> if the route is empty.
+     */
+    @Nullable Task lastTask;
+
+    /**
+     * Summarize a route by walking it once.
+     *
+     * @param driver Driver whose route this is.
+     * @param metric Metric to measure the route with.
+     * @param tasks Tasks in the route, in order.
+     */
+    RouteSummary(final @NotNull Driver driver,
+                 final @NotNull DistanceMetric metric,
+                 final @NotNull Iterable<Task> tasks) {
+      this.driver = driver;
+      this.metric = metric;
+      for (final Task task : tasks) this.append(task);
+    }
+
+    /**
+     * Account for a task appended to the end of the route.
+     *
+     * @param task Appended task.
+     */
+    void append(final @NotNull Task task) {
+      if (this.lastTask != null)
+        this.summedDistance += this.metric.distance(this.lastTask, task);
+      this.lastTask = task;
+    }
+  }
 
   // -- constructor --//
   /**
@@ -34,29 +110,56 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
    * @param manager Original task manager.
    */
   public BlindTaskManager(final @NotNull TaskAssigner manager) {
-    taskboard = manager.export();
+    this(manager, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Construct a new task manager that is blind to the algorithms that assembled it
+   * from a sample dataset, with custom tuning parameters.
+   *
+   * @param manager Original task manager.
+   * @param spec Tuning parameters for this manager.
+   */
+  public BlindTaskManager(final @NotNull TaskAssigner manager, final @NotNull ManagerSpec spec) {
+    this.spec = spec;
+    final Map<Driver, RouteSnapshot> imported = manager.snapshot();
+    taskboard = new HashMap<Driver, Collection<Task>>(imported);
+    routeCache = new HashMap<>(taskboard.size());
+    roster = new ArrayList<>(taskboard.size());
+    for (final Map.Entry<Driver, RouteSnapshot> tasksetEntry : imported.entrySet()) {
+      this.cacheRoute(tasksetEntry.getKey(), tasksetEntry.getValue());
+      this.boardTasks.addAndGet(tasksetEntry.getValue().size());
+    }
+    this.parallelResolver = new ParallelResolver(spec);
   }
 
   // -- private API -- //
   /**
-   * Compute the cost for a {@link Driver}'s current tasklist, based on the number of
-   * tasks assigned to them, and the summed distance they must travel.
+   * Summarize a route, and add it to the cache and roster.
+   *
+   * @param driver Driver whose route this is.
+   * @param tasks Tasks in the route, in order.
+   */
+  private void cacheRoute(final Driver driver, final Iterable<Task> tasks) {
+    final RouteSummary summary = new RouteSummary(driver, spec.getMetric(), tasks);
+    this.routeCache.put(driver, summary);
+    this.roster.add(summary);
+  }
+
+  /**
+   * Compute the cost for a {@link Driver}'s current tasklist, based on the summed distance
+   * they must travel, with the candidate task added to the end of their route.
    *
-   * @param tasklist Current tasklist for this candidate {@link Driver}.
+   * @param summary Cached summary of the candidate {@link Driver}'s route.
    * @param candidateTask Cost difference for list with task assigned.
    * @return "Cost" estimate for this tasklist, given the additional candidate {@link Task}.
    */
-  private double costForTasklist(final Iterable<Task> tasklist, final Task candidateTask) {
-    // calculate the summed distance of all tasks...
-    double summedDistance = 0.0;
-    Task lastTaskSeen = null;
-    for (final Task taskItem : tasklist) {
-      summedDistance += Tasklist.calculateDistanceForPoints(lastTaskSeen, taskItem);
-      lastTaskSeen = taskItem;
-    }
+  private static double costForTasklist(final RouteSummary summary, final Task candidateTask) {
+    if (summary.lastTask == null)
+      throw new IllegalStateException("Cannot run `BlindTaskManager` without pre-loaded data.");
 
     // simple distance, for now, added to the end of the list
-    return summedDistance + Tasklist.calculateDistanceForPoints(lastTaskSeen, candidateTask);
+    return summary.summedDistance + summary.metric.distance(summary.lastTask, candidateTask);
   }
 
   // -- public API -- //
@@ -68,11 +171,24 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
    */
   @Override
   public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
-    final LinkedHashSet<Task> taskset = this.taskboard.get(driver);
-    if (taskset == null)
-      this.taskboard.put(driver, new LinkedHashSet<>(Collections.singleton(task)));
-    else
-      taskset.add(task);
+    final long start = System.nanoTime();
+    Collection<Task> taskset = this.taskboard.get(driver);
+    if (taskset == null) {
+      final LinkedHashSet<Task> newTaskset = new LinkedHashSet<>(Collections.singleton(task));
+      this.taskboard.put(driver, newTaskset);
+      this.cacheRoute(driver, newTaskset);
+      this.recordAssign(start, roster.size());
+      return;
+    }
+    if (taskset instanceof RouteSnapshot) {
+      // first change to an imported route: take a copy of our own
+      taskset = new LinkedHashSet<>(taskset);
+      this.taskboard.put(driver, taskset);
+    }
+    if (taskset.add(task)) {
+      this.routeCache.get(driver).append(task);
+      this.recordAssign(start, roster.size());
+    }
   }
 
   /**
@@ -86,26 +202,29 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
    */
   @NotNull @Override
   public Driver resolveLowestCostAssignment(final @NotNull Task task) {
+    final long start = System.nanoTime();
+    if (spec.isParallelFor(roster.size())) {
+      final Driver driver = this.resolveLowestCostAssignmentInParallel(task);
+      metrics.recordResolve(System.nanoTime() - start, roster.size());
+      return driver;
+    }
+
     double lowestSeenLoad = 0.0;
     Driver candidateDriver = null;
 
     // for each driver's tasklist...
-    for (final Map.Entry<Driver, LinkedHashSet<Task>> tasksetEntry : this.taskboard.entrySet()) {
-      if (tasksetEntry.getValue().isEmpty())
-        throw new IllegalStateException("Cannot run `BlindTaskManager` without pre-loaded data.");
-
+    for (final RouteSummary summary : this.roster) {
       // task list cost with added load
-      double taskListCost = this.costForTasklist(tasksetEntry.getValue(),
-                                                 task);
+      double taskListCost = costForTasklist(summary, task);
 
       if (candidateDriver == null) {
-        candidateDriver = tasksetEntry.getKey();
+        candidateDriver = summary.driver;
         lowestSeenLoad = taskListCost;
       } else {
         // is the current task list less costly than our previous candidate?
         if (lowestSeenLoad > taskListCost) {
           // if so it's our new candidate
-          candidateDriver = tasksetEntry.getKey();
+          candidateDriver = summary.driver;
           lowestSeenLoad = taskListCost;
         }
         // otherwise we can keep going
@@ -113,9 +232,28 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
     }
     if (candidateDriver == null)
       throw new IllegalStateException("There should always be a candidate driver");
+    metrics.recordResolve(System.nanoTime() - start, roster.size());
     return candidateDriver;
   }
 
+  /**
+   * Parallel flavor of {@link #resolveLowestCostAssignment(Task)}, which keeps the first
+   * lowest-cost driver in roster order, just like the sequential scan.
+   *
+   * @param task Task to be considered.
+   * @return Driver to be assigned the task.
+   */
+  @NotNull Driver resolveLowestCostAssignmentInParallel(final @NotNull Task task) {
+    final ParallelResolver.Candidate candidate = parallelResolver.resolve(
+        roster.size(), new ParallelResolver.CandidateCosts() {
+          @Override
+          public double costAt(final int index) {
+            return costForTasklist(roster.get(index), task);
+          }
+        });
+    return roster.get(candidate.index).driver;
+  }
+
   /**
    * Fetch the {@link Tasklist} for a given {@link Driver}, assuming we have one. Returns
    * <pre>null</pre> if we don't.
@@ -127,7 +265,7 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
   public Tasklist tasklistForDriver(final @NotNull Driver driver) {
     if (!this.taskboard.containsKey(driver))
       return null;
-    return new Tasklist(driver, this.taskboard.get(driver));
+    return new Tasklist(driver, this.taskboard.get(driver), spec.getMetric());
   }
 
   /**
@@ -137,6 +275,29 @@ public final class BlindTaskManager extends BaseTaskManager implements TaskAssig
    */
   @NotNull @Override
   public Map<Driver, LinkedHashSet<Task>> export() {
-    return Collections.unmodifiableMap(this.taskboard);
+    final Map<Driver, LinkedHashSet<Task>> payload = new HashMap<>(this.taskboard.size());
+    for (final Map.Entry<Driver, Collection<Task>> entry : this.taskboard.entrySet()) {
+      payload.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+    }
+    return payload;
+  }
+
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route. Routes that haven't changed since
+   * they were imported are handed back as they are; the rest are copied.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @NotNull @Override
+  public Map<Driver, RouteSnapshot> snapshot() {
+    final Map<Driver, RouteSnapshot> snapshot = new HashMap<>(this.taskboard.size());
+    for (final Map.Entry<Driver, Collection<Task>> entry : this.taskboard.entrySet()) {
+      final Collection<Task> route = entry.getValue();
+      if (route instanceof RouteSnapshot && ((RouteSnapshot)route).getMetric() == spec.getMetric())
+        snapshot.put(entry.getKey(), (RouteSnapshot)route);
+      else
+        snapshot.put(entry.getKey(), RouteSnapshot.of(entry.getKey(), route, spec.getMetric()));
+    }
+    return Collections.unmodifiableMap(snapshot);
   }
 }
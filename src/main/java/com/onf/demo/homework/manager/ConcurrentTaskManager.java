@@ -0,0 +1,426 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.cli.AppLogger;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Thread-safe flavor of {@link TaskManager}, for boards that are resolved and assigned to from
+ * many threads at once. Each {@link Driver}'s route is an immutable snapshot, published through a
+ * volatile field, so resolves never take a lock. Commits lock only the stripe that the chosen
+ * driver hashes to, and check that the route they resolved against is still current before
+ * appending to it - if another thread got there first, the task is resolved again.
+ */
+@ThreadSafe
+@SuppressWarnings("WeakerAccess")
+public final class ConcurrentTaskManager extends BaseTaskManager implements TaskAssigner {
+  // -- internals -- //
+  /**
+   * Number of lock stripes to aim for per resolving thread, so that unrelated commits rarely
+   * contend on the same lock.
+   */
+  private static final int stripesPerThread = 16;
+
+  /**
+   * Master driver slot set, one per known driver.
+   */
+  final @NotNull ConcurrentMap<Driver, DriverSlot> taskboard;
+
+  /**
+   * Every driver slot on the board, in the order its driver was added. Resolves scan this list,
+   * in the same order that {@link TaskManager} scans its roster.
+   */
+  final @NotNull List<DriverSlot> roster;
+
+  /**
+   * Locks guarding commits, striped by driver.
+   */
+  final @NotNull ReentrantLock[] stripes;
+
+  /**
+   * Metric to measure routes with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  // -- embedded classes -- //
+  /**
+   * Immutable snapshot of a driver's route, as a persistent list that grows at the tail. Each
+   * snapshot shares every earlier task with the one it was built from, so appending is constant
+   * time, and a snapshot's identity doubles as its version.
+   */
+  @Immutable
+  static final class Route implements RouteSnapshot.Source {
+    /**
+     * Route as it stood before {@link #task} was appended, or <pre>null</pre> at the start.
+     */
+    final @Nullable Route previous;
+
+    /**
+     * Last task in this route.
+     */
+    final @NotNull Task task;
+
+    /**
+     * First task in this route, shared by every later snapshot.
+     */
+    final @NotNull Task first;
+
+    /**
+     * Number of tasks in this route.
+     */
+    final int size;
+
+    /**
+     * Total distance covered by this route.
+     */
+    final double distance;
+
+    Route(final @NotNull DistanceMetric metric, final @Nullable Route previous, final @NotNull Task task) {
+      this.previous = previous;
+      this.task = task;
+      if (previous == null) {
+        this.first = task;
+        this.size = 1;
+        this.distance = 0.0;
+      } else {
+        this.first = previous.first;
+        this.size = previous.size + 1;
+        this.distance = previous.distance + metric.distance(previous.task, task);
+      }
+    }
+
+    /**
+     * @return Tasks in this route, in order.
+     */
+    @NotNull List<Task> tasks() {
+      final Task[] tasks = new Task[size];
+      this.copyTasksInto(tasks);
+      return Arrays.asList(tasks);
+    }
+
+    /**
+     * Write every task in this route, in order, walking back from the last.
+     *
+     * @param tasks Array to write into, sized to the route.
+     */
+    @Override
+    public void copyTasksInto(final @NotNull Task[] tasks) {
+      for (Route route = this; route != null; route = route.previous) {
+        tasks[route.size - 1] = route.task;
+      }
+    }
+  }
+
+  /**
+   * Holds the current route snapshot for a single {@link Driver}.
+   */
+  static final class DriverSlot {
+    /**
+     * Driver this slot belongs to.
+     */
+    final @NotNull Driver driver;
+
+    /**
+     * Lock guarding commits to this slot.
+     */
+    final @NotNull ReentrantLock lock;
+
+    /**
+     * Current route snapshot, or <pre>null</pre> if the driver has no tasks yet. Written only
+     * while holding {@link #lock}, read without it.
+     */
+    volatile @Nullable Route route;
+
+    DriverSlot(final @NotNull Driver driver, final @NotNull ReentrantLock lock) {
+      this.driver = driver;
+      this.lock = lock;
+    }
+
+    /**
+     * @param metric Metric to measure with.
+     * @param route Route snapshot to cost against, as read from this slot.
+     * @param task Task being considered for this driver.
+     * @return Added distance if the task were appended to the route.
+     */
+    static double costToAssignTask(final @NotNull DistanceMetric metric,
+                                   final @Nullable Route route,
+                                   final @NotNull Task task) {
+      if (route == null)
+        return 0.0;  // it would be this driver's first task: no cost
+      return metric.distance(route.task, task);
+    }
+  }
+
+  /**
+   * Outcome of a resolve: the chosen slot, and the route snapshot it was costed against.
+   */
+  private static final class Resolution {
+    final @NotNull DriverSlot slot;
+    final @Nullable Route route;
+
+    Resolution(final @NotNull DriverSlot slot, final @Nullable Route route) {
+      this.slot = slot;
+      this.route = route;
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Build a new concurrent manager, given a set of drivers we will be distributing tasks over.
+   */
+  private ConcurrentTaskManager(final Collection<Driver> drivers, final ManagerSpec spec) {
+    int stripeCount = 1;
+    while (stripeCount < spec.getThreads() * stripesPerThread) {
+      stripeCount <<= 1;
+    }
+    this.stripes = new ReentrantLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+
+    this.taskboard = new ConcurrentHashMap<>(drivers.size());
+    final List<DriverSlot> slots = new ArrayList<>(drivers.size());
+    for (final Driver driver : drivers) {
+      final DriverSlot slot = new DriverSlot(driver, this.stripeFor(driver));
+      if (this.taskboard.putIfAbsent(driver, slot) == null)
+        slots.add(slot);
+    }
+    this.roster = new CopyOnWriteArrayList<>(slots);
+    this.metric = spec.getMetric();
+  }
+
+  // -- static API -- //
+  /**
+   * Setup a new {@link ConcurrentTaskManager} with a {@link SampleDataset}.
+   *
+   * @param dataset Sample dataset to build a {@link ConcurrentTaskManager} from.
+   * @return Newly-minted {@link ConcurrentTaskManager}.
+   */
+  public static ConcurrentTaskManager setupWithDataset(final SampleDataset dataset) {
+    return setupWithDataset(dataset, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Setup a new {@link ConcurrentTaskManager} with a {@link SampleDataset}, and custom tuning
+   * parameters.
+   *
+   * @param dataset Sample dataset to build a {@link ConcurrentTaskManager} from.
+   * @param spec Tuning parameters for the manager, which size the lock stripes.
+   * @return Newly-minted {@link ConcurrentTaskManager}.
+   */
+  public static ConcurrentTaskManager setupWithDataset(final SampleDataset dataset,
+                                                       final ManagerSpec spec) {
+    AppLogger.say("ConcurrentTaskManager", "Initializing sample dataset with "
+                                               + dataset.getGeneratedTasks().size() + " tasks and "
+                                               + dataset.getGeneratedDrivers().size() + " drivers...");
+
+    final ConcurrentTaskManager manager = new ConcurrentTaskManager(dataset.getGeneratedDrivers(), spec);
+    manager.assignAll(dataset.getGeneratedTasks());
+    return manager;
+  }
+
+  // -- private API -- //
+  /**
+   * @param driver Driver to find a lock for.
+   * @return Lock stripe that commits to this driver go through.
+   */
+  private @NotNull ReentrantLock stripeFor(final @NotNull Driver driver) {
+    final int hash = driver.hashCode();
+    return this.stripes[(hash ^ (hash >>> 16)) & (this.stripes.length - 1)];
+  }
+
+  /**
+   * @param driver Driver to find a slot for.
+   * @return Slot for the driver, created and added to the roster if this is a new driver.
+   */
+  private @NotNull DriverSlot slotFor(final @NotNull Driver driver) {
+    final DriverSlot existing = this.taskboard.get(driver);
+    if (existing != null)
+      return existing;
+    final DriverSlot created = new DriverSlot(driver, this.stripeFor(driver));
+    final DriverSlot raced = this.taskboard.putIfAbsent(driver, created);
+    if (raced != null)
+      return raced;
+    this.roster.add(created);
+    return created;
+  }
+
+  /**
+   * Find the lowest-cost slot for a task, without taking any locks.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return Chosen slot, with the route snapshot it was costed against.
+   */
+  private @NotNull Resolution resolve(final @NotNull Task task) {
+    final long start = System.nanoTime();
+    double lowestCostSoFar = Double.MAX_VALUE;
+    DriverSlot bestSlot = null;
+    Route bestRoute = null;
+    int evaluated = 0;
+
+    for (final DriverSlot slot : roster) {
+      evaluated++;
+      final Route route = slot.route;
+      final double estimatedCost = DriverSlot.costToAssignTask(metric, route, task);
+      if (estimatedCost < lowestCostSoFar) {
+        lowestCostSoFar = estimatedCost;
+        bestSlot = slot;
+        bestRoute = route;
+        if (estimatedCost == 0.0)
+          break;  // driver's first task
+      }
+    }
+
+    if (bestSlot == null)
+      throw new IllegalStateException("There should always be a lowest-cost list.");
+    metrics.recordResolve(System.nanoTime() - start, evaluated);
+    return new Resolution(bestSlot, bestRoute);
+  }
+
+  // -- public API -- //
+  /**
+   * Export the current state of {@link ConcurrentTaskManager} into a map. Each route is read
+   * from a consistent snapshot, though routes may be captured at slightly different moments.
+   *
+   * @return Current task-board, sans pre-computed weighting data.
+   */
+  public @NotNull Map<Driver, LinkedHashSet<Task>> export() {
+    final Map<Driver, LinkedHashSet<Task>> payload = new HashMap<>();
+    for (final DriverSlot slot : roster) {
+      final Route route = slot.route;
+      payload.put(slot.driver, route == null
+                                   ? new LinkedHashSet<Task>()
+                                   : new LinkedHashSet<>(route.tasks()));
+    }
+    return payload;
+  }
+
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route. Each route is read once, as an
+   * immutable snapshot, so the result is consistent per driver even while other threads keep
+   * assigning. Routes are never copied: each snapshot wraps the route's head, which already knows
+   * its length and first and last tasks, and only walks the route if its tasks are asked for.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @Override
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    final Map<Driver, RouteSnapshot> snapshot = new HashMap<>(roster.size());
+    for (final DriverSlot slot : roster) {
+      final Route route = slot.route;
+      snapshot.put(slot.driver, route == null
+                                    ? RouteSnapshot.of(slot.driver, Collections.<Task>emptyList(), metric)
+                                    : RouteSnapshot.lazy(slot.driver, route, route.size, route.distance,
+                                                         route.first, route.task, metric));
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Assign a {@link Task} to a {@link Driver}, appending it to their route.
+   *
+   * @param driver Driver we are assigning to.
+   * @param task Task we are assigning.
+   */
+  public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    final DriverSlot slot = this.slotFor(driver);
+    slot.lock.lock();
+    try {
+      slot.route = new Route(metric, slot.route, task);
+    } finally {
+      slot.lock.unlock();
+    }
+    this.recordAssign(start, roster.size());
+  }
+
+  /**
+   * Resolve the lowest-cost {@link Driver} for a {@link Task} and assign it to them, as one
+   * atomic step. The resolve runs without locks; the commit then locks the chosen driver's
+   * stripe, and only goes ahead if their route hasn't changed since it was costed. Otherwise,
+   * the task is resolved again.
+   *
+   * @param task Task we are assigning.
+   * @return {@link Driver} the task was assigned to.
+   */
+  public @NotNull Driver resolveAndAssign(final @NotNull Task task) {
+    while (true) {
+      final Resolution resolution = this.resolve(task);
+      final DriverSlot slot = resolution.slot;
+      final long start = System.nanoTime();
+      boolean committed = false;
+      slot.lock.lock();
+      try {
+        if (slot.route == resolution.route) {
+          slot.route = new Route(metric, resolution.route, task);
+          committed = true;
+        }
+      } finally {
+        slot.lock.unlock();
+      }
+      if (committed) {
+        this.recordAssign(start, roster.size());
+        return slot.driver;
+      }
+    }
+  }
+
+  /**
+   * Resolve and assign each of a stream of {@link Task} records, in order, via
+   * {@link #resolveAndAssign(Task)}. Safe to call from several threads at once.
+   *
+   * @param tasks Tasks to assign, in order.
+   */
+  @Override
+  public void assignAll(final @NotNull Iterable<Task> tasks) {
+    for (final Task task : tasks) {
+      this.resolveAndAssign(task);
+    }
+  }
+
+  /**
+   * Given a {@link Task}, figure out the cheapest cost for who to assign it to in the set of
+   * active {@link Driver} routes, given their current workload. Never blocks, but the result may
+   * be stale by the time it is used - see {@link #resolveAndAssign(Task)}.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return {@link Driver} that should be assigned the task.
+   */
+  public @NotNull Driver resolveLowestCostAssignment(final @NotNull Task task) {
+    return this.resolve(task).slot.driver;
+  }
+
+  /**
+   * Retrieve a copy of the current tasklist for a {@link Driver}. Changes made to the copy are
+   * not seen by this manager.
+   *
+   * @param driver Driver to retrieve a tasklist for.
+   * @return Driver's tasklist, if we've seen them before, or <pre>null</pre>.
+   */
+  public @Nullable Tasklist tasklistForDriver(final @NotNull Driver driver) {
+    final DriverSlot slot = this.taskboard.get(driver);
+    if (slot == null)
+      return null;
+    final Route route = slot.route;
+    if (route == null)
+      return new Tasklist(driver, metric);
+    return new Tasklist(driver, route.tasks(), metric);
+  }
+}
@@ -0,0 +1,212 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.cli.AppLogger;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.Insertion;
+import com.onf.demo.homework.collection.RouteIndex;
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+
+/**
+ * Assigns {@link Task} records at the cheapest position in any {@link Driver}'s route, like
+ * {@link InsertionTaskManager}, but resolves candidates through a {@link RouteIndex} instead of
+ * scanning every route. Resolve cost grows with the depth of the index rather than with the
+ * number of drivers, which satisfies the sub-linear scaling requirement in the README.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class IndexedTaskManager extends BaseTaskManager implements TaskAssigner {
+  // -- internals -- //
+  /**
+   * Master tasklist assignment set.
+   */
+  Map<Driver, Tasklist> taskboard;
+
+  /**
+   * Metric to measure routes with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  /**
+   * Spatial index over every insertion position in every non-empty route.
+   */
+  final @NotNull RouteIndex index;
+
+  /**
+   * Routes that have no tasks yet, in the order their drivers were added. Their first task is
+   * free, so under a metric that obeys the triangle inequality they are handed out before the
+   * index is consulted.
+   */
+  final @NotNull Set<Tasklist> unstartedRoutes;
+
+  // -- constructor -- //
+  /**
+   * Build a new indexed manager, given a set of drivers we will be distributing tasks over.
+   */
+  private IndexedTaskManager(final Collection<Driver> drivers, final @NotNull DistanceMetric metric) {
+    this.taskboard = new HashMap<>(drivers.size());
+    this.metric = metric;
+    this.index = new RouteIndex(metric);
+    this.unstartedRoutes = new LinkedHashSet<>();
+    for (final Driver driver : drivers) {
+      this.track(new Tasklist(driver, metric));
+    }
+  }
+
+  // -- static API -- //
+  /**
+   * Setup a new {@link IndexedTaskManager} with a {@link SampleDataset}.
+   *
+   * @param dataset Sample dataset to build a {@link IndexedTaskManager} from.
+   * @return Newly-minted {@link IndexedTaskManager}.
+   */
+  public static IndexedTaskManager setupWithDataset(final SampleDataset dataset) {
+    return setupWithDataset(dataset, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Setup a new {@link IndexedTaskManager} with a {@link SampleDataset}, measuring routes with the
+   * spec's metric.
+   *
+   * @param dataset Sample dataset to build a {@link IndexedTaskManager} from.
+   * @param spec Tuning parameters for the manager.
+   * @return Newly-minted {@link IndexedTaskManager}.
+   */
+  public static IndexedTaskManager setupWithDataset(final SampleDataset dataset, final ManagerSpec spec) {
+    AppLogger.say("IndexedTaskManager", "Initializing sample dataset with "
+                                            + dataset.getGeneratedTasks().size() + " tasks and "
+                                            + dataset.getGeneratedDrivers().size() + " drivers...");
+
+    final IndexedTaskManager manager = new IndexedTaskManager(dataset.getGeneratedDrivers(), spec.getMetric());
+    for (final Task task : dataset.getGeneratedTasks()) {
+      manager.commitInsertion(manager.resolveLowestCostInsertion(task), task);
+    }
+    return manager;
+  }
+
+  // -- private API -- //
+  /**
+   * Start managing a {@link Tasklist}, indexing it if it has tasks.
+   *
+   * @param tasklist Tasklist to manage.
+   */
+  private void track(final Tasklist tasklist) {
+    this.taskboard.put(tasklist.getDriver(), tasklist);
+    this.index.track(tasklist);
+    if (tasklist.getTaskCount() == 0)
+      this.unstartedRoutes.add(tasklist);
+  }
+
+  // -- public API -- //
+  /**
+   * Export the current state of {@link IndexedTaskManager} into a map.
+   *
+   * @return Current task-board, in route order, sans pre-computed weighting data.
+   */
+  public @NotNull Map<Driver, LinkedHashSet<Task>> export() {
+    final Map<Driver, LinkedHashSet<Task>> payload = new HashMap<>();
+    for (final Map.Entry<Driver, Tasklist> entry : taskboard.entrySet()) {
+      payload.put(entry.getKey(), new LinkedHashSet<>(entry.getValue().getAssignedTasks()));
+    }
+    return payload;
+  }
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route, sharing each {@link Tasklist}'s
+   * storage instead of copying it.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @Override
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    return snapshotOf(taskboard.values());
+  }
+
+
+  /**
+   * Assign a {@link Task} to a {@link Driver}, at the cheapest position in their route.
+   *
+   * @param driver Driver we are assigning to.
+   * @param task Task we are assigning.
+   */
+  public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
+    Tasklist tasklist = this.taskboard.get(driver);
+    if (tasklist == null) {
+      tasklist = new Tasklist(driver, metric);
+      this.track(tasklist);
+    }
+    this.commitInsertion(tasklist.cheapestInsertion(task), task);
+  }
+
+  /**
+   * Insert a {@link Task} at a position resolved via {@link #resolveLowestCostInsertion(Task)},
+   * keeping the index up to date. The insertion must have been resolved against the current state
+   * of this manager.
+   *
+   * @param insertion Resolved insertion point.
+   * @param task Task we are assigning.
+   */
+  public void commitInsertion(final @NotNull Insertion insertion, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    if (AppLogger.isEnabled())  // skip boxing the index when logging is off
+      AppLogger.say("IndexedTaskManager", "Inserting task '{}' for {} at position {}...",
+                    task.getIdentifier(), insertion.getDriver().getName(), insertion.getIndex());
+    final Tasklist tasklist = insertion.getTasklist();
+    tasklist.insertTask(insertion.getIndex(), task);
+    this.index.recordInsertion(tasklist, insertion.getIndex(), task);
+    this.unstartedRoutes.remove(tasklist);
+    this.recordAssign(start, taskboard.size());
+  }
+
+  /**
+   * Given a {@link Task}, find the cheapest position to insert it at across every active
+   * {@link Driver}'s route, via the route index.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return Cheapest {@link Insertion} for the task.
+   */
+  public @NotNull Insertion resolveLowestCostInsertion(final @NotNull Task task) {
+    final long start = System.nanoTime();
+    if (!this.unstartedRoutes.isEmpty() && metric.isTriangular()) {
+      metrics.recordResolve(System.nanoTime() - start, 1);
+      return new Insertion(this.unstartedRoutes.iterator().next(), 0, 0.0);  // driver's first task
+    }
+
+    final Insertion insertion = this.index.resolveCheapestInsertion(task);
+    metrics.recordResolve(System.nanoTime() - start, Math.max(1, this.index.getLastEvaluated()));
+    if ((insertion == null || insertion.getCost() >= 0.0) && !this.unstartedRoutes.isEmpty())
+      return new Insertion(this.unstartedRoutes.iterator().next(), 0, 0.0);  // nothing beats free
+    if (insertion == null)
+      throw new IllegalStateException("There should always be a lowest-cost insertion.");
+    return insertion;
+  }
+
+  /**
+   * Given a {@link Task}, figure out which {@link Driver} could take it on with the smallest
+   * increase in route length, inserting it anywhere in their route.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return {@link Driver} that should be assigned the task.
+   */
+  public @NotNull Driver resolveLowestCostAssignment(final @NotNull Task task) {
+    return this.resolveLowestCostInsertion(task).getDriver();
+  }
+
+  /**
+   * Retrieve the current tasklist for a {@link Driver}.
+   *
+   * @param driver Driver to retrieve a tasklist for.
+   * @return Driver's tasklist, if we've seen them before, or <pre>null</pre>.
+   */
+  public @Nullable Tasklist tasklistForDriver(final @NotNull Driver driver) {
+    return this.taskboard.get(driver);
+  }
+}
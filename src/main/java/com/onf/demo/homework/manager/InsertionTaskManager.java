@@ -0,0 +1,189 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.cli.AppLogger;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.Insertion;
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+
+/**
+ * Assigns {@link Task} records at the cheapest position in any {@link Driver}'s route - at the
+ * start, between any pair of tasks, or at the end - rather than always appending. Each
+ * {@link Tasklist} keeps its segment lengths, so every candidate position is checked in constant
+ * time, and a full resolve is a single pass over every route.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class InsertionTaskManager extends BaseTaskManager implements TaskAssigner {
+  // -- internals -- //
+  /**
+   * Master tasklist assignment set.
+   */
+  Map<Driver, Tasklist> taskboard;
+
+  /**
+   * Metric to measure routes with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  // -- constructor -- //
+  /**
+   * Build a new insertion manager, given a set of drivers we will be distributing tasks over.
+   */
+  private InsertionTaskManager(final Collection<Driver> drivers, final @NotNull DistanceMetric metric) {
+    final Map<Driver, Tasklist> tasklistMap = new HashMap<>(drivers.size());
+    for (final Driver driver : drivers) {
+      tasklistMap.put(driver, new Tasklist(driver, metric));
+    }
+    this.taskboard = tasklistMap;
+    this.metric = metric;
+  }
+
+  // -- static API -- //
+  /**
+   * Setup a new {@link InsertionTaskManager} with a {@link SampleDataset}.
+   *
+   * @param dataset Sample dataset to build a {@link InsertionTaskManager} from.
+   * @return Newly-minted {@link InsertionTaskManager}.
+   */
+  public static InsertionTaskManager setupWithDataset(final SampleDataset dataset) {
+    return setupWithDataset(dataset, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Setup a new {@link InsertionTaskManager} with a {@link SampleDataset}, measuring routes with
+   * the spec's metric.
+   *
+   * @param dataset Sample dataset to build a {@link InsertionTaskManager} from.
+   * @param spec Tuning parameters for the manager.
+   * @return Newly-minted {@link InsertionTaskManager}.
+   */
+  public static InsertionTaskManager setupWithDataset(final SampleDataset dataset, final ManagerSpec spec) {
+    AppLogger.say("InsertionTaskManager", "Initializing sample dataset with "
+                                              + dataset.getGeneratedTasks().size() + " tasks and "
+                                              + dataset.getGeneratedDrivers().size() + " drivers...");
+
+    final InsertionTaskManager manager = new InsertionTaskManager(dataset.getGeneratedDrivers(), spec.getMetric());
+    for (final Task task : dataset.getGeneratedTasks()) {
+      manager.commitInsertion(manager.resolveLowestCostInsertion(task), task);
+    }
+    return manager;
+  }
+
+  // -- public API -- //
+  /**
+   * Export the current state of {@link InsertionTaskManager} into a map.
+   *
+   * @return Current task-board, in route order, sans pre-computed weighting data.
+   */
+  public @NotNull Map<Driver, LinkedHashSet<Task>> export() {
+    final Map<Driver, LinkedHashSet<Task>> payload = new HashMap<>();
+    for (final Map.Entry<Driver, Tasklist> entry : taskboard.entrySet()) {
+      payload.put(entry.getKey(), new LinkedHashSet<>(entry.getValue().getAssignedTasks()));
+    }
+    return payload;
+  }
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route, sharing each {@link Tasklist}'s
+   * storage instead of copying it.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @Override
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    return snapshotOf(taskboard.values());
+  }
+
+
+  /**
+   * Assign a {@link Task} to a {@link Driver}, at the cheapest position in their route.
+   *
+   * @param driver Driver we are assigning to.
+   * @param task Task we are assigning.
+   */
+  public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    final Tasklist tasklist = this.taskboard.get(driver);
+    if (tasklist == null)
+      taskboard.put(driver, new Tasklist(driver, Collections.singletonList(task), metric));
+    else
+      tasklist.insertTask(tasklist.cheapestInsertionIndex(task), task);
+    this.recordAssign(start, taskboard.size());
+  }
+
+  /**
+   * Insert a {@link Task} at a position resolved via {@link #resolveLowestCostInsertion(Task)}.
+   * The insertion must have been resolved against the current state of this manager.
+   *
+   * @param insertion Resolved insertion point.
+   * @param task Task we are assigning.
+   */
+  public void commitInsertion(final @NotNull Insertion insertion, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    if (AppLogger.isEnabled())  // skip boxing the index when logging is off
+      AppLogger.say("InsertionTaskManager", "Inserting task '{}' for {} at position {}...",
+                    task.getIdentifier(), insertion.getDriver().getName(), insertion.getIndex());
+    insertion.getTasklist().insertTask(insertion.getIndex(), task);
+    this.recordAssign(start, taskboard.size());
+  }
+
+  /**
+   * Given a {@link Task}, find the cheapest position to insert it at across every active
+   * {@link Driver}'s route. On ties, the first route seen wins. Under a metric that breaks the
+   * triangle inequality, an insertion can shorten a route, so a free insertion doesn't end the
+   * search early.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return Cheapest {@link Insertion} for the task.
+   */
+  public @NotNull Insertion resolveLowestCostInsertion(final @NotNull Task task) {
+    final long start = System.nanoTime();
+    Insertion resolved = null;
+    int evaluated = 0;
+
+    for (final Tasklist list : taskboard.values()) {
+      evaluated += list.getTaskCount() + 1;  // every position from start to end
+      final Insertion candidate = list.cheapestInsertion(task);
+      if (resolved == null || candidate.getCost() < resolved.getCost()) {
+        resolved = candidate;
+        if (candidate.getCost() == 0.0 && metric.isTriangular())
+          break;  // can't do better than free
+      }
+    }
+
+    if (resolved == null)
+      throw new IllegalStateException("There should always be a lowest-cost insertion.");
+    metrics.recordResolve(System.nanoTime() - start, evaluated);
+    return resolved;
+  }
+
+  /**
+   * Given a {@link Task}, figure out which {@link Driver} could take it on with the smallest
+   * increase in route length, inserting it anywhere in their route.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return {@link Driver} that should be assigned the task.
+   */
+  public @NotNull Driver resolveLowestCostAssignment(final @NotNull Task task) {
+    return this.resolveLowestCostInsertion(task).getDriver();
+  }
+
+  /**
+   * Retrieve the current tasklist for a {@link Driver}.
+   *
+   * @param driver Driver to retrieve a tasklist for.
+   * @return Driver's tasklist, if we've seen them before, or <pre>null</pre>.
+   */
+  public @Nullable Tasklist tasklistForDriver(final @NotNull Driver driver) {
+    return this.taskboard.get(driver);
+  }
+}
@@ -0,0 +1,163 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.collection.DistanceMetric;
+import javax.annotation.concurrent.Immutable;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * Specifies tuning parameters for {@link com.onf.demo.homework.TaskAssigner} implementations,
+ * such as whether (and how widely) to resolve assignments in parallel, and how to measure
+ * distance.
+ */
+@Immutable
+@SuppressWarnings("WeakerAccess")
+public final class ManagerSpec {
+  // -- defaults -- //
+  /**
+   * Default number of threads to resolve assignments with.
+   */
+  public final static int defaultThreads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Default minimum number of drivers on a board before resolves are run in parallel. Below
+   * this, the cost of forking outweighs the work being split.
+   */
+  public final static int defaultParallelThreshold = 8192;
+
+  /**
+   * Default number of upcoming tasks to evaluate together during a batch assignment.
+   */
+  public final static int defaultBatchWindow = 256;
+
+  /**
+   * Default metric to measure distances with.
+   */
+  public final static DistanceMetric defaultMetric = DistanceMetric.MANHATTAN;
+
+  // -- internals -- //
+  /**
+   * Number of threads to resolve assignments with.
+   */
+  final int threads;
+
+  /**
+   * Minimum number of drivers on a board before resolves are run in parallel.
+   */
+  final int parallelThreshold;
+
+  /**
+   * Number of upcoming tasks to evaluate together during a batch assignment.
+   */
+  final int batchWindow;
+
+  /**
+   * Metric to measure distances with.
+   */
+  final @NotNull DistanceMetric metric;
+
+  // -- constructor -- //
+  /**
+   * Create a specification object for a task manager.
+   *
+   * @param threads Number of threads to resolve assignments with.
+   * @param parallelThreshold Minimum number of drivers before resolving in parallel.
+   * @param batchWindow Number of upcoming tasks to evaluate together during a batch assignment.
+   * @param metric Metric to measure distances with.
+   * @throws IllegalArgumentException If any count is less than <pre>1</pre>.
+   */
+  ManagerSpec(final int threads,
+              final int parallelThreshold,
+              final int batchWindow,
+              final @NotNull DistanceMetric metric) {
+    if (threads < 1)
+      throw new IllegalArgumentException("Thread count must be at least 1.");
+    if (parallelThreshold < 1)
+      throw new IllegalArgumentException("Parallel threshold must be at least 1.");
+    if (batchWindow < 1)
+      throw new IllegalArgumentException("Batch window must be at least 1.");
+    this.threads = threads;
+    this.parallelThreshold = parallelThreshold;
+    this.batchWindow = batchWindow;
+    this.metric = metric;
+  }
+
+  // -- static API -- //
+  /**
+   * @return Default set of spec parameters.
+   */
+  public static @NotNull ManagerSpec defaultSpec() {
+    return new ManagerSpec(defaultThreads, defaultParallelThreshold, defaultBatchWindow, defaultMetric);
+  }
+
+  // -- public API -- //
+  /**
+   * @param threads Number of threads to resolve assignments with.
+   * @return Copy of this spec, with the given thread count.
+   */
+  public @NotNull ManagerSpec withThreads(final int threads) {
+    return new ManagerSpec(threads, this.parallelThreshold, this.batchWindow, this.metric);
+  }
+
+  /**
+   * @param parallelThreshold Minimum number of drivers before resolving in parallel.
+   * @return Copy of this spec, with the given parallel threshold.
+   */
+  public @NotNull ManagerSpec withParallelThreshold(final int parallelThreshold) {
+    return new ManagerSpec(this.threads, parallelThreshold, this.batchWindow, this.metric);
+  }
+
+  /**
+   * @param batchWindow Number of upcoming tasks to evaluate together during a batch assignment.
+   * @return Copy of this spec, with the given batch window.
+   */
+  public @NotNull ManagerSpec withBatchWindow(final int batchWindow) {
+    return new ManagerSpec(this.threads, this.parallelThreshold, batchWindow, this.metric);
+  }
+
+  /**
+   * @param metric Metric to measure distances with.
+   * @return Copy of this spec, with the given metric.
+   */
+  public @NotNull ManagerSpec withMetric(final @NotNull DistanceMetric metric) {
+    return new ManagerSpec(this.threads, this.parallelThreshold, this.batchWindow, metric);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of threads to resolve assignments with.
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * @return Minimum number of drivers on a board before resolves are run in parallel.
+   */
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  /**
+   * @return Number of upcoming tasks to evaluate together during a batch assignment.
+   */
+  public int getBatchWindow() {
+    return batchWindow;
+  }
+
+  /**
+   * @return Metric to measure distances with.
+   */
+  public @NotNull DistanceMetric getMetric() {
+    return metric;
+  }
+
+  /**
+   * @param boardSize Number of drivers on the board being resolved against.
+   * @return Whether a resolve against a board of this size should run in parallel.
+   */
+  public boolean isParallelFor(final int boardSize) {
+    return threads > 1 && boardSize >= parallelThreshold;
+  }
+}
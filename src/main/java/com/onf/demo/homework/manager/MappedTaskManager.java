@@ -0,0 +1,254 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.cli.AppLogger;
+import com.onf.demo.homework.collection.MappedTaskboard;
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.SampleDataset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+
+/**
+ * Thin {@link TaskAssigner} view over a {@link MappedTaskboard}, which keeps every route outside
+ * of the Java heap. Assignment follows {@link TaskManager}: each task is appended to the route
+ * whose last task is closest. The only on-heap state is the set of {@link Driver} records and the
+ * slot each one occupies on the board; {@link Task} records are rebuilt from storage when read
+ * back.
+ *
+ * <p>Each route has a fixed capacity. Drivers whose route is full are skipped when resolving, so
+ * results match {@link TaskManager} as long as no route fills up.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MappedTaskManager extends BaseTaskManager implements TaskAssigner {
+  // -- defaults -- //
+  /**
+   * Default number of spare driver slots to leave on a board set up from a dataset, for drivers
+   * added later.
+   */
+  public final static int defaultSpareDrivers = 64;
+
+  /**
+   * Default minimum route capacity on a board set up from a dataset.
+   */
+  public final static int defaultRouteCapacity = 64;
+
+  // -- internals -- //
+  /**
+   * Off-heap storage for every route.
+   */
+  final @NotNull MappedTaskboard board;
+
+  /**
+   * Slot that each known driver occupies on the board.
+   */
+  final @NotNull Map<Driver, Integer> slots;
+
+  /**
+   * Driver in each slot on the board, so resolves don't need to rebuild them from storage.
+   */
+  final @NotNull List<Driver> roster;
+
+  // -- constructor -- //
+  /**
+   * Build a view over a taskboard, indexing any drivers already on it.
+   *
+   * @param board Taskboard to manage.
+   */
+  private MappedTaskManager(final @NotNull MappedTaskboard board) {
+    this.board = board;
+    this.slots = new HashMap<>(board.getDriverCapacity());
+    this.roster = new ArrayList<>(board.getDriverCapacity());
+    for (int slot = 0; slot < board.getDriverCount(); slot++) {
+      final Driver driver = board.driverAt(slot);
+      this.slots.put(driver, slot);
+      this.roster.add(driver);
+      this.boardTasks.addAndGet(board.getTaskCount(slot));
+    }
+  }
+
+  // -- static API -- //
+  /**
+   * Manage an existing {@link MappedTaskboard}, such as one re-opened from a file. Any routes
+   * already on the board are kept.
+   *
+   * @param board Taskboard to manage.
+   * @return View over the board.
+   */
+  public static @NotNull MappedTaskManager withBoard(final @NotNull MappedTaskboard board) {
+    return new MappedTaskManager(board);
+  }
+
+  /**
+   * Setup a new {@link MappedTaskManager} with a {@link SampleDataset}, on a direct buffer sized
+   * for the dataset.
+   *
+   * @param dataset Sample dataset to build a {@link MappedTaskManager} from.
+   * @return Newly-minted {@link MappedTaskManager}.
+   */
+  public static MappedTaskManager setupWithDataset(final SampleDataset dataset) {
+    return setupWithDataset(dataset, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Setup a new {@link MappedTaskManager} with a {@link SampleDataset}, on a direct buffer sized
+   * for the dataset, measuring routes with the spec's metric.
+   *
+   * @param dataset Sample dataset to build a {@link MappedTaskManager} from.
+   * @param spec Tuning parameters for the manager.
+   * @return Newly-minted {@link MappedTaskManager}.
+   */
+  public static MappedTaskManager setupWithDataset(final SampleDataset dataset, final ManagerSpec spec) {
+    final int drivers = dataset.getGeneratedDrivers().size();
+    final int tasks = dataset.getGeneratedTasks().size();
+    final int averageRoute = (tasks + Math.max(1, drivers) - 1) / Math.max(1, drivers);
+    return setupWithDataset(dataset, MappedTaskboard.allocate(
+        drivers + defaultSpareDrivers, Math.max(defaultRouteCapacity, averageRoute * 4), spec.getMetric()));
+  }
+
+  /**
+   * Setup a new {@link MappedTaskManager} with a {@link SampleDataset}, on a given board. Routes
+   * are measured with the board's own metric.
+   *
+   * @param dataset Sample dataset to build a {@link MappedTaskManager} from.
+   * @param board Empty taskboard to fill, with room for the dataset's drivers.
+   * @return Newly-minted {@link MappedTaskManager}.
+   */
+  public static MappedTaskManager setupWithDataset(final SampleDataset dataset,
+                                                   final MappedTaskboard board) {
+    AppLogger.say("MappedTaskManager", "Initializing sample dataset with "
+                                           + dataset.getGeneratedTasks().size() + " tasks and "
+                                           + dataset.getGeneratedDrivers().size() + " drivers...");
+
+    final MappedTaskManager manager = new MappedTaskManager(board);
+    for (final Driver driver : dataset.getGeneratedDrivers()) {
+      manager.slotFor(driver);
+    }
+    manager.assignAll(dataset.getGeneratedTasks());
+    return manager;
+  }
+
+  // -- private API -- //
+  /**
+   * @param driver Driver to find a slot for.
+   * @return Slot for the driver, added to the board if this is a new driver.
+   */
+  private int slotFor(final @NotNull Driver driver) {
+    final Integer existing = this.slots.get(driver);
+    if (existing != null)
+      return existing;
+    final int slot = this.board.addDriver(driver);
+    this.slots.put(driver, slot);
+    this.roster.add(driver);
+    return slot;
+  }
+
+  // -- public API -- //
+  /**
+   * Export the current state of {@link MappedTaskManager} into a map, rebuilding every
+   * {@link Task} from storage.
+   *
+   * @return Current task-board, sans pre-computed weighting data.
+   */
+  public @NotNull Map<Driver, LinkedHashSet<Task>> export() {
+    final Map<Driver, LinkedHashSet<Task>> payload = new HashMap<>();
+    for (final Map.Entry<Driver, Integer> entry : this.slots.entrySet()) {
+      payload.put(entry.getKey(), new LinkedHashSet<>(Arrays.asList(this.board.tasksAt(entry.getValue()))));
+    }
+    return payload;
+  }
+
+  /**
+   * Take a snapshot of every {@link Driver}'s route. Routes live off-heap, so each one is rebuilt
+   * from storage, but without going through {@link #export()}.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @Override
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    final Map<Driver, RouteSnapshot> snapshot = new HashMap<>(this.slots.size());
+    for (final Map.Entry<Driver, Integer> entry : this.slots.entrySet()) {
+      snapshot.put(entry.getKey(), RouteSnapshot.of(
+          entry.getKey(), Arrays.asList(this.board.tasksAt(entry.getValue())), this.board.getMetric()));
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Assign a {@link Task} to a {@link Driver}, appending it to their route.
+   *
+   * @param driver Driver we are assigning to.
+   * @param task Task we are assigning.
+   * @throws IllegalStateException If the board has no room for the driver or their route is full.
+   */
+  public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    this.board.appendTask(this.slotFor(driver), task);
+    this.recordAssign(start, roster.size());
+  }
+
+  /**
+   * Given a {@link Task}, figure out the cheapest cost for who to assign it to among the drivers
+   * on the board with room left in their route, reading costs straight from storage.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return {@link Driver} that should be assigned the task.
+   * @throws IllegalStateException If every route is full.
+   */
+  public @NotNull Driver resolveLowestCostAssignment(final @NotNull Task task) {
+    final long start = System.nanoTime();
+    final Geopoint point = task.getLocation().getGeopoint();
+    final double latitude = point.getLatitudeValue();
+    final double longitude = point.getLongitudeValue();
+
+    double lowestCostSoFar = Double.MAX_VALUE;
+    int resolvedSlot = -1;
+    int evaluated = 0;
+    for (int slot = 0; slot < this.board.getDriverCount(); slot++) {
+      if (!this.board.hasRoom(slot))
+        continue;
+      evaluated++;
+      final double estimatedCost = this.board.costToAppend(slot, latitude, longitude);
+      if (estimatedCost < lowestCostSoFar) {
+        lowestCostSoFar = estimatedCost;
+        resolvedSlot = slot;
+        if (estimatedCost == 0.0)
+          break;  // driver's first task
+      }
+    }
+
+    if (resolvedSlot == -1)
+      throw new IllegalStateException("There should always be a lowest-cost list.");
+    metrics.recordResolve(System.nanoTime() - start, evaluated);
+    return this.roster.get(resolvedSlot);
+  }
+
+  /**
+   * Retrieve a copy of the current tasklist for a {@link Driver}, rebuilt from storage. Changes
+   * made to the copy are not written back.
+   *
+   * @param driver Driver to retrieve a tasklist for.
+   * @return Driver's tasklist, if we've seen them before, or <pre>null</pre>.
+   */
+  public @Nullable Tasklist tasklistForDriver(final @NotNull Driver driver) {
+    final Integer slot = this.slots.get(driver);
+    if (slot == null)
+      return null;
+    return new Tasklist(driver, Arrays.asList(this.board.tasksAt(slot)), this.board.getMetric());
+  }
+
+  // -- getters -- //
+  /**
+   * @return Off-heap storage behind this manager.
+   */
+  public @NotNull MappedTaskboard getBoard() {
+    return board;
+  }
+}
@@ -0,0 +1,248 @@
+package com.onf.demo.homework.manager;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Finds the lowest-cost candidate in an indexed set of candidates on a {@link ForkJoinPool}. The
+ * candidate range is split into chunks, each chunk finds its local minimum, and the minimums are
+ * reduced pairwise. Ties always go to the lower index, so the result is the same as a sequential
+ * scan that keeps the first minimum it sees.
+ *
+ * <p>Resolvers share one pool per thread count, created when first needed, so building many
+ * managers never leaves pools behind. Pool threads are daemons, and idle ones retire on their own.</p>
+ */
+final class ParallelResolver {
+  // -- internals -- //
+  /**
+   * Number of chunks to aim for per thread, so that uneven chunks balance out.
+   */
+  private static final int chunksPerThread = 4;
+
+  /**
+   * Tuning parameters, including the pool size.
+   */
+  final @NotNull ManagerSpec spec;
+
+  /**
+   * Pools shared by every resolver, by thread count.
+   */
+  private static final ConcurrentMap<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+  /**
+   * Shared pool to resolve on, once looked up.
+   */
+  private volatile ForkJoinPool pool;
+
+  // -- embedded classes -- //
+  /**
+   * Supplies the cost of each candidate by index.
+   */
+  interface CandidateCosts {
+    /**
+     * @param index Index of the candidate.
+     * @return Cost of the candidate.
+     */
+    double costAt(int index);
+  }
+
+  /**
+   * Supplies the cost of each candidate by index, for each of several items being resolved.
+   */
+  interface BatchCosts {
+    /**
+     * @param item Index of the item being resolved.
+     * @param index Index of the candidate.
+     * @return Cost of the candidate for the item.
+     */
+    double costAt(int item, int index);
+  }
+
+  /**
+   * Lowest-cost candidate found in some range.
+   */
+  static final class Candidate {
+    final int index;
+    final double cost;
+
+    Candidate(final int index, final double cost) {
+      this.index = index;
+      this.cost = cost;
+    }
+
+    /**
+     * @param other Candidate from another range.
+     * @return Whichever candidate is cheaper, or has the lower index on a tie.
+     */
+    Candidate reduce(final Candidate other) {
+      if (other.cost < this.cost || (other.cost == this.cost && other.index < this.index))
+        return other;
+      return this;
+    }
+  }
+
+  /**
+   * Fork/join task finding the lowest-cost candidate in a range.
+   */
+  private static final class ResolveTask extends RecursiveTask<Candidate> {
+    private static final long serialVersionUID = 1L;
+    private final transient CandidateCosts costs;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    ResolveTask(final CandidateCosts costs, final int from, final int to, final int chunkSize) {
+      this.costs = costs;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected Candidate compute() {
+      if (to - from <= chunkSize) {
+        int lowestIndex = from;
+        double lowestCost = costs.costAt(from);
+        for (int index = from + 1; index < to; index++) {
+          final double cost = costs.costAt(index);
+          if (cost < lowestCost) {
+            lowestCost = cost;
+            lowestIndex = index;
+          }
+        }
+        return new Candidate(lowestIndex, lowestCost);
+      }
+
+      final int middle = (from + to) >>> 1;
+      final ResolveTask left = new ResolveTask(costs, from, middle, chunkSize);
+      final ResolveTask right = new ResolveTask(costs, middle, to, chunkSize);
+      left.fork();
+      final Candidate rightCandidate = right.compute();
+      return left.join().reduce(rightCandidate);
+    }
+  }
+
+  /**
+   * Fork/join task resolving a range of items, each with a sequential scan of every candidate.
+   */
+  private static final class BatchResolveTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient BatchCosts costs;
+    private final transient Candidate[] results;
+    private final int candidateCount;
+    private final int from;
+    private final int to;
+
+    BatchResolveTask(final BatchCosts costs, final Candidate[] results, final int candidateCount,
+                     final int from, final int to) {
+      this.costs = costs;
+      this.results = results;
+      this.candidateCount = candidateCount;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        int lowestIndex = 0;
+        double lowestCost = costs.costAt(from, 0);
+        for (int index = 1; index < candidateCount; index++) {
+          final double cost = costs.costAt(from, index);
+          if (cost < lowestCost) {
+            lowestCost = cost;
+            lowestIndex = index;
+          }
+        }
+        results[from] = new Candidate(lowestIndex, lowestCost);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new BatchResolveTask(costs, results, candidateCount, from, middle),
+                new BatchResolveTask(costs, results, candidateCount, middle, to));
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Construct a resolver with the given tuning parameters.
+   *
+   * @param spec Tuning parameters.
+   */
+  ParallelResolver(final @NotNull ManagerSpec spec) {
+    this.spec = spec;
+  }
+
+  // -- API -- //
+  /**
+   * Find the lowest-cost candidate among <pre>count</pre> candidates, in parallel.
+   *
+   * @param count Number of candidates, indexed from <pre>0</pre>.
+   * @param costs Cost of each candidate.
+   * @return Lowest-cost candidate, preferring the lowest index on ties.
+   * @throws IllegalStateException If there are no candidates.
+   */
+  @NotNull Candidate resolve(final int count, final @NotNull CandidateCosts costs) {
+    if (count < 1)
+      throw new IllegalStateException("There should always be a candidate to resolve.");
+    final int chunkSize = Math.max(1, count / (spec.getThreads() * chunksPerThread));
+    return this.pool().invoke(new ResolveTask(costs, 0, count, chunkSize));
+  }
+
+  /**
+   * Find the lowest-cost candidate for each of <pre>itemCount</pre> items, resolving the items in
+   * parallel with each other. Every item sees the same candidates, so the caller must not change
+   * them while this runs.
+   *
+   * @param itemCount Number of items to resolve, indexed from <pre>0</pre>.
+   * @param candidateCount Number of candidates, indexed from <pre>0</pre>.
+   * @param costs Cost of each candidate, for each item.
+   * @return Lowest-cost candidate for each item, preferring the lowest index on ties.
+   * @throws IllegalStateException If there are no candidates.
+   */
+  @NotNull Candidate[] resolveAll(final int itemCount,
+                                  final int candidateCount,
+                                  final @NotNull BatchCosts costs) {
+    if (candidateCount < 1)
+      throw new IllegalStateException("There should always be a candidate to resolve.");
+    final Candidate[] results = new Candidate[itemCount];
+    if (itemCount > 0)
+      this.pool().invoke(new BatchResolveTask(costs, results, candidateCount, 0, itemCount));
+    return results;
+  }
+
+  /**
+   * @param threads Parallelism of the pool.
+   * @return Pool shared by every resolver with that many threads, creating it if needed.
+   */
+  static @NotNull ForkJoinPool sharedPool(final int threads) {
+    final ForkJoinPool existing = pools.get(threads);
+    if (existing != null)
+      return existing;
+    final ForkJoinPool created = new ForkJoinPool(threads);
+    final ForkJoinPool raced = pools.putIfAbsent(threads, created);
+    if (raced == null)
+      return created;
+    created.shutdown();  // another resolver got there first
+    return raced;
+  }
+
+  /**
+   * @return Pool to resolve on, looking up the shared one the first time.
+   */
+  private @NotNull ForkJoinPool pool() {
+    ForkJoinPool shared = this.pool;
+    if (shared == null) {
+      shared = sharedPool(spec.getThreads());
+      this.pool = shared;
+    }
+    return shared;
+  }
+}
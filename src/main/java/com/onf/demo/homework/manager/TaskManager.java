@@ -3,13 +3,19 @@ package com.onf.demo.homework.manager;
 
 import com.onf.demo.homework.TaskAssigner;
 import com.onf.demo.homework.cli.AppLogger;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.LoadRanking;
+import com.onf.demo.homework.collection.RouteSnapshot;
 import com.onf.demo.homework.collection.Tasklist;
 import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
 import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.DatasetReader;
 import com.onf.demo.homework.util.SampleDataset;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
 
 
@@ -18,6 +24,10 @@ import java.util.*;
  * {@link Driver} records, where each task has a {@link com.onf.demo.homework.struct.Location}.
  * Keep track of the current "cost" for each driver's workload, and allow that to be efficiently
  * queried when assigning new tasks.
+ *
+ * <p>The end point of every route is mirrored into primitive arrays in roster order, so a resolve
+ * scores every driver with a single {@link DistanceMetric} batch kernel call rather than walking
+ * from each tasklist to its last task.</p>
  */
 @SuppressWarnings("WeakerAccess")
 public final class TaskManager extends BaseTaskManager implements TaskAssigner {
@@ -27,20 +37,97 @@ public final class TaskManager extends BaseTaskManager implements TaskAssigner {
    */
   Map<Driver, Tasklist> taskboard;
 
+  /**
+   * Every tasklist on the board, in the order its driver was added. Resolves scan this list,
+   * so that sequential and parallel resolves see candidates in the same order.
+   */
+  final List<Tasklist> roster;
+
+  /**
+   * Every tasklist on the board, ranked by load as assignments are made.
+   */
+  final LoadRanking ranking;
+
+  /**
+   * Position of each driver's tasklist on the roster.
+   */
+  final Map<Driver, Integer> positions;
+
+  /**
+   * Latitude of the last task in each route, in roster order.
+   */
+  double[] lastLatitudes;
+
+  /**
+   * Longitude of the last task in each route, in roster order.
+   */
+  double[] lastLongitudes;
+
+  /**
+   * Whether each route has any tasks yet, in roster order.
+   */
+  boolean[] started;
+
+  /**
+   * Scratch space for sequential resolves, in roster order.
+   */
+  double[] costs;
+
+  /**
+   * Scratch space for windowed assigns: whether each route has changed since the window was
+   * resolved, in roster order. Cleared again as each window finishes.
+   */
+  boolean[] changed;
+
+  /**
+   * Scratch space for windowed assigns: positions of the changed routes, in the order they first
+   * changed.
+   */
+  int[] changedInOrder;
+
+  /**
+   * Tuning parameters for this manager.
+   */
+  final ManagerSpec spec;
+
+  /**
+   * Resolves candidates in parallel, for boards large enough to benefit.
+   */
+  final ParallelResolver parallelResolver;
+
   // -- constructor -- //
   /**
    * Build a new task manager, given a set of drivers we will be distributing tasks over.
    */
-  private TaskManager(final Collection<Driver> drivers) {
+  private TaskManager(final Collection<Driver> drivers, final ManagerSpec spec) {
     // setup initial driver tasklists
     final Map<Driver, Tasklist> tasklistMap = new HashMap<>(drivers.size());
+    final List<Tasklist> tasklistRoster = new ArrayList<>(drivers.size());
+    final Map<Driver, Integer> rosterPositions = new HashMap<>(drivers.size());
+    final LoadRanking loadRanking = new LoadRanking();
 
     for (final Driver driver : drivers) {
-      final Tasklist tasklist = new Tasklist(driver);
-      tasklistMap.put(driver, tasklist);
+      final Tasklist tasklist = new Tasklist(driver, spec.getMetric());
+      if (tasklistMap.put(driver, tasklist) == null) {
+        rosterPositions.put(driver, tasklistRoster.size());
+        tasklistRoster.add(tasklist);
+        loadRanking.track(tasklist);
+      }
     }
 
+    final int capacity = Math.max(1, tasklistRoster.size());
     this.taskboard = tasklistMap;
+    this.roster = tasklistRoster;
+    this.positions = rosterPositions;
+    this.ranking = loadRanking;
+    this.lastLatitudes = new double[capacity];
+    this.lastLongitudes = new double[capacity];
+    this.started = new boolean[capacity];
+    this.costs = new double[capacity];
+    this.changed = new boolean[capacity];
+    this.changedInOrder = new int[capacity];
+    this.spec = spec;
+    this.parallelResolver = new ParallelResolver(spec);
   }
 
   // -- static API -- //
@@ -51,22 +138,115 @@ public final class TaskManager extends BaseTaskManager implements TaskAssigner {
    * @return Newly-minted {@link TaskManager}.
    */
   public static TaskManager setupWithDataset(final SampleDataset dataset) {
+    return setupWithDataset(dataset, ManagerSpec.defaultSpec());
+  }
+
+  /**
+   * Setup a new {@link TaskManager} with a {@link SampleDataset}, and custom tuning parameters.
+   *
+   * @param dataset Sample dataset to build a {@link TaskManager} from.
+   * @param spec Tuning parameters for the manager.
+   * @return Newly-minted {@link TaskManager}.
+   */
+  public static TaskManager setupWithDataset(final SampleDataset dataset, final ManagerSpec spec) {
     AppLogger.say("TaskManager", "Initializing sample dataset with "
                                      + dataset.getGeneratedTasks().size() + " tasks and "
                                      + dataset.getGeneratedDrivers().size() + " drivers...");
 
     // initialize from dataset data
     final Collection<Driver> drivers = dataset.getGeneratedDrivers();
-    final TaskManager manager = new TaskManager(drivers);
+    final TaskManager manager = new TaskManager(drivers, spec);
+    manager.assignAll(dataset.getGeneratedTasks());
+    return manager;
+  }
+
+  /**
+   * Setup a new {@link TaskManager} from a dataset that is still being read. Drivers are read
+   * first; tasks are then resolved and assigned as they are parsed, so the whole dataset never
+   * needs to be held in memory.
+   *
+   * @param loader Reader over the dataset to build a {@link TaskManager} from.
+   * @return Newly-minted {@link TaskManager}.
+   * @throws IOException If the dataset cannot be read or parsed.
+   */
+  public static TaskManager setupWithLoader(final DatasetReader loader) throws IOException {
+    return setupWithLoader(loader, ManagerSpec.defaultSpec());
+  }
 
-    Driver lowestCostDriver;
-    for (final Task task : dataset.getGeneratedTasks()) {
-      lowestCostDriver = manager.resolveLowestCostAssignment(task);
-      manager.assignToDriver(lowestCostDriver, task);
+  /**
+   * Setup a new {@link TaskManager} from a dataset that is still being read, with custom tuning
+   * parameters.
+   *
+   * @param loader Reader over the dataset to build a {@link TaskManager} from.
+   * @param spec Tuning parameters for the manager.
+   * @return Newly-minted {@link TaskManager}.
+   * @throws IOException If the dataset cannot be read or parsed.
+   */
+  public static TaskManager setupWithLoader(final DatasetReader loader, final ManagerSpec spec) throws IOException {
+    final Collection<Driver> drivers = loader.drivers();
+    AppLogger.say("TaskManager", "Initializing streamed dataset with " + drivers.size() + " drivers...");
+
+    final TaskManager manager = new TaskManager(drivers, spec);
+    try {
+      manager.assignAll(loader.tasks());
+    } catch (final IllegalStateException e) {
+      // unwrap read errors raised from inside the task stream
+      if (e.getCause() instanceof IOException)
+        throw (IOException)e.getCause();
+      throw e;
     }
     return manager;
   }
 
+  // -- private API -- //
+  /**
+   * Add a new tasklist to the end of the roster, growing the end point arrays if needed.
+   *
+   * @param tasklist Tasklist to add.
+   * @return Position of the tasklist on the roster.
+   */
+  private int enroll(final @NotNull Tasklist tasklist) {
+    final int position = roster.size();
+    if (position == started.length) {
+      final int capacity = started.length * 2;
+      this.lastLatitudes = Arrays.copyOf(lastLatitudes, capacity);
+      this.lastLongitudes = Arrays.copyOf(lastLongitudes, capacity);
+      this.started = Arrays.copyOf(started, capacity);
+      this.costs = new double[capacity];
+      this.changed = new boolean[capacity];
+      this.changedInOrder = new int[capacity];
+    }
+    taskboard.put(tasklist.getDriver(), tasklist);
+    positions.put(tasklist.getDriver(), position);
+    roster.add(tasklist);
+    ranking.track(tasklist);
+    return position;
+  }
+
+  /**
+   * @param position Position on the roster.
+   * @param latitude Latitude of the task being assigned.
+   * @param longitude Longitude of the task being assigned.
+   * @return Cost of appending a point to the route at the given position, read from the end
+   *         point arrays, or <pre>0.0</pre> if the route has no tasks yet.
+   */
+  private double costAt(final int position, final double latitude, final double longitude) {
+    if (!started[position])
+      return 0.0;  // it would be this driver's first task: no cost
+    return spec.getMetric().distance(lastLatitudes[position], lastLongitudes[position],
+                                     latitude, longitude);
+  }
+
+  /**
+   * @param position Position on the roster.
+   * @param task Task being assigned.
+   * @return Cost of appending the task to the route at the given position.
+   */
+  private double costAt(final int position, final @NotNull Task task) {
+    final Geopoint point = task.getLocation().getGeopoint();
+    return this.costAt(position, point.getLatitudeValue(), point.getLongitudeValue());
+  }
+
   // -- public API -- //
   /**
    * Export the current state of {@link TaskManager} into a sorted map.
@@ -82,6 +262,17 @@ public final class TaskManager extends BaseTaskManager implements TaskAssigner {
     }
     return payload;
   }
+  /**
+   * Take a read-only snapshot of every {@link Driver}'s route, sharing each {@link Tasklist}'s
+   * storage instead of copying it.
+   *
+   * @return Unmodifiable map of each driver to a snapshot of their route.
+   */
+  @Override
+  public @NotNull Map<Driver, RouteSnapshot> snapshot() {
+    return snapshotOf(roster);
+  }
+
 
   /**
    * Assign a {@link Task} to a {@link Driver}.
@@ -90,48 +281,218 @@ public final class TaskManager extends BaseTaskManager implements TaskAssigner {
    * @param task Task we are assigning.
    */
   public void assignToDriver(final @NotNull Driver driver, final @NotNull Task task) {
-    AppLogger.say("TaskManager", "Assigning task '"
-                                     + task.getUuid() + "' to " + driver.getName() + "...");
-    final Tasklist tasklist = this.taskboard.get(driver);
-    if (tasklist == null)
-      taskboard.put(driver, new Tasklist(driver, Collections.singletonList(task)));
-    else
-      tasklist.assignTask(task);
+    final long start = System.nanoTime();
+    AppLogger.say("TaskManager", "Assigning task '{}' to {}...", task.getIdentifier(), driver.getName());
+    final Integer known = this.positions.get(driver);
+    if (known == null) {
+      this.track(this.enroll(new Tasklist(driver, Collections.singletonList(task), spec.getMetric())), task);
+    } else {
+      roster.get(known).assignTask(task);
+      this.track(known, task);
+    }
+    this.recordAssign(start, roster.size());
+  }
+
+  /**
+   * Assign a {@link Task} to the {@link Driver} at a known position on the roster, without
+   * looking the driver up.
+   *
+   * @param position Position of the driver's tasklist on the roster.
+   * @param task Task we are assigning.
+   */
+  private void assignAt(final int position, final @NotNull Task task) {
+    final long start = System.nanoTime();
+    final Tasklist tasklist = roster.get(position);
+    AppLogger.say("TaskManager", "Assigning task '{}' to {}...", task.getIdentifier(),
+                  tasklist.getDriver().getName());
+    tasklist.assignTask(task);
+    this.track(position, task);
+    this.recordAssign(start, roster.size());
+  }
+
+  /**
+   * Mirror a newly assigned {@link Task} into the end point arrays.
+   *
+   * @param position Position of the route on the roster.
+   * @param task Task just appended to the route.
+   */
+  private void track(final int position, final @NotNull Task task) {
+    final Geopoint point = task.getLocation().getGeopoint();
+    lastLatitudes[position] = point.getLatitudeValue();
+    lastLongitudes[position] = point.getLongitudeValue();
+    started[position] = true;
+  }
+
+  /**
+   * Resolve and assign each of a stream of {@link Task} records, in order. On large boards, tasks
+   * are pulled from the stream a window at a time, and every task in the window is resolved in
+   * parallel against the board as it stood when the window opened. Assignments are then committed
+   * in order; each one only needs re-checking against the drivers that earlier commits in the
+   * same window have changed, so results are identical to resolving one task at a time.
+   *
+   * @param tasks Tasks to assign, in order.
+   */
+  @Override
+  public void assignAll(final @NotNull Iterable<Task> tasks) {
+    final Iterator<Task> iterator = tasks.iterator();
+    final List<Task> window = new ArrayList<>(spec.getBatchWindow());
+    while (iterator.hasNext()) {
+      if (!spec.isParallelFor(roster.size())) {
+        final Task task = iterator.next();
+        this.assignToDriver(this.resolveLowestCostAssignment(task), task);
+        continue;
+      }
+      window.clear();
+      while (window.size() < spec.getBatchWindow() && iterator.hasNext()) {
+        window.add(iterator.next());
+      }
+      this.assignWindow(window);
+    }
+  }
+
+  /**
+   * Resolve a window of tasks in parallel against the current board, then commit them in order,
+   * correcting each resolve for the drivers changed by earlier commits in the window.
+   *
+   * @param window Tasks to assign, in order.
+   */
+  private void assignWindow(final @NotNull List<Task> window) {
+    final long start = System.nanoTime();
+    final int boardSize = roster.size();
+    final ParallelResolver.Candidate[] candidates = parallelResolver.resolveAll(
+        window.size(), roster.size(), new ParallelResolver.BatchCosts() {
+          @Override
+          public double costAt(final int item, final int index) {
+            return TaskManager.this.costAt(index, window.get(item));
+          }
+        });
+    // each task is charged an even share of the batch resolve, plus its own correction
+    final long batchShare = (System.nanoTime() - start) / window.size();
+
+    int changedCount = 0;
+    for (int item = 0; item < window.size(); item++) {
+      final long correctionStart = System.nanoTime();
+      final Task task = window.get(item);
+      int resolvedIndex = candidates[item].index;
+      final int evaluated;
+      if (changed[resolvedIndex]) {
+        // the chosen route has grown since it was costed; start over
+        resolvedIndex = this.resolveCandidateInParallel(task).index;
+        evaluated = boardSize * 2;
+      } else {
+        evaluated = boardSize + changedCount;
+        double lowestCostSoFar = candidates[item].cost;
+        for (int i = 0; i < changedCount; i++) {
+          final int index = changedInOrder[i];
+          final double estimatedCost = this.costAt(index, task);
+          if (estimatedCost < lowestCostSoFar
+                  || (estimatedCost == lowestCostSoFar && index < resolvedIndex)) {
+            lowestCostSoFar = estimatedCost;
+            resolvedIndex = index;
+          }
+        }
+      }
+      metrics.recordResolve(batchShare + (System.nanoTime() - correctionStart), evaluated);
+      this.assignAt(resolvedIndex, task);
+      if (!changed[resolvedIndex]) {
+        changed[resolvedIndex] = true;
+        changedInOrder[changedCount++] = resolvedIndex;
+      }
+    }
+    for (int i = 0; i < changedCount; i++) {
+      changed[changedInOrder[i]] = false;
+    }
   }
 
   /**
    * Given a {@link Task}, figure out the cheapest cost for who to assign it to in the set of
-   * active {@link Driver} {@link Tasklist} records, given their current workload.
+   * active {@link Driver} {@link Tasklist} records, given their current workload. Large boards
+   * are resolved in parallel, per this manager's {@link ManagerSpec}, with identical results.
    *
    * @param task Task that we wish to assign to someone.
    * @return {@link Driver} that should be assigned the task.
    */
   public @NotNull Driver resolveLowestCostAssignment(final @NotNull Task task) {
-    double estimatedCost;
-    double lowestCostSoFar = 0.0;
-    Tasklist resolvedList = null;
+    final long start = System.nanoTime();
+    final int count = roster.size();
+    if (spec.isParallelFor(count)) {
+      final Driver driver = this.resolveLowestCostAssignmentInParallel(task);
+      metrics.recordResolve(System.nanoTime() - start, count);
+      return driver;
+    }
 
-    for (final Map.Entry<Driver, Tasklist> entry : taskboard.entrySet()) {
-      final Tasklist list = entry.getValue();
+    final Geopoint point = task.getLocation().getGeopoint();
+    spec.getMetric().distances(point.getLatitudeValue(), point.getLongitudeValue(),
+                               lastLatitudes, lastLongitudes, 0, count, costs);
 
-      estimatedCost = list.costToAssignTask(task);
-      if (estimatedCost == 0.0)
-        return list.getDriver();  // driver's first task
-      if (lowestCostSoFar == 0.0) {
-        // we don't have a 'lowest cost' yet
-        lowestCostSoFar = estimatedCost;
-        resolvedList = list;
+    double lowestCostSoFar = Double.MAX_VALUE;
+    int resolvedIndex = -1;
+    for (int index = 0; index < count; index++) {
+      final double estimatedCost = started[index] ? costs[index] : 0.0;
+      if (estimatedCost == 0.0) {
+        metrics.recordResolve(System.nanoTime() - start, index + 1);
+        return roster.get(index).getDriver();  // driver's first task
       }
-      if (lowestCostSoFar > estimatedCost) {
+      if (estimatedCost < lowestCostSoFar) {
         // this list beat the last lowest one
         lowestCostSoFar = estimatedCost;
-        resolvedList = list;
+        resolvedIndex = index;
       }
     }
 
-    if (resolvedList == null)
+    if (resolvedIndex == -1)
       throw new IllegalStateException("There should always be a lowest-cost list.");
-    return resolvedList.getDriver();
+    metrics.recordResolve(System.nanoTime() - start, count);
+    return roster.get(resolvedIndex).getDriver();
+  }
+
+  /**
+   * Parallel flavor of {@link #resolveLowestCostAssignment(Task)}. Costs are never negative, so
+   * the lowest-cost candidate with the lowest roster index is exactly the one the sequential scan
+   * settles on, including its early exit for a driver's first (free) task.
+   *
+   * @param task Task that we wish to assign to someone.
+   * @return {@link Driver} that should be assigned the task.
+   */
+  @NotNull Driver resolveLowestCostAssignmentInParallel(final @NotNull Task task) {
+    return roster.get(this.resolveCandidateInParallel(task).index).getDriver();
+  }
+
+  /**
+   * @param task Task that we wish to assign to someone.
+   * @return Lowest-cost candidate on the roster for the task, resolved in parallel.
+   */
+  private @NotNull ParallelResolver.Candidate resolveCandidateInParallel(final @NotNull Task task) {
+    return parallelResolver.resolve(roster.size(), new ParallelResolver.CandidateCosts() {
+      @Override
+      public double costAt(final int index) {
+        return TaskManager.this.costAt(index, task);
+      }
+    });
+  }
+
+  /**
+   * Find the least-loaded {@link Driver} routes on the board, from a ranking kept current as
+   * tasks are assigned, rather than by sorting every route.
+   *
+   * @param count Most routes to return.
+   * @return Up to <pre>count</pre> tasklists, least loaded first.
+   * @throws IllegalArgumentException If the count is negative.
+   */
+  public @NotNull List<Tasklist> leastLoaded(final int count) {
+    return this.ranking.leastLoaded(count);
+  }
+
+  /**
+   * Find the most-loaded {@link Driver} routes on the board, from a ranking kept current as
+   * tasks are assigned, rather than by sorting every route.
+   *
+   * @param count Most routes to return.
+   * @return Up to <pre>count</pre> tasklists, most loaded first.
+   * @throws IllegalArgumentException If the count is negative.
+   */
+  public @NotNull List<Tasklist> mostLoaded(final int count) {
+    return this.ranking.mostLoaded(count);
   }
 
   /**
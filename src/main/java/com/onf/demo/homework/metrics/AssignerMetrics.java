@@ -0,0 +1,299 @@
+package com.onf.demo.homework.metrics;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+
+/**
+ * Metrics that a {@link com.onf.demo.homework.TaskAssigner} reports as it works: how long each
+ * resolve and assign takes, how many candidates each resolve evaluates, how many of each have
+ * been made, and how big the board is. Every recording method is lock-free and allocation-free,
+ * so metrics can stay on in production.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class AssignerMetrics implements AssignerMetricsMBean {
+  // -- internals -- //
+  /**
+   * Nanoseconds per second.
+   */
+  private static final double nanosPerSecond = 1e9;
+
+  /**
+   * Name these metrics are registered under.
+   */
+  final @NotNull String name;
+
+  /**
+   * Latency of each resolve, in nanoseconds.
+   */
+  final @NotNull Histogram resolveLatency;
+
+  /**
+   * Latency of each assign, in nanoseconds.
+   */
+  final @NotNull Histogram assignLatency;
+
+  /**
+   * Candidates evaluated by each resolve: drivers, or insertion positions, depending on the
+   * assigner.
+   */
+  final @NotNull Histogram candidates;
+
+  /**
+   * Number of resolves made.
+   */
+  final @NotNull Counter resolves;
+
+  /**
+   * Number of tasks assigned.
+   */
+  final @NotNull Counter assignments;
+
+  /**
+   * Number of drivers on the board.
+   */
+  final @NotNull Gauge drivers;
+
+  /**
+   * Number of tasks on the board.
+   */
+  final @NotNull Gauge tasks;
+
+  /**
+   * When these metrics were created or last reset, for throughput.
+   */
+  volatile long startNanos;
+
+  // -- constructor -- //
+  /**
+   * Create an empty set of metrics.
+   *
+   * @param name Name to register these metrics under.
+   */
+  public AssignerMetrics(final @NotNull String name) {
+    this.name = name;
+    this.resolveLatency = new Histogram();
+    this.assignLatency = new Histogram();
+    this.candidates = new Histogram();
+    this.resolves = new Counter();
+    this.assignments = new Counter();
+    this.drivers = new Gauge();
+    this.tasks = new Gauge();
+    this.startNanos = System.nanoTime();
+  }
+
+  // -- public API -- //
+  /**
+   * Record one resolve.
+   *
+   * @param nanos Time the resolve took.
+   * @param evaluated Number of candidates it evaluated.
+   */
+  public void recordResolve(final long nanos, final int evaluated) {
+    resolveLatency.record(nanos);
+    candidates.record(evaluated);
+    resolves.increment();
+  }
+
+  /**
+   * Record one task being assigned.
+   *
+   * @param nanos Time the assign took.
+   */
+  public void recordAssign(final long nanos) {
+    assignLatency.record(nanos);
+    assignments.increment();
+  }
+
+  /**
+   * Record the size of the board.
+   *
+   * @param driverCount Number of drivers on the board.
+   * @param taskCount Number of tasks on the board.
+   */
+  public void recordBoardSize(final long driverCount, final long taskCount) {
+    drivers.set(driverCount);
+    tasks.set(taskCount);
+  }
+
+  /**
+   * Clear every metric, and restart the throughput clock.
+   */
+  @Override
+  public void reset() {
+    resolveLatency.reset();
+    assignLatency.reset();
+    candidates.reset();
+    resolves.reset();
+    assignments.reset();
+    drivers.set(0L);
+    tasks.set(0L);
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * Write a summary of these metrics, in plain text.
+   *
+   * @param out Destination for the summary.
+   * @throws IOException If writing fails.
+   */
+  public void dump(final @NotNull Appendable out) throws IOException {
+    out.append("[").append(name).append("]\n");
+    out.append("  resolves: ").append(String.valueOf(getResolveCount()))
+       .append(", assignments: ").append(String.valueOf(getAssignCount()))
+       .append(" (").append(String.format("%.1f", getAssignmentsPerSecond())).append("/s)\n");
+    out.append("  board: ").append(String.valueOf(getDrivers())).append(" drivers, ")
+       .append(String.valueOf(getTasks())).append(" tasks\n");
+    dumpLatency(out, "resolve", resolveLatency);
+    dumpLatency(out, "assign", assignLatency);
+    out.append("  candidates per resolve: mean=").append(String.format("%.1f", candidates.getMean()))
+       .append(" p50=").append(String.valueOf(candidates.valueAtPercentile(50.0)))
+       .append(" p99=").append(String.valueOf(candidates.valueAtPercentile(99.0)))
+       .append(" max=").append(String.valueOf(candidates.getMax())).append("\n");
+  }
+
+  /**
+   * Write one latency histogram's summary, in microseconds.
+   */
+  private static void dumpLatency(final @NotNull Appendable out,
+                                  final @NotNull String label,
+                                  final @NotNull Histogram histogram) throws IOException {
+    out.append("  ").append(label).append(" latency (us): mean=")
+       .append(micros(histogram.getMean()))
+       .append(" p50=").append(micros(histogram.valueAtPercentile(50.0)))
+       .append(" p90=").append(micros(histogram.valueAtPercentile(90.0)))
+       .append(" p99=").append(micros(histogram.valueAtPercentile(99.0)))
+       .append(" p99.9=").append(micros(histogram.valueAtPercentile(99.9)))
+       .append(" max=").append(micros(histogram.getMax())).append("\n");
+  }
+
+  /**
+   * @param nanos Nanoseconds.
+   * @return Microseconds, formatted.
+   */
+  private static @NotNull String micros(final double nanos) {
+    return String.format("%.2f", nanos / 1000.0);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Name these metrics are registered under.
+   */
+  public @NotNull String getName() {
+    return name;
+  }
+
+  /**
+   * @return Latency of each resolve, in nanoseconds.
+   */
+  public @NotNull Histogram getResolveLatency() {
+    return resolveLatency;
+  }
+
+  /**
+   * @return Latency of each assign, in nanoseconds.
+   */
+  public @NotNull Histogram getAssignLatency() {
+    return assignLatency;
+  }
+
+  /**
+   * @return Candidates evaluated by each resolve.
+   */
+  public @NotNull Histogram getCandidates() {
+    return candidates;
+  }
+
+  @Override
+  public long getResolveCount() {
+    return resolves.getCount();
+  }
+
+  @Override
+  public long getAssignCount() {
+    return assignments.getCount();
+  }
+
+  @Override
+  public double getAssignmentsPerSecond() {
+    final long elapsed = System.nanoTime() - startNanos;
+    return elapsed <= 0L ? 0.0 : assignments.getCount() * nanosPerSecond / elapsed;
+  }
+
+  @Override
+  public double getResolveLatencyMeanNanos() {
+    return resolveLatency.getMean();
+  }
+
+  @Override
+  public long getResolveLatencyP50Nanos() {
+    return resolveLatency.valueAtPercentile(50.0);
+  }
+
+  @Override
+  public long getResolveLatencyP99Nanos() {
+    return resolveLatency.valueAtPercentile(99.0);
+  }
+
+  @Override
+  public long getResolveLatencyP999Nanos() {
+    return resolveLatency.valueAtPercentile(99.9);
+  }
+
+  @Override
+  public long getResolveLatencyMaxNanos() {
+    return resolveLatency.getMax();
+  }
+
+  @Override
+  public double getAssignLatencyMeanNanos() {
+    return assignLatency.getMean();
+  }
+
+  @Override
+  public long getAssignLatencyP50Nanos() {
+    return assignLatency.valueAtPercentile(50.0);
+  }
+
+  @Override
+  public long getAssignLatencyP99Nanos() {
+    return assignLatency.valueAtPercentile(99.0);
+  }
+
+  @Override
+  public long getAssignLatencyP999Nanos() {
+    return assignLatency.valueAtPercentile(99.9);
+  }
+
+  @Override
+  public long getAssignLatencyMaxNanos() {
+    return assignLatency.getMax();
+  }
+
+  @Override
+  public double getCandidatesMean() {
+    return candidates.getMean();
+  }
+
+  @Override
+  public long getCandidatesP99() {
+    return candidates.valueAtPercentile(99.0);
+  }
+
+  @Override
+  public long getCandidatesMax() {
+    return candidates.getMax();
+  }
+
+  @Override
+  public long getDrivers() {
+    return drivers.getValue();
+  }
+
+  @Override
+  public long getTasks() {
+    return tasks.getValue();
+  }
+}
@@ -0,0 +1,104 @@
+package com.onf.demo.homework.metrics;
+
+
+/**
+ * JMX view of {@link AssignerMetrics}. Latencies are in nanoseconds; percentiles are read from
+ * the underlying {@link Histogram}s each time they are asked for.
+ */
+@SuppressWarnings("unused")
+public interface AssignerMetricsMBean {
+  /**
+   * @return Number of resolves made.
+   */
+  long getResolveCount();
+
+  /**
+   * @return Number of tasks assigned.
+   */
+  long getAssignCount();
+
+  /**
+   * @return Tasks assigned per second, since the metrics were created or last reset.
+   */
+  double getAssignmentsPerSecond();
+
+  /**
+   * @return Mean resolve latency.
+   */
+  double getResolveLatencyMeanNanos();
+
+  /**
+   * @return Median resolve latency.
+   */
+  long getResolveLatencyP50Nanos();
+
+  /**
+   * @return 99th percentile resolve latency.
+   */
+  long getResolveLatencyP99Nanos();
+
+  /**
+   * @return 99.9th percentile resolve latency.
+   */
+  long getResolveLatencyP999Nanos();
+
+  /**
+   * @return Slowest resolve.
+   */
+  long getResolveLatencyMaxNanos();
+
+  /**
+   * @return Mean assign latency.
+   */
+  double getAssignLatencyMeanNanos();
+
+  /**
+   * @return Median assign latency.
+   */
+  long getAssignLatencyP50Nanos();
+
+  /**
+   * @return 99th percentile assign latency.
+   */
+  long getAssignLatencyP99Nanos();
+
+  /**
+   * @return 99.9th percentile assign latency.
+   */
+  long getAssignLatencyP999Nanos();
+
+  /**
+   * @return Slowest assign.
+   */
+  long getAssignLatencyMaxNanos();
+
+  /**
+   * @return Mean number of candidates evaluated per resolve.
+   */
+  double getCandidatesMean();
+
+  /**
+   * @return 99th percentile of candidates evaluated per resolve.
+   */
+  long getCandidatesP99();
+
+  /**
+   * @return Most candidates evaluated by one resolve.
+   */
+  long getCandidatesMax();
+
+  /**
+   * @return Number of drivers on the board last reported.
+   */
+  long getDrivers();
+
+  /**
+   * @return Number of tasks on the board last reported.
+   */
+  long getTasks();
+
+  /**
+   * Clear every metric.
+   */
+  void reset();
+}
@@ -0,0 +1,61 @@
+package com.onf.demo.homework.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Count of events, such as tasks assigned, that only ever goes up. Counting is one atomic add,
+ * safe from any number of threads, and never allocates.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Counter {
+  // -- internals -- //
+  /**
+   * Events counted so far.
+   */
+  final AtomicLong count;
+
+  // -- constructor -- //
+  /**
+   * Create a counter, starting from zero.
+   */
+  public Counter() {
+    this.count = new AtomicLong();
+  }
+
+  // -- public API -- //
+  /**
+   * Count one event.
+   */
+  public void increment() {
+    count.incrementAndGet();
+  }
+
+  /**
+   * Count a number of events at once.
+   *
+   * @param events Number of events.
+   * @throws IllegalArgumentException If the number is negative.
+   */
+  public void add(final long events) {
+    if (events < 0L)
+      throw new IllegalArgumentException("Counters only go up.");
+    count.addAndGet(events);
+  }
+
+  /**
+   * Start counting from zero again.
+   */
+  public void reset() {
+    count.set(0L);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Events counted so far.
+   */
+  public long getCount() {
+    return count.get();
+  }
+}
@@ -0,0 +1,40 @@
+package com.onf.demo.homework.metrics;
+
+
+/**
+ * Current value of something that goes up and down, such as the number of drivers on a board.
+ * Setting a gauge is a single volatile write, safe from any number of threads, and never
+ * allocates; the last value written wins.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Gauge {
+  // -- internals -- //
+  /**
+   * Current value.
+   */
+  volatile long value;
+
+  // -- constructor -- //
+  /**
+   * Create a gauge, reading zero.
+   */
+  public Gauge() {
+    this.value = 0L;
+  }
+
+  // -- public API -- //
+  /**
+   * @param value New value.
+   */
+  public void set(final long value) {
+    this.value = value;
+  }
+
+  // -- getters -- //
+  /**
+   * @return Current value.
+   */
+  public long getValue() {
+    return value;
+  }
+}
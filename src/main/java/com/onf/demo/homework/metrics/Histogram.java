@@ -0,0 +1,186 @@
+package com.onf.demo.homework.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Log-linear histogram of non-negative <pre>long</pre> values, such as latencies in nanoseconds,
+ * in the style of HdrHistogram. Values are counted into buckets that split each power of two into
+ * 128 linear steps, so any percentile is reported to within 1% of the true value, from one to
+ * {@link Long#MAX_VALUE}, in a fixed 58KB of counts.
+ *
+ * <p>Recording is lock-free and allocation-free: finding a value's bucket is a couple of shifts,
+ * and counting it is an atomic increment, plus one more each for the running sum and maximum.
+ * Any number of threads may record at once. Reads add up the buckets as they find them, so a read
+ * made while values are being recorded sees most, but not necessarily all, of them.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Histogram {
+  // -- internals -- //
+  /**
+   * Bits of each value kept exactly, below its highest set bit.
+   */
+  static final int subBucketBits = 7;
+
+  /**
+   * Number of linear steps each power of two is split into.
+   */
+  static final int subBucketCount = 1 << subBucketBits;
+
+  /**
+   * Number of buckets needed to cover every non-negative <pre>long</pre>.
+   */
+  static final int bucketCount = (64 - subBucketBits) * subBucketCount;
+
+  /**
+   * Count of values recorded in each bucket.
+   */
+  final AtomicLongArray counts;
+
+  /**
+   * Sum of every value recorded.
+   */
+  final AtomicLong sum;
+
+  /**
+   * Largest value recorded.
+   */
+  final AtomicLong max;
+
+  // -- constructor -- //
+  /**
+   * Create an empty histogram.
+   */
+  public Histogram() {
+    this.counts = new AtomicLongArray(bucketCount);
+    this.sum = new AtomicLong();
+    this.max = new AtomicLong();
+  }
+
+  // -- static API -- //
+  /**
+   * @param value Non-negative value.
+   * @return Bucket the value is counted in.
+   */
+  static int bucketFor(final long value) {
+    if (value < subBucketCount)
+      return (int)value;
+    final int shift = (63 - Long.numberOfLeadingZeros(value)) - subBucketBits;
+    return ((shift + 1) << subBucketBits) + (int)((value >>> shift) - subBucketCount);
+  }
+
+  /**
+   * @param bucket Bucket index.
+   * @return Smallest value counted in the bucket.
+   */
+  static long lowestValueIn(final int bucket) {
+    if (bucket < subBucketCount)
+      return bucket;
+    final int shift = (bucket >>> subBucketBits) - 1;
+    return ((long)(subBucketCount + (bucket & (subBucketCount - 1)))) << shift;
+  }
+
+  /**
+   * @param bucket Bucket index.
+   * @return Largest value counted in the bucket.
+   */
+  static long highestValueIn(final int bucket) {
+    if (bucket == bucketCount - 1)
+      return Long.MAX_VALUE;
+    return lowestValueIn(bucket + 1) - 1;
+  }
+
+  // -- public API -- //
+  /**
+   * Record a value. Negative values, as from a clock stepping backwards, are recorded as zero.
+   *
+   * @param value Value to record.
+   */
+  public void record(final long value) {
+    final long recorded = Math.max(0L, value);
+    counts.incrementAndGet(bucketFor(recorded));
+    sum.addAndGet(recorded);
+    long seen = max.get();
+    while (recorded > seen && !max.compareAndSet(seen, recorded)) {
+      seen = max.get();
+    }
+  }
+
+  /**
+   * Find the value at a percentile: the smallest value that at least that share of recorded
+   * values are no greater than. Reported as the top of its bucket, capped at the largest value
+   * recorded, so it is never below the true value, and never more than 1% above it.
+   *
+   * @param percentile Percentile, from <pre>0</pre> to <pre>100</pre>.
+   * @return Value at the percentile, or <pre>0</pre> if nothing has been recorded.
+   * @throws IllegalArgumentException If the percentile is out of range.
+   */
+  public long valueAtPercentile(final double percentile) {
+    if (!(percentile >= 0.0 && percentile <= 100.0))
+      throw new IllegalArgumentException("Percentile must be between 0 and 100, not " + percentile + ".");
+    final long[] snapshot = new long[bucketCount];
+    long total = 0L;
+    for (int i = 0; i < bucketCount; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0L)
+      return 0L;
+
+    final long rank = Math.max(1L, (long)Math.ceil(percentile / 100.0 * total));
+    long seen = 0L;
+    for (int i = 0; i < bucketCount; i++) {
+      seen += snapshot[i];
+      if (seen >= rank)
+        return Math.min(highestValueIn(i), max.get());
+    }
+    return max.get();
+  }
+
+  /**
+   * Clear every recorded value. Values recorded while resetting may or may not be kept.
+   */
+  public void reset() {
+    for (int i = 0; i < bucketCount; i++) {
+      counts.set(i, 0L);
+    }
+    sum.set(0L);
+    max.set(0L);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of values recorded.
+   */
+  public long getCount() {
+    long total = 0L;
+    for (int i = 0; i < bucketCount; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * @return Sum of every value recorded.
+   */
+  public long getSum() {
+    return sum.get();
+  }
+
+  /**
+   * @return Mean of the values recorded, or <pre>0</pre> if nothing has been recorded.
+   */
+  public double getMean() {
+    final long count = getCount();
+    return count == 0L ? 0.0 : (double)sum.get() / count;
+  }
+
+  /**
+   * @return Largest value recorded, or <pre>0</pre> if nothing has been recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+}
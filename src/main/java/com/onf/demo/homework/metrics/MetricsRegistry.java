@@ -0,0 +1,188 @@
+package com.onf.demo.homework.metrics;
+
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Named set of {@link AssignerMetrics}, one per kind of {@link com.onf.demo.homework.TaskAssigner}.
+ * Every manager of a kind reports to the same metrics, so a process running many boards sees them
+ * added up. Once {@link #registerMBeans()} is called, every set of metrics, including any created
+ * later, is also published as an MBean, under
+ * <pre>com.onf.demo.homework:type=AssignerMetrics,name=...</pre>.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MetricsRegistry {
+  // -- internals -- //
+  /**
+   * JMX domain metrics are published under.
+   */
+  public static final String domain = "com.onf.demo.homework";
+
+  /**
+   * Registry every manager reports to.
+   */
+  private static final MetricsRegistry global = new MetricsRegistry();
+
+  /**
+   * Orders metrics by name, for dumps.
+   */
+  private static final Comparator<AssignerMetrics> byName = new Comparator<AssignerMetrics>() {
+    @Override
+    public int compare(final AssignerMetrics left, final AssignerMetrics right) {
+      return left.getName().compareTo(right.getName());
+    }
+  };
+
+  /**
+   * Metrics for each kind of assigner, by name.
+   */
+  final ConcurrentMap<String, AssignerMetrics> assigners;
+
+  /**
+   * Server metrics are published to, once published.
+   */
+  volatile @Nullable MBeanServer server;
+
+  // -- constructor -- //
+  /**
+   * Create an empty registry, not yet published over JMX.
+   */
+  public MetricsRegistry() {
+    this.assigners = new ConcurrentHashMap<>();
+    this.server = null;
+  }
+
+  // -- static API -- //
+  /**
+   * @return Registry every manager reports to.
+   */
+  public static @NotNull MetricsRegistry global() {
+    return global;
+  }
+
+  /**
+   * @param name Name of a set of metrics.
+   * @return Name the metrics are published under over JMX.
+   */
+  public static @NotNull ObjectName objectNameFor(final @NotNull String name) {
+    try {
+      return new ObjectName(domain + ":type=AssignerMetrics,name=" + ObjectName.quote(name));
+    } catch (final JMException e) {
+      // throw as runtime exception, since the name is always well-formed once quoted
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // -- private API -- //
+  /**
+   * Publish one set of metrics, if the registry is published and they aren't already.
+   */
+  private synchronized void publish(final @NotNull AssignerMetrics metrics) {
+    final MBeanServer target = this.server;
+    if (target == null)
+      return;
+    final ObjectName objectName = objectNameFor(metrics.getName());
+    try {
+      if (!target.isRegistered(objectName))
+        target.registerMBean(metrics, objectName);
+    } catch (final JMException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // -- public API -- //
+  /**
+   * Find the metrics for a kind of assigner, creating them the first time they are asked for.
+   *
+   * @param name Name of the kind of assigner.
+   * @return Metrics for that kind of assigner.
+   */
+  public @NotNull AssignerMetrics assigner(final @NotNull String name) {
+    final AssignerMetrics existing = assigners.get(name);
+    if (existing != null)
+      return existing;
+    final AssignerMetrics created = new AssignerMetrics(name);
+    final AssignerMetrics raced = assigners.putIfAbsent(name, created);
+    if (raced != null)
+      return raced;
+    publish(created);
+    return created;
+  }
+
+  /**
+   * Publish every set of metrics as an MBean on the platform MBean server, along with any created
+   * from now on.
+   */
+  public synchronized void registerMBeans() {
+    if (this.server != null)
+      return;
+    this.server = ManagementFactory.getPlatformMBeanServer();
+    for (final AssignerMetrics metrics : assigners.values()) {
+      publish(metrics);
+    }
+  }
+
+  /**
+   * Withdraw every MBean this registry published.
+   */
+  public synchronized void unregisterMBeans() {
+    final MBeanServer target = this.server;
+    if (target == null)
+      return;
+    this.server = null;
+    for (final AssignerMetrics metrics : assigners.values()) {
+      final ObjectName objectName = objectNameFor(metrics.getName());
+      try {
+        if (target.isRegistered(objectName))
+          target.unregisterMBean(objectName);
+      } catch (final JMException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /**
+   * Write a summary of every set of metrics that has recorded anything, in plain text.
+   *
+   * @param out Destination for the summary.
+   * @throws IOException If writing fails.
+   */
+  public void dump(final @NotNull Appendable out) throws IOException {
+    out.append("--------------- Metrics ---------------\n");
+    for (final AssignerMetrics metrics : getAssigners()) {
+      if (metrics.getResolveCount() > 0L || metrics.getAssignCount() > 0L)
+        metrics.dump(out);
+    }
+  }
+
+  // -- getters -- //
+  /**
+   * @return Every set of metrics, by name.
+   */
+  public @NotNull List<AssignerMetrics> getAssigners() {
+    final List<AssignerMetrics> sorted = new ArrayList<>(assigners.values());
+    Collections.sort(sorted, byName);
+    return sorted;
+  }
+
+  /**
+   * @return Whether metrics are being published over JMX.
+   */
+  public boolean isPublished() {
+    return server != null;
+  }
+}
@@ -0,0 +1,9 @@
+/**
+ * Holds counters, gauges and latency histograms that {@link com.onf.demo.homework.TaskAssigner}
+ * implementations report to, and the registry that exposes them over JMX.
+ *
+ * @author sam
+ * @since 1.0
+ */
+
+package com.onf.demo.homework.metrics;
@@ -2,13 +2,13 @@ package com.onf.demo.homework.struct;
 
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
 import javax.annotation.concurrent.Immutable;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 
 /**
@@ -20,12 +20,12 @@ import java.util.UUID;
 @SuppressWarnings("WeakerAccess")
 public final class Driver implements Serializable {
   // -- internals -- //
-  public final static long serialVersionUID = 1L;
+  public final static long serialVersionUID = 2L;
 
   /**
-   * UUID for the driver.
+   * UUID for the driver, held compactly.
    */
-  final @NotNull String uuid;
+  final @NotNull Identifier uuid;
 
   /**
    * Name for the driver.
@@ -42,6 +42,18 @@ public final class Driver implements Serializable {
   @JsonCreator
   public Driver(final @JsonProperty("uuid") @NotNull String uuid,
                 final @JsonProperty("name") @Nullable String name) {
+    this.uuid = Identifier.of(uuid);
+    this.name = name;
+  }
+
+  /**
+   * Construct a new Driver object with an already-compact identifier.
+   *
+   * @param uuid Driver identifier.
+   * @param name Generated name for the driver.
+   */
+  public Driver(final @NotNull Identifier uuid,
+                final @Nullable String name) {
     this.uuid = uuid;
     this.name = name;
   }
@@ -55,7 +67,7 @@ public final class Driver implements Serializable {
    */
   @Override
   public boolean equals(final Object other) {
-    return other instanceof Driver && this.hashCode() == other.hashCode();
+    return other instanceof Driver && this.uuid.equals(((Driver)other).uuid);
   }
 
   /**
@@ -75,7 +87,7 @@ public final class Driver implements Serializable {
    */
   @Override
   public String toString() {
-    return this.name == null ? this.uuid : this.name;
+    return this.name == null ? this.uuid.toString() : this.name;
   }
 
 
@@ -89,7 +101,7 @@ public final class Driver implements Serializable {
    */
   @NotNull
   public static Driver factory(final @Nullable String name) {
-    return new Driver(UUID.randomUUID().toString(), name);
+    return new Driver(Identifier.random(), name);
   }
 
   // -- getters -- //
@@ -98,6 +110,14 @@ public final class Driver implements Serializable {
    */
   @NotNull @JsonProperty("uuid")
   public String getUuid() {
+    return uuid.toString();
+  }
+
+  /**
+   * @return Compact form of this driver's UUID, for hashing and keying on primitives.
+   */
+  @NotNull @JsonIgnore
+  public Identifier getIdentifier() {
     return uuid;
   }
 
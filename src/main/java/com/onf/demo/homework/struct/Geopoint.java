@@ -2,6 +2,7 @@ package com.onf.demo.homework.struct;
 
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import javax.annotation.concurrent.Immutable;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +49,40 @@ public final class Geopoint implements Serializable {
     this.longitude = longitude;
   }
 
+  /**
+   * Construct a new {@link Geopoint} structure from primitive values, without boxing.
+   *
+   * @param latitude Latitude value.
+   * @param longitude Longitude value.
+   */
+  private Geopoint(final double latitude, final double longitude) {
+    this.latitude = latitude;
+    this.longitude = longitude;
+  }
+
+  // -- static API -- //
+  /**
+   * Construct a new {@link Geopoint} from primitive values, without boxing them first.
+   *
+   * @param latitude Latitude value.
+   * @param longitude Longitude value.
+   * @return Prepared geopoint.
+   */
+  public static @NotNull Geopoint of(final double latitude, final double longitude) {
+    return new Geopoint(latitude, longitude);
+  }
+
+  /**
+   * Hash a single coordinate by its bit pattern.
+   *
+   * @param value Coordinate value.
+   * @return Hash of the value's bits.
+   */
+  private static int hashOf(final double value) {
+    final long bits = Double.doubleToLongBits(value);
+    return (int)(bits ^ (bits >>> 32));
+  }
+
   // -- equality + formatting -- //
   /**
    * Override equality check to support checking underlying latitude/longitude.
@@ -59,21 +94,20 @@ public final class Geopoint implements Serializable {
   public boolean equals(final Object otherObject) {
     if (otherObject instanceof Geopoint) {
       final Geopoint other = (Geopoint)otherObject;
-      return other.getLatitude().equals(latitude)
-             && other.getLongitude().equals(longitude);
+      return Double.doubleToLongBits(other.latitude) == Double.doubleToLongBits(latitude)
+             && Double.doubleToLongBits(other.longitude) == Double.doubleToLongBits(longitude);
     }
     return false;  // not even a geo-point
   }
 
   /**
-   * Override this object's hash code as the code of the pair of points, as a
-   * string.
+   * Override this object's hash code as a mix of the bit patterns of both coordinates.
    *
    * @return Hash code for this {@link Geopoint} object.
    */
   @Override
   public int hashCode() {
-    return this.toString().hashCode();
+    return 31 * hashOf(latitude) + hashOf(longitude);
   }
 
   /**
@@ -102,4 +136,20 @@ public final class Geopoint implements Serializable {
   public Double getLongitude() {
     return longitude;
   }
-}
\ No newline at end of file
+
+  /**
+   * @return Latitude value for this point, unboxed.
+   */
+  @JsonIgnore
+  public double getLatitudeValue() {
+    return latitude;
+  }
+
+  /**
+   * @return Longitude value for this point, unboxed.
+   */
+  @JsonIgnore
+  public double getLongitudeValue() {
+    return longitude;
+  }
+}
@@ -0,0 +1,207 @@
+package com.onf.demo.homework.struct;
+
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Random;
+import java.util.UUID;
+
+
+/**
+ * Compact unique identifier for {@link Driver} and {@link Task} records. A canonical UUID string
+ * (lower-case, 36 characters) is held as its two 64-bit halves, rather than as a
+ * {@link String}, which cuts the memory per id by several times and makes hashing and equality
+ * a couple of primitive comparisons. Any other string is kept as-is, so every id read from JSON
+ * is written back out exactly as it came in.
+ */
+@Immutable
+@SuppressWarnings("WeakerAccess")
+public final class Identifier implements Serializable {
+  // -- internals -- //
+  public final static long serialVersionUID = 2L;
+
+  /**
+   * Most significant 64 bits of the UUID.
+   */
+  final long mostSignificantBits;
+
+  /**
+   * Least significant 64 bits of the UUID.
+   */
+  final long leastSignificantBits;
+
+  /**
+   * Original string, if it wasn't a canonical UUID, or <pre>null</pre>.
+   */
+  final @Nullable String raw;
+
+  /**
+   * Cached hash code.
+   */
+  final int hash;
+
+  /**
+   * Canonical UUID string, built the first time it is asked for, or <pre>null</pre>. Racing
+   * threads may each build it once, but always to the same value.
+   */
+  transient @Nullable String canonical;
+
+  // -- constructor -- //
+  /**
+   * Construct an identifier from its parts.
+   *
+   * @param mostSignificantBits Most significant 64 bits of the UUID.
+   * @param leastSignificantBits Least significant 64 bits of the UUID.
+   * @param raw Original string, if it wasn't a canonical UUID.
+   */
+  private Identifier(final long mostSignificantBits,
+                     final long leastSignificantBits,
+                     final @Nullable String raw) {
+    this.mostSignificantBits = mostSignificantBits;
+    this.leastSignificantBits = leastSignificantBits;
+    this.raw = raw;
+    if (raw != null) {
+      this.hash = raw.hashCode();
+    } else {
+      final long bits = mostSignificantBits ^ leastSignificantBits;
+      this.hash = (int)(bits ^ (bits >>> 32));
+    }
+  }
+
+  // -- static API -- //
+  /**
+   * Generate a new random identifier, without going through a string.
+   *
+   * @return Random (version 4) UUID identifier.
+   */
+  public static @NotNull Identifier random() {
+    final UUID uuid = UUID.randomUUID();
+    return new Identifier(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null);
+  }
+
+  /**
+   * Generate a new random identifier from a given source of randomness, so that a seeded source
+   * always gives the same identifiers.
+   *
+   * @param random Source of randomness.
+   * @return Random (version 4) UUID identifier.
+   */
+  public static @NotNull Identifier random(final @NotNull Random random) {
+    final long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+    final long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new Identifier(most, least, null);
+  }
+
+  /**
+   * Build an identifier from the two halves of a UUID.
+   *
+   * @param mostSignificantBits Most significant 64 bits of the UUID.
+   * @param leastSignificantBits Least significant 64 bits of the UUID.
+   * @return Identifier for the UUID.
+   */
+  public static @NotNull Identifier of(final long mostSignificantBits, final long leastSignificantBits) {
+    return new Identifier(mostSignificantBits, leastSignificantBits, null);
+  }
+
+  /**
+   * Build an identifier from its string form, packing it into two longs if it is a canonical
+   * UUID.
+   *
+   * @param value String form of the identifier.
+   * @return Identifier for the string.
+   */
+  public static @NotNull Identifier of(final @NotNull String value) {
+    if (value.length() != 36)
+      return new Identifier(0L, 0L, value);
+    long most = 0L;
+    long least = 0L;
+    for (int i = 0; i < 36; i++) {
+      final char c = value.charAt(i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-')
+          return new Identifier(0L, 0L, value);
+        continue;
+      }
+      final int digit;
+      if (c >= '0' && c <= '9')
+        digit = c - '0';
+      else if (c >= 'a' && c <= 'f')
+        digit = c - 'a' + 10;
+      else
+        return new Identifier(0L, 0L, value);  // not canonical, including upper-case
+      if (i < 18)
+        most = (most << 4) | digit;
+      else
+        least = (least << 4) | digit;
+    }
+    return new Identifier(most, least, null);
+  }
+
+  // -- equality + formatting -- //
+  /**
+   * Two identifiers are equal if they hold the same UUID, or the same non-UUID string.
+   *
+   * @param otherObject Other object to compare.
+   * @return Whether the two are equal.
+   */
+  @Override
+  public boolean equals(final Object otherObject) {
+    if (this == otherObject)
+      return true;
+    if (!(otherObject instanceof Identifier))
+      return false;
+    final Identifier other = (Identifier)otherObject;
+    if (this.raw != null || other.raw != null)
+      return this.raw != null && this.raw.equals(other.raw);
+    return this.mostSignificantBits == other.mostSignificantBits
+           && this.leastSignificantBits == other.leastSignificantBits;
+  }
+
+  /**
+   * @return Hash code, mixed from the UUID bits.
+   */
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  /**
+   * @return String form of this identifier, exactly as it would have been read from JSON.
+   */
+  @Override
+  public String toString() {
+    if (this.raw != null)
+      return this.raw;
+    String value = this.canonical;
+    if (value == null) {
+      value = new UUID(this.mostSignificantBits, this.leastSignificantBits).toString();
+      this.canonical = value;
+    }
+    return value;
+  }
+
+  // -- getters -- //
+  /**
+   * @return Whether this identifier is a canonical UUID, held as two longs.
+   */
+  public boolean isCompact() {
+    return raw == null;
+  }
+
+  /**
+   * @return Most significant 64 bits of the UUID, or <pre>0</pre> if not compact.
+   */
+  public long getMostSignificantBits() {
+    return mostSignificantBits;
+  }
+
+  /**
+   * @return Least significant 64 bits of the UUID, or <pre>0</pre> if not compact.
+   */
+  public long getLeastSignificantBits() {
+    return leastSignificantBits;
+  }
+}
@@ -2,12 +2,12 @@ package com.onf.demo.homework.struct;
 
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
 import javax.annotation.concurrent.Immutable;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 
 /**
@@ -20,12 +20,12 @@ import java.util.UUID;
 @SuppressWarnings("WeakerAccess")
 public class Task implements Serializable {
   // -- internals -- //
-  public final static long serialVersionUID = 1L;
+  public final static long serialVersionUID = 2L;
 
   /**
-   * UUID for the task.
+   * UUID for the task, held compactly.
    */
-  final @NotNull String uuid;
+  final @NotNull Identifier uuid;
 
   /**
    * Assigned task location.
@@ -42,10 +42,45 @@ public class Task implements Serializable {
   @JsonCreator
   public Task(final @JsonProperty("uuid") @NotNull String uuid,
               final @JsonProperty("location") @NotNull Location location) {
+    this.uuid = Identifier.of(uuid);
+    this.location = location;
+  }
+
+  /**
+   * Construct a new Task object with an already-compact identifier.
+   *
+   * @param uuid Task identifier.
+   * @param location Location description for this task.
+   */
+  public Task(final @NotNull Identifier uuid,
+              final @NotNull Location location) {
     this.uuid = uuid;
     this.location = location;
   }
 
+  // -- equality -- //
+  /**
+   * Two tasks are equal if they share a UUID, so that a task read back from storage matches
+   * the one that was written.
+   *
+   * @param other Other object to compare.
+   * @return Whether the two should be considered equal or not.
+   */
+  @Override
+  public boolean equals(final Object other) {
+    return other instanceof Task && this.uuid.equals(((Task)other).uuid);
+  }
+
+  /**
+   * Return the hash code for the underlying {@link Task}'s UUID.
+   *
+   * @return Hash code for this {@link Task}'s UUID.
+   */
+  @Override
+  public int hashCode() {
+    return this.uuid.hashCode();
+  }
+
   // -- static API -- //
   /**
    * Construct a new Task object, generating a random UUID to use
@@ -55,8 +90,7 @@ public class Task implements Serializable {
    * @return Prepared Task object.
    */
   public static Task factory(final @NotNull Location location) {
-    return new Task(UUID.randomUUID().toString(),
-                    location);
+    return new Task(Identifier.random(), location);
   }
 
   // -- getters -- //
@@ -65,6 +99,14 @@ public class Task implements Serializable {
    */
   @NotNull @JsonProperty("uuid")
   public String getUuid() {
+    return uuid.toString();
+  }
+
+  /**
+   * @return Compact form of this task's UUID, for hashing and keying on primitives.
+   */
+  @NotNull @JsonIgnore
+  public Identifier getIdentifier() {
     return uuid;
   }
 
@@ -0,0 +1,530 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Identifier;
+import com.onf.demo.homework.struct.Location;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Reads and writes a {@link SampleDataset} in a compact binary form, laid out in columns so a file
+ * can be memory-mapped and read in place. Opening a file only checks its header and string
+ * references; each record is built from the mapped columns as it is read, and single fields such as a task's coordinates can
+ * be read without building anything at all.
+ *
+ * <p>All values but the magic are little-endian. The layout is a header, then one column per field, then a heap
+ * of UTF-8 strings:</p>
+ * <pre>
+ *   header:      magic (the bytes ONFD), version (int), driver count (int), task count (int),
+ *                string heap size (long), padding to 32 bytes
+ *   drivers:     uuid (2 longs) per driver, then name (string ref) per driver
+ *   tasks:       uuid (2 longs) per task, then location uuid (2 longs) per task,
+ *                then latitude (double) per task, then longitude (double) per task,
+ *                then location label (string ref) per task
+ *   strings:     UTF-8 bytes, referenced by offset (int) and length (int, -1 for null)
+ * </pre>
+ *
+ * <p>Task, location and driver UUIDs must be in canonical UUID form. Name data is not stored, so
+ * datasets read back use the built-in names. A file must fit in a single 2GB mapping, which is
+ * room for roughly 30 million tasks.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BinaryDataset implements DatasetReader {
+  // -- layout -- //
+  /**
+   * Marks the start of a binary dataset file: <pre>ONFD</pre>.
+   */
+  static final int magic = 0x4F4E4644;
+
+  /**
+   * Version of the column layout.
+   */
+  static final int layoutVersion = 1;
+
+  /**
+   * Header size and field offsets.
+   */
+  static final int headerSize = 32;
+  static final int headerDriverCount = 8;
+  static final int headerTaskCount = 12;
+  static final int headerHeapSize = 16;
+
+  /**
+   * Bytes per value in each kind of column.
+   */
+  static final int identifierSize = 16;
+  static final int coordinateSize = 8;
+  static final int stringRefSize = 8;
+
+  // -- internals -- //
+  /**
+   * Mapped file.
+   */
+  final @NotNull ByteBuffer buffer;
+
+  /**
+   * Channel the buffer is mapped from.
+   */
+  final @NotNull FileChannel channel;
+
+  /**
+   * Number of drivers and tasks in the file, from the header.
+   */
+  final int driverCount;
+  final int taskCount;
+
+  /**
+   * Offsets of each column.
+   */
+  final int driverIds;
+  final int driverNames;
+  final int taskIds;
+  final int locationIds;
+  final int latitudes;
+  final int longitudes;
+  final int labels;
+  final int heap;
+
+  /**
+   * Drivers, once read.
+   */
+  @Nullable List<Driver> drivers;
+
+  /**
+   * Whether {@link #tasks()} has handed out an iterator.
+   */
+  boolean tasksTaken;
+
+  // -- embedded classes -- //
+  /**
+   * Offsets of each column, for a given number of drivers and tasks.
+   */
+  static final class Columns {
+    final long driverIds;
+    final long driverNames;
+    final long taskIds;
+    final long locationIds;
+    final long latitudes;
+    final long longitudes;
+    final long labels;
+    final long heap;
+
+    Columns(final long driverCount, final long taskCount) {
+      this.driverIds = headerSize;
+      this.driverNames = driverIds + driverCount * identifierSize;
+      this.taskIds = driverNames + driverCount * stringRefSize;
+      this.locationIds = taskIds + taskCount * identifierSize;
+      this.latitudes = locationIds + taskCount * identifierSize;
+      this.longitudes = latitudes + taskCount * coordinateSize;
+      this.labels = longitudes + taskCount * coordinateSize;
+      this.heap = labels + taskCount * stringRefSize;
+    }
+  }
+
+  /**
+   * Collects strings into a heap of UTF-8 bytes while a file is being written.
+   */
+  static final class StringHeap {
+    final @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    /**
+     * Add a string to the heap.
+     *
+     * @param value String to add, or <pre>null</pre>.
+     * @return Reference to the string: offset in the high 32 bits, length (or <pre>-1</pre>) in
+     *         the low 32 bits.
+     */
+    long add(final @Nullable String value) {
+      if (value == null)
+        return ((long)bytes.size() << 32) | 0xFFFFFFFFL;
+      final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+      if ((long)bytes.size() + encoded.length > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Dataset strings are too large to store.");
+      final long ref = ((long)bytes.size() << 32) | encoded.length;
+      bytes.write(encoded, 0, encoded.length);
+      return ref;
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Wrap a mapped binary dataset, checking its header.
+   *
+   * @param buffer Mapped file.
+   * @param channel Channel the buffer is mapped from.
+   * @throws IOException If the file does not hold a binary dataset, is cut short, or refers to
+   *         strings outside its string heap.
+   */
+  private BinaryDataset(final @NotNull ByteBuffer buffer, final @NotNull FileChannel channel) throws IOException {
+    this.buffer = buffer;
+    this.channel = channel;
+    if (buffer.limit() < headerSize)
+      throw new IOException("File does not hold a version " + layoutVersion + " binary dataset.");
+    buffer.order(ByteOrder.BIG_ENDIAN);
+    final int marker = buffer.getInt(0);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (marker != magic || buffer.getInt(4) != layoutVersion)
+      throw new IOException("File does not hold a version " + layoutVersion + " binary dataset.");
+    this.driverCount = this.buffer.getInt(headerDriverCount);
+    this.taskCount = this.buffer.getInt(headerTaskCount);
+    final long heapSize = this.buffer.getLong(headerHeapSize);
+    if (driverCount < 0 || taskCount < 0 || heapSize < 0)
+      throw new IOException("Binary dataset header is corrupt.");
+
+    final Columns columns = new Columns(driverCount, taskCount);
+    if (columns.heap + heapSize != this.buffer.limit())
+      throw new IOException("Binary dataset should be " + (columns.heap + heapSize) + " bytes, but is "
+                                + this.buffer.limit() + ".");
+    this.driverIds = (int)columns.driverIds;
+    this.driverNames = (int)columns.driverNames;
+    this.taskIds = (int)columns.taskIds;
+    this.locationIds = (int)columns.locationIds;
+    this.latitudes = (int)columns.latitudes;
+    this.longitudes = (int)columns.longitudes;
+    this.labels = (int)columns.labels;
+    this.heap = (int)columns.heap;
+    this.checkStringRefs(this.driverNames, driverCount, heapSize);
+    this.checkStringRefs(this.labels, taskCount, heapSize);
+    this.drivers = null;
+    this.tasksTaken = false;
+  }
+
+  // -- static API -- //
+  /**
+   * Map a binary dataset file, read-only. Nothing past the header is read until it is asked for.
+   *
+   * @param file File to map.
+   * @return Dataset held in the file, which the caller must close.
+   * @throws IOException If the file cannot be mapped, or does not hold a binary dataset.
+   */
+  public static @NotNull BinaryDataset open(final @NotNull File file) throws IOException {
+    final FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+    try {
+      if (channel.size() > Integer.MAX_VALUE)
+        throw new IOException("Binary dataset is too large to map.");
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new BinaryDataset(buffer, channel);
+    } catch (IOException | RuntimeException err) {
+      channel.close();
+      throw err;
+    }
+  }
+
+  /**
+   * Check whether a file starts like a binary dataset, without mapping it.
+   *
+   * @param file File to check.
+   * @return Whether the file starts with the binary dataset magic number.
+   * @throws IOException If the file cannot be read.
+   */
+  public static boolean isBinaryDataset(final @NotNull File file) throws IOException {
+    try (final RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+      return raw.length() >= headerSize && raw.readInt() == magic;
+    }
+  }
+
+  /**
+   * Write a dataset to a file in binary form, replacing anything already there.
+   *
+   * @param dataset Dataset to write.
+   * @param file File to write to.
+   * @throws IOException If the file cannot be created or mapped.
+   * @throws IllegalArgumentException If an identifier isn't a canonical UUID, or the dataset is
+   *         too large to store.
+   */
+  public static void write(final @NotNull SampleDataset dataset, final @NotNull File file) throws IOException {
+    write(dataset.getGeneratedDrivers(), dataset.getGeneratedTasks(), file);
+  }
+
+  /**
+   * Write drivers and tasks to a file in binary form, replacing anything already there.
+   *
+   * @param drivers Drivers to write.
+   * @param tasks Tasks to write.
+   * @param file File to write to.
+   * @throws IOException If the file cannot be created or mapped.
+   * @throws IllegalArgumentException If an identifier isn't a canonical UUID, or the dataset is
+   *         too large to store.
+   */
+  public static void write(final @NotNull Collection<Driver> drivers,
+                           final @NotNull Collection<Task> tasks,
+                           final @NotNull File file) throws IOException {
+    // strings go at the end, so collect them first to learn the file size
+    final StringHeap strings = new StringHeap();
+    final long[] driverNames = new long[drivers.size()];
+    int index = 0;
+    for (final Driver driver : drivers) {
+      driverNames[index++] = strings.add(driver.getName());
+    }
+    final long[] labels = new long[tasks.size()];
+    index = 0;
+    for (final Task task : tasks) {
+      labels[index++] = strings.add(task.getLocation().getLabel());
+    }
+
+    final Columns columns = new Columns(drivers.size(), tasks.size());
+    final long size = columns.heap + strings.bytes.size();
+    if (size > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Dataset of " + drivers.size() + " drivers and "
+                                             + tasks.size() + " tasks is too large to map.");
+
+    try (final FileChannel channel = new RandomAccessFile(file, "rw").getChannel()) {
+      channel.truncate(0);
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      buffer.putInt(0, magic);  // so the bytes read ONFD
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(4, layoutVersion);
+      buffer.putInt(headerDriverCount, drivers.size());
+      buffer.putInt(headerTaskCount, tasks.size());
+      buffer.putLong(headerHeapSize, strings.bytes.size());
+
+      index = 0;
+      for (final Driver driver : drivers) {
+        putIdentifier(buffer, (int)columns.driverIds + index * identifierSize, driver.getIdentifier());
+        buffer.putLong((int)columns.driverNames + index * stringRefSize, driverNames[index]);
+        index++;
+      }
+
+      index = 0;
+      for (final Task task : tasks) {
+        final Location location = task.getLocation();
+        final Geopoint point = location.getGeopoint();
+        putIdentifier(buffer, (int)columns.taskIds + index * identifierSize, task.getIdentifier());
+        putIdentifier(buffer, (int)columns.locationIds + index * identifierSize, Identifier.of(location.getUuid()));
+        buffer.putDouble((int)columns.latitudes + index * coordinateSize, point.getLatitudeValue());
+        buffer.putDouble((int)columns.longitudes + index * coordinateSize, point.getLongitudeValue());
+        buffer.putLong((int)columns.labels + index * stringRefSize, labels[index]);
+        index++;
+      }
+
+      buffer.position((int)columns.heap);
+      buffer.put(strings.bytes.toByteArray());
+      buffer.force();
+    }
+  }
+
+  // -- private API -- //
+  /**
+   * Write an identifier into a column.
+   *
+   * @throws IllegalArgumentException If the identifier isn't a canonical UUID.
+   */
+  private static void putIdentifier(final ByteBuffer buffer, final int offset, final Identifier identifier) {
+    if (!identifier.isCompact())
+      throw new IllegalArgumentException("Cannot store non-UUID identifier '" + identifier + "'.");
+    buffer.putLong(offset, identifier.getMostSignificantBits());
+    buffer.putLong(offset + 8, identifier.getLeastSignificantBits());
+  }
+
+  /**
+   * @return Identifier read from a column.
+   */
+  private Identifier identifierAt(final int offset) {
+    return Identifier.of(this.buffer.getLong(offset), this.buffer.getLong(offset + 8));
+  }
+
+  /**
+   * Make sure every string reference in a column lies inside the string heap, so that
+   * {@link #stringAt(int)} can trust them.
+   *
+   * @param column Offset of the column of references.
+   * @param count Number of references in the column.
+   * @param heapSize Size of the string heap, from the header.
+   * @throws IOException If a reference has a bad length, or runs past the end of the heap.
+   */
+  private void checkStringRefs(final int column, final int count, final long heapSize) throws IOException {
+    for (int index = 0; index < count; index++) {
+      final long ref = this.buffer.getLong(column + index * stringRefSize);
+      final int length = (int)ref;
+      if (length == -1)
+        continue;  // null
+      if (length < 0 || (ref >>> 32) + length > heapSize)
+        throw new IOException("Binary dataset string reference " + index + " at offset " + column
+                                  + " is outside the string heap.");
+    }
+  }
+
+  /**
+   * @return String read from the heap, given a reference stored in a column, which has already
+   *         been checked by {@link #checkStringRefs(int, int, long)}.
+   */
+  private @Nullable String stringAt(final int refOffset) {
+    final long ref = this.buffer.getLong(refOffset);
+    final int length = (int)ref;
+    if (length < 0)
+      return null;
+    final byte[] bytes = new byte[length];
+    final ByteBuffer view = this.buffer.duplicate();
+    view.position(this.heap + (int)(ref >>> 32));
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param index Task index to check.
+   * @throws IndexOutOfBoundsException If there is no task at the index.
+   */
+  private void checkTask(final int index) {
+    if (index < 0 || index >= this.taskCount)
+      throw new IndexOutOfBoundsException("No task at index " + index + " in a dataset of "
+                                              + this.taskCount + " tasks.");
+  }
+
+  // -- public API -- //
+  /**
+   * Build the {@link Driver} at a position in the file.
+   *
+   * @param index Driver index.
+   * @return Driver, rebuilt from its columns.
+   */
+  public @NotNull Driver driverAt(final int index) {
+    if (index < 0 || index >= this.driverCount)
+      throw new IndexOutOfBoundsException("No driver at index " + index + " in a dataset of "
+                                              + this.driverCount + " drivers.");
+    return new Driver(this.identifierAt(this.driverIds + index * identifierSize),
+                      this.stringAt(this.driverNames + index * stringRefSize));
+  }
+
+  /**
+   * Build the {@link Task} at a position in the file.
+   *
+   * @param index Task index.
+   * @return Task, rebuilt from its columns.
+   */
+  public @NotNull Task taskAt(final int index) {
+    this.checkTask(index);
+    final Location location = new Location(
+        this.identifierAt(this.locationIds + index * identifierSize).toString(),
+        this.stringAt(this.labels + index * stringRefSize),
+        Geopoint.of(this.getLatitude(index), this.getLongitude(index)));
+    return new Task(this.identifierAt(this.taskIds + index * identifierSize), location);
+  }
+
+  @Override
+  public @NotNull List<Driver> drivers() {
+    if (drivers == null) {
+      final List<Driver> readDrivers = new ArrayList<>(this.driverCount);
+      for (int index = 0; index < this.driverCount; index++) {
+        readDrivers.add(this.driverAt(index));
+      }
+      drivers = readDrivers;
+    }
+    return Collections.unmodifiableList(drivers);
+  }
+
+  @Override
+  public @NotNull Iterable<Task> tasks() {
+    return new Iterable<Task>() {
+      @Override
+      public Iterator<Task> iterator() {
+        if (tasksTaken)
+          throw new IllegalStateException("Dataset tasks can only be read once.");
+        tasksTaken = true;
+        return new Iterator<Task>() {
+          int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < taskCount;
+          }
+
+          @Override
+          public Task next() {
+            if (next >= taskCount)
+              throw new NoSuchElementException();
+            return taskAt(next++);
+          }
+
+          @Override
+          public void remove() {
+            throw new UnsupportedOperationException("Dataset tasks cannot be removed.");
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Name data is not stored in binary datasets, so this is always the built-in names.
+   *
+   * @return Built-in name data.
+   * @throws IOException If the built-in names cannot be loaded.
+   */
+  @Override
+  public @NotNull NameHelper names() throws IOException {
+    return new NameHelper();
+  }
+
+  @Override
+  public @NotNull SampleDataset toDataset() throws IOException {
+    final List<Task> datasetTasks = new ArrayList<>(this.taskCount);
+    for (final Task task : this.tasks()) {
+      datasetTasks.add(task);
+    }
+    return new SampleDataset(datasetTasks, this.drivers(), this.names());
+  }
+
+  /**
+   * Release the mapped file. Records already built stay usable.
+   *
+   * @throws IOException If the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of drivers in the dataset.
+   */
+  public int getDriverCount() {
+    return driverCount;
+  }
+
+  /**
+   * @return Number of tasks in the dataset.
+   */
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  /**
+   * @param index Task index.
+   * @return Latitude of the task's location, read straight from its column.
+   */
+  public double getLatitude(final int index) {
+    this.checkTask(index);
+    return this.buffer.getDouble(this.latitudes + index * coordinateSize);
+  }
+
+  /**
+   * @param index Task index.
+   * @return Longitude of the task's location, read straight from its column.
+   */
+  public double getLongitude(final int index) {
+    this.checkTask(index);
+    return this.buffer.getDouble(this.longitudes + index * coordinateSize);
+  }
+}
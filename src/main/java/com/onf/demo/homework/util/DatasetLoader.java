@@ -0,0 +1,330 @@
+package com.onf.demo.homework.util;
+
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+
+/**
+ * Reads a {@link SampleDataset} in its JSON form incrementally, one record at a time, rather than
+ * reading the whole file into memory before parsing any of it.
+ *
+ * <p>{@link Driver} records are always handed out first, via {@link #drivers()}. {@link Task}
+ * records are then handed out via {@link #tasks()}, which parses each task only as it is asked
+ * for, so tasks can be fed straight into a {@link com.onf.demo.homework.TaskAssigner} while the
+ * file is still being read. If a file lists its tasks before its drivers, the tasks have to be
+ * held in memory until the drivers have been read; files written drivers-first avoid this.</p>
+ *
+ * <p>Not safe for use from more than one thread at a time.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class DatasetLoader implements DatasetReader {
+  // -- internals -- //
+  /**
+   * Shared mapper, which supplies the parser and record readers.
+   */
+  static final @NotNull ObjectMapper mapper = new ObjectMapper();
+
+  /**
+   * Reads one {@link Task} at a time.
+   */
+  static final @NotNull ObjectReader taskReader = mapper.readerFor(Task.class);
+
+  /**
+   * Reads one {@link Driver} at a time.
+   */
+  static final @NotNull ObjectReader driverReader = mapper.readerFor(Driver.class);
+
+  /**
+   * Reads the {@link NameHelper} data.
+   */
+  static final @NotNull ObjectReader namesReader = mapper.readerFor(NameHelper.class);
+
+  /**
+   * Parser over the dataset.
+   */
+  final @NotNull JsonParser parser;
+
+  /**
+   * Tasks read before the drivers were, waiting to be handed out.
+   */
+  final @NotNull Queue<Task> bufferedTasks;
+
+  /**
+   * Drivers, once read.
+   */
+  @Nullable List<Driver> drivers;
+
+  /**
+   * Name data, once read.
+   */
+  @Nullable NameHelper names;
+
+  /**
+   * Whether the parser is partway through the tasks array.
+   */
+  boolean inTasks;
+
+  /**
+   * Whether the whole dataset has been read.
+   */
+  boolean finished;
+
+  /**
+   * Whether {@link #tasks()} has handed out an iterator.
+   */
+  boolean tasksTaken;
+
+  // -- constructor -- //
+  /**
+   * Start reading a dataset from a stream. The stream is closed when this loader is.
+   *
+   * @param stream Stream of dataset JSON.
+   * @throws IOException If the stream cannot be read, or does not hold a JSON object.
+   */
+  public DatasetLoader(final @NotNull InputStream stream) throws IOException {
+    this.parser = mapper.getFactory().createParser(stream);
+    this.bufferedTasks = new ArrayDeque<>();
+    this.drivers = null;
+    this.names = null;
+    this.inTasks = false;
+    this.finished = false;
+    this.tasksTaken = false;
+    if (parser.nextToken() != JsonToken.START_OBJECT)
+      throw new JsonParseException(parser, "Dataset must be a JSON object.");
+  }
+
+  // -- static API -- //
+  /**
+   * Read a whole dataset from a stream, then close it.
+   *
+   * @param stream Stream of dataset JSON.
+   * @return Loaded {@link SampleDataset}.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  public static @NotNull SampleDataset load(final @NotNull InputStream stream) throws IOException {
+    try (final DatasetLoader loader = new DatasetLoader(stream)) {
+      return loader.toDataset();
+    }
+  }
+
+  // -- private API -- //
+  /**
+   * Read the next top-level field of the dataset. Drivers and names are read whole; for tasks,
+   * the parser is left at the start of the array, for the caller to read from.
+   *
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  private void advanceField() throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_OBJECT) {
+      finished = true;
+      return;
+    }
+    if (token != JsonToken.FIELD_NAME)
+      throw new JsonParseException(parser, "Expected a dataset field, found " + token + ".");
+    final String field = parser.getCurrentName();
+    final JsonToken value = parser.nextToken();
+    switch (field) {
+      case "tasks":
+        if (value != JsonToken.START_ARRAY)
+          throw new JsonParseException(parser, "Dataset tasks must be a JSON array.");
+        inTasks = true;
+        break;
+
+      case "drivers":
+        if (value != JsonToken.START_ARRAY)
+          throw new JsonParseException(parser, "Dataset drivers must be a JSON array.");
+        final List<Driver> readDrivers = drivers == null ? new ArrayList<Driver>() : drivers;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          readDrivers.add(driverReader.<Driver>readValue(parser));
+        }
+        drivers = readDrivers;
+        break;
+
+      case "names":
+        names = namesReader.readValue(parser);
+        break;
+
+      default:
+        parser.skipChildren();  // not part of the dataset
+    }
+  }
+
+  /**
+   * Read the next task from the tasks array.
+   *
+   * @return Next task, or <pre>null</pre> if the array has ended.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  private @Nullable Task readTaskInArray() throws IOException {
+    if (parser.nextToken() == JsonToken.END_ARRAY) {
+      inTasks = false;
+      return null;
+    }
+    return taskReader.readValue(parser);
+  }
+
+  /**
+   * Read until some condition is met, holding on to any tasks passed along the way.
+   *
+   * @param wantDrivers Stop once drivers have been read.
+   * @param wantNames Stop once names have been read.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  private void readUntil(final boolean wantDrivers, final boolean wantNames) throws IOException {
+    while (!finished && !(wantDrivers && drivers != null) && !(wantNames && names != null)) {
+      if (inTasks) {
+        final Task task = readTaskInArray();
+        if (task != null)
+          bufferedTasks.add(task);
+      } else {
+        advanceField();
+      }
+    }
+  }
+
+  /**
+   * Hand out the next task, either one held from earlier or the next one in the stream.
+   *
+   * @return Next task, or <pre>null</pre> if there are no more.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  private @Nullable Task nextTask() throws IOException {
+    final Task buffered = bufferedTasks.poll();
+    if (buffered != null)
+      return buffered;
+    while (!finished) {
+      if (inTasks) {
+        final Task task = readTaskInArray();
+        if (task != null)
+          return task;
+      } else {
+        advanceField();
+      }
+    }
+    return null;
+  }
+
+  // -- public API -- //
+  /**
+   * Read the dataset's drivers, if they haven't been read yet.
+   *
+   * @return Every driver in the dataset, or an empty list if it has none.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  @Override
+  public @NotNull List<Driver> drivers() throws IOException {
+    this.readUntil(true, false);
+    if (drivers == null)
+      drivers = new ArrayList<>(0);
+    return Collections.unmodifiableList(drivers);
+  }
+
+  /**
+   * Hand out the dataset's tasks, in file order, parsing each one only as it is asked for. Can
+   * only be iterated once. Errors reading the stream surface as {@link IllegalStateException}.
+   *
+   * @return One-shot iterable over every task in the dataset. Asking it for a second iterator
+   *         throws {@link IllegalStateException}.
+   */
+  @Override
+  public @NotNull Iterable<Task> tasks() {
+    return new Iterable<Task>() {
+      @Override
+      public Iterator<Task> iterator() {
+        if (tasksTaken)
+          throw new IllegalStateException("Dataset tasks can only be read once.");
+        tasksTaken = true;
+        return new Iterator<Task>() {
+          private @Nullable Task next = null;
+
+          @Override
+          public boolean hasNext() {
+            if (next == null) {
+              try {
+                next = nextTask();
+              } catch (final IOException e) {
+                // throw as runtime exception, since iterators can't throw
+                throw new IllegalStateException(e);
+              }
+            }
+            return next != null;
+          }
+
+          @Override
+          public Task next() {
+            if (!hasNext())
+              throw new NoSuchElementException();
+            final Task task = next;
+            next = null;
+            return task;
+          }
+
+          @Override
+          public void remove() {
+            throw new UnsupportedOperationException("Dataset tasks cannot be removed.");
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Read the dataset's name data, falling back to the built-in names if it has none.
+   *
+   * @return Name data for the dataset.
+   * @throws IOException If the stream cannot be read or parsed, or the built-in names cannot be
+   *         loaded.
+   */
+  @Override
+  public @NotNull NameHelper names() throws IOException {
+    this.readUntil(false, true);
+    if (names == null)
+      names = new NameHelper();
+    return names;
+  }
+
+  /**
+   * Read the whole dataset into memory.
+   *
+   * @return Loaded {@link SampleDataset}.
+   * @throws IOException If the stream cannot be read or parsed.
+   */
+  @Override
+  public @NotNull SampleDataset toDataset() throws IOException {
+    final List<Driver> datasetDrivers = this.drivers();
+    final List<Task> datasetTasks = new ArrayList<>();
+    for (final Task task : this.tasks()) {
+      datasetTasks.add(task);
+    }
+    return new SampleDataset(datasetTasks, datasetDrivers, this.names());
+  }
+
+  /**
+   * Close the parser, and the stream under it.
+   *
+   * @throws IOException If the stream cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
@@ -0,0 +1,52 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * Reads a {@link SampleDataset} incrementally: {@link Driver}s first, then {@link Task}s one at a
+ * time, so tasks can be fed into a {@link com.onf.demo.homework.TaskAssigner} before the whole
+ * dataset has been read.
+ */
+public interface DatasetReader extends Closeable {
+  /**
+   * Read the dataset's drivers, if they haven't been read yet.
+   *
+   * @return Every driver in the dataset, or an empty list if it has none.
+   * @throws IOException If the dataset cannot be read or parsed.
+   */
+  @NotNull List<Driver> drivers() throws IOException;
+
+  /**
+   * Hand out the dataset's tasks, in file order, reading each one only as it is needed. Can only
+   * be iterated once. Errors reading the dataset surface as {@link IllegalStateException}, with
+   * the {@link IOException} as the cause.
+   *
+   * @return One-shot iterable over every task in the dataset.
+   */
+  @NotNull Iterable<Task> tasks();
+
+  /**
+   * Read the dataset's name data, falling back to the built-in names if it has none.
+   *
+   * @return Name data for the dataset.
+   * @throws IOException If the dataset cannot be read or parsed, or the built-in names cannot be
+   *         loaded.
+   */
+  @NotNull NameHelper names() throws IOException;
+
+  /**
+   * Read the whole dataset into memory.
+   *
+   * @return Loaded {@link SampleDataset}.
+   * @throws IOException If the dataset cannot be read or parsed.
+   */
+  @NotNull SampleDataset toDataset() throws IOException;
+}
@@ -52,6 +52,16 @@ public final class DatasetSpec {
    */
   final int varianceInTasksPerDriver;
 
+  /**
+   * Seed that every random choice is drawn from, or <pre>null</pre> to draw a fresh one each time.
+   */
+  final @Nullable Long seed;
+
+  /**
+   * Hotspots that generated tasks cluster around, or <pre>null</pre> to spread them uniformly.
+   */
+  final @Nullable Hotspots hotspots;
+
   // -- constructor -- //
   /**
    * Create a specification object for a {@link SampleDataset}.
@@ -61,15 +71,36 @@ public final class DatasetSpec {
    * @param tasksPerDriver Number of tasks to generate per-driver, on average.
    * @param varianceInTasksPerDriver Maximum variance in number of tasks per-driver.
    */
+  DatasetSpec(final @Nullable String name,
+              final int numberOfDrivers,
+              final int tasksPerDriver,
+              final int varianceInTasksPerDriver) {
+    this(name, numberOfDrivers, tasksPerDriver, varianceInTasksPerDriver, null, null);
+  }
+
+  /**
+   * Create a specification object for a {@link SampleDataset}, generated from a fixed seed.
+   *
+   * @param name Label for this dataset, if it is from a {@link KnownDataset}.
+   * @param numberOfDrivers Number of drivers to generate.
+   * @param tasksPerDriver Number of tasks to generate per-driver, on average.
+   * @param varianceInTasksPerDriver Maximum variance in number of tasks per-driver.
+   * @param seed Seed to draw every random choice from, or <pre>null</pre> for a fresh one.
+   * @param hotspots Hotspots to cluster tasks around, or <pre>null</pre> for uniform tasks.
+   */
   @JsonCreator
   DatasetSpec(final @JsonProperty("name") @Nullable String name,
               final @JsonProperty("numberOfDrivers") int numberOfDrivers,
               final @JsonProperty("tasksPerDriver") int tasksPerDriver,
-              final @JsonProperty("varianceInTasksPerDriver") int varianceInTasksPerDriver) {
+              final @JsonProperty("varianceInTasksPerDriver") int varianceInTasksPerDriver,
+              final @JsonProperty("seed") @Nullable Long seed,
+              final @JsonProperty("hotspots") @Nullable Hotspots hotspots) {
     this.name = name;
     this.numberOfDrivers = numberOfDrivers;
     this.tasksPerDriver = tasksPerDriver;
     this.varianceInTasksPerDriver = varianceInTasksPerDriver;
+    this.seed = seed;
+    this.hotspots = hotspots;
   }
 
   // -- equality -- //
@@ -125,6 +156,37 @@ public final class DatasetSpec {
         defaultVarianceInTasksPerDriver);
   }
 
+  // -- public API -- //
+  /**
+   * Copies made with the <pre>with</pre> methods describe generated datasets, so they carry no name:
+   * they never equal a known dataset, or each other, and report themselves random.
+   *
+   * @param seed Seed to draw every random choice from, UUIDs included.
+   * @return Unnamed copy of this spec, which always generates the same dataset.
+   */
+  public @NotNull DatasetSpec withSeed(final long seed) {
+    return new DatasetSpec(null, this.numberOfDrivers, this.tasksPerDriver, this.varianceInTasksPerDriver, seed,
+                           this.hotspots);
+  }
+
+  /**
+   * @param numberOfDrivers Number of drivers to generate.
+   * @return Unnamed copy of this spec, generating the given number of drivers.
+   */
+  public @NotNull DatasetSpec withNumberOfDrivers(final int numberOfDrivers) {
+    return new DatasetSpec(null, numberOfDrivers, this.tasksPerDriver, this.varianceInTasksPerDriver, this.seed,
+                           this.hotspots);
+  }
+
+  /**
+   * @param hotspots Hotspots to cluster generated tasks around.
+   * @return Unnamed copy of this spec, generating skewed rather than uniform tasks.
+   */
+  public @NotNull DatasetSpec withHotspots(final @NotNull Hotspots hotspots) {
+    return new DatasetSpec(null, this.numberOfDrivers, this.tasksPerDriver, this.varianceInTasksPerDriver, this.seed,
+                           hotspots);
+  }
+
   // -- static getters -- //
   /**
    * @return Default number of drivers to generate.
@@ -180,6 +242,24 @@ public final class DatasetSpec {
     return varianceInTasksPerDriver;
   }
 
+  /**
+   * @return Seed that every random choice is drawn from, or <pre>null</pre> if each generated
+   *         dataset draws a fresh one.
+   */
+  @Nullable @JsonProperty("seed")
+  public Long getSeed() {
+    return seed;
+  }
+
+  /**
+   * @return Hotspots that generated tasks cluster around, or <pre>null</pre> if tasks are spread
+   *         uniformly.
+   */
+  @Nullable @JsonProperty("hotspots")
+  public Hotspots getHotspots() {
+    return hotspots;
+  }
+
   /**
    * @return Indicate whether the underlying dataset is randomly generated, or not.
    */
@@ -2,6 +2,8 @@ package com.onf.demo.homework.util;
 
 
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -10,10 +12,43 @@ import java.util.ArrayList;
 
 
 /**
- * Small utility to quickly load packaged data files.
+ * Small utility to quickly load packaged data files, and dataset files on disk.
  */
 @SuppressWarnings("WeakerAccess")
 public final class FileUtil {
+  /**
+   * Open a file embedded in the local JAR as a stream, without reading any of it yet.
+   *
+   * @param path Relative path to the file.
+   * @return Stream over the file's bytes, which the caller must close.
+   * @throws FileNotFoundException If there is no such file in the JAR.
+   */
+  public InputStream streamFromJAR(final String path) throws FileNotFoundException {
+    final InputStream stream = this.getClass().getClassLoader().getResourceAsStream(path);
+    if (stream == null)
+      throw new FileNotFoundException("No file at '" + path + "' in the JAR.");
+    return stream;
+  }
+
+  /**
+   * Open a dataset for reading. Files on disk are mapped into memory, and either read in place if
+   * they are binary datasets, or parsed in parallel if they are JSON; any other path is looked up
+   * in the local JAR and streamed.
+   *
+   * @param path Path to a dataset file on disk, or relative path to one in the JAR.
+   * @return Reader over the dataset, which the caller must close.
+   * @throws IOException If the dataset cannot be found or opened.
+   */
+  public DatasetReader openDataset(final String path) throws IOException {
+    final File file = new File(path);
+    if (file.isFile()) {
+      if (BinaryDataset.isBinaryDataset(file))
+        return BinaryDataset.open(file);
+      return MappedDatasetLoader.open(file);
+    }
+    return new DatasetLoader(this.streamFromJAR(path));
+  }
+
   /**
    * Return the contents of a file embedded in the local JAR, as an array of string lines.
    *
@@ -26,7 +61,7 @@ public final class FileUtil {
     final ArrayList<String> lineArray = new ArrayList<>();
 
     // load embedded file data w/the Java file read dance
-    try(final InputStream is = this.getClass().getClassLoader().getResourceAsStream(path)) {
+    try(final InputStream is = this.streamFromJAR(path)) {
       try(final InputStreamReader isr = new InputStreamReader(is, StandardCharsets.UTF_8)) {
         try (final BufferedReader br = new BufferedReader(isr)) {
           String line;
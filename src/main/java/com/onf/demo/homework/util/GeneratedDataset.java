@@ -0,0 +1,252 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Generates a {@link SampleDataset} from a {@link DatasetSpec} and a seed, as a
+ * {@link DatasetReader}. Drivers are generated up front, since there are few of them; tasks are
+ * generated one at a time as they are iterated, much like {@link NameHelper} hands out names, so a
+ * {@link com.onf.demo.homework.TaskAssigner} can start assigning before the rest exist, and no
+ * list of every task is ever built.
+ *
+ * <p>Every driver and task draws from its own {@link SplitRandom} stream, so tasks generated
+ * lazily here are exactly the tasks {@link #toDataset()} generates in parallel for the same spec
+ * and seed.</p>
+ *
+ * <p>If the spec has {@link Hotspots}, they are placed from the seed as well, on a stream of their
+ * own, and tasks are clustered around them.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class GeneratedDataset implements DatasetReader {
+  // -- internals -- //
+  /**
+   * Random streams that drivers and tasks are drawn from.
+   */
+  static final int driverStream = 1;
+  static final int taskStream = 2;
+  static final int hotspotStream = 3;
+
+  /**
+   * Spec to generate from.
+   */
+  final @NotNull DatasetSpec spec;
+
+  /**
+   * Seed every record is drawn from.
+   */
+  final long seed;
+
+  /**
+   * Number of threads to generate with, where records are generated in bulk.
+   */
+  final int threads;
+
+  /**
+   * Hotspots that tasks cluster around, placed from the seed, or <pre>null</pre> if tasks are
+   * spread uniformly.
+   */
+  final @Nullable HotspotSampler hotspots;
+
+  /**
+   * Name data, once loaded.
+   */
+  @Nullable NameHelper names;
+
+  /**
+   * Drivers, once generated.
+   */
+  @Nullable List<Driver> drivers;
+
+  /**
+   * Number of tasks to generate, decided along with the drivers.
+   */
+  int taskCount;
+
+  /**
+   * Whether {@link #tasks()} has handed out an iterator.
+   */
+  boolean tasksTaken;
+
+  // -- constructor -- //
+  /**
+   * Prepare to generate a dataset. Nothing is generated until it is asked for, except the
+   * hotspots, if the spec has any.
+   *
+   * @param spec Spec to generate from.
+   * @param seed Seed to draw every record from.
+   * @param threads Number of threads to generate with, where records are generated in bulk.
+   */
+  GeneratedDataset(final @NotNull DatasetSpec spec, final long seed, final int threads) {
+    this.spec = spec;
+    this.seed = seed;
+    this.threads = threads;
+    this.hotspots = spec.getHotspots() != null ?
+        ObjectGenerator.hotspotSampler(spec.getHotspots(), new SplitRandom(SplitRandom.streamSeed(seed, hotspotStream, 0)))
+        : null;
+    this.names = null;
+    this.drivers = null;
+    this.taskCount = 0;
+    this.tasksTaken = false;
+  }
+
+  // -- static API -- //
+  /**
+   * Prepare to generate a dataset from a spec, with the spec's seed if it has one.
+   *
+   * @param spec Spec to generate from.
+   * @return Generator for the dataset.
+   */
+  public static @NotNull GeneratedDataset of(final @NotNull DatasetSpec spec) {
+    final Long seed = spec.getSeed();
+    return new GeneratedDataset(spec,
+                                seed != null ? seed : RandomNumberUtil.getRandomGenerator().nextLong(),
+                                Runtime.getRuntime().availableProcessors());
+  }
+
+  // -- public API -- //
+  /**
+   * Generate every driver, in parallel, deciding along the way how many tasks, roughly, each will
+   * have.
+   *
+   * @return Every driver in the dataset.
+   * @throws IOException If the name data cannot be loaded.
+   */
+  @Override
+  public @NotNull List<Driver> drivers() throws IOException {
+    if (drivers == null) {
+      final NameHelper nameHelper = this.names();
+      final int variance = (spec.getTasksPerDriver() - spec.getVarianceInTasksPerDriver());
+      final Driver[] generatedDrivers = new Driver[spec.getNumberOfDrivers() + 1];
+      final int[] driverTasks = new int[generatedDrivers.length];
+      new ParallelGenerator(seed, threads).generate(driverStream, generatedDrivers.length,
+                                                    new ParallelGenerator.ItemGenerator() {
+        @Override
+        public void generate(final int index, final @NotNull SplitRandom random) {
+          driverTasks[index] = spec.getTasksPerDriver() - (Math.abs(variance) > 0 ?
+                                                               random.nextInt(Math.abs(variance))
+                                                               : 1);
+          generatedDrivers[index] = ObjectGenerator.generateDriver(nameHelper, random);
+        }
+      });
+
+      // add up the total
+      long tasksToGenerate = 0;
+      for (final int tasks : driverTasks) {
+        tasksToGenerate += tasks;
+      }
+      if (tasksToGenerate >= Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Dataset spec asks for too many tasks: " + tasksToGenerate + ".");
+      taskCount = (int)Math.max(0L, tasksToGenerate + 1);
+      drivers = Arrays.asList(generatedDrivers);
+    }
+    return Collections.unmodifiableList(drivers);
+  }
+
+  /**
+   * Generate tasks one at a time, as they are iterated. Can only be iterated once.
+   *
+   * @return One-shot iterable over every task in the dataset.
+   */
+  @Override
+  public @NotNull Iterable<Task> tasks() {
+    return new Iterable<Task>() {
+      @Override
+      public Iterator<Task> iterator() {
+        if (tasksTaken)
+          throw new IllegalStateException("Dataset tasks can only be read once.");
+        tasksTaken = true;
+        final int count = getTaskCount();
+        return new Iterator<Task>() {
+          final SplitRandom random = new SplitRandom(seed);
+          int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < count;
+          }
+
+          @Override
+          public Task next() {
+            if (next >= count)
+              throw new NoSuchElementException();
+            random.setSeed(SplitRandom.streamSeed(seed, taskStream, next++));
+            return ObjectGenerator.generateTask(random, hotspots);
+          }
+
+          @Override
+          public void remove() {
+            throw new UnsupportedOperationException("Dataset tasks cannot be removed.");
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public @NotNull NameHelper names() throws IOException {
+    if (names == null)
+      names = new NameHelper();
+    return names;
+  }
+
+  /**
+   * Generate the whole dataset into memory, generating tasks in parallel.
+   *
+   * @return Newly-generated {@link SampleDataset}.
+   * @throws IOException If the name data cannot be loaded.
+   */
+  @Override
+  public @NotNull SampleDataset toDataset() throws IOException {
+    final List<Driver> generatedDrivers = this.drivers();
+    final Task[] generatedTasks = new Task[taskCount];
+    new ParallelGenerator(seed, threads).generate(taskStream, generatedTasks.length,
+                                                  new ParallelGenerator.ItemGenerator() {
+      @Override
+      public void generate(final int index, final @NotNull SplitRandom random) {
+        generatedTasks[index] = ObjectGenerator.generateTask(random, hotspots);
+      }
+    });
+    return new SampleDataset(Arrays.asList(generatedTasks), generatedDrivers, this.names());
+  }
+
+  /**
+   * Nothing to release: generated datasets hold no files.
+   */
+  @Override
+  public void close() {
+    // nothing to close
+  }
+
+  // -- getters -- //
+  /**
+   * @return Seed every record is drawn from.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * @return Number of tasks this dataset will generate, deciding it if needed.
+   */
+  public int getTaskCount() {
+    try {
+      this.drivers();
+    } catch (final IOException e) {
+      // throw as runtime exception, since the name data is known to exist
+      throw new IllegalStateException(e);
+    }
+    return taskCount;
+  }
+}
@@ -0,0 +1,105 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Geopoint;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Random;
+
+
+/**
+ * Draws points from a mixture of Gaussian {@link Hotspots} inside a boundary, with the rest drawn
+ * uniformly from the boundary itself. Points that a hotspot places outside the boundary are
+ * redrawn a few times, then drawn uniformly instead, so every point lands inside it.
+ */
+@Immutable
+final class HotspotSampler {
+  // -- internals -- //
+  /**
+   * Kilometers per degree of latitude.
+   */
+  private static final double kilometersPerDegree = 111.32;
+
+  /**
+   * Number of draws from a hotspot before falling back to the whole boundary.
+   */
+  private static final int maxAttempts = 8;
+
+  /**
+   * Boundary that every point lands inside.
+   */
+  final @NotNull PolygonSampler boundary;
+
+  /**
+   * Share of points drawn from hotspots.
+   */
+  final double weight;
+
+  /**
+   * Center of each hotspot, as latitude and longitude.
+   */
+  final double[] centers;
+
+  /**
+   * Standard deviation of each hotspot, in degrees of latitude, then of longitude, which are
+   * shorter away from the equator.
+   */
+  final double[] sigmas;
+
+  // -- constructor -- //
+  /**
+   * Place hotspots inside a boundary.
+   *
+   * @param boundary Boundary to place hotspots and draw points inside.
+   * @param hotspots Number, spread and weight of the hotspots.
+   * @param random Source of randomness to place the hotspots with.
+   */
+  HotspotSampler(final @NotNull PolygonSampler boundary,
+                 final @NotNull Hotspots hotspots,
+                 final @NotNull Random random) {
+    this.boundary = boundary;
+    this.weight = hotspots.getWeight();
+    this.centers = new double[hotspots.getCount() * 2];
+    this.sigmas = new double[hotspots.getCount() * 2];
+    final double latitudeSigma = hotspots.getSpread() / kilometersPerDegree;
+    for (int i = 0; i < hotspots.getCount(); i++) {
+      final Geopoint center = boundary.sample(random);
+      centers[i * 2] = center.getLatitude();
+      centers[i * 2 + 1] = center.getLongitude();
+      sigmas[i * 2] = latitudeSigma;
+      sigmas[i * 2 + 1] = latitudeSigma / Math.max(0.01, Math.cos(Math.toRadians(center.getLatitude())));
+    }
+  }
+
+  // -- API -- //
+  /**
+   * Draw a point from the hotspots, or uniformly from the boundary, by weight.
+   *
+   * @param random Source of randomness.
+   * @return Point inside the boundary.
+   */
+  @NotNull Geopoint sample(final @NotNull Random random) {
+    if (random.nextDouble() >= weight)
+      return boundary.sample(random);
+
+    final int count = centers.length / 2;
+    final int hotspot = Math.min((int)(random.nextDouble() * count), count - 1) * 2;
+    for (int attempt = 0; attempt < maxAttempts; attempt++) {
+      final double latitude = centers[hotspot] + random.nextGaussian() * sigmas[hotspot];
+      final double longitude = centers[hotspot + 1] + random.nextGaussian() * sigmas[hotspot + 1];
+      if (boundary.contains(latitude, longitude))
+        return new Geopoint(latitude, longitude);
+    }
+    return boundary.sample(random);
+  }
+
+  // -- getters -- //
+  /**
+   * @param index Index of the hotspot.
+   * @return Center of the hotspot.
+   */
+  @NotNull Geopoint getCenter(final int index) {
+    return new Geopoint(centers[index * 2], centers[index * 2 + 1]);
+  }
+}
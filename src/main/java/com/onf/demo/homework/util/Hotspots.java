@@ -0,0 +1,103 @@
+package com.onf.demo.homework.util;
+
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.annotation.concurrent.Immutable;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * Specifies hotspots for a generated dataset: places where tasks cluster, like a downtown core, a
+ * stadium or a warehouse. Each hotspot is a Gaussian centered on a point inside the geo boundary,
+ * placed from the dataset seed. A share of tasks, set by the weight, is drawn from the hotspots,
+ * split evenly between them, and the rest are spread uniformly over the boundary.
+ */
+@Immutable
+@SuppressWarnings("WeakerAccess")
+public final class Hotspots {
+  // -- defaults -- //
+  /**
+   * Default spread of each hotspot, in kilometers.
+   */
+  public final static double defaultSpread = 0.75;
+
+  /**
+   * Default share of tasks drawn from hotspots.
+   */
+  public final static double defaultWeight = 0.8;
+
+  // -- internals -- //
+  /**
+   * Number of hotspots.
+   */
+  final int count;
+
+  /**
+   * Standard deviation of each hotspot, in kilometers.
+   */
+  final double spread;
+
+  /**
+   * Share of tasks drawn from hotspots, between <pre>0</pre> and <pre>1</pre>.
+   */
+  final double weight;
+
+  // -- constructor -- //
+  /**
+   * Create a hotspot specification.
+   *
+   * @param count Number of hotspots.
+   * @param spread Standard deviation of each hotspot, in kilometers.
+   * @param weight Share of tasks drawn from hotspots, between <pre>0</pre> and <pre>1</pre>.
+   * @throws IllegalArgumentException If any parameter is out of range.
+   */
+  @JsonCreator
+  public Hotspots(final @JsonProperty("count") int count,
+                  final @JsonProperty("spread") double spread,
+                  final @JsonProperty("weight") double weight) {
+    if (count < 1)
+      throw new IllegalArgumentException("Cannot generate fewer than one hotspot.");
+    if (!(spread > 0.0) || Double.isInfinite(spread))
+      throw new IllegalArgumentException("Hotspot spread must be a positive distance, not " + spread + ".");
+    if (!(weight >= 0.0 && weight <= 1.0))
+      throw new IllegalArgumentException("Hotspot weight must be between 0 and 1, not " + weight + ".");
+    this.count = count;
+    this.spread = spread;
+    this.weight = weight;
+  }
+
+  // -- static API -- //
+  /**
+   * @param count Number of hotspots.
+   * @return Hotspots with the default spread and weight.
+   */
+  public static @NotNull Hotspots of(final int count) {
+    return new Hotspots(count, defaultSpread, defaultWeight);
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of hotspots.
+   */
+  @JsonProperty("count")
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return Standard deviation of each hotspot, in kilometers.
+   */
+  @JsonProperty("spread")
+  public double getSpread() {
+    return spread;
+  }
+
+  /**
+   * @return Share of tasks drawn from hotspots.
+   */
+  @JsonProperty("weight")
+  public double getWeight() {
+    return weight;
+  }
+}
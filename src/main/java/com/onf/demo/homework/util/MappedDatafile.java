@@ -0,0 +1,232 @@
+package com.onf.demo.homework.util;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * Read-only view of a file on disk, mapped into memory with {@link FileChannel#map}. A single
+ * mapping can cover at most 2GB, so larger files are mapped as a run of fixed-size regions, and
+ * every read takes a 64-bit position.
+ *
+ * <p>Bytes are paged in by the operating system as they are read, so opening even a very large
+ * file costs almost nothing up front, and nothing is copied onto the heap until it is read
+ * through a stream.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MappedDatafile implements Closeable {
+  // -- internals -- //
+  /**
+   * Default size of each mapped region, as a power of two: 1GB.
+   */
+  public final static int defaultRegionShift = 30;
+
+  /**
+   * Size of each mapped region, as a power of two.
+   */
+  final int regionShift;
+
+  /**
+   * Channel the file is mapped through.
+   */
+  final @NotNull FileChannel channel;
+
+  /**
+   * Mapped regions, in file order. Every region but the last is exactly
+   * <pre>1 << regionShift</pre> bytes.
+   */
+  final @NotNull MappedByteBuffer[] regions;
+
+  /**
+   * Size of the file, in bytes.
+   */
+  final long size;
+
+  // -- embedded classes -- //
+  /**
+   * Stream over a range of the mapped file, reading straight out of the mapped regions.
+   */
+  final class RangeInputStream extends InputStream {
+    /**
+     * Position of the next byte to read.
+     */
+    long position;
+
+    /**
+     * Position just past the last byte to read.
+     */
+    final long end;
+
+    RangeInputStream(final long from, final long to) {
+      this.position = from;
+      this.end = to;
+    }
+
+    @Override
+    public int read() {
+      if (position >= end)
+        return -1;
+      return get(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(final @NotNull byte[] buffer, final int offset, final int length) {
+      if (length == 0)
+        return 0;
+      if (position >= end)
+        return -1;
+      final int wanted = (int)Math.min(length, end - position);
+      int copied = 0;
+      while (copied < wanted) {
+        final ByteBuffer region = regions[(int)(position >>> regionShift)].duplicate();
+        region.position((int)(position & regionMask()));
+        final int count = Math.min(wanted - copied, region.remaining());
+        region.get(buffer, offset + copied, count);
+        copied += count;
+        position += count;
+      }
+      return copied;
+    }
+
+    @Override
+    public long skip(final long count) {
+      final long skipped = Math.max(0L, Math.min(count, end - position));
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int)Math.min(Integer.MAX_VALUE, end - position);
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Wrap a channel and its mapped regions.
+   */
+  private MappedDatafile(final @NotNull FileChannel channel,
+                         final @NotNull MappedByteBuffer[] regions,
+                         final long size,
+                         final int regionShift) {
+    this.channel = channel;
+    this.regions = regions;
+    this.size = size;
+    this.regionShift = regionShift;
+  }
+
+  // -- static API -- //
+  /**
+   * Map a file on disk, read-only.
+   *
+   * @param file File to map.
+   * @return Mapped view of the file.
+   * @throws IOException If the file cannot be opened or mapped.
+   */
+  public static @NotNull MappedDatafile open(final @NotNull File file) throws IOException {
+    return open(file, defaultRegionShift);
+  }
+
+  /**
+   * Map a file on disk, read-only, in regions of a given size.
+   *
+   * @param file File to map.
+   * @param regionShift Size of each mapped region, as a power of two, up to <pre>30</pre>.
+   * @return Mapped view of the file.
+   * @throws IOException If the file cannot be opened or mapped.
+   * @throws IllegalArgumentException If the region size is out of range.
+   */
+  static @NotNull MappedDatafile open(final @NotNull File file, final int regionShift) throws IOException {
+    if (regionShift < 1 || regionShift > defaultRegionShift)
+      throw new IllegalArgumentException("Region size must be between 2 and 2^" + defaultRegionShift + " bytes.");
+    final FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+    try {
+      final long size = channel.size();
+      final long regionSize = 1L << regionShift;
+      final MappedByteBuffer[] regions = new MappedByteBuffer[(int)((size + regionSize - 1) >>> regionShift)];
+      for (int i = 0; i < regions.length; i++) {
+        final long start = (long)i << regionShift;
+        regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+      }
+      return new MappedDatafile(channel, regions, size, regionShift);
+    } catch (IOException | RuntimeException err) {
+      channel.close();
+      throw err;
+    }
+  }
+
+  // -- private API -- //
+  /**
+   * @return Mask selecting a position within a region.
+   */
+  long regionMask() {
+    return (1L << regionShift) - 1;
+  }
+
+  // -- public API -- //
+  /**
+   * @param position Position in the file.
+   * @return Byte at the given position.
+   * @throws IndexOutOfBoundsException If the position is outside of the file.
+   */
+  public byte get(final long position) {
+    if (position < 0 || position >= size)
+      throw new IndexOutOfBoundsException("No byte at position " + position + " in a file of " + size + " bytes.");
+    return regions[(int)(position >>> regionShift)].get((int)(position & regionMask()));
+  }
+
+  /**
+   * @return Stream over the whole file.
+   */
+  public @NotNull InputStream stream() {
+    return new RangeInputStream(0L, size);
+  }
+
+  /**
+   * @param from First position to read, inclusive.
+   * @param to Last position to read, exclusive.
+   * @return Stream over the given range of the file.
+   * @throws IndexOutOfBoundsException If the range is outside of the file.
+   */
+  public @NotNull InputStream stream(final long from, final long to) {
+    if (from < 0 || to > size || from > to)
+      throw new IndexOutOfBoundsException("Range " + from + " to " + to + " is outside of a file of "
+                                              + size + " bytes.");
+    return new RangeInputStream(from, to);
+  }
+
+  /**
+   * Release the channel. The mapped regions are released once they are no longer reachable, so
+   * streams already open stay readable.
+   *
+   * @throws IOException If the channel cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  // -- getters -- //
+  /**
+   * @return Size of the file, in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * @return Number of regions the file is mapped in.
+   */
+  public int getRegionCount() {
+    return regions.length;
+  }
+}
@@ -0,0 +1,668 @@
+package com.onf.demo.homework.util;
+
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+
+/**
+ * Reads a {@link SampleDataset} in its JSON form from a file on disk, parsing straight out of a
+ * {@link MappedDatafile}, with the tasks array split into chunks that are parsed in parallel.
+ *
+ * <p>Opening the file makes one pass over its bytes, which only tracks nesting and strings, to
+ * find where the drivers, names and tasks are, and to split the tasks array into chunks of
+ * roughly equal size, each starting and ending on a task boundary. Every structural character in
+ * JSON is ASCII, and no byte of a multi-byte UTF-8 character is, so this pass never needs to
+ * decode anything. Chunks are then handed to Jackson on a pool of threads, a few at a time ahead
+ * of the reader, and their tasks handed out in file order.</p>
+ *
+ * <p>Files must be UTF-8, as JSON requires. Not safe for use from more than one thread at a
+ * time.</p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MappedDatasetLoader implements DatasetReader {
+  // -- defaults -- //
+  /**
+   * Default size of each chunk of the tasks array: 8MB.
+   */
+  public final static long defaultChunkSize = 8L << 20;
+
+  /**
+   * Default number of threads to parse chunks with.
+   */
+  public final static int defaultThreads = Runtime.getRuntime().availableProcessors();
+
+  // -- internals -- //
+  /**
+   * Number of chunks to keep in flight per thread, ahead of the reader.
+   */
+  private static final int chunksAheadPerThread = 2;
+
+  /**
+   * Opens the array each chunk is parsed as.
+   */
+  private static final byte[] openArray = {'['};
+
+  /**
+   * Closes the array each chunk is parsed as.
+   */
+  private static final byte[] closeArray = {']'};
+
+  /**
+   * Mapped file being read.
+   */
+  final @NotNull MappedDatafile file;
+
+  /**
+   * Number of threads to parse chunks with.
+   */
+  final int threads;
+
+  /**
+   * Where everything is in the file.
+   */
+  final @NotNull Layout layout;
+
+  /**
+   * Drivers, once read.
+   */
+  @Nullable List<Driver> drivers;
+
+  /**
+   * Name data, once read.
+   */
+  @Nullable NameHelper names;
+
+  /**
+   * Pool chunks are parsed on, created when first needed.
+   */
+  @Nullable ForkJoinPool pool;
+
+  /**
+   * Whether {@link #tasks()} has handed out an iterator.
+   */
+  boolean tasksTaken;
+
+  // -- embedded classes -- //
+  /**
+   * Positions of each part of a dataset file, found by {@link #scan}.
+   */
+  static final class Layout {
+    /**
+     * First byte of each chunk of tasks, inclusive.
+     */
+    long[] chunkStarts = new long[16];
+
+    /**
+     * Last byte of each chunk of tasks, exclusive.
+     */
+    long[] chunkEnds = new long[16];
+
+    /**
+     * Number of chunks of tasks.
+     */
+    int chunkCount = 0;
+
+    /**
+     * Range of the drivers array, or <pre>-1</pre> if there isn't one.
+     */
+    long driversFrom = -1L;
+    long driversTo = -1L;
+
+    /**
+     * Range of the names object, or <pre>-1</pre> if there isn't one.
+     */
+    long namesFrom = -1L;
+    long namesTo = -1L;
+
+    /**
+     * Record a chunk of tasks.
+     */
+    void addChunk(final long from, final long to) {
+      if (chunkCount == chunkStarts.length) {
+        chunkStarts = Arrays.copyOf(chunkStarts, chunkCount * 2);
+        chunkEnds = Arrays.copyOf(chunkEnds, chunkCount * 2);
+      }
+      chunkStarts[chunkCount] = from;
+      chunkEnds[chunkCount] = to;
+      chunkCount++;
+    }
+  }
+
+  /**
+   * Single pass over the bytes of a dataset, tracking just enough state to find each top-level
+   * field and each task boundary.
+   */
+  static final class Scanner {
+    static final int none = 0;
+    static final int tasks = 1;
+    static final int drivers = 2;
+    static final int names = 3;
+
+    private static final byte[] tasksKey = {'t', 'a', 's', 'k', 's'};
+    private static final byte[] driversKey = {'d', 'r', 'i', 'v', 'e', 'r', 's'};
+    private static final byte[] namesKey = {'n', 'a', 'm', 'e', 's'};
+    private static final byte[] byteOrderMark = {(byte)0xEF, (byte)0xBB, (byte)0xBF};
+
+    final @NotNull Layout layout = new Layout();
+    final long chunkSize;
+
+    int depth = 0;
+    boolean started = false;
+    boolean done = false;
+    boolean inString = false;
+    boolean escaped = false;
+
+    /**
+     * Whether the next string at the top level is a field name, and the field name so far.
+     */
+    boolean expectKey = false;
+    boolean capturingKey = false;
+    final byte[] key = new byte[8];
+    int keyLength = 0;
+
+    /**
+     * Which field's value is being read, and where it started.
+     */
+    int section = none;
+    long valueStart = -1L;
+
+    /**
+     * Task boundary tracking, inside the tasks array.
+     */
+    boolean expectElement = false;
+    boolean chunkOpen = false;
+    long chunkStart = -1L;
+    long lastComma = -1L;
+
+    Scanner(final long chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return Whether the field name read so far is the given name.
+     */
+    private boolean keyIs(final byte[] name) {
+      if (keyLength != name.length)
+        return false;
+      for (int i = 0; i < keyLength; i++) {
+        if (key[i] != name[i])
+          return false;
+      }
+      return true;
+    }
+
+    /**
+     * @return Which section the field name read so far opens.
+     */
+    private int sectionForKey() {
+      if (keyIs(tasksKey))
+        return tasks;
+      if (keyIs(driversKey))
+        return drivers;
+      if (keyIs(namesKey))
+        return names;
+      return none;
+    }
+
+    /**
+     * Reject a scalar where the tasks array should be.
+     */
+    private void checkNotTasks() throws IOException {
+      if (section == tasks)
+        throw new IOException("Dataset tasks must be a JSON array.");
+    }
+
+    /**
+     * Note the start of a task, starting a new chunk if the current one is full.
+     */
+    private void elementAt(final long position) {
+      if (!chunkOpen) {
+        chunkOpen = true;
+        chunkStart = position;
+      } else if (position - chunkStart >= chunkSize) {
+        layout.addChunk(chunkStart, lastComma);
+        chunkStart = position;
+      }
+    }
+
+    /**
+     * Note the end of a top-level value, closed by the bracket at the given position.
+     */
+    private void closeValue(final long position) {
+      switch (section) {
+        case tasks:
+          if (chunkOpen)
+            layout.addChunk(chunkStart, position);
+          chunkOpen = false;
+          break;
+
+        case drivers:
+          layout.driversFrom = valueStart;
+          layout.driversTo = position + 1;
+          break;
+
+        case names:
+          layout.namesFrom = valueStart;
+          layout.namesTo = position + 1;
+          break;
+
+        default:
+          break;
+      }
+    }
+
+    /**
+     * Take in the next byte of the file.
+     *
+     * @param b Byte value.
+     * @param position Position of the byte in the file.
+     * @throws IOException If the file is not laid out like a dataset.
+     */
+    void accept(final byte b, final long position) throws IOException {
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (b == '\\') {
+          escaped = true;
+        } else if (b == '"') {
+          inString = false;
+          if (capturingKey) {
+            capturingKey = false;
+            section = sectionForKey();
+          }
+        } else if (capturingKey) {
+          if (keyLength < key.length)
+            key[keyLength] = b;
+          keyLength++;
+        }
+        return;
+      }
+
+      if (b == ' ' || b == '\n' || b == '\r' || b == '\t')
+        return;
+
+      if (!started) {
+        if (b == '{') {
+          started = true;
+          depth = 1;
+          expectKey = true;
+          return;
+        }
+        if (position < byteOrderMark.length && b == byteOrderMark[(int)position])
+          return;
+        throw new IOException("Dataset must be a JSON object.");
+      }
+
+      if (expectElement) {
+        expectElement = false;
+        if (b != ']')
+          this.elementAt(position);
+      }
+
+      switch (b) {
+        case '"':
+          inString = true;
+          if (depth == 1) {
+            if (expectKey) {
+              expectKey = false;
+              capturingKey = true;
+              keyLength = 0;
+            } else {
+              this.checkNotTasks();
+            }
+          }
+          break;
+
+        case '{':
+        case '[':
+          if (depth == 1) {
+            if (section == tasks && b != '[')
+              this.checkNotTasks();
+            valueStart = position;
+            expectElement = section == tasks;
+          }
+          depth++;
+          break;
+
+        case '}':
+        case ']':
+          depth--;
+          if (depth == 1) {
+            this.closeValue(position);
+          } else if (depth == 0) {
+            done = true;
+          }
+          break;
+
+        case ',':
+          if (depth == 1) {
+            expectKey = true;
+            section = none;
+          } else if (depth == 2 && section == tasks) {
+            lastComma = position;
+            expectElement = true;
+          }
+          break;
+
+        default:
+          if (depth == 1 && b != ':')
+            this.checkNotTasks();
+      }
+    }
+  }
+
+  /**
+   * Iterates over the tasks in each chunk, in file order, keeping a few chunks parsing ahead.
+   */
+  final class ChunkIterator implements Iterator<Task> {
+    /**
+     * Chunks being parsed, in file order.
+     */
+    private final @NotNull Deque<Future<List<Task>>> pending = new ArrayDeque<>();
+
+    /**
+     * Next chunk to start parsing.
+     */
+    private int nextChunk = 0;
+
+    /**
+     * Tasks left in the current chunk.
+     */
+    private @NotNull Iterator<Task> current = Collections.<Task>emptyList().iterator();
+
+    /**
+     * Start parsing chunks until enough are in flight.
+     */
+    private void fill() {
+      final int ahead = threads * chunksAheadPerThread;
+      while (pending.size() < ahead && nextChunk < layout.chunkCount) {
+        final int index = nextChunk++;
+        pending.add(pool().submit(new Callable<List<Task>>() {
+          @Override
+          public List<Task> call() throws IOException {
+            return readChunk(index);
+          }
+        }));
+      }
+    }
+
+    /**
+     * @return Tasks in the next chunk, parsed here or on the pool.
+     */
+    private @Nullable List<Task> nextChunk() throws IOException {
+      if (threads == 1)
+        return nextChunk < layout.chunkCount ? readChunk(nextChunk++) : null;
+
+      this.fill();
+      final Future<List<Task>> chunk = pending.poll();
+      if (chunk == null)
+        return null;
+      try {
+        return chunk.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } catch (final ExecutionException e) {
+        // the pool wraps checked exceptions on their way out of a task, so dig out the original
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+          if (cause instanceof IOException)
+            throw (IOException)cause;
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        final List<Task> chunk;
+        try {
+          chunk = this.nextChunk();
+        } catch (final IOException e) {
+          // throw as runtime exception, since iterators can't throw
+          throw new IllegalStateException(e);
+        }
+        if (chunk == null)
+          return false;
+        current = chunk.iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Task next() {
+      if (!this.hasNext())
+        throw new NoSuchElementException();
+      return current.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Dataset tasks cannot be removed.");
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Find where everything is in a mapped dataset file, ready to read it. The file is closed when
+   * this loader is.
+   *
+   * @param file Mapped file holding dataset JSON.
+   * @param threads Number of threads to parse chunks of tasks with.
+   * @param chunkSize Size to aim for, in bytes, for each chunk of tasks.
+   * @throws IOException If the file is not laid out like a dataset.
+   * @throws IllegalArgumentException If the thread count or chunk size is not positive.
+   */
+  public MappedDatasetLoader(final @NotNull MappedDatafile file,
+                             final int threads,
+                             final long chunkSize) throws IOException {
+    if (threads < 1)
+      throw new IllegalArgumentException("Cannot parse with fewer than one thread.");
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("Chunks must hold at least one byte.");
+    this.file = file;
+    this.threads = threads;
+    this.layout = scan(file, chunkSize);
+    this.drivers = null;
+    this.names = null;
+    this.pool = null;
+    this.tasksTaken = false;
+  }
+
+  // -- static API -- //
+  /**
+   * Map a dataset file on disk, ready to read it with default tuning.
+   *
+   * @param file Dataset file.
+   * @return Loader over the file.
+   * @throws IOException If the file cannot be mapped, or is not laid out like a dataset.
+   */
+  public static @NotNull MappedDatasetLoader open(final @NotNull File file) throws IOException {
+    return open(file, defaultThreads, defaultChunkSize);
+  }
+
+  /**
+   * Map a dataset file on disk, ready to read it.
+   *
+   * @param file Dataset file.
+   * @param threads Number of threads to parse chunks of tasks with.
+   * @param chunkSize Size to aim for, in bytes, for each chunk of tasks.
+   * @return Loader over the file.
+   * @throws IOException If the file cannot be mapped, or is not laid out like a dataset.
+   */
+  public static @NotNull MappedDatasetLoader open(final @NotNull File file,
+                                                  final int threads,
+                                                  final long chunkSize) throws IOException {
+    final MappedDatafile mapped = MappedDatafile.open(file);
+    try {
+      return new MappedDatasetLoader(mapped, threads, chunkSize);
+    } catch (IOException | RuntimeException err) {
+      mapped.close();
+      throw err;
+    }
+  }
+
+  /**
+   * Make one pass over a mapped dataset file, finding its parts and splitting its tasks.
+   *
+   * @param file Mapped file to scan.
+   * @param chunkSize Size to aim for, in bytes, for each chunk of tasks.
+   * @return Layout of the file.
+   * @throws IOException If the file is not laid out like a dataset.
+   */
+  static @NotNull Layout scan(final @NotNull MappedDatafile file, final long chunkSize) throws IOException {
+    final Scanner scanner = new Scanner(chunkSize);
+    for (int r = 0; r < file.regions.length && !scanner.done; r++) {
+      final MappedByteBuffer region = file.regions[r];
+      final long base = (long)r << file.regionShift;
+      final int limit = region.limit();
+      for (int i = 0; i < limit && !scanner.done; i++) {
+        scanner.accept(region.get(i), base + i);
+      }
+    }
+    if (!scanner.started)
+      throw new IOException("Dataset must be a JSON object.");
+    if (!scanner.done)
+      throw new IOException("Dataset ends before its closing brace.");
+    return scanner.layout;
+  }
+
+  // -- private API -- //
+  /**
+   * @return Pool to parse chunks on, created if needed.
+   */
+  private @NotNull ForkJoinPool pool() {
+    if (pool == null)
+      pool = new ForkJoinPool(threads);
+    return pool;
+  }
+
+  /**
+   * Parse the tasks in one chunk, straight out of the mapped file.
+   *
+   * @param index Index of the chunk.
+   * @return Tasks in the chunk, in file order.
+   * @throws IOException If the chunk cannot be parsed.
+   */
+  @NotNull List<Task> readChunk(final int index) throws IOException {
+    final InputStream chunk = new SequenceInputStream(Collections.enumeration(Arrays.<InputStream>asList(
+        new ByteArrayInputStream(openArray),
+        file.stream(layout.chunkStarts[index], layout.chunkEnds[index]),
+        new ByteArrayInputStream(closeArray))));
+    try (final JsonParser parser = DatasetLoader.mapper.getFactory().createParser(chunk)) {
+      parser.nextToken();  // the array opened above
+      final List<Task> tasks = new ArrayList<>();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        tasks.add(DatasetLoader.taskReader.<Task>readValue(parser));
+      }
+      return tasks;
+    }
+  }
+
+  // -- public API -- //
+  @Override
+  public @NotNull List<Driver> drivers() throws IOException {
+    if (drivers == null) {
+      final List<Driver> readDrivers = new ArrayList<>();
+      if (layout.driversFrom >= 0) {
+        try (final JsonParser parser = DatasetLoader.mapper.getFactory().createParser(
+            file.stream(layout.driversFrom, layout.driversTo))) {
+          if (parser.nextToken() != JsonToken.START_ARRAY)
+            throw new JsonParseException(parser, "Dataset drivers must be a JSON array.");
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            readDrivers.add(DatasetLoader.driverReader.<Driver>readValue(parser));
+          }
+        }
+      }
+      drivers = readDrivers;
+    }
+    return Collections.unmodifiableList(drivers);
+  }
+
+  @Override
+  public @NotNull Iterable<Task> tasks() {
+    return new Iterable<Task>() {
+      @Override
+      public Iterator<Task> iterator() {
+        if (tasksTaken)
+          throw new IllegalStateException("Dataset tasks can only be read once.");
+        tasksTaken = true;
+        return new ChunkIterator();
+      }
+    };
+  }
+
+  @Override
+  public @NotNull NameHelper names() throws IOException {
+    if (names == null) {
+      if (layout.namesFrom >= 0) {
+        names = DatasetLoader.namesReader.readValue(file.stream(layout.namesFrom, layout.namesTo));
+      } else {
+        names = new NameHelper();
+      }
+    }
+    return names;
+  }
+
+  @Override
+  public @NotNull SampleDataset toDataset() throws IOException {
+    final List<Driver> datasetDrivers = this.drivers();
+    final List<Task> datasetTasks = new ArrayList<>();
+    try {
+      for (final Task task : this.tasks()) {
+        datasetTasks.add(task);
+      }
+    } catch (final IllegalStateException e) {
+      // unwrap read errors raised from inside the task stream
+      if (e.getCause() instanceof IOException)
+        throw (IOException)e.getCause();
+      throw e;
+    }
+    return new SampleDataset(datasetTasks, datasetDrivers, this.names());
+  }
+
+  /**
+   * Stop the parsing pool, and release the mapped file.
+   *
+   * @throws IOException If the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (pool != null)
+      pool.shutdownNow();
+    file.close();
+  }
+
+  // -- getters -- //
+  /**
+   * @return Number of chunks the tasks are split into.
+   */
+  public int getChunkCount() {
+    return layout.chunkCount;
+  }
+}
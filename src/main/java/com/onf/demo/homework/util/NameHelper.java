@@ -135,8 +135,19 @@ public final class NameHelper implements Serializable, Iterator<String> {
    * @return Generated name.
    */
   public String generateName() {
-    final String firstName = this.firstNames.get(RandomNumberUtil.getRandomGenerator().nextInt(numberOfFirstNames));
-    final String lastName = this.lastNames.get(RandomNumberUtil.getRandomGenerator().nextInt(numberOfLastNames));
+    return this.generateName(RandomNumberUtil.getRandomGenerator());
+  }
+
+  /**
+   * Generate a combo of a first and last name from our bag-of-names data, drawn from the given
+   * source of randomness.
+   *
+   * @param random Source of randomness.
+   * @return Generated name.
+   */
+  public String generateName(final @NotNull Random random) {
+    final String firstName = this.firstNames.get(random.nextInt(numberOfFirstNames));
+    final String lastName = this.lastNames.get(random.nextInt(numberOfLastNames));
     return firstName + " " + lastName;
   }
 
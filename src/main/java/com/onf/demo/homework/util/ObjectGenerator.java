@@ -5,12 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onf.demo.homework.cli.AppLogger;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Identifier;
 import com.onf.demo.homework.struct.Location;
 import com.onf.demo.homework.struct.Task;
-import javax.annotation.concurrent.Immutable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
@@ -29,138 +29,39 @@ final public class ObjectGenerator {
   final @NotNull static String geoBoundsFile;
 
   /**
-   * Cached boundary {@link Polygon} for generating {@link com.onf.demo.homework.struct.Geopoint} objects.
+   * Sampler for the geo boundary, drawing {@link Geopoint} objects from inside it.
    */
-  static @NotNull Polygon boundaryPolygon;
+  static @NotNull PolygonSampler boundarySampler;
 
   /**
    * Name of the geo boundary we're enforcing.
    */
   static @NotNull String boundaryName;
 
-  /**
-   * Cached array of boundary watermark values, organized clockwise from the top left - i.e.
-   * top left, top right, bottom right, and bottom left.
-   */
-  static @NotNull Watermarks geopointWatermarks;
-
   static {
     // load geo-bounds from JSON
     geoBoundsFile = System.getProperty("sample.geo-data.boundaries", "bounds.json");
     loadGeoJSONBoundaries();
   }
 
-  // -- embedded classes -- //
-  @Immutable
-  final static class Watermarks {
-    /**
-     * Precision multiplier when generating points.
-     */
-    private static final double precisionMultiple = 1000.0;
-
-    /**
-     * Latitude value.
-     */
-    final double latitudeLowMark;
-
-    /**
-     * Longitude value.
-     */
-    final double latitudeHiMark;
-
-    /**
-     * Latitude value.
-     */
-    final double longitudeLowMark;
-
-    /**
-     * Longitude value.
-     */
-    final double longitudeHiMark;
-
-    /**
-     * Seal watermarks in a structure to contain them, and pre-compute
-     * a higher-resolution copy via multiplication.
-     *
-     * @param latitudeLowMark Lowest latitude encountered.
-     * @param latitudeHiMark Highest latitude encountered.
-     * @param longitudeLowMark Lowest longitude encountered.
-     * @param longitudeHiMark Highest longitude encountered.
-     */
-    public Watermarks(final double latitudeLowMark,
-                      final double latitudeHiMark,
-                      final double longitudeLowMark,
-                      final double longitudeHiMark) {
-      this.latitudeLowMark = latitudeLowMark * Watermarks.precisionMultiple;
-      this.latitudeHiMark = latitudeHiMark * Watermarks.precisionMultiple;
-      this.longitudeLowMark = longitudeLowMark * Watermarks.precisionMultiple;
-      this.longitudeHiMark = longitudeHiMark * Watermarks.precisionMultiple;
-    }
-
-    /**
-     * @return Retrieve the latitude low mark.
-     */
-    public double getLatitudeLowMark() {
-      return latitudeLowMark;
-    }
-
-    /**
-     * @return Retrieve the latitude high mark.
-     */
-    public double getLatitudeHiMark() {
-      return latitudeHiMark;
-    }
-
-    /**
-     * @return Retrieve the longitude low mark.
-     */
-    public double getLongitudeLowMark() {
-      return longitudeLowMark;
-    }
-
-    /**
-     * @return Retrieve the longitude high mark.
-     */
-    public double getLongitudeHiMark() {
-      return longitudeHiMark;
-    }
-  }
-
   /**
    * Generate a random location within a given set of boundaries.
    *
    * @return Random Location.
    */
-  @SuppressWarnings("MagicNumber")
   static @NotNull Geopoint randomLocationWithinBounds() {
-    // quick and dirty algorithm to generate roughly within the points
-    final Random randomGenerator = RandomNumberUtil.getRandomGenerator();
-
-    final double morePreciseLowLatitude = geopointWatermarks.getLatitudeLowMark();
-    final double morePreciseLowLongitude = geopointWatermarks.getLongitudeLowMark();
-    final double morePreciseHiLatitude = geopointWatermarks.getLatitudeHiMark();
-    final double morePreciseHiLongitude = geopointWatermarks.getLongitudeHiMark();
-
-    double xValue = Math.abs(morePreciseLowLatitude) + randomGenerator.nextInt(Math.abs((int)morePreciseHiLatitude / 100));
-    double yValue = Math.abs(morePreciseLowLongitude) + randomGenerator.nextInt(Math.abs((int)morePreciseHiLongitude / 100));
-
-    // rein in above-max values by reducing them by (up to 80% of the total spillage over-max plus the spillage)
-    if (Math.abs(xValue) > Math.abs(morePreciseHiLatitude))
-      xValue -= ((Math.abs(xValue) - Math.abs(morePreciseHiLatitude))
-                  + (((double)randomGenerator.nextInt(80)) / 100.0) * (Math.abs(xValue) - Math.abs(morePreciseHiLatitude)));
-    if (Math.abs(yValue) > Math.abs(morePreciseHiLongitude))
-      yValue -= (Math.abs(yValue) - Math.abs(morePreciseHiLongitude))
-                  + (((double)randomGenerator.nextInt(80)) / 100.0) * (Math.abs(yValue) - Math.abs(morePreciseHiLongitude));
-
-    xValue /= Watermarks.precisionMultiple;
-    yValue /= Watermarks.precisionMultiple;
-
-    if (morePreciseLowLatitude < 0.0)
-      xValue = 0.0 - xValue;
-    if (morePreciseLowLongitude < 0.0)
-      yValue = 0.0 - yValue;
+    return randomLocationWithinBounds(RandomNumberUtil.getRandomGenerator());
+  }
 
-    return new Geopoint(xValue, yValue);
+  /**
+   * Generate a random location within a given set of boundaries. Points are drawn uniformly from
+   * inside the boundary polygon, in constant time, via {@link PolygonSampler}.
+   *
+   * @param randomGenerator Source of randomness.
+   * @return Random Location.
+   */
+  static @NotNull Geopoint randomLocationWithinBounds(final @NotNull Random randomGenerator) {
+    return boundarySampler.sample(randomGenerator);
   }
 
   // -- object generators -- //
@@ -171,14 +72,50 @@ final public class ObjectGenerator {
    */
   public @NotNull static Location generateLocation() {
     final Geopoint randomGeopoint = randomLocationWithinBounds();
-    AppLogger.verbose("NameHelper", "Generated random geopoint " + randomGeopoint.toString() + "...");
+    AppLogger.verbose("NameHelper", "Generated random geopoint {}...", randomGeopoint);
     return Location.factory(randomGeopoint);
   }
 
   /**
-   * Load geo boundaries, specified in an embedded GeoJSON file.
-   * This is rather quick-and-dirty since it's in a util and is
-   * exercised each time the testsuite is run.
+   * Generate a random {@link Location} in the SF Bay Area, drawing everything, including its
+   * UUID, from the given source of randomness.
+   *
+   * @param random Source of randomness.
+   * @return Location object, randomly generated.
+   */
+  public @NotNull static Location generateLocation(final @NotNull Random random) {
+    return generateLocation(random, null);
+  }
+
+  /**
+   * Generate a random {@link Location} in the SF Bay Area, clustered around the given hotspots,
+   * if any, drawing everything from the given source of randomness.
+   *
+   * @param random Source of randomness.
+   * @param hotspots Hotspots to draw the location from, or <pre>null</pre> to draw uniformly.
+   * @return Location object, randomly generated.
+   */
+  static @NotNull Location generateLocation(final @NotNull Random random, final @Nullable HotspotSampler hotspots) {
+    final Geopoint randomGeopoint = hotspots != null ? hotspots.sample(random) : randomLocationWithinBounds(random);
+    AppLogger.verbose("NameHelper", "Generated random geopoint {}...", randomGeopoint);
+    return new Location(Identifier.random(random).toString(), null, randomGeopoint);
+  }
+
+  /**
+   * Place hotspots inside the geo boundary.
+   *
+   * @param hotspots Number, spread and weight of the hotspots.
+   * @param random Source of randomness to place the hotspots with.
+   * @return Sampler drawing points from the hotspots.
+   */
+  static @NotNull HotspotSampler hotspotSampler(final @NotNull Hotspots hotspots, final @NotNull Random random) {
+    return new HotspotSampler(boundarySampler, hotspots, random);
+  }
+
+  /**
+   * Load geo boundaries, specified in an embedded GeoJSON file, and build the sampler that
+   * generated points are drawn from. Takes the outer ring of a <pre>Polygon</pre>, or of every
+   * part of a <pre>MultiPolygon</pre>.
    */
   @SuppressWarnings({"unchecked", "TypeMayBeWeakened", "ConstantConditions"})
   static void loadGeoJSONBoundaries() {
@@ -204,52 +141,28 @@ final public class ObjectGenerator {
     final Map<String, Object> geometryProperties = (Map<String, Object>)defaultFeature.get("geometry");
 
     final String name = (String)featureProperties.get("name");
-    final List<List<List<List<Double>>>> coordinatesArrayOuter = (List)geometryProperties.get("coordinates");
-    final List<List<Double>> coordinatesArray = coordinatesArrayOuter.get(0).get(0);
-    final Polygon polygon = new Polygon();
-
-    // extract each coordinate
-    Double latitudeLowBound = 0.0;
-    Double longitudeLowBound = 0.0;
-    Double latitudeHiBound = 0.0;
-    Double longitudeHiBound = 0.0;
-
-    for (List innerCoordinate : coordinatesArray) {
-      // extract coordinates
-      final Double latitude = (Double)innerCoordinate.get(1);
-      final Double longitude = (Double)innerCoordinate.get(0);
-
-      // calculate bounds for latitude
-      if (latitudeLowBound.equals(0.0))
-        latitudeLowBound = latitude;
-      else if (Math.abs(latitudeLowBound) > Math.abs(latitude))
-        latitudeLowBound = latitude;
-
-      if (latitudeHiBound.equals(0.0))
-        latitudeHiBound = latitude;
-      else if (Math.abs(latitudeHiBound) < Math.abs(latitude))
-        latitudeHiBound = latitude;
-
-      // calculate bounds for longitude
-      if (longitudeLowBound.equals(0.0))
-        longitudeLowBound = longitude;
-      else if (Math.abs(longitudeLowBound) > Math.abs(longitude))
-        longitudeLowBound = longitude;
-
-      if (longitudeHiBound.equals(0.0))
-        longitudeHiBound = longitude;
-      else if (Math.abs(longitudeHiBound) < Math.abs(longitude))
-        longitudeHiBound = longitude;
-
-      polygon.addPoint(latitude.intValue(),
-                       longitude.intValue());
+    final List<List<List<List<Number>>>> polygons;
+    if ("Polygon".equals(geometryProperties.get("type")))
+      polygons = Collections.singletonList((List<List<List<Number>>>)geometryProperties.get("coordinates"));
+    else
+      polygons = (List)geometryProperties.get("coordinates");
+
+    // extract each outer ring, as latitude/longitude pairs (GeoJSON has longitude first)
+    final List<double[]> rings = new ArrayList<>(polygons.size());
+    for (final List<List<List<Number>>> polygon : polygons) {
+      final List<List<Number>> coordinatesArray = polygon.get(0);
+      final double[] ring = new double[coordinatesArray.size() * 2];
+      int offset = 0;
+      for (final List<Number> innerCoordinate : coordinatesArray) {
+        ring[offset++] = innerCoordinate.get(1).doubleValue();
+        ring[offset++] = innerCoordinate.get(0).doubleValue();
+      }
+      rings.add(ring);
     }
 
     // setup static properties
     boundaryName = name;
-    boundaryPolygon = polygon;
-    geopointWatermarks = new Watermarks(latitudeLowBound, latitudeHiBound,
-                                        longitudeLowBound, longitudeHiBound);
+    boundarySampler = new PolygonSampler(rings);
   }
 
   /**
@@ -261,7 +174,32 @@ final public class ObjectGenerator {
   public @NotNull static Task generateTask() {
     final Location location = generateLocation();
     final Task task = Task.factory(location);
-    AppLogger.verbose("NameHelper", "Generated random task with UUID '" + task.getUuid() + "'...");
+    AppLogger.verbose("NameHelper", "Generated random task with UUID '{}'...", task.getIdentifier());
+    return task;
+  }
+
+  /**
+   * Generate a random {@link Task} with a random {@link Location}, drawing everything, including
+   * UUIDs, from the given source of randomness.
+   *
+   * @param random Source of randomness.
+   * @return Task object, randomly generated.
+   */
+  public @NotNull static Task generateTask(final @NotNull Random random) {
+    return generateTask(random, null);
+  }
+
+  /**
+   * Generate a random {@link Task} with a random {@link Location}, clustered around the given
+   * hotspots, if any, drawing everything from the given source of randomness.
+   *
+   * @param random Source of randomness.
+   * @param hotspots Hotspots to draw the location from, or <pre>null</pre> to draw uniformly.
+   * @return Task object, randomly generated.
+   */
+  static @NotNull Task generateTask(final @NotNull Random random, final @Nullable HotspotSampler hotspots) {
+    final Task task = new Task(Identifier.random(random), generateLocation(random, hotspots));
+    AppLogger.verbose("NameHelper", "Generated random task with UUID '{}'...", task.getIdentifier());
     return task;
   }
 
@@ -282,7 +220,22 @@ final public class ObjectGenerator {
    */
   public @NotNull static Driver generateDriver(final NameHelper helper) {
     final String name = helper.generateName();
-    AppLogger.verbose("NameHelper", "Generated driver '" + name + "'...");
+    AppLogger.verbose("NameHelper", "Generated driver '{}'...", name);
     return Driver.factory(name);
   }
+
+  /**
+   * Generate a random {@link Driver} using {@link NameHelper}, drawing its name and UUID from the
+   * given source of randomness.
+   *
+   * @param helper Name generation helper.
+   * @param random Source of randomness.
+   * @return Driver object, with a randomly-generated name.
+   */
+  public @NotNull static Driver generateDriver(final NameHelper helper, final @NotNull Random random) {
+    final Identifier uuid = Identifier.random(random);
+    final String name = helper.generateName(random);
+    AppLogger.verbose("NameHelper", "Generated driver '{}'...", name);
+    return new Driver(uuid, name);
+  }
 }
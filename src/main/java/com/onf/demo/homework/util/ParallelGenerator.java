@@ -0,0 +1,131 @@
+package com.onf.demo.homework.util;
+
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Generates indexed items on a {@link ForkJoinPool}. The index range is split into chunks, and
+ * each item draws from its own {@link SplitRandom} stream, seeded from the dataset seed, the kind
+ * of item and its index. The output is therefore the same for a given seed whatever the number of
+ * threads, and whichever thread happens to generate each item.
+ */
+final class ParallelGenerator {
+  // -- internals -- //
+  /**
+   * Number of chunks to aim for per thread, so that uneven chunks balance out.
+   */
+  private static final int chunksPerThread = 4;
+
+  /**
+   * Seed for the whole dataset.
+   */
+  final long seed;
+
+  /**
+   * Number of threads to generate with.
+   */
+  final int threads;
+
+  // -- embedded classes -- //
+  /**
+   * Generates the item at each index.
+   */
+  interface ItemGenerator {
+    /**
+     * @param index Index of the item.
+     * @param random Stream for this item alone.
+     */
+    void generate(int index, @NotNull SplitRandom random);
+  }
+
+  /**
+   * Fork/join task generating a range of items.
+   */
+  private static final class GenerateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient ItemGenerator generator;
+    private final long seed;
+    private final int stream;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    GenerateTask(final ItemGenerator generator, final long seed, final int stream,
+                 final int from, final int to, final int chunkSize) {
+      this.generator = generator;
+      this.seed = seed;
+      this.stream = stream;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunkSize) {
+        generateRange(generator, seed, stream, from, to);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new GenerateTask(generator, seed, stream, from, middle, chunkSize),
+                new GenerateTask(generator, seed, stream, middle, to, chunkSize));
+    }
+  }
+
+  // -- constructor -- //
+  /**
+   * Construct a generator for one dataset.
+   *
+   * @param seed Seed for the whole dataset.
+   * @param threads Number of threads to generate with.
+   * @throws IllegalArgumentException If the thread count is not positive.
+   */
+  ParallelGenerator(final long seed, final int threads) {
+    if (threads < 1)
+      throw new IllegalArgumentException("Cannot generate with fewer than one thread.");
+    this.seed = seed;
+    this.threads = threads;
+  }
+
+  // -- private API -- //
+  /**
+   * Generate a range of items in the calling thread, with one generator re-seeded for each item.
+   */
+  private static void generateRange(final ItemGenerator generator, final long seed, final int stream,
+                                    final int from, final int to) {
+    final SplitRandom random = new SplitRandom(seed);
+    for (int index = from; index < to; index++) {
+      random.setSeed(SplitRandom.streamSeed(seed, stream, index));
+      generator.generate(index, random);
+    }
+  }
+
+  // -- API -- //
+  /**
+   * Generate <pre>count</pre> items, in parallel. Each index is generated exactly once, so the
+   * generator can write its item straight into a slot of a pre-sized array.
+   *
+   * @param stream Which kind of item is being generated.
+   * @param count Number of items, indexed from <pre>0</pre>.
+   * @param generator Generates the item at each index.
+   */
+  void generate(final int stream, final int count, final @NotNull ItemGenerator generator) {
+    if (count < 1)
+      return;
+    if (threads == 1) {
+      generateRange(generator, seed, stream, 0, count);
+      return;
+    }
+    final int chunkSize = Math.max(1, count / (threads * chunksPerThread));
+    final ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new GenerateTask(generator, seed, stream, 0, count, chunkSize));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
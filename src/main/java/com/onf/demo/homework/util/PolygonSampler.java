@@ -0,0 +1,328 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Geopoint;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Draws points uniformly from inside a polygon boundary, such as the one {@link ObjectGenerator}
+ * loads from GeoJSON. Each ring is split into triangles once, by ear clipping, and an alias table
+ * is built over the triangle areas. Drawing a point is then constant time whatever the shape of
+ * the boundary: one draw picks a triangle, weighted by its area, and two more place the point
+ * inside it. Nothing is ever rejected, and every point lands inside the boundary.
+ *
+ * <p>Rings are given as interleaved latitude and longitude values, and areas are measured in
+ * degrees, which is close enough to true area at the scale of a city. Every ring is taken as an
+ * outer boundary, so a multi-polygon samples from the union of its parts; holes are not
+ * supported.</p>
+ */
+@Immutable
+final class PolygonSampler {
+  // -- internals -- //
+  /**
+   * Corners of each triangle, as six values each: latitude and longitude of the first, second
+   * and third corner.
+   */
+  final double[] triangles;
+
+  /**
+   * Chance of keeping each triangle, once it is drawn from the alias table.
+   */
+  final double[] probability;
+
+  /**
+   * Triangle to take instead of each triangle, when it is not kept.
+   */
+  final int[] alias;
+
+  /**
+   * Rings the sampler was built from, kept to test points against.
+   */
+  final double[][] rings;
+
+  /**
+   * Total area of every triangle, in square degrees.
+   */
+  final double area;
+
+  // -- constructor -- //
+  /**
+   * Triangulate the given rings, and build the alias table over their triangles.
+   *
+   * @param rings Rings of interleaved latitude and longitude values. A closing point that repeats
+   *              the first is ignored.
+   * @throws IllegalArgumentException If the rings enclose no area.
+   */
+  PolygonSampler(final @NotNull List<double[]> rings) {
+    final List<double[]> clipped = new ArrayList<>();
+    final double[][] kept = new double[rings.size()][];
+    for (int i = 0; i < kept.length; i++) {
+      kept[i] = openRing(rings.get(i));
+      triangulate(kept[i], clipped);
+    }
+    if (clipped.isEmpty())
+      throw new IllegalArgumentException("Cannot sample from a boundary that encloses no area.");
+
+    final int count = clipped.size();
+    final double[] areas = new double[count];
+    double total = 0.0;
+    this.triangles = new double[count * 6];
+    for (int i = 0; i < count; i++) {
+      final double[] triangle = clipped.get(i);
+      System.arraycopy(triangle, 0, this.triangles, i * 6, 6);
+      areas[i] = Math.abs(cross(triangle[0], triangle[1], triangle[2], triangle[3], triangle[4], triangle[5])) / 2.0;
+      total += areas[i];
+    }
+    this.rings = kept;
+    this.area = total;
+    this.probability = new double[count];
+    this.alias = new int[count];
+    buildAliasTable(areas, total, this.probability, this.alias);
+  }
+
+  // -- private API -- //
+  /**
+   * Copy a ring, dropping the closing point if it repeats the first.
+   */
+  private static double[] openRing(final double[] ring) {
+    int length = ring.length - (ring.length % 2);
+    if (length >= 4
+        && ring[0] == ring[length - 2]
+        && ring[1] == ring[length - 1])
+      length -= 2;
+    return Arrays.copyOf(ring, length);
+  }
+
+  /**
+   * Twice the signed area of the triangle <pre>a, b, c</pre>: positive if it turns
+   * counter-clockwise, negative if clockwise, and zero if the corners are in a line.
+   */
+  private static double cross(final double ax, final double ay,
+                              final double bx, final double by,
+                              final double cx, final double cy) {
+    return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+  }
+
+  /**
+   * Whether point <pre>p</pre> lies inside, or on an edge of, the counter-clockwise triangle
+   * <pre>a, b, c</pre>.
+   */
+  private static boolean inTriangle(final double px, final double py,
+                                    final double ax, final double ay,
+                                    final double bx, final double by,
+                                    final double cx, final double cy) {
+    return cross(ax, ay, bx, by, px, py) >= 0.0
+           && cross(bx, by, cx, cy, px, py) >= 0.0
+           && cross(cx, cy, ax, ay, px, py) >= 0.0;
+  }
+
+  /**
+   * Split one ring into triangles by ear clipping: repeatedly cut off a convex corner whose
+   * triangle holds no other corner of the ring. Rings that cross themselves can run out of ears,
+   * in which case the next convex corner is cut off regardless, so triangulation always ends.
+   *
+   * @param ring Ring of interleaved latitude and longitude values, without a closing point.
+   * @param out List to add triangles to.
+   */
+  private static void triangulate(final double[] ring, final List<double[]> out) {
+    final int points = ring.length / 2;
+    if (points < 3)
+      return;
+
+    // clip ears in counter-clockwise order, whichever way the ring winds
+    double signedArea = 0.0;
+    for (int i = 0, j = points - 1; i < points; j = i++)
+      signedArea += ring[j * 2] * ring[i * 2 + 1] - ring[i * 2] * ring[j * 2 + 1];
+    if (signedArea == 0.0)
+      return;
+    final int[] remaining = new int[points];
+    for (int i = 0; i < points; i++)
+      remaining[i] = signedArea > 0.0 ? i : points - 1 - i;
+
+    int size = points;
+    int corner = 0;
+    int sinceClip = 0;
+    boolean forced = false;
+    while (size > 3) {
+      if (sinceClip > size) {
+        // went all the way round without an ear: cut the next convex corner regardless
+        if (forced)
+          break;  // no convex corners left either
+        forced = true;
+        sinceClip = 0;
+      }
+      final int a = remaining[(corner + size - 1) % size];
+      final int b = remaining[corner];
+      final int c = remaining[(corner + 1) % size];
+      final double ax = ring[a * 2], ay = ring[a * 2 + 1];
+      final double bx = ring[b * 2], by = ring[b * 2 + 1];
+      final double cx = ring[c * 2], cy = ring[c * 2 + 1];
+      final double turn = cross(ax, ay, bx, by, cx, cy);
+
+      boolean clip = false;
+      boolean emit = false;
+      if (turn == 0.0) {
+        clip = true;  // corner is in a line with its neighbours, so it adds no area
+      } else if (turn > 0.0) {
+        clip = true;
+        emit = true;
+        if (!forced) {
+          for (int k = 0; k < size && clip; k++) {
+            final int other = remaining[k];
+            final double px = ring[other * 2], py = ring[other * 2 + 1];
+            if (other == a || other == b || other == c
+                || (px == ax && py == ay) || (px == bx && py == by) || (px == cx && py == cy))
+              continue;
+            if (inTriangle(px, py, ax, ay, bx, by, cx, cy))
+              clip = false;
+          }
+        }
+      }
+
+      if (clip) {
+        if (emit)
+          out.add(new double[]{ax, ay, bx, by, cx, cy});
+        System.arraycopy(remaining, corner + 1, remaining, corner, size - corner - 1);
+        size--;
+        if (corner >= size)
+          corner = 0;
+        sinceClip = 0;
+        forced = false;
+      } else {
+        corner = (corner + 1) % size;
+        sinceClip++;
+      }
+    }
+
+    if (size == 3) {
+      final int a = remaining[0], b = remaining[1], c = remaining[2];
+      if (cross(ring[a * 2], ring[a * 2 + 1], ring[b * 2], ring[b * 2 + 1], ring[c * 2], ring[c * 2 + 1]) > 0.0)
+        out.add(new double[]{ring[a * 2], ring[a * 2 + 1],
+                             ring[b * 2], ring[b * 2 + 1],
+                             ring[c * 2], ring[c * 2 + 1]});
+    }
+  }
+
+  /**
+   * Build a Vose alias table over the given weights, so that one uniform draw picks an index with
+   * chance proportional to its weight.
+   *
+   * @param weights Weight of each index.
+   * @param total Sum of every weight.
+   * @param probability Filled with the chance of keeping each index.
+   * @param alias Filled with the index to take instead of each index.
+   */
+  private static void buildAliasTable(final double[] weights, final double total,
+                                      final double[] probability, final int[] alias) {
+    final int count = weights.length;
+    final double[] scaled = new double[count];
+    final int[] small = new int[count];
+    final int[] large = new int[count];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < count; i++) {
+      scaled[i] = weights[i] * count / total;
+      if (scaled[i] < 1.0)
+        small[smallSize++] = i;
+      else
+        large[largeSize++] = i;
+    }
+    while (smallSize > 0 && largeSize > 0) {
+      final int less = small[--smallSize];
+      final int more = large[--largeSize];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+      if (scaled[more] < 1.0)
+        small[smallSize++] = more;
+      else
+        large[largeSize++] = more;
+    }
+
+    // whatever is left is only off from one by rounding
+    while (largeSize > 0) {
+      final int index = large[--largeSize];
+      probability[index] = 1.0;
+      alias[index] = index;
+    }
+    while (smallSize > 0) {
+      final int index = small[--smallSize];
+      probability[index] = 1.0;
+      alias[index] = index;
+    }
+  }
+
+  // -- API -- //
+  /**
+   * Draw a point uniformly from inside the boundary, in constant time.
+   *
+   * @param random Source of randomness.
+   * @return Point inside the boundary.
+   */
+  @NotNull Geopoint sample(final @NotNull Random random) {
+    // one draw picks a slot in the alias table, and whether to keep it or take its alias
+    final double slot = random.nextDouble() * probability.length;
+    int triangle = Math.min((int)slot, probability.length - 1);
+    if (slot - triangle >= probability[triangle])
+      triangle = alias[triangle];
+
+    // fold points that land past the diagonal back into the triangle
+    double u = random.nextDouble();
+    double v = random.nextDouble();
+    if (u + v > 1.0) {
+      u = 1.0 - u;
+      v = 1.0 - v;
+    }
+    final int offset = triangle * 6;
+    final double ax = triangles[offset], ay = triangles[offset + 1];
+    return new Geopoint(ax + u * (triangles[offset + 2] - ax) + v * (triangles[offset + 4] - ax),
+                        ay + u * (triangles[offset + 3] - ay) + v * (triangles[offset + 5] - ay));
+  }
+
+  /**
+   * Test whether a point lies inside the boundary, by casting a ray across every ring.
+   *
+   * @param latitude Latitude of the point.
+   * @param longitude Longitude of the point.
+   * @return Whether the point lies inside any ring.
+   */
+  boolean contains(final double latitude, final double longitude) {
+    for (final double[] ring : rings) {
+      boolean inside = false;
+      final int points = ring.length / 2;
+      for (int i = 0, j = points - 1; i < points; j = i++) {
+        final double iy = ring[i * 2 + 1], jy = ring[j * 2 + 1];
+        if ((iy > longitude) != (jy > longitude)) {
+          final double ix = ring[i * 2], jx = ring[j * 2];
+          if (latitude < (jx - ix) * (longitude - iy) / (jy - iy) + ix)
+            inside = !inside;
+        }
+      }
+      if (inside)
+        return true;
+    }
+    return false;
+  }
+
+  // -- getters -- //
+  /**
+   * @return Total area inside the boundary, in square degrees.
+   */
+  double getArea() {
+    return area;
+  }
+
+  /**
+   * @return Number of triangles the boundary was split into.
+   */
+  int getTriangleCount() {
+    return probability.length;
+  }
+}
@@ -7,7 +7,9 @@ import java.util.Random;
 
 
 /**
- * Centralized access to a shared {@link Random} number generator.
+ * Centralized access to a shared {@link Random} number generator. Setting the
+ * <pre>sample.random-seed</pre> system property seeds it, so that anything drawn from it is the
+ * same on every run.
  */
 final class RandomNumberUtil {
   /**
@@ -16,8 +18,9 @@ final class RandomNumberUtil {
   final @NotNull static Random randomGenerator;
 
   static {
-    // random number generator
-    randomGenerator = new Random();  // in prod we would do something better here
+    // random number generator, seeded if asked
+    final String seed = System.getProperty("sample.random-seed");
+    randomGenerator = seed == null ? new Random() : new Random(Long.parseLong(seed));
   }
 
   /**
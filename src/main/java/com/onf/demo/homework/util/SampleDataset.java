@@ -3,9 +3,7 @@ package com.onf.demo.homework.util;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onf.demo.homework.struct.Driver;
-import com.onf.demo.homework.struct.Location;
 import com.onf.demo.homework.struct.Task;
 import javax.annotation.concurrent.Immutable;
 import org.jetbrains.annotations.NotNull;
@@ -69,53 +67,72 @@ public final class SampleDataset implements Serializable {
 
   /**
    * Entrypoint function for generating a full dataset of sample {@link Task} and
-   * {@link Driver} records.
+   * {@link Driver} records. If the spec has a seed, the same dataset is generated every time.
    *
    * @param spec Dataset spec to use when generating this dataset.
    * @return Newly-generated {@link SampleDataset}.
    */
   public static SampleDataset generateDataset(final @NotNull DatasetSpec spec) {
+    final Long seed = spec.getSeed();
+    return generateDataset(spec, seed != null ? seed : RandomNumberUtil.getRandomGenerator().nextLong());
+  }
+
+  /**
+   * Generate a full dataset of sample {@link Task} and {@link Driver} records from a seed, across
+   * every available core. The same spec and seed always give the same dataset.
+   *
+   * @param spec Dataset spec to use when generating this dataset.
+   * @param seed Seed to draw every record from.
+   * @return Newly-generated {@link SampleDataset}.
+   */
+  public static SampleDataset generateDataset(final @NotNull DatasetSpec spec, final long seed) {
+    return generateDataset(spec, seed, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Generate a full dataset of sample {@link Task} and {@link Driver} records from a seed, on a
+   * given number of threads. Every record draws from its own stream, so the number of threads
+   * does not change the result.
+   *
+   * @param spec Dataset spec to use when generating this dataset.
+   * @param seed Seed to draw every record from.
+   * @param threads Number of threads to generate with.
+   * @return Newly-generated {@link SampleDataset}.
+   */
+  static SampleDataset generateDataset(final @NotNull DatasetSpec spec, final long seed, final int threads) {
+    try {
+      return new GeneratedDataset(spec, seed, threads).toDataset();
+    } catch (final IOException e) {
+      // throw as runtime exception (would NOT do this in production)
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Generate a dataset lazily: drivers up front, then each {@link Task} only as it is read, so
+   * tasks can be fed straight into a {@link com.onf.demo.homework.TaskAssigner} without ever
+   * being held in a list. If the spec has a seed, this yields the same records as
+   * {@link #generateDataset(DatasetSpec)}.
+   *
+   * @param spec Dataset spec to use when generating this dataset.
+   * @return Reader that generates the dataset as it is read.
+   */
+  public static GeneratedDataset streamDataset(final @NotNull DatasetSpec spec) {
+    return GeneratedDataset.of(spec);
+  }
+
+  /**
+   * Wrap {@link Task} and {@link Driver} records that were built elsewhere, such as a seeded
+   * benchmark fixture, as a dataset.
+   *
+   * @param tasks Tasks to store in the dataset.
+   * @param drivers Drivers to store in the dataset.
+   * @return {@link SampleDataset} holding the given records.
+   */
+  public static SampleDataset of(final @NotNull Collection<Task> tasks,
+                                 final @NotNull Collection<Driver> drivers) {
     try {
-      // read naming data
-      final NameHelper nameHelper = new NameHelper();
-
-      // allocate lists
-      final int estimatedTasks = spec.getNumberOfDrivers() * (spec.getTasksPerDriver() - spec.getVarianceInTasksPerDriver());
-      final List<Driver> generatedDrivers = new ArrayList<>(spec.getNumberOfDrivers());
-      final List<Task> generatedTasks = new ArrayList<>(estimatedTasks);
-
-      // generate some drivers
-      int driverIndex = 0;
-      int tasksToGenerate = 0;
-      final int variance = (spec.getTasksPerDriver() - spec.getVarianceInTasksPerDriver());
-      while (driverIndex <= spec.getNumberOfDrivers()) {
-        // decide how many tasks, roughly, this driver will have, and add it to the total
-        final int tasks = spec.getTasksPerDriver() - (Math.abs(variance) > 0 ?
-                              RandomNumberUtil.getRandomGenerator()
-                                              .nextInt(Math.abs(variance))
-                              : 1);
-        tasksToGenerate += tasks;
-
-        // generate a driver
-        final Driver generatedDriver = ObjectGenerator.generateDriver(nameHelper);
-        generatedDrivers.add(generatedDriver);
-        driverIndex++;
-      }
-
-      // generate a location per task
-      int driverTaskIndex = 0;
-      while (driverTaskIndex <= tasksToGenerate) {
-        // generate a random location
-        final Location generatedLocation = ObjectGenerator.generateLocation();
-        final Task generatedTask = Task.factory(generatedLocation);
-        generatedTasks.add(generatedTask);
-
-        driverTaskIndex++;
-      }
-
-      return new SampleDataset(generatedTasks,
-                               generatedDrivers,
-                               nameHelper);
+      return new SampleDataset(tasks, drivers, new NameHelper());
     } catch (final IOException e) {
       // throw as runtime exception (would NOT do this in production)
       throw new IllegalStateException(e);
@@ -132,11 +149,8 @@ public final class SampleDataset implements Serializable {
   public static SampleDataset loadKnownDataset(final KnownDataset dataset) throws IOException {
     final String dataFile = dataset.dataFile();
 
-    // read the data file
-    final String fileContents = new FileUtil().fileContentsFromJARAsString(dataFile);
-
-    // load the data file via JSON
-    return new ObjectMapper().readerFor(SampleDataset.class).readValue(fileContents);
+    // parse the data file as it is read
+    return DatasetLoader.load(new FileUtil().streamFromJAR(dataFile));
   }
 
   // -- getters -- //
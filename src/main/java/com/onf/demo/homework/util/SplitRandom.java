@@ -0,0 +1,122 @@
+package com.onf.demo.homework.util;
+
+
+import java.util.Random;
+
+
+/**
+ * Fast, unsynchronized {@link Random} built on the SplitMix64 generator. Each draw is one add and
+ * a couple of multiply-xorshift rounds on a plain <pre>long</pre>, with none of the compare-and-set
+ * that makes a shared {@link Random} a point of contention between threads.
+ *
+ * <p>Streams are cheap to derive: {@link #streamSeed} mixes a dataset seed with a stream and an
+ * item index, so every generated item can draw from its own stream. What an item gets then
+ * depends only on the seed and its index, never on which thread generated it, or in what order.
+ * Not safe for use from more than one thread at a time.</p>
+ */
+@SuppressWarnings({"WeakerAccess", "serial"})
+public final class SplitRandom extends Random {
+  // -- internals -- //
+  /**
+   * Odd constant the state advances by on each draw: the golden ratio, in 64-bit fixed point.
+   */
+  private static final long goldenGamma = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Odd constant that separates the seeds of different streams.
+   */
+  private static final long streamGamma = 0xD1B54A32D192ED03L;
+
+  /**
+   * Generator state.
+   */
+  private long state;
+
+  // -- constructor -- //
+  /**
+   * Create a generator from a seed.
+   *
+   * @param seed Initial state.
+   */
+  public SplitRandom(final long seed) {
+    super(0L);
+    this.state = seed;
+  }
+
+  // -- static API -- //
+  /**
+   * Finalize a 64-bit value, so that nearby inputs give unrelated outputs.
+   *
+   * @param value Value to mix.
+   * @return Mixed value.
+   */
+  public static long mix64(final long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Derive the seed for one item's stream.
+   *
+   * @param seed Seed for the whole dataset.
+   * @param stream Which kind of item this is, so drivers and tasks at the same index differ.
+   * @param index Index of the item.
+   * @return Seed for the item's stream.
+   */
+  public static long streamSeed(final long seed, final int stream, final long index) {
+    return mix64(mix64(seed + stream * streamGamma) + index * goldenGamma);
+  }
+
+  // -- public API -- //
+  /**
+   * Reset this generator to a new seed. Called once by {@link Random}'s constructor, before this
+   * class has set its own state.
+   *
+   * @param seed New state.
+   */
+  @Override
+  public void setSeed(final long seed) {
+    this.state = seed;
+  }
+
+  @Override
+  protected int next(final int bits) {
+    return (int)(this.nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public long nextLong() {
+    this.state += goldenGamma;
+    return mix64(this.state);
+  }
+
+  @Override
+  public int nextInt() {
+    return (int)(this.nextLong() >>> 32);
+  }
+
+  @Override
+  public double nextDouble() {
+    return (this.nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return this.nextLong() < 0;
+  }
+
+  /**
+   * Draw a normally-distributed value, by the Box-Muller transform. Unlike {@link Random}, the
+   * second value of each pair is not kept for the next call, so a draw depends only on the state,
+   * and re-seeding leaves nothing over from the last stream.
+   *
+   * @return Value from the standard normal distribution.
+   */
+  @Override
+  public double nextGaussian() {
+    final double radius = Math.sqrt(-2.0 * Math.log(1.0 - this.nextDouble()));
+    return radius * Math.cos(2.0 * Math.PI * this.nextDouble());
+  }
+}
@@ -0,0 +1,146 @@
+package com.onf.demo.homework.cli;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Test the {@link AsyncAppender}, which writes {@link AppLogger} messages from a background
+ * thread, and the message templates it formats.
+ */
+public final class AsyncAppenderTest {
+  /**
+   * Logger that keeps every message written to it, instead of printing it.
+   */
+  private static Logger capturingLogger(final List<String> messages, final List<String> warnings) {
+    final Logger logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.addHandler(new Handler() {
+      @Override
+      public void publish(final LogRecord record) {
+        if (record.getLevel() == Level.WARNING)
+          warnings.add(record.getMessage());
+        else
+          messages.add(record.getMessage());
+      }
+
+      @Override
+      public void flush() {
+        // nothing to flush
+      }
+
+      @Override
+      public void close() {
+        // nothing to close
+      }
+    });
+    return logger;
+  }
+
+  @Test
+  public void testFormatsTemplates() {
+    assertEquals("placeholders should be filled in order", "task 'a' to b at 3",
+                 AppLogger.format("task '{}' to {} at {}", 3, "a", "b", 3));
+    assertEquals("templates without arguments should be kept as-is", "literal {}",
+                 AppLogger.format("literal {}", 0, null, null, null));
+    assertEquals("extra arguments should be ignored", "only x",
+                 AppLogger.format("only {}", 2, "x", "y", null));
+    assertEquals("null arguments should print as null", "null here",
+                 AppLogger.format("{} here", 1, null, null, null));
+  }
+
+  @Test
+  public void testWritesInOrder() {
+    final List<String> messages = new ArrayList<>();
+    final AsyncAppender appender = new AsyncAppender(capturingLogger(messages, new ArrayList<String>()), 16);
+    for (int i = 0; i < 10; i++)
+      assertTrue("messages should be queued while there is room", appender.offer("Test", "message {}", 1, i, null, null));
+    assertEquals("nothing should be written before the appender drains", 0, messages.size());
+    assertEquals("every queued message should be written", 10, appender.drain());
+    for (int i = 0; i < 10; i++)
+      assertEquals("messages should be written in order", "[Test]: message " + i, messages.get(i));
+  }
+
+  @Test
+  public void testDropsWhenFull() {
+    final List<String> messages = new ArrayList<>();
+    final List<String> warnings = new ArrayList<>();
+    final AsyncAppender appender = new AsyncAppender(capturingLogger(messages, warnings), 5);
+    assertEquals("capacity should round up to a power of two", 8, appender.getCapacity());
+    for (int i = 0; i < 8; i++)
+      appender.offer("Test", "message", 0, null, null, null);
+    assertFalse("messages should be dropped once the ring is full", appender.offer("Test", "lost", 0, null, null, null));
+    assertEquals("drops should be counted", 1L, appender.getDropped());
+
+    appender.drain();
+    assertEquals("every message that fit should be written", 8, messages.size());
+    assertEquals("drops should be reported once", 1, warnings.size());
+    assertTrue("slots should be reusable once drained", appender.offer("Test", "again", 0, null, null, null));
+    appender.drain();
+    assertEquals("reused slots should be written", "[Test]: again", messages.get(8));
+    assertEquals("drops should not be reported twice", 1, warnings.size());
+  }
+
+  @Test
+  public void testManyThreadsLogThroughWriter() throws InterruptedException {
+    final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+    final AsyncAppender appender = new AsyncAppender(capturingLogger(messages, new ArrayList<String>()), 1 << 16);
+    appender.start();
+    final int threads = 4;
+    final int perThread = 5000;
+    final Thread[] loggers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int thread = t;
+      loggers[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < perThread; i++)
+            appender.offer("Test", "{}:{}", 2, thread, i, null);
+        }
+      });
+      loggers[t].start();
+    }
+    for (final Thread logger : loggers)
+      logger.join();
+    appender.flush();
+    appender.stop();
+
+    assertEquals("every message should be written", threads * perThread, messages.size());
+    final int[] next = new int[threads];
+    for (final String message : messages) {
+      final String[] parts = message.substring("[Test]: ".length()).split(":");
+      final int thread = Integer.parseInt(parts[0]);
+      assertEquals("each thread's messages should be written in the order it logged them",
+                   next[thread]++, Integer.parseInt(parts[1]));
+    }
+  }
+
+  @Test
+  public void testAsyncLoggingFacade() {
+    AppLogger._enableLogging(true);
+    AppLogger._enableAsync(64);
+    try {
+      assertTrue("logging should report itself enabled", AppLogger.isEnabled());
+      assertTrue("verbose logging should report itself enabled", AppLogger.isVerboseEnabled());
+      AppLogger.say("Test", "async {} with {} and {}", "message", 2, "arguments");
+      AppLogger.verbose("Test", "async verbose {}", "message");
+      AppLogger.flush();
+    } finally {
+      AppLogger._disableAsync();
+      AppLogger._disableLogging();
+    }
+    assertFalse("logging should report itself disabled", AppLogger.isEnabled());
+  }
+}
@@ -1,10 +1,15 @@
 package com.onf.demo.homework.cli;
 
 
+import com.onf.demo.homework.util.FileUtil;
 import org.apache.commons.cli.ParseException;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 
 /**
@@ -39,4 +44,89 @@ public final class MainTest {
     final String[] args = {"--invalidArgument"};
     Main.main(args);
   }
+
+  @Test
+  public void testMainWithDatafile() throws ParseException, IOException {
+    final String[] args = {"-f", "testsuite.json"};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainWithDatafileOnDisk() throws ParseException, IOException {
+    final File file = File.createTempFile("testsuite", ".json");
+    file.deleteOnExit();
+    try (final InputStream stream = new FileUtil().streamFromJAR("testsuite.json")) {
+      Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+    final String[] args = {"-f", file.getPath()};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainConvertsToBinary() throws ParseException, IOException {
+    final File file = File.createTempFile("testsuite", ".onfd");
+    file.deleteOnExit();
+    Main.main(new String[] {"-d", "TEST_SAMPLE", "--convert", file.getPath()});
+    Main.main(new String[] {"-f", file.getPath()});
+  }
+
+  @Test
+  public void testMainWithDataset() throws ParseException, IOException {
+    final String[] args = {"-d", "TEST_SAMPLE"};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainWithTopReport() throws ParseException, IOException {
+    final String[] args = {"--top", "3"};
+    Main.main(args);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testMainWithInvalidTopReport() throws ParseException, IOException {
+    final String[] args = {"--top", "none"};
+    Main.main(args);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testMainRejectsTopReportBeforeLoading() throws ParseException, IOException {
+    final String[] args = {"--top", "0", "-f", "does-not-exist.json"};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainWithSeed() throws ParseException, IOException {
+    final String[] args = {"--seed", "42", "--top", "3"};
+    Main.main(args);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testMainWithInvalidSeed() throws ParseException, IOException {
+    final String[] args = {"--seed", "forty-two"};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainWithStreamedGeneration() throws ParseException, IOException {
+    final String[] args = {"--stream", "--drivers", "20", "--seed", "3", "--top", "3"};
+    Main.main(args);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testMainWithInvalidDrivers() throws ParseException, IOException {
+    final String[] args = {"--drivers", "0"};
+    Main.main(args);
+  }
+
+  @Test
+  public void testMainWithHotspots() throws ParseException, IOException {
+    final String[] args = {"--hotspots", "3", "--drivers", "20", "--seed", "5", "--top", "3"};
+    Main.main(args);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testMainWithInvalidHotspots() throws ParseException, IOException {
+    final String[] args = {"--hotspots", "0"};
+    Main.main(args);
+  }
 }
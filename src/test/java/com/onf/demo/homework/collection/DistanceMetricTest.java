@@ -0,0 +1,87 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link DistanceMetric} kernels and the bounds they supply to {@link RouteIndex}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class DistanceMetricTest {
+  @Test
+  public void testKnownDistances() {
+    assertEquals("manhattan distance should sum the deltas",
+                 7.0, DistanceMetric.MANHATTAN.distance(0.0, 0.0, 3.0, -4.0), 0.0);
+    assertEquals("euclidean distance should follow pythagoras",
+                 5.0, DistanceMetric.EUCLIDEAN.distance(0.0, 0.0, 3.0, -4.0), 1e-12);
+    assertEquals("squared euclidean distance should skip the root",
+                 25.0, DistanceMetric.SQUARED_EUCLIDEAN.distance(0.0, 0.0, 3.0, -4.0), 1e-12);
+    assertEquals("haversine distance along the equator should follow the earth's radius",
+                 DistanceMetric.earthRadius * Math.PI / 2.0,
+                 DistanceMetric.HAVERSINE.distance(0.0, 0.0, 0.0, 90.0), 1e-9);
+  }
+
+  @Test
+  public void testBatchMatchesScalar() {
+    final Random random = new Random(42L);
+    final int count = 37;
+    final double[] latitudes = new double[count];
+    final double[] longitudes = new double[count];
+    for (int i = 0; i < count; i++) {
+      latitudes[i] = random.nextDouble() * 180.0 - 90.0;
+      longitudes[i] = random.nextDouble() * 360.0 - 180.0;
+    }
+
+    for (final DistanceMetric metric : DistanceMetric.values()) {
+      final double[] out = new double[count];
+      metric.distances(12.5, -33.25, latitudes, longitudes, 3, count, out);
+      for (int i = 0; i < 3; i++) {
+        assertEquals("batch kernel should only write its range", 0.0, out[i], 0.0);
+      }
+      for (int i = 3; i < count; i++) {
+        assertEquals("batch " + metric + " kernel should match the scalar kernel",
+                     metric.distance(12.5, -33.25, latitudes[i], longitudes[i]), out[i], 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testBoundsHold() {
+    final Random random = new Random(7L);
+    for (final DistanceMetric metric : DistanceMetric.values()) {
+      for (int i = 0; i < 2000; i++) {
+        final Task from = ObjectGenerator.generateTask();
+        final Task to = ObjectGenerator.generateTask();
+        final Task task = ObjectGenerator.generateTask();
+        final double fromLatitude = from.getLocation().getGeopoint().getLatitudeValue();
+        final double fromLongitude = from.getLocation().getGeopoint().getLongitudeValue();
+        final double toLatitude = to.getLocation().getGeopoint().getLatitudeValue();
+        final double toLongitude = to.getLocation().getGeopoint().getLongitudeValue();
+        final double latitude = task.getLocation().getGeopoint().getLatitudeValue();
+        final double longitude = task.getLocation().getGeopoint().getLongitudeValue();
+
+        final double boxDistance = metric.distanceToBox(
+            latitude, longitude,
+            Math.min(fromLatitude, toLatitude), Math.min(fromLongitude, toLongitude),
+            Math.max(fromLatitude, toLatitude), Math.max(fromLongitude, toLongitude));
+        final double segment = metric.distance(from, to);
+        final double detour = metric.distance(from, task) + metric.distance(task, to) - segment;
+
+        assertTrue(metric + " box distance should bound the distance to either end",
+                   boxDistance <= Math.min(metric.distance(task, from), metric.distance(task, to)) + 1e-9);
+        assertTrue(metric + " detour bound should bound the detour",
+                   metric.detourLowerBound(boxDistance, segment) <= detour + 1e-9);
+        assertTrue(metric + " detour bound should hold for any longer segment",
+                   metric.detourLowerBound(boxDistance, segment * (1.0 + random.nextDouble())) <= detour + 1e-9);
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.FixturedTest;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Tests the {@link LoadRanking}, checking its answers against a full sort of every route.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LoadRankingTest extends FixturedTest {
+  /**
+   * @return Load estimate of each route, in order.
+   */
+  private static List<Double> loadsOf(final List<Tasklist> routes) {
+    final List<Double> loads = new ArrayList<>(routes.size());
+    for (final Tasklist route : routes) loads.add(route.getLoadEstimate());
+    return loads;
+  }
+
+  @Test
+  public void testEmptyRanking() {
+    final LoadRanking ranking = new LoadRanking();
+    assertNull("empty ranking should have no least-loaded route", ranking.leastLoaded());
+    assertNull("empty ranking should have no most-loaded route", ranking.mostLoaded());
+    assertEquals("empty ranking should yield no routes", 0, ranking.mostLoaded(5).size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTrackTwice() {
+    final LoadRanking ranking = new LoadRanking();
+    final Tasklist tasklist = new Tasklist(ObjectGenerator.generateDriver());
+    ranking.track(tasklist);
+    new LoadRanking().track(tasklist);
+  }
+
+  @Test
+  public void testMatchesFullSort() {
+    final LoadRanking ranking = new LoadRanking();
+    final List<Tasklist> routes = new ArrayList<>();
+    for (final Driver driver : this.getSampleDataset().getGeneratedDrivers()) {
+      final Tasklist route = new Tasklist(driver);
+      ranking.track(route);
+      routes.add(route);
+    }
+
+    final Random random = new Random(11L);
+    for (int i = 0; i < 2000; i++) {
+      final Tasklist route = routes.get(random.nextInt(routes.size()));
+      route.insertTask(random.nextInt(route.getTaskCount() + 1), ObjectGenerator.generateTask());
+
+      if (i % 100 == 0) {
+        final List<Double> sorted = loadsOf(routes);
+        Collections.sort(sorted);
+        assertEquals("least-loaded routes should match a full sort",
+                     sorted.subList(0, 10), loadsOf(ranking.leastLoaded(10)));
+        Collections.reverse(sorted);
+        assertEquals("most-loaded routes should match a full sort",
+                     sorted.subList(0, 10), loadsOf(ranking.mostLoaded(10)));
+        assertSame("most-loaded route should head the most-loaded list",
+                   ranking.mostLoaded(1).get(0), ranking.mostLoaded());
+      }
+    }
+    assertEquals("ranking should hold every route", routes.size(), ranking.getSize());
+    assertEquals("asking for more routes than ranked should return them all",
+                 routes.size(), ranking.leastLoaded(routes.size() + 10).size());
+  }
+}
@@ -0,0 +1,154 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link MappedTaskboard} off-heap route storage.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class MappedTaskboardTest {
+  @Test
+  public void testRoundTripThroughFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+
+    final Driver driver = ObjectGenerator.generateDriver();
+    final List<Task> tasks = new ArrayList<>();
+    try (final MappedTaskboard board = MappedTaskboard.create(file, 4, 8)) {
+      final int slot = board.addDriver(driver);
+      for (int i = 0; i < 5; i++) {
+        final Task task = ObjectGenerator.generateTask();
+        board.appendTask(slot, task);
+        tasks.add(task);
+      }
+    }
+
+    try (final MappedTaskboard board = MappedTaskboard.open(file)) {
+      assertEquals("re-opened board should keep its drivers", 1, board.getDriverCount());
+      assertEquals("re-opened board should keep driver identity", driver, board.driverAt(0));
+      assertEquals("re-opened board should keep driver names", driver.getName(), board.driverAt(0).getName());
+      assertEquals("re-opened board should keep every task", tasks, Arrays.asList(board.tasksAt(0)));
+      assertEquals("re-opened board should keep coordinates",
+                   tasks.get(3).getLocation().getGeopoint(), board.taskAt(0, 3).getLocation().getGeopoint());
+      assertEquals("re-opened board should keep route distance",
+                   new Tasklist(driver, tasks).getKnownDistance(), board.getDistance(0), 1e-12);
+    }
+  }
+
+  @Test
+  public void testMetricKeptThroughFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+
+    final Driver driver = ObjectGenerator.generateDriver();
+    final List<Task> tasks = new ArrayList<>();
+    try (final MappedTaskboard board = MappedTaskboard.create(file, 1, 4, DistanceMetric.HAVERSINE)) {
+      final int slot = board.addDriver(driver);
+      for (int i = 0; i < 4; i++) {
+        final Task task = ObjectGenerator.generateTask();
+        board.appendTask(slot, task);
+        tasks.add(task);
+      }
+    }
+
+    try (final MappedTaskboard board = MappedTaskboard.open(file)) {
+      assertEquals("re-opened board should keep its metric", DistanceMetric.HAVERSINE, board.getMetric());
+      assertEquals("route distance should be measured with the board's metric",
+                   new Tasklist(driver, tasks, DistanceMetric.HAVERSINE).getKnownDistance(),
+                   board.getDistance(0), 1e-9);
+    }
+  }
+
+  @Test
+  public void testLongNamesAreCutOnCharacterBoundaries() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+
+    final StringBuilder name = new StringBuilder("a");
+    while (name.length() < MappedTaskboard.maxNameBytes) {
+      name.append('\u00e9');  // two bytes each, so the cut lands mid-character
+    }
+    try (final MappedTaskboard board = MappedTaskboard.create(file, 1, 1)) {
+      board.addDriver(Driver.factory(name.toString()));
+      final String stored = board.driverAt(0).getName();
+      assertTrue("long names should fit in their record",
+                 stored.getBytes(StandardCharsets.UTF_8).length <= MappedTaskboard.maxNameBytes);
+      assertTrue("long names should be cut between characters", name.toString().startsWith(stored));
+      assertEquals("long names should keep every whole character that fits",
+                   (MappedTaskboard.maxNameBytes - 1) / 2 + 1, stored.length());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRouteCapacity() {
+    final MappedTaskboard board = MappedTaskboard.allocate(1, 2);
+    final int slot = board.addDriver(ObjectGenerator.generateDriver());
+    for (int i = 0; i < 3; i++) {
+      board.appendTask(slot, ObjectGenerator.generateTask());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDriverCapacity() {
+    final MappedTaskboard board = MappedTaskboard.allocate(1, 2);
+    board.addDriver(ObjectGenerator.generateDriver());
+    board.addDriver(ObjectGenerator.generateDriver());
+  }
+
+  @Test
+  public void testFileStartsWithMagic() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+    MappedTaskboard.create(file, 1, 1).close();
+    final byte[] start = Arrays.copyOf(Files.readAllBytes(file.toPath()), 4);
+    assertEquals("taskboard files should start with ONFB", "ONFB", new String(start, StandardCharsets.US_ASCII));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsEmptyFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+    MappedTaskboard.open(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsTruncatedFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+    MappedTaskboard.create(file, 4, 8).close();
+    try (final RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+      raw.setLength(raw.length() - 1);
+    }
+    MappedTaskboard.open(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsForeignFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), new byte[(int)MappedTaskboard.sizeFor(1, 1)]);
+    MappedTaskboard.open(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOversizedBoard() {
+    MappedTaskboard.allocate(1000000, 1000000);
+  }
+}
@@ -0,0 +1,95 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.FixturedTest;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+
+/**
+ * Tests the {@link RouteIndex}, checking its answers against a brute-force scan of every route.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class RouteIndexTest extends FixturedTest {
+  /**
+   * Find the cheapest insertion cost across a set of routes, the slow way.
+   */
+  private static double bruteForceCost(final List<Tasklist> routes, final Task task) {
+    double cheapest = Double.MAX_VALUE;
+    for (final Tasklist route : routes) {
+      cheapest = Math.min(cheapest, route.costToInsertTask(route.cheapestInsertionIndex(task), task));
+    }
+    return cheapest;
+  }
+
+  @Test
+  public void testEmptyIndex() {
+    final RouteIndex index = new RouteIndex();
+    index.track(new Tasklist(ObjectGenerator.generateDriver()));
+    assertEquals("index of empty routes should hold no positions", 0, index.getSize());
+    assertNull("index of empty routes should yield no insertion",
+               index.resolveCheapestInsertion(ObjectGenerator.generateTask()));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTrackTwice() {
+    final RouteIndex index = new RouteIndex();
+    final Tasklist tasklist = new Tasklist(ObjectGenerator.generateDriver());
+    index.track(tasklist);
+    index.track(tasklist);
+  }
+
+  /**
+   * Build an index over one single-task route per sample driver, then check each of a stream of
+   * insertions against a brute-force scan, under a given metric.
+   */
+  private void checkMatchesBruteForce(final DistanceMetric metric, final int insertions) {
+    final RouteIndex index = new RouteIndex(metric);
+    final List<Tasklist> routes = new ArrayList<>();
+    for (final Driver driver : this.getSampleDataset().getGeneratedDrivers()) {
+      final Tasklist route = new Tasklist(driver, metric);
+      final Task first = ObjectGenerator.generateTask();
+      route.assignTask(first);
+      index.track(route);
+      routes.add(route);
+    }
+
+    int expectedSize = 2 * routes.size();
+    for (int i = 0; i < insertions; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      final Insertion insertion = index.resolveCheapestInsertion(task);
+      assertNotNull("populated index should always yield an insertion", insertion);
+      assertEquals("indexed insertion should match brute force under " + metric,
+                   bruteForceCost(routes, task), insertion.getCost(), 1e-9);
+      assertEquals("indexed insertion cost should match its position",
+                   insertion.getTasklist().costToInsertTask(insertion.getIndex(), task),
+                   insertion.getCost(), 1e-9);
+
+      insertion.getTasklist().insertTask(insertion.getIndex(), task);
+      index.recordInsertion(insertion.getTasklist(), insertion.getIndex(), task);
+      expectedSize++;
+      assertEquals("index should hold one position per route slot", expectedSize, index.getSize());
+    }
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    this.checkMatchesBruteForce(DistanceMetric.MANHATTAN, 1500);
+  }
+
+  @Test
+  public void testMatchesBruteForceUnderEachMetric() {
+    for (final DistanceMetric metric : DistanceMetric.values()) {
+      this.checkMatchesBruteForce(metric, 500);
+    }
+  }
+}
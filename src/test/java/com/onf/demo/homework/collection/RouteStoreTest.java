@@ -0,0 +1,101 @@
+package com.onf.demo.homework.collection;
+
+
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Tests the {@link RouteStore} primitive route storage.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class RouteStoreTest {
+  @Test
+  public void testInsertKeepsCoordinatesAligned() {
+    final RouteStore store = new RouteStore(2);
+    final List<Task> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      final int index = (i * 7) % (store.size() + 1);
+      store.add(index, task);
+      expected.add(index, task);
+    }
+
+    assertEquals("store should hold tasks in insertion order", expected, new ArrayList<>(store));
+    for (int i = 0; i < expected.size(); i++) {
+      final Task task = expected.get(i);
+      assertEquals("latitude should follow its task", task.getLocation().getGeopoint().getLatitude(),
+                   store.latitudeAt(i), 0.0);
+      assertEquals("longitude should follow its task", task.getLocation().getGeopoint().getLongitude(),
+                   store.longitudeAt(i), 0.0);
+    }
+  }
+
+  @Test
+  public void testDistanceMatchesTaskDistance() {
+    final RouteStore store = new RouteStore();
+    final Task first = ObjectGenerator.generateTask();
+    final Task second = ObjectGenerator.generateTask();
+    store.add(first);
+    assertEquals("primitive distance should match task distance",
+                 Tasklist.calculateDistanceForPoints(first, second),
+                 store.distanceFrom(DistanceMetric.MANHATTAN, 0,
+                                    second.getLocation().getGeopoint().getLatitude(),
+                                    second.getLocation().getGeopoint().getLongitude()), 0.0);
+  }
+
+  @Test
+  public void testSnapshotSurvivesInsertion() {
+    final RouteStore store = new RouteStore(4);
+    final List<Task> expected = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      store.add(task);
+      expected.add(task);
+    }
+
+    final RouteSnapshot snapshot = store.snapshot(ObjectGenerator.generateDriver(), 0.0, DistanceMetric.MANHATTAN);
+    final Task[] shared = store.tasks;
+    store.add(0, ObjectGenerator.generateTask());
+    store.add(2, ObjectGenerator.generateTask());
+    store.add(ObjectGenerator.generateTask());
+
+    assertEquals("snapshot should not see later insertions", expected, new ArrayList<>(snapshot));
+    assertEquals("store should see every insertion", 7, store.size());
+    assertEquals("snapshot coordinates should stay with their tasks",
+                 expected.get(3).getLocation().getGeopoint().getLatitudeValue(), snapshot.latitudeAt(3), 0.0);
+    assertNotSame("store should move off of arrays a snapshot is using", shared, store.tasks);
+  }
+
+  @Test
+  public void testSnapshotSharesOnAppend() {
+    final RouteStore store = new RouteStore(8);
+    store.add(ObjectGenerator.generateTask());
+    final RouteSnapshot snapshot = store.snapshot(ObjectGenerator.generateDriver(), 0.0, DistanceMetric.MANHATTAN);
+    final Task[] shared = store.tasks;
+    store.add(ObjectGenerator.generateTask());
+
+    assertSame("appending should not copy a shared route", shared, store.tasks);
+    assertEquals("snapshot should not see later appends", 1, snapshot.size());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInsertOutOfBounds() {
+    new RouteStore().add(1, ObjectGenerator.generateTask());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRemoveUnsupported() {
+    final RouteStore store = new RouteStore();
+    store.add(ObjectGenerator.generateTask());
+    store.remove(0);
+  }
+}
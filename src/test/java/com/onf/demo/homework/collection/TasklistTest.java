@@ -6,9 +6,12 @@ import com.onf.demo.homework.manager.TaskManager;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Assume;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.Collections;
+import java.util.Iterator;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -30,6 +33,12 @@ public final class TasklistTest extends FixturedTest {
     assertEquals("tasklist should start with 0 load estimate", (Double)0.0d, tasklist.getLoadEstimate());
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAssignedTasksAreReadOnly() {
+    final Tasklist tasklist = new Tasklist(ObjectGenerator.generateDriver());
+    tasklist.getAssignedTasks().add(ObjectGenerator.generateTask());
+  }
+
   @Test
   public void testConstructWithTask() {
     final Driver driver = this.getSampleDataset().getGeneratedDrivers().iterator().next();
@@ -47,4 +56,75 @@ public final class TasklistTest extends FixturedTest {
     assertTrue("tasklist.equals should operate consistently", tasklist.equals(tasklist2));
     assertEquals("tasklist.hashCode should operate consistently", tasklist.hashCode(), tasklist2.hashCode());
   }
+
+  @Test
+  public void testInsertTask() {
+    final Driver driver = this.getSampleDataset().getGeneratedDrivers().iterator().next();
+    final Tasklist tasklist = new Tasklist(driver);
+    for (int i = 0; i < 40; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      final Insertion cheapest = tasklist.cheapestInsertion(task);
+      assertEquals("cheapest insertion should carry the cost of its position",
+                   tasklist.costToInsertTask(cheapest.getIndex(), task), cheapest.getCost(), 1e-9);
+      assertEquals("cheapest index should match the cheapest insertion",
+                   cheapest.getIndex(), tasklist.cheapestInsertionIndex(task));
+      tasklist.insertTask(cheapest.getIndex(), task);
+    }
+    final Task first = ObjectGenerator.generateTask();
+    tasklist.insertTask(0, first);
+    final Task middle = ObjectGenerator.generateTask();
+    tasklist.insertTask(20, middle);
+
+    // recompute the route length from scratch and compare
+    double expectedDistance = 0.0;
+    Task lastTask = null;
+    final Iterator<Task> tasks = tasklist.getAssignedTasks().iterator();
+    while (tasks.hasNext()) {
+      final Task task = tasks.next();
+      expectedDistance += Tasklist.calculateDistanceForPoints(lastTask, task);
+      lastTask = task;
+    }
+    assertEquals("tasklist should have all inserted tasks", (Integer)42, tasklist.getTaskCount());
+    assertEquals("first inserted task should lead the route", first, tasklist.getAssignedTasks().iterator().next());
+    assertEquals("last assigned task should track the end of the route", lastTask, tasklist.getLastAssignedTask());
+    assertEquals("known distance should match the route after insertions",
+                 expectedDistance, tasklist.getKnownDistance(), 1e-9);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInsertTaskOutOfBounds() {
+    final Driver driver = this.getSampleDataset().getGeneratedDrivers().iterator().next();
+    final Tasklist tasklist = new Tasklist(driver, Collections.singleton(ObjectGenerator.generateTask()));
+    tasklist.insertTask(2, ObjectGenerator.generateTask());
+  }
+
+  @Test
+  public void testDistanceCalculationDoesNotAllocate() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue("allocation counters need the HotSpot thread bean",
+                      bean instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+    Assume.assumeTrue("allocation counters must be enabled", threads.isThreadAllocatedMemoryEnabled());
+
+    final Task first = ObjectGenerator.generateTask();
+    final Task second = ObjectGenerator.generateTask();
+    final int iterations = 200000;
+    double total = 0.0;
+    for (int i = 0; i < iterations; i++) {
+      total += Tasklist.calculateDistanceForPoints(first, second);  // warm up
+    }
+
+    final long threadId = Thread.currentThread().getId();
+    final long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      total += Tasklist.calculateDistanceForPoints(first, second);
+    }
+    final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+    assertTrue("distance should be positive", total > 0.0);
+    // boxing even one coordinate per call would allocate megabytes here; leave room for the
+    // counter's own bookkeeping
+    assertTrue("distance calculation should not allocate, but allocated " + allocated + " bytes",
+               allocated < 4096);
+  }
 }
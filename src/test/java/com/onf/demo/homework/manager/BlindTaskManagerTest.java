@@ -1,12 +1,16 @@
 package com.onf.demo.homework.manager;
 
 
+import com.onf.demo.homework.collection.Tasklist;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import com.onf.demo.homework.util.ObjectGenerator;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.LinkedHashSet;
+import java.util.Map;
+
 
 /**
  * Applies {@link TaskAssignerTest}-based logic to {@link BlindTaskManager}.
@@ -29,6 +33,58 @@ public final class BlindTaskManagerTest extends TaskAssignerTest {
     blind.assignToDriver(lowestCost, task);
   }
 
+  @Test
+  public void testDuplicateAssignmentLeavesBoardSizeAlone() {
+    final BlindTaskManager blind = new BlindTaskManager(TaskManager.setupWithDataset(this.getSampleDataset()));
+    final Task task = ObjectGenerator.generateTask();
+    final Driver driver = blind.resolveLowestCostAssignment(task);
+    blind.assignToDriver(driver, task);
+    final long assignsBefore = blind.metrics().getAssignCount();
+    blind.assignToDriver(driver, task);
+
+    long boardTasks = 0L;
+    for (final LinkedHashSet<Task> route : blind.export().values()) {
+      boardTasks += route.size();
+    }
+    Assert.assertEquals("board size should match the tasks actually on the board", boardTasks, blind.boardTasks.get());
+    Assert.assertEquals("a duplicate should not count as an assignment", assignsBefore, blind.metrics().getAssignCount());
+  }
+
+  @Test
+  public void testRouteCacheTracksAssignments() {
+    final BlindTaskManager blind = new BlindTaskManager(TaskManager.setupWithDataset(this.getSampleDataset()));
+    for (int i = 0; i < 25; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      blind.assignToDriver(blind.resolveLowestCostAssignment(task), task);
+    }
+    blind.assignToDriver(ObjectGenerator.generateDriver(), ObjectGenerator.generateTask());
+
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : blind.export().entrySet()) {
+      final Tasklist recomputed = new Tasklist(entry.getKey(), entry.getValue());
+      final BlindTaskManager.RouteSummary summary = blind.routeCache.get(entry.getKey());
+      Assert.assertEquals("cached route distance should match a full walk of the route",
+                          recomputed.getKnownDistance(), summary.summedDistance, 1e-9);
+      Assert.assertSame("cached last task should match the end of the route",
+                        recomputed.getLastAssignedTask(), summary.lastTask);
+    }
+  }
+
+  @Test
+  public void testParallelResolutionMatchesSequential() {
+    final TaskManager manager = TaskManager.setupWithDataset(this.getSampleDataset());
+    final BlindTaskManager sequential = new BlindTaskManager(manager);
+    final BlindTaskManager parallel = new BlindTaskManager(
+        manager, ManagerSpec.defaultSpec().withThreads(4).withParallelThreshold(1));
+    for (int i = 0; i < 100; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      final Driver sequentialDriver = sequential.resolveLowestCostAssignment(task);
+      Assert.assertEquals("parallel and sequential resolution should pick the same driver",
+                          sequentialDriver, parallel.resolveLowestCostAssignment(task));
+      sequential.assignToDriver(sequentialDriver, task);
+      parallel.assignToDriver(sequentialDriver, task);
+    }
+  }
+
   @Test
   public void testResolutionConsistency() {
     this.testResolutionForConsistency(new BlindTaskManager(
@@ -46,4 +102,19 @@ public final class BlindTaskManagerTest extends TaskAssignerTest {
     this.testAssignMultipleTasks(new BlindTaskManager(
         TaskManager.setupWithDataset(this.getSampleDataset())));
   }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(new BlindTaskManager(TaskManager.setupWithDataset(this.getSampleDataset())));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(new BlindTaskManager(TaskManager.setupWithDataset(this.getSampleDataset())));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(new BlindTaskManager(TaskManager.setupWithDataset(this.getSampleDataset())));
+  }
 }
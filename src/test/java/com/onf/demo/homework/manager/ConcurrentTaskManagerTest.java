@@ -0,0 +1,148 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Applies {@link TaskAssignerTest}-based logic to {@link ConcurrentTaskManager}.
+ */
+@SuppressWarnings("unused")
+public final class ConcurrentTaskManagerTest extends TaskAssignerTest {
+  @Test
+  public void testConstructViaPublicAPI() {
+    final ConcurrentTaskManager manager = ConcurrentTaskManager.setupWithDataset(this.getSampleDataset());
+    assertNotNull("ConcurrentTaskManager should not be null when factoried", manager);
+  }
+
+  @Test
+  public void testSnapshotMatchesCopiedRoute() {
+    final ConcurrentTaskManager manager = ConcurrentTaskManager.setupWithDataset(this.getSampleDataset());
+    for (final Map.Entry<Driver, RouteSnapshot> entry : manager.snapshot().entrySet()) {
+      final RouteSnapshot view = entry.getValue();
+      final Task firstTask = view.getFirstTask();
+      final RouteSnapshot copy = RouteSnapshot.of(entry.getKey(), new ArrayList<>(view), view.getMetric());
+      assertEquals("snapshot should know its last task without reading the route",
+                   copy.getLastTask(), view.getLastTask());
+      assertEquals("snapshot should know its length without reading the route",
+                   copy.getKnownDistance(), view.getKnownDistance(), 1e-9);
+      assertEquals("snapshot should know its first task without reading the route",
+                   copy.getFirstTask(), firstTask);
+      assertEquals("snapshot should list the route's tasks", copy, view);
+      for (int index = 0; index < view.size(); index++) {
+        assertEquals("snapshot should expose each task's latitude",
+                     copy.latitudeAt(index), view.latitudeAt(index), 0.0);
+        assertEquals("snapshot should expose each task's longitude",
+                     copy.longitudeAt(index), view.longitudeAt(index), 0.0);
+      }
+    }
+  }
+
+  @Test
+  public void testSingleThreadedMatchesTaskManager() {
+    final TaskManager reference = TaskManager.setupWithDataset(this.getSampleDataset());
+    final ConcurrentTaskManager concurrent = ConcurrentTaskManager.setupWithDataset(this.getSampleDataset());
+
+    final Map<Driver, LinkedHashSet<Task>> referenceBoard = reference.export();
+    final Map<Driver, LinkedHashSet<Task>> concurrentBoard = concurrent.export();
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : referenceBoard.entrySet()) {
+      assertEquals("single-threaded concurrent assignment should match TaskManager",
+                   new ArrayList<>(entry.getValue()),
+                   new ArrayList<>(concurrentBoard.get(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void testConcurrentAssignment() throws InterruptedException {
+    final ConcurrentTaskManager manager = ConcurrentTaskManager.setupWithDataset(this.getSampleDataset());
+    final int threads = 8;
+    final int tasksPerThread = 250;
+    final List<List<Task>> batches = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      final List<Task> batch = new ArrayList<>(tasksPerThread);
+      for (int j = 0; j < tasksPerThread; j++) {
+        batch.add(ObjectGenerator.generateTask());
+      }
+      batches.add(batch);
+    }
+
+    final List<Thread> workers = new ArrayList<>(threads);
+    for (final List<Task> batch : batches) {
+      workers.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          manager.assignAll(batch);
+        }
+      }));
+    }
+    for (final Thread worker : workers) {
+      worker.start();
+    }
+    for (final Thread worker : workers) {
+      worker.join();
+    }
+
+    final Set<Task> assigned = new HashSet<>();
+    int assignedCount = 0;
+    for (final LinkedHashSet<Task> route : manager.export().values()) {
+      assigned.addAll(route);
+      assignedCount += route.size();
+    }
+    assertEquals("no task should be lost or duplicated under contention",
+                 this.getSampleDataset().getGeneratedTasks().size() + threads * tasksPerThread,
+                 assignedCount);
+    for (final List<Task> batch : batches) {
+      assertTrue("every task should be assigned", assigned.containsAll(batch));
+    }
+
+    for (final Driver driver : manager.export().keySet()) {
+      final Tasklist tasklist = manager.tasklistForDriver(driver);
+      assertNotNull("known driver should have a tasklist", tasklist);
+      assertEquals("published route distance should match its tasks",
+                   new Tasklist(driver, tasklist.getAssignedTasks()).getKnownDistance(),
+                   manager.taskboard.get(driver).route == null
+                       ? 0.0 : manager.taskboard.get(driver).route.distance, 1e-9);
+    }
+  }
+
+  @Test
+  public void testResolutionConsistency() {
+    this.testResolutionForConsistency(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignTaskToPreviouslyUnknownDriver() {
+    this.testAssignTaskToPreviouslyUnknownDriver(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignMultipleTasks() {
+    this.testAssignMultipleTasks(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(ConcurrentTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+}
@@ -0,0 +1,84 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.Insertion;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+
+/**
+ * Applies {@link TaskAssignerTest}-based logic to {@link IndexedTaskManager}.
+ */
+@SuppressWarnings("unused")
+public final class IndexedTaskManagerTest extends TaskAssignerTest {
+  @Test
+  public void testConstructViaPublicAPI() {
+    final IndexedTaskManager manager = IndexedTaskManager.setupWithDataset(this.getSampleDataset());
+    assertNotNull("IndexedTaskManager should not be null when factoried", manager);
+  }
+
+  /**
+   * Check a stream of resolves against a full scan of every route.
+   */
+  private static void checkResolutionMatchesFullScan(final IndexedTaskManager manager) {
+    for (int i = 0; i < 50; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      double cheapest = Double.MAX_VALUE;
+      for (final Tasklist tasklist : manager.taskboard.values()) {
+        cheapest = Math.min(cheapest, tasklist.costToInsertTask(tasklist.cheapestInsertionIndex(task), task));
+      }
+      final Insertion insertion = manager.resolveLowestCostInsertion(task);
+      assertEquals("indexed resolution should find the cheapest insertion", cheapest, insertion.getCost(), 1e-9);
+      manager.commitInsertion(insertion, task);
+    }
+  }
+
+  @Test
+  public void testResolutionMatchesFullScan() {
+    checkResolutionMatchesFullScan(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testResolutionMatchesFullScanUnderEachMetric() {
+    for (final DistanceMetric metric : DistanceMetric.values()) {
+      checkResolutionMatchesFullScan(IndexedTaskManager.setupWithDataset(
+          this.getSampleDataset(), ManagerSpec.defaultSpec().withMetric(metric)));
+    }
+  }
+
+  @Test
+  public void testResolutionConsistency() {
+    this.testResolutionForConsistency(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignTaskToPreviouslyUnknownDriver() {
+    this.testAssignTaskToPreviouslyUnknownDriver(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignMultipleTasks() {
+    this.testAssignMultipleTasks(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(IndexedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+}
@@ -0,0 +1,74 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.collection.Insertion;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.ObjectGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Applies {@link TaskAssignerTest}-based logic to {@link InsertionTaskManager}.
+ */
+@SuppressWarnings("unused")
+public final class InsertionTaskManagerTest extends TaskAssignerTest {
+  @Test
+  public void testConstructViaPublicAPI() {
+    final InsertionTaskManager manager = InsertionTaskManager.setupWithDataset(this.getSampleDataset());
+    assertNotNull("InsertionTaskManager should not be null when factoried", manager);
+  }
+
+  @Test
+  public void testInsertionNeverCostsMoreThanAppending() {
+    final InsertionTaskManager manager = InsertionTaskManager.setupWithDataset(this.getSampleDataset());
+    final Task task = ObjectGenerator.generateTask();
+    final Insertion insertion = manager.resolveLowestCostInsertion(task);
+
+    for (final Tasklist tasklist : manager.taskboard.values()) {
+      assertTrue("best insertion should be no worse than appending to any route",
+                 insertion.getCost() <= tasklist.costToAssignTask(task));
+    }
+
+    final double distanceBefore = insertion.getTasklist().getKnownDistance();
+    manager.commitInsertion(insertion, task);
+    assertEquals("committing an insertion should add exactly its cost to the route",
+                 distanceBefore + insertion.getCost(),
+                 insertion.getTasklist().getKnownDistance(),
+                 1e-9);
+  }
+
+  @Test
+  public void testResolutionConsistency() {
+    this.testResolutionForConsistency(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignTaskToPreviouslyUnknownDriver() {
+    this.testAssignTaskToPreviouslyUnknownDriver(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignMultipleTasks() {
+    this.testAssignMultipleTasks(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(InsertionTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+}
@@ -0,0 +1,95 @@
+package com.onf.demo.homework.manager;
+
+
+import com.onf.demo.homework.collection.MappedTaskboard;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+
+/**
+ * Applies {@link TaskAssignerTest}-based logic to {@link MappedTaskManager}.
+ */
+@SuppressWarnings("unused")
+public final class MappedTaskManagerTest extends TaskAssignerTest {
+  @Test
+  public void testConstructViaPublicAPI() {
+    final MappedTaskManager manager = MappedTaskManager.setupWithDataset(this.getSampleDataset());
+    assertNotNull("MappedTaskManager should not be null when factoried", manager);
+  }
+
+  @Test
+  public void testMatchesTaskManager() {
+    final int tasks = this.getSampleDataset().getGeneratedTasks().size();
+    final int drivers = this.getSampleDataset().getGeneratedDrivers().size();
+    final TaskManager reference = TaskManager.setupWithDataset(this.getSampleDataset());
+    final MappedTaskManager mapped = MappedTaskManager.setupWithDataset(
+        this.getSampleDataset(), MappedTaskboard.allocate(drivers, tasks));
+    assertBoardsMatch(reference.export(), mapped.export());
+  }
+
+  @Test
+  public void testRestartFromFile() throws IOException {
+    final File file = File.createTempFile("taskboard", ".bin");
+    file.deleteOnExit();
+    final int tasks = this.getSampleDataset().getGeneratedTasks().size();
+    final int drivers = this.getSampleDataset().getGeneratedDrivers().size();
+
+    final Map<Driver, LinkedHashSet<Task>> before;
+    try (final MappedTaskboard board = MappedTaskboard.create(file, drivers, tasks)) {
+      before = MappedTaskManager.setupWithDataset(this.getSampleDataset(), board).export();
+    }
+    try (final MappedTaskboard board = MappedTaskboard.open(file)) {
+      assertBoardsMatch(before, MappedTaskManager.withBoard(board).export());
+    }
+  }
+
+  private static void assertBoardsMatch(final Map<Driver, LinkedHashSet<Task>> expected,
+                                        final Map<Driver, LinkedHashSet<Task>> actual) {
+    assertEquals("boards should have the same drivers", expected.keySet(), actual.keySet());
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : expected.entrySet()) {
+      assertEquals("boards should have identical routes",
+                   new ArrayList<>(entry.getValue()),
+                   new ArrayList<>(actual.get(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void testResolutionConsistency() {
+    this.testResolutionForConsistency(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignTaskToPreviouslyUnknownDriver() {
+    this.testAssignTaskToPreviouslyUnknownDriver(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignMultipleTasks() {
+    this.testAssignMultipleTasks(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(MappedTaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+}
@@ -0,0 +1,35 @@
+package com.onf.demo.homework.manager;
+
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Test the {@link ParallelResolver} that large boards are resolved with.
+ */
+public final class ParallelResolverTest {
+  @Test
+  public void testResolversSharePools() {
+    assertSame("resolvers with the same thread count should share a pool",
+               ParallelResolver.sharedPool(3), ParallelResolver.sharedPool(3));
+    assertNotSame("resolvers with different thread counts should not share a pool",
+                  ParallelResolver.sharedPool(3), ParallelResolver.sharedPool(5));
+    assertEquals("shared pools should have the requested parallelism", 5, ParallelResolver.sharedPool(5).getParallelism());
+  }
+
+  @Test
+  public void testResolvesLowestIndexOnTies() {
+    final ParallelResolver resolver = new ParallelResolver(ManagerSpec.defaultSpec().withThreads(2));
+    final ParallelResolver.Candidate candidate = resolver.resolve(1000, new ParallelResolver.CandidateCosts() {
+      @Override
+      public double costAt(final int index) {
+        return index % 100;
+      }
+    });
+    assertEquals("ties should go to the lowest index", 0, candidate.index);
+  }
+}
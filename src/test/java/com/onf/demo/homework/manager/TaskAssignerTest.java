@@ -3,7 +3,10 @@ package com.onf.demo.homework.manager;
 
 import com.onf.demo.homework.FixturedTest;
 import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.collection.RouteSnapshot;
 import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.metrics.AssignerMetrics;
+import com.onf.demo.homework.metrics.MetricsRegistry;
 import com.onf.demo.homework.struct.Driver;
 import com.onf.demo.homework.struct.Task;
 import com.onf.demo.homework.util.ObjectGenerator;
@@ -11,6 +14,9 @@ import org.junit.Assert;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 
 
 /**
@@ -88,4 +94,74 @@ abstract class TaskAssignerTest extends FixturedTest {
     tasklist.add(generatedTask3);
     assigner.assignToDriver(generatedDriver, tasklist);
   }
+
+  /**
+   * Test resolving and assigning a batch of tasks in one call.
+   *
+   * @param assigner Assigning manager implementation.
+   */
+  void testAssignAll(final TaskAssigner assigner) {
+    final Collection<Task> tasks = new ArrayList<>(20);
+    for (int i = 0; i < 20; i++) {
+      tasks.add(ObjectGenerator.generateTask());
+    }
+    assigner.assignAll(tasks);
+
+    final Collection<Task> assigned = new HashSet<>();
+    for (final Collection<Task> route : assigner.export().values()) {
+      assigned.addAll(route);
+    }
+    Assert.assertTrue("every task in a batch should be assigned to some driver",
+                      assigned.containsAll(tasks));
+  }
+
+  /**
+   * Test that a snapshot matches the board when taken, and doesn't change as more tasks are
+   * assigned.
+   *
+   * @param assigner Assigning manager implementation.
+   */
+  void testSnapshotIsStable(final TaskAssigner assigner) {
+    final Map<Driver, RouteSnapshot> snapshot = assigner.snapshot();
+    final Map<Driver, LinkedHashSet<Task>> exported = assigner.export();
+    Assert.assertEquals("snapshot should cover every driver", exported.keySet(), snapshot.keySet());
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : exported.entrySet()) {
+      Assert.assertEquals("snapshot should match the exported route",
+                          new ArrayList<>(entry.getValue()), snapshot.get(entry.getKey()));
+    }
+
+    for (int i = 0; i < 50; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      assigner.assignToDriver(assigner.resolveLowestCostAssignment(task), task);
+    }
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : exported.entrySet()) {
+      Assert.assertEquals("snapshot should not change as tasks are assigned",
+                          new ArrayList<>(entry.getValue()), snapshot.get(entry.getKey()));
+    }
+  }
+
+  /**
+   * Test that resolving and assigning tasks is reported to the assigner's metrics.
+   *
+   * @param assigner Assigning manager implementation.
+   */
+  void testMetricsAreRecorded(final TaskAssigner assigner) {
+    final AssignerMetrics metrics = assigner.metrics();
+    final long resolvesBefore = metrics.getResolveCount();
+    final long assignsBefore = metrics.getAssignCount();
+    for (int i = 0; i < 10; i++) {
+      final Task task = ObjectGenerator.generateTask();
+      assigner.assignToDriver(assigner.resolveLowestCostAssignment(task), task);
+    }
+
+    Assert.assertTrue("every resolve should be counted",
+                      metrics.getResolveCount() - resolvesBefore >= 10);
+    Assert.assertTrue("every assign should be counted",
+                      metrics.getAssignCount() - assignsBefore >= 10);
+    Assert.assertTrue("resolves should evaluate at least one candidate",
+                      metrics.getCandidatesMax() >= 1);
+    Assert.assertTrue("board size should be reported", metrics.getTasks() > 0);
+    Assert.assertSame("metrics should be shared by every manager of a kind", metrics,
+                      MetricsRegistry.global().assigner(assigner.getClass().getSimpleName()));
+  }
 }
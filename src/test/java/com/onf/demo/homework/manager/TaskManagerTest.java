@@ -2,8 +2,29 @@ package com.onf.demo.homework.manager;
 
 
 import com.onf.demo.homework.TaskAssigner;
+import com.onf.demo.homework.collection.DistanceMetric;
+import com.onf.demo.homework.collection.RouteSnapshot;
+import com.onf.demo.homework.collection.Tasklist;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import com.onf.demo.homework.util.DatasetLoader;
+import com.onf.demo.homework.util.DatasetSpec;
+import com.onf.demo.homework.util.GeneratedDataset;
+import com.onf.demo.homework.util.SampleDataset;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 
@@ -18,6 +39,108 @@ public final class TaskManagerTest extends TaskAssignerTest {
     assertNotNull("TaskManager should not be null when factoried", manager);
   }
 
+  @Test
+  public void testStreamedSetupMatchesSetup() throws IOException {
+    final byte[] json = this.objectMapper().writeValueAsBytes(this.getSampleDataset());
+    final ManagerSpec batchSpec = ManagerSpec.defaultSpec()
+        .withThreads(4).withParallelThreshold(1).withBatchWindow(7);
+    final TaskManager loaded = TaskManager.setupWithDataset(this.getSampleDataset());
+    for (final ManagerSpec spec : Arrays.asList(ManagerSpec.defaultSpec(), batchSpec)) {
+      final TaskManager streamed;
+      try (final DatasetLoader loader = new DatasetLoader(new ByteArrayInputStream(json))) {
+        streamed = TaskManager.setupWithLoader(loader, spec);
+      }
+      assertEquals("streamed setup should build the same board as setup from a loaded dataset",
+                   loaded.export(), streamed.export());
+      for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : loaded.export().entrySet()) {
+        assertEquals("streamed setup should build identical routes",
+                     new ArrayList<>(entry.getValue()),
+                     new ArrayList<>(streamed.export().get(entry.getKey())));
+      }
+    }
+  }
+
+  @Test
+  public void testGeneratedStreamMatchesSetup() throws IOException {
+    final DatasetSpec spec = DatasetSpec.defaultSpec().withSeed(2024L);
+    final TaskManager loaded = TaskManager.setupWithDataset(SampleDataset.generateDataset(spec));
+    final TaskManager streamed;
+    try (final GeneratedDataset generated = SampleDataset.streamDataset(spec)) {
+      streamed = TaskManager.setupWithLoader(generated);
+    }
+    assertEquals("generating tasks during setup should build the same board as generating them first",
+                 loaded.export(), streamed.export());
+  }
+
+  @Test(expected = IOException.class)
+  public void testStreamedSetupSurfacesReadErrors() throws IOException {
+    final String json = "{\"drivers\": [{\"uuid\": \"ed01d72e-02f8-4ba3-be22-d00fe19b3632\", \"name\": \"Bill Withers\"}], "
+        + "\"tasks\": [{\"uuid\": \"9f9b2efd-2663-4c69-90e0-006b2dd3c631\", "
+        + "\"location\": {\"uuid\": \"01255ee2-2c30-42a7-85e6-f84d95e0b7da\", "
+        + "\"geopoint\": {\"latitude\": -122.69414, \"longitude\": 37.7272391}}}, ";
+    try (final DatasetLoader loader = new DatasetLoader(
+        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+      TaskManager.setupWithLoader(loader);
+    }
+  }
+
+  @Test
+  public void testParallelResolutionMatchesSequential() {
+    final ManagerSpec parallelSpec = ManagerSpec.defaultSpec().withThreads(4).withParallelThreshold(1);
+    final TaskManager sequential = TaskManager.setupWithDataset(this.getSampleDataset());
+    final TaskManager parallel = TaskManager.setupWithDataset(this.getSampleDataset(), parallelSpec);
+
+    final Map<Driver, LinkedHashSet<Task>> sequentialBoard = sequential.export();
+    final Map<Driver, LinkedHashSet<Task>> parallelBoard = parallel.export();
+    assertEquals("parallel and sequential boards should have the same drivers",
+                 sequentialBoard.keySet(), parallelBoard.keySet());
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : sequentialBoard.entrySet()) {
+      assertEquals("parallel and sequential resolution should build identical routes",
+                   new ArrayList<>(entry.getValue()),
+                   new ArrayList<>(parallelBoard.get(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void testBatchAssignmentMatchesSequential() {
+    final ManagerSpec batchSpec = ManagerSpec.defaultSpec()
+        .withThreads(4).withParallelThreshold(1).withBatchWindow(7);
+    final TaskManager sequential = TaskManager.setupWithDataset(this.getSampleDataset());
+    final TaskManager batched = TaskManager.setupWithDataset(this.getSampleDataset(), batchSpec);
+
+    final Map<Driver, LinkedHashSet<Task>> sequentialBoard = sequential.export();
+    final Map<Driver, LinkedHashSet<Task>> batchedBoard = batched.export();
+    for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : sequentialBoard.entrySet()) {
+      assertEquals("batched and sequential assignment should build identical routes",
+                   new ArrayList<>(entry.getValue()),
+                   new ArrayList<>(batchedBoard.get(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void testParallelResolutionMatchesSequentialUnderEachMetric() {
+    for (final DistanceMetric metric : DistanceMetric.values()) {
+      final ManagerSpec spec = ManagerSpec.defaultSpec().withMetric(metric);
+      final TaskManager sequential = TaskManager.setupWithDataset(this.getSampleDataset(), spec);
+      final TaskManager parallel = TaskManager.setupWithDataset(
+          this.getSampleDataset(), spec.withThreads(4).withParallelThreshold(1));
+
+      final Map<Driver, LinkedHashSet<Task>> parallelBoard = parallel.export();
+      for (final Map.Entry<Driver, LinkedHashSet<Task>> entry : sequential.export().entrySet()) {
+        assertEquals("parallel and sequential resolution should agree under " + metric,
+                     new ArrayList<>(entry.getValue()),
+                     new ArrayList<>(parallelBoard.get(entry.getKey())));
+        assertEquals("routes should be measured with the spec's metric",
+                     metric, sequential.tasklistForDriver(entry.getKey()).getMetric());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidManagerSpec() {
+    ManagerSpec.defaultSpec().withThreads(0);
+  }
+
   @Test
   public void testResolutionConsistency() {
     this.testResolutionForConsistency(TaskManager.setupWithDataset(this.getSampleDataset()));
@@ -32,4 +155,82 @@ public final class TaskManagerTest extends TaskAssignerTest {
   public void testAssignMultipleTasks() {
     this.testAssignMultipleTasks(TaskManager.setupWithDataset(this.getSampleDataset()));
   }
+
+  @Test
+  public void testAssignAll() {
+    this.testAssignAll(TaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    this.testSnapshotIsStable(TaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testMetricsAreRecorded() {
+    this.testMetricsAreRecorded(TaskManager.setupWithDataset(this.getSampleDataset()));
+  }
+
+  @Test
+  public void testStreamingReportMatchesReport() throws IOException {
+    final TaskManager manager = TaskManager.setupWithDataset(this.getSampleDataset());
+    final StringWriter out = new StringWriter();
+    manager.report(out);
+    assertEquals("streamed report should match the buffered report", manager.report().toString(), out.toString());
+  }
+
+  @Test
+  public void testTopReportMatchesTailOfReport() throws IOException {
+    final TaskManager manager = TaskManager.setupWithDataset(this.getSampleDataset());
+    final List<String> full = Arrays.asList(manager.report().toString().split("\n"));
+    final StringWriter out = new StringWriter();
+    manager.report(out, 5);
+    final List<String> top = Arrays.asList(out.toString().split("\n"));
+
+    assertEquals("top report should have a header and one line per driver", 6, top.size());
+    assertEquals("top report should keep the header", full.get(0), top.get(0));
+    assertEquals("top report should list the most-loaded drivers, least loaded first",
+                 full.subList(full.size() - 5, full.size()), top.subList(1, top.size()));
+  }
+
+  @Test
+  public void testReportUsesManagerMetric() {
+    final TaskManager manager = TaskManager.setupWithDataset(
+        this.getSampleDataset(), ManagerSpec.defaultSpec().withMetric(DistanceMetric.HAVERSINE));
+    final List<String> expected = new ArrayList<>();
+    for (final RouteSnapshot route : manager.snapshot().values()) {
+      if (!route.isEmpty())
+        expected.add("total(" + DistanceMetric.HAVERSINE.distance(route.get(0), route.getLastTask()) + ")");
+    }
+    final List<String> reported = new ArrayList<>();
+    for (final String line : manager.report().toString().split("\n")) {
+      if (line.contains("total("))
+        reported.add(line.substring(line.indexOf("total(")));
+    }
+    Collections.sort(expected);
+    Collections.sort(reported);
+    assertEquals("report totals should be measured with the manager's metric", expected, reported);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTopReportNeedsDrivers() throws IOException {
+    TaskManager.setupWithDataset(this.getSampleDataset()).report(new StringWriter(), 0);
+  }
+
+  @Test
+  public void testLoadRankingMatchesReport() {
+    final TaskManager manager = TaskManager.setupWithDataset(this.getSampleDataset());
+    final List<Double> loads = new ArrayList<>();
+    for (final Tasklist tasklist : manager.roster) loads.add(tasklist.getLoadEstimate());
+    Collections.sort(loads);
+
+    final List<Tasklist> least = manager.leastLoaded(3);
+    final List<Tasklist> most = manager.mostLoaded(3);
+    for (int i = 0; i < 3; i++) {
+      assertEquals("least-loaded drivers should be ranked by load",
+                   loads.get(i), least.get(i).getLoadEstimate());
+      assertEquals("most-loaded drivers should be ranked by load",
+                   loads.get(loads.size() - 1 - i), most.get(i).getLoadEstimate());
+    }
+  }
 }
@@ -0,0 +1,132 @@
+package com.onf.demo.homework.metrics;
+
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Test the {@link Histogram} that latencies are recorded into, and the {@link Counter} and
+ * {@link Gauge} that sit alongside it.
+ */
+public final class HistogramTest {
+  @Test
+  public void testBucketBoundaries() {
+    for (int bucket = 0; bucket < Histogram.bucketCount - 1; bucket++) {
+      final long lowest = Histogram.lowestValueIn(bucket);
+      assertEquals("lowest value should map back to its bucket", bucket, Histogram.bucketFor(lowest));
+      assertEquals("highest value should map back to its bucket", bucket,
+                   Histogram.bucketFor(Histogram.highestValueIn(bucket)));
+      assertEquals("buckets should be contiguous", lowest + (Histogram.highestValueIn(bucket) - lowest) + 1,
+                   Histogram.lowestValueIn(bucket + 1));
+    }
+    assertEquals("the largest value should land in the last bucket", Histogram.bucketCount - 1,
+                 Histogram.bucketFor(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    final Histogram histogram = new Histogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+    assertEquals("count should include every value", 100L, histogram.getCount());
+    assertEquals("median should be exact below 128", 50L, histogram.valueAtPercentile(50.0));
+    assertEquals("p99 should be exact below 128", 99L, histogram.valueAtPercentile(99.0));
+    assertEquals("max should be tracked", 100L, histogram.getMax());
+    assertEquals("mean should be exact", 50.5, histogram.getMean(), 1e-9);
+  }
+
+  @Test
+  public void testPercentilesWithinOnePercent() {
+    final Random random = new Random(42L);
+    final Histogram histogram = new Histogram();
+    final long[] values = new long[100000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1000L + (long)(Math.exp(random.nextDouble() * 12.0));  // spread over many powers of two
+      histogram.record(values[i]);
+    }
+    Arrays.sort(values);
+
+    for (final double percentile : new double[] {50.0, 90.0, 99.0, 99.9, 100.0}) {
+      final long exact = values[(int)Math.ceil(percentile / 100.0 * values.length) - 1];
+      final long reported = histogram.valueAtPercentile(percentile);
+      assertTrue("p" + percentile + " should never be reported low", reported >= exact);
+      assertTrue("p" + percentile + " should be within 1%", reported <= exact * 1.01);
+    }
+  }
+
+  @Test
+  public void testNegativeValuesRecordAsZero() {
+    final Histogram histogram = new Histogram();
+    histogram.record(-5L);
+    assertEquals("negative value should still be counted", 1L, histogram.getCount());
+    assertEquals("negative value should be recorded as zero", 0L, histogram.valueAtPercentile(100.0));
+    assertEquals("negative value should not reduce the sum", 0L, histogram.getSum());
+  }
+
+  @Test
+  public void testEmptyAndReset() {
+    final Histogram histogram = new Histogram();
+    assertEquals("empty histogram should report zero", 0L, histogram.valueAtPercentile(99.0));
+    assertEquals("empty histogram should have a zero mean", 0.0, histogram.getMean(), 0.0);
+    histogram.record(12345L);
+    histogram.reset();
+    assertEquals("reset should clear the count", 0L, histogram.getCount());
+    assertEquals("reset should clear the max", 0L, histogram.getMax());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsInvalidPercentile() {
+    new Histogram().valueAtPercentile(101.0);
+  }
+
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    final Histogram histogram = new Histogram();
+    final int threads = 4;
+    final int perThread = 50000;
+    final Thread[] recorders = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      recorders[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 1; i <= perThread; i++) {
+            histogram.record(i);
+          }
+        }
+      });
+      recorders[t].start();
+    }
+    for (final Thread recorder : recorders) {
+      recorder.join();
+    }
+    assertEquals("no value should be lost", (long)threads * perThread, histogram.getCount());
+    assertEquals("sum should include every value", threads * (perThread * (perThread + 1L) / 2), histogram.getSum());
+    assertEquals("max should be the largest value from any thread", perThread, histogram.getMax());
+  }
+
+  @Test
+  public void testCounterAndGauge() {
+    final Counter counter = new Counter();
+    counter.increment();
+    counter.add(4L);
+    assertEquals("counter should add up events", 5L, counter.getCount());
+    counter.reset();
+    assertEquals("reset should clear the counter", 0L, counter.getCount());
+
+    final Gauge gauge = new Gauge();
+    gauge.set(7L);
+    assertEquals("gauge should hold the last value set", 7L, gauge.getValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCounterRejectsNegative() {
+    new Counter().add(-1L);
+  }
+}
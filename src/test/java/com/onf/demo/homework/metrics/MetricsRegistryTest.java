@@ -0,0 +1,91 @@
+package com.onf.demo.homework.metrics;
+
+
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Test the {@link MetricsRegistry}, and the {@link AssignerMetrics} it hands out and publishes.
+ */
+public final class MetricsRegistryTest {
+  @Test
+  public void testAssignerIsCreatedOnce() {
+    final MetricsRegistry registry = new MetricsRegistry();
+    final AssignerMetrics metrics = registry.assigner("Test");
+    assertSame("the same name should always yield the same metrics", metrics, registry.assigner("Test"));
+    assertEquals("metrics should carry their name", "Test", metrics.getName());
+    assertEquals("registry should list every set of metrics", 1, registry.getAssigners().size());
+  }
+
+  @Test
+  public void testRecordingAndReset() {
+    final AssignerMetrics metrics = new AssignerMetrics("Test");
+    metrics.recordResolve(2000L, 10);
+    metrics.recordResolve(4000L, 30);
+    metrics.recordAssign(500L);
+    metrics.recordBoardSize(3L, 7L);
+
+    assertEquals("resolves should be counted", 2L, metrics.getResolveCount());
+    assertEquals("assigns should be counted", 1L, metrics.getAssignCount());
+    assertEquals("mean resolve latency should be tracked", 3000.0, metrics.getResolveLatencyMeanNanos(), 1e-9);
+    assertEquals("slowest resolve should be tracked", 4000L, metrics.getResolveLatencyMaxNanos());
+    assertEquals("candidates should be tracked", 20.0, metrics.getCandidatesMean(), 1e-9);
+    assertEquals("board drivers should be reported", 3L, metrics.getDrivers());
+    assertEquals("board tasks should be reported", 7L, metrics.getTasks());
+    assertTrue("throughput should be positive once something is assigned", metrics.getAssignmentsPerSecond() > 0.0);
+
+    metrics.reset();
+    assertEquals("reset should clear resolves", 0L, metrics.getResolveCount());
+    assertEquals("reset should clear latencies", 0L, metrics.getAssignLatencyP99Nanos());
+  }
+
+  @Test
+  public void testPublishesOverJMX() throws JMException {
+    final MetricsRegistry registry = new MetricsRegistry();
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName before = MetricsRegistry.objectNameFor("RegistryTestBefore");
+    final ObjectName after = MetricsRegistry.objectNameFor("RegistryTestAfter");
+
+    registry.assigner("RegistryTestBefore").recordAssign(1000L);
+    registry.registerMBeans();
+    try {
+      assertTrue("registry should report itself published", registry.isPublished());
+      assertTrue("existing metrics should be published", server.isRegistered(before));
+      assertEquals("attributes should be readable over JMX", 1L, server.getAttribute(before, "AssignCount"));
+
+      registry.assigner("RegistryTestAfter");
+      assertTrue("metrics created later should be published too", server.isRegistered(after));
+    } finally {
+      registry.unregisterMBeans();
+    }
+    assertFalse("registry should report itself withdrawn", registry.isPublished());
+    assertFalse("metrics should be withdrawn", server.isRegistered(before));
+    assertFalse("later metrics should be withdrawn", server.isRegistered(after));
+  }
+
+  @Test
+  public void testDumpSkipsIdleMetrics() throws IOException {
+    final MetricsRegistry registry = new MetricsRegistry();
+    registry.assigner("Busy").recordResolve(1500L, 4);
+    registry.assigner("Idle");
+
+    final StringBuilder out = new StringBuilder();
+    registry.dump(out);
+    final String dump = out.toString();
+    assertTrue("dump should have a header", dump.startsWith("--------------- Metrics ---------------"));
+    assertTrue("dump should include active metrics", dump.contains("[Busy]"));
+    assertTrue("dump should include resolve latency", dump.contains("resolve latency (us)"));
+    assertFalse("dump should skip metrics with no activity", dump.contains("[Idle]"));
+  }
+}
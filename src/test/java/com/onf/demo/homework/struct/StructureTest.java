@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.UUID;
 
 import static org.junit.Assert.*;
 
@@ -19,7 +20,7 @@ public final class StructureTest extends FixturedTest {
   @Test
   public void testDriverObject() {
     final Driver sampleDriver = Driver.factory("John Doe");
-    assertEquals("sampleDriver.uuid should match getter", sampleDriver.uuid, sampleDriver.getUuid());
+    assertEquals("sampleDriver.uuid should match getter", sampleDriver.uuid.toString(), sampleDriver.getUuid());
     assertEquals("sampleDriver.name should match getter", sampleDriver.name, sampleDriver.getName());
   }
 
@@ -108,7 +109,7 @@ public final class StructureTest extends FixturedTest {
     final Task sampleTask = Task.factory(sampleLocation);
     final Task sampleTask2 = Task.factory(sampleLocation);
 
-    assertEquals("sampleTask.uuid should match getter", sampleTask.uuid, sampleTask.getUuid());
+    assertEquals("sampleTask.uuid should match getter", sampleTask.uuid.toString(), sampleTask.getUuid());
     assertNotEquals("sampleTask.uuid should be unique", sampleTask.uuid, sampleTask2.uuid);
     assertEquals("sampleTask.location should match getter", sampleTask.location, sampleTask.getLocation());
   }
@@ -139,4 +140,59 @@ public final class StructureTest extends FixturedTest {
     final String taskSample = "{\"uuid\": \"7e7b5490-f942-4781-9158-82ad47814045\", \"location\": {\"uuid\": \"7e7b5490-f942-4781-9158-82ad47814045\", \"label\": \"ONF HQ\", \"geopoint\": {\"latitude\": -122.408394, \"longitude\": 37.783657}}}";
     this.objectMapper().readerFor(Task.class).readValue(taskSample);
   }
+
+  @Test
+  public void testIdentifierIsCompactForCanonicalUUIDs() {
+    final String canonical = "7e7b5490-f942-4781-9158-82ad47814045";
+    final Identifier identifier = Identifier.of(canonical);
+    assertTrue("canonical UUIDs should be held as two longs", identifier.isCompact());
+    assertEquals("compact identifiers should format back to the same string", canonical, identifier.toString());
+    assertEquals("parsed identifier should match the UUID's bits",
+                 UUID.fromString(canonical).getMostSignificantBits(),
+                 identifier.getMostSignificantBits());
+    assertEquals("identical identifiers should match", identifier, Identifier.of(canonical));
+    assertEquals("identical identifiers should hash the same", identifier.hashCode(), Identifier.of(canonical).hashCode());
+  }
+
+  @Test
+  public void testIdentifierStringIsCached() {
+    final Identifier identifier = Identifier.random();
+    final Task task = new Task(identifier, new Location("here", "Here", Geopoint.of(37.783657, -122.408394)));
+    assertSame("canonical string should only be built once", identifier.toString(), identifier.toString());
+    assertSame("task uuid should share the cached string", identifier.toString(), task.getUuid());
+  }
+
+  @Test
+  public void testIdentifierKeepsOtherStrings() {
+    final String[] samples = {"driver-1", "7E7B5490-F942-4781-9158-82AD47814045", "", "7e7b5490xf942-4781-9158-82ad47814045"};
+    for (final String sample : samples) {
+      final Identifier identifier = Identifier.of(sample);
+      assertFalse("non-canonical ids should be kept as strings", identifier.isCompact());
+      assertEquals("non-canonical ids should format back unchanged", sample, identifier.toString());
+    }
+    assertNotEquals("case should matter for non-canonical ids",
+                    Identifier.of("7E7B5490-F942-4781-9158-82AD47814045"),
+                    Identifier.of("7e7b5490-f942-4781-9158-82ad47814045"));
+  }
+
+  @Test
+  public void testIdentifierKeepsJSONForm() throws IOException {
+    final String taskSample = "{\"uuid\": \"7e7b5490-f942-4781-9158-82ad47814045\", \"location\": {\"uuid\": \"7e7b5490-f942-4781-9158-82ad47814045\", \"label\": \"ONF HQ\", \"geopoint\": {\"latitude\": -122.408394, \"longitude\": 37.783657}}}";
+    final Task task = this.objectMapper().readerFor(Task.class).readValue(taskSample);
+    final String written = this.objectMapper().writeValueAsString(task);
+    assertTrue("task JSON should keep its uuid string",
+               written.contains("\"uuid\":\"7e7b5490-f942-4781-9158-82ad47814045\""));
+    assertFalse("task JSON should not expose the compact identifier", written.contains("identifier"));
+  }
+
+  @Test
+  public void testGeopointPrimitiveAccessors() {
+    final Geopoint boxed = new Geopoint(37.783657, -122.408394);
+    final Geopoint primitive = Geopoint.of(37.783657, -122.408394);
+    assertEquals("primitive and boxed geopoints should match", boxed, primitive);
+    assertEquals("primitive and boxed geopoints should hash the same", boxed.hashCode(), primitive.hashCode());
+    assertEquals("primitive latitude should match boxed", boxed.getLatitude(), primitive.getLatitudeValue(), 0.0);
+    assertEquals("primitive longitude should match boxed", boxed.getLongitude(), primitive.getLongitudeValue(), 0.0);
+    assertNotEquals("signed zeros should not match, like Double.equals", Geopoint.of(0.0, 0.0), Geopoint.of(-0.0, 0.0));
+  }
 }
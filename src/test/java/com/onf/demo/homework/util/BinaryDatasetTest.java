@@ -0,0 +1,142 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.FixturedTest;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Location;
+import com.onf.demo.homework.struct.Task;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link BinaryDataset}, which stores datasets in mappable columns.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class BinaryDatasetTest extends FixturedTest {
+  private static File tempFile() throws IOException {
+    final File file = File.createTempFile("dataset", ".onfd");
+    file.deleteOnExit();
+    return file;
+  }
+
+  private static void assertSameRecords(final SampleDataset expected, final SampleDataset actual) {
+    final List<Task> expectedTasks = new ArrayList<>(expected.getGeneratedTasks());
+    final List<Task> actualTasks = new ArrayList<>(actual.getGeneratedTasks());
+    assertEquals("tasks should survive the round trip, in order", expectedTasks, actualTasks);
+    for (int i = 0; i < expectedTasks.size(); i++) {
+      final Location want = expectedTasks.get(i).getLocation();
+      final Location got = actualTasks.get(i).getLocation();
+      assertEquals("location ids should survive the round trip", want.getUuid(), got.getUuid());
+      assertEquals("location labels should survive the round trip", want.getLabel(), got.getLabel());
+      assertEquals("coordinates should survive the round trip", want.getGeopoint(), got.getGeopoint());
+    }
+
+    final List<Driver> expectedDrivers = new ArrayList<>(expected.getGeneratedDrivers());
+    final List<Driver> actualDrivers = new ArrayList<>(actual.getGeneratedDrivers());
+    assertEquals("drivers should survive the round trip, in order", expectedDrivers, actualDrivers);
+    for (int i = 0; i < expectedDrivers.size(); i++) {
+      assertEquals("driver names should survive the round trip",
+                   expectedDrivers.get(i).getName(), actualDrivers.get(i).getName());
+    }
+  }
+
+  @Test
+  public void testRoundTripGeneratedDataset() throws IOException {
+    final File file = tempFile();
+    BinaryDataset.write(this.getSampleDataset(), file);
+    assertTrue("written file should be recognized", BinaryDataset.isBinaryDataset(file));
+    try (final BinaryDataset binary = BinaryDataset.open(file)) {
+      assertEquals("task count should be stored",
+                   this.getSampleDataset().getGeneratedTasks().size(), binary.getTaskCount());
+      assertSameRecords(this.getSampleDataset(), binary.toDataset());
+    }
+  }
+
+  @Test
+  public void testRoundTripLabelledDataset() throws IOException {
+    final SampleDataset testsuite = DatasetLoader.load(new FileUtil().streamFromJAR("testsuite.json"));
+    final File file = tempFile();
+    BinaryDataset.write(testsuite, file);
+    try (final DatasetReader reader = new FileUtil().openDataset(file.getPath())) {
+      assertTrue("binary files on disk should be opened in place", reader instanceof BinaryDataset);
+      assertSameRecords(testsuite, reader.toDataset());
+    }
+  }
+
+  @Test
+  public void testColumnsReadInPlace() throws IOException {
+    final Task task = new Task("9f9b2efd-2663-4c69-90e0-006b2dd3c631", new Location(
+        "01255ee2-2c30-42a7-85e6-f84d95e0b7da", null, Geopoint.of(-122.69414, 37.7272391)));
+    final File file = tempFile();
+    BinaryDataset.write(Collections.<Driver>emptyList(), Collections.singletonList(task), file);
+    try (final BinaryDataset binary = BinaryDataset.open(file)) {
+      assertEquals("latitude should be read from its column", -122.69414, binary.getLatitude(0), 0.0);
+      assertEquals("longitude should be read from its column", 37.7272391, binary.getLongitude(0), 0.0);
+      assertNull("missing labels should stay missing", binary.taskAt(0).getLocation().getLabel());
+      assertTrue("a dataset with no drivers should have none", binary.drivers().isEmpty());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonUUIDIdentifiers() throws IOException {
+    final Task task = new Task("task-1", new Location(
+        "01255ee2-2c30-42a7-85e6-f84d95e0b7da", null, Geopoint.of(-122.69414, 37.7272391)));
+    BinaryDataset.write(Collections.<Driver>emptyList(), Collections.singletonList(task), tempFile());
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsOtherFiles() throws IOException {
+    final File file = tempFile();
+    Files.write(file.toPath(), "{\"tasks\": [], \"drivers\": []}".getBytes(StandardCharsets.UTF_8));
+    assertFalse("JSON files should not be recognized", BinaryDataset.isBinaryDataset(file));
+    BinaryDataset.open(file).close();
+  }
+
+  @Test
+  public void testFileStartsWithMagic() throws IOException {
+    final File file = tempFile();
+    BinaryDataset.write(this.getSampleDataset(), file);
+    final byte[] contents = Files.readAllBytes(file.toPath());
+    assertEquals("file should start with the documented magic bytes", "ONFD",
+                 new String(contents, 0, 4, StandardCharsets.US_ASCII));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsStringRefsOutsideHeap() throws IOException {
+    final Task task = new Task("9f9b2efd-2663-4c69-90e0-006b2dd3c631", new Location(
+        "01255ee2-2c30-42a7-85e6-f84d95e0b7da", "HQ", Geopoint.of(-122.69414, 37.7272391)));
+    final File file = tempFile();
+    BinaryDataset.write(Collections.<Driver>emptyList(), Collections.singletonList(task), file);
+    final byte[] contents = Files.readAllBytes(file.toPath());
+    final ByteBuffer buffer = ByteBuffer.wrap(contents).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong((int)new BinaryDataset.Columns(0, 1).labels, (1L << 32) | 2L);  // one byte past the end
+    Files.write(file.toPath(), contents);
+    BinaryDataset.open(file).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsTruncatedFile() throws IOException {
+    final File file = tempFile();
+    BinaryDataset.write(this.getSampleDataset(), file);
+    final byte[] contents = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(contents, contents.length - 1));
+    BinaryDataset.open(file).close();
+  }
+}
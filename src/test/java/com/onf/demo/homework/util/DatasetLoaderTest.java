@@ -0,0 +1,129 @@
+package com.onf.demo.homework.util;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Task;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link DatasetLoader}, which reads datasets incrementally from a stream.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class DatasetLoaderTest {
+  /**
+   * Driver record, as JSON.
+   */
+  static final String driverJSON = "{\"uuid\": \"ed01d72e-02f8-4ba3-be22-d00fe19b3632\", \"name\": \"Bill Withers\"}";
+
+  /**
+   * Task records, as JSON.
+   */
+  static final String tasksJSON = "["
+      + "{\"uuid\": \"9f9b2efd-2663-4c69-90e0-006b2dd3c631\", \"location\": {\"uuid\": \"01255ee2-2c30-42a7-85e6-f84d95e0b7da\", "
+      + "\"label\": \"AT&T Park\", \"geopoint\": {\"latitude\": -122.6941400, \"longitude\": 37.7272391}}}, "
+      + "{\"uuid\": \"7e7b5490-f942-4781-9158-82ad47814045\", \"location\": {\"uuid\": \"382f8057-6c43-4702-aa35-b20ee73888e4\", "
+      + "\"label\": \"ONF HQ\", \"geopoint\": {\"latitude\": -122.408394, \"longitude\": 37.783657}}}]";
+
+  private static InputStream streamOf(final String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<Task> collect(final Iterable<Task> tasks) {
+    final List<Task> collected = new ArrayList<>();
+    for (final Task task : tasks) {
+      collected.add(task);
+    }
+    return collected;
+  }
+
+  @Test
+  public void testLoadMatchesDatabinding() throws IOException {
+    final FileUtil files = new FileUtil();
+    final SampleDataset bound = new ObjectMapper().readerFor(SampleDataset.class)
+                                                  .readValue(files.fileContentsFromJARAsString("testsuite.json"));
+    final SampleDataset streamed = DatasetLoader.load(files.streamFromJAR("testsuite.json"));
+
+    assertEquals("streamed tasks should match databound tasks",
+                 new ArrayList<>(bound.getGeneratedTasks()), new ArrayList<>(streamed.getGeneratedTasks()));
+    assertEquals("streamed drivers should match databound drivers",
+                 new ArrayList<>(bound.getGeneratedDrivers()), new ArrayList<>(streamed.getGeneratedDrivers()));
+    assertEquals("streamed names should match databound names",
+                 bound.getNames().getFirstNames(), streamed.getNames().getFirstNames());
+  }
+
+  @Test
+  public void testDriversFirstStreamsTasks() throws IOException {
+    try (final DatasetLoader loader = new DatasetLoader(
+        streamOf("{\"drivers\": [" + driverJSON + "], \"tasks\": " + tasksJSON + "}"))) {
+      assertEquals("drivers should be read", 1, loader.drivers().size());
+      assertTrue("no tasks should be held when drivers come first", loader.bufferedTasks.isEmpty());
+
+      final Iterator<Task> tasks = loader.tasks().iterator();
+      assertTrue("first task should be available", tasks.hasNext());
+      assertEquals("first task should be read in file order",
+                   "9f9b2efd-2663-4c69-90e0-006b2dd3c631", tasks.next().getUuid());
+      assertTrue("second task should not be parsed before it is asked for", loader.inTasks);
+      tasks.next();
+      assertFalse("tasks should run out at the end of the array", tasks.hasNext());
+    }
+  }
+
+  @Test
+  public void testTasksFirstAreHeldForDrivers() throws IOException {
+    try (final DatasetLoader loader = new DatasetLoader(
+        streamOf("{\"tasks\": " + tasksJSON + ", \"extra\": {\"ignored\": [1, 2]}, \"drivers\": [" + driverJSON + "]}"))) {
+      final List<Driver> drivers = loader.drivers();
+      assertEquals("drivers should be read past the tasks", "Bill Withers", drivers.get(0).getName());
+      assertEquals("tasks before the drivers should be held", 2, loader.bufferedTasks.size());
+      assertEquals("held tasks should still be handed out", 2, collect(loader.tasks()).size());
+    }
+  }
+
+  @Test
+  public void testMissingSectionsAreEmpty() throws IOException {
+    final SampleDataset dataset = DatasetLoader.load(streamOf("{}"));
+    assertTrue("a dataset with no drivers should have none", dataset.getGeneratedDrivers().isEmpty());
+    assertTrue("a dataset with no tasks should have none", dataset.getGeneratedTasks().isEmpty());
+    assertFalse("a dataset with no names should fall back to built-in names",
+                dataset.getNames().getFirstNames().isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTasksReadOnce() throws IOException {
+    try (final DatasetLoader loader = new DatasetLoader(streamOf("{\"tasks\": " + tasksJSON + "}"))) {
+      final Iterable<Task> tasks = loader.tasks();
+      collect(tasks);
+      collect(tasks);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsNonObject() throws IOException {
+    new DatasetLoader(streamOf("[]")).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsMalformedDrivers() throws IOException {
+    DatasetLoader.load(streamOf("{\"drivers\": {}}"));
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void testMissingFileInJAR() throws IOException {
+    new FileUtil().streamFromJAR("no-such-dataset.json");
+  }
+}
@@ -1,8 +1,11 @@
 package com.onf.demo.homework.util;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
+import java.io.IOException;
+
 import static org.junit.Assert.*;
 
 
@@ -62,4 +65,55 @@ public final class DatasetSpecTest {
     final KnownDataset dataset = KnownDataset.UNKNOWN;
     dataset.toSpec();
   }
+
+  @Test
+  public void testSeededSpec() throws IOException {
+    final DatasetSpec unseeded = DatasetSpec.defaultSpec();
+    final DatasetSpec seeded = unseeded.withSeed(42L);
+    assertNull("specs should have no seed unless given one", unseeded.getSeed());
+    assertEquals("seeded specs should keep their seed", Long.valueOf(42L), seeded.getSeed());
+    assertEquals("seeded specs should keep every other parameter", unseeded.getNumberOfDrivers(), seeded.getNumberOfDrivers());
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final DatasetSpec read = mapper.readValue(mapper.writeValueAsString(seeded), DatasetSpec.class);
+    assertEquals("seeds should survive the JSON format", seeded.getSeed(), read.getSeed());
+  }
+
+  @Test
+  public void testHotspotSpec() throws IOException {
+    final DatasetSpec skewed = DatasetSpec.defaultSpec().withSeed(9L).withHotspots(new Hotspots(4, 0.5, 0.9));
+    assertNull("specs should have no hotspots unless given some", DatasetSpec.defaultSpec().getHotspots());
+    assertEquals("copies should keep their hotspots", 4, skewed.withNumberOfDrivers(3).getHotspots().getCount());
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final DatasetSpec read = mapper.readValue(mapper.writeValueAsString(skewed), DatasetSpec.class);
+    assertEquals("hotspot count should survive the JSON format", 4, read.getHotspots().getCount());
+    assertEquals("hotspot spread should survive the JSON format", 0.5, read.getHotspots().getSpread(), 0.0);
+    assertEquals("hotspot weight should survive the JSON format", 0.9, read.getHotspots().getWeight(), 0.0);
+    assertEquals("seeds should survive alongside hotspots", Long.valueOf(9L), read.getSeed());
+  }
+
+  @Test
+  public void testCopiesAreUnnamed() {
+    final DatasetSpec seeded = DatasetSpec.defaultSpec().withSeed(1L);
+    final DatasetSpec sized = DatasetSpec.defaultSpec().withNumberOfDrivers(100000);
+    final DatasetSpec skewed = DatasetSpec.defaultSpec().withHotspots(Hotspots.of(3));
+    for (final DatasetSpec copy : new DatasetSpec[] {seeded, sized, skewed}) {
+      assertNull("copies should describe generated datasets, without a name", copy.getName());
+      assertTrue("copies should report themselves random", copy.isRandom());
+      assertTrue("copies should not equal the spec they were made from", !copy.equals(DatasetSpec.defaultSpec()));
+    }
+    assertTrue("differently-seeded copies should not be equal", !seeded.equals(DatasetSpec.defaultSpec().withSeed(2L)));
+    assertTrue("different copies should not be equal", !seeded.equals(sized.withHotspots(Hotspots.of(3))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHotspotsRejectZeroCount() {
+    new Hotspots(0, Hotspots.defaultSpread, Hotspots.defaultWeight);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHotspotsRejectWeightOverOne() {
+    new Hotspots(1, Hotspots.defaultSpread, 1.5);
+  }
 }
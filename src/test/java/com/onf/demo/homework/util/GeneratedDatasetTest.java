@@ -0,0 +1,100 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Geopoint;
+import com.onf.demo.homework.struct.Task;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link GeneratedDataset}, which generates tasks lazily as they are read.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class GeneratedDatasetTest {
+  @Test
+  public void testLazyTasksMatchBulkGeneration() throws IOException {
+    final DatasetSpec spec = DatasetSpec.defaultSpec().withNumberOfDrivers(10).withSeed(314L);
+    final SampleDataset bulk = SampleDataset.generateDataset(spec);
+
+    try (final GeneratedDataset generated = SampleDataset.streamDataset(spec)) {
+      assertEquals("lazy drivers should match bulk drivers",
+                   new ArrayList<>(bulk.getGeneratedDrivers()), generated.drivers());
+      assertEquals("task count should be known before any task is generated",
+                   bulk.getGeneratedTasks().size(), generated.getTaskCount());
+
+      final List<Task> lazy = new ArrayList<>();
+      for (final Task task : generated.tasks()) {
+        lazy.add(task);
+      }
+      final List<Task> expected = new ArrayList<>(bulk.getGeneratedTasks());
+      assertEquals("lazy tasks should match bulk tasks, in order", expected, lazy);
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals("lazy tasks should be at the same places",
+                     expected.get(i).getLocation().getGeopoint(), lazy.get(i).getLocation().getGeopoint());
+      }
+    }
+  }
+
+  @Test
+  public void testTasksRunOut() {
+    final GeneratedDataset generated = GeneratedDataset.of(DatasetSpec.defaultSpec().withNumberOfDrivers(1));
+    final Iterator<Task> tasks = generated.tasks().iterator();
+    for (int i = 0; i < generated.getTaskCount(); i++) {
+      tasks.next();
+    }
+    assertFalse("tasks should run out at the task count", tasks.hasNext());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTasksReadOnce() {
+    final GeneratedDataset generated = GeneratedDataset.of(DatasetSpec.defaultSpec().withNumberOfDrivers(1));
+    generated.tasks().iterator();
+    generated.tasks().iterator();
+  }
+
+  @Test
+  public void testHotspotTasksCluster() throws IOException {
+    final DatasetSpec spec = DatasetSpec.defaultSpec()
+                                        .withNumberOfDrivers(40)
+                                        .withSeed(27L)
+                                        .withHotspots(new Hotspots(1, 0.3, 1.0));
+    final GeneratedDataset generated = SampleDataset.streamDataset(spec);
+    final Geopoint center = generated.hotspots.getCenter(0);
+    int nearCenter = 0;
+    int total = 0;
+    for (final Task task : generated.toDataset().getGeneratedTasks()) {
+      final Geopoint point = task.getLocation().getGeopoint();
+      assertTrue("hotspot tasks should stay inside the boundary",
+                 ObjectGenerator.boundarySampler.contains(point.getLatitude(), point.getLongitude()));
+      // three spreads out, in degrees, with room for longitude degrees being shorter
+      if (Math.abs(point.getLatitude() - center.getLatitude()) < 0.9 / 111.32
+          && Math.abs(point.getLongitude() - center.getLongitude()) < 1.2 / 111.32)
+        nearCenter++;
+      total++;
+    }
+    assertTrue("most hotspot tasks should be near its center", nearCenter > total * 0.9);
+  }
+
+  @Test
+  public void testHotspotTasksDependOnlyOnSeed() throws IOException {
+    final DatasetSpec spec = DatasetSpec.defaultSpec()
+                                        .withNumberOfDrivers(10)
+                                        .withHotspots(Hotspots.of(3));
+    final List<Task> single = new ArrayList<>(SampleDataset.generateDataset(spec, 81L, 1).getGeneratedTasks());
+    final List<Task> parallel = new ArrayList<>(SampleDataset.generateDataset(spec, 81L, 4).getGeneratedTasks());
+    assertEquals("hotspot datasets should not depend on thread count", single.size(), parallel.size());
+    for (int i = 0; i < single.size(); i++) {
+      assertEquals("hotspot tasks should be at the same places whatever the thread count",
+                   single.get(i).getLocation().getGeopoint(), parallel.get(i).getLocation().getGeopoint());
+    }
+  }
+}
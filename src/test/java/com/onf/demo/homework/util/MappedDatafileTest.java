@@ -0,0 +1,70 @@
+package com.onf.demo.homework.util;
+
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Tests the {@link MappedDatafile}, which maps files on disk in fixed-size regions.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class MappedDatafileTest {
+  private static File writeTemp(final byte[] contents) throws IOException {
+    final File file = File.createTempFile("datafile", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), contents);
+    return file;
+  }
+
+  private static byte[] drain(final InputStream stream) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[7];
+    int count;
+    //noinspection NestedAssignment
+    while ((count = stream.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testReadsAcrossRegions() throws IOException {
+    final byte[] contents = new byte[100];
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = (byte)i;
+    }
+    try (final MappedDatafile file = MappedDatafile.open(writeTemp(contents), 4)) {
+      assertEquals("file should be mapped in 16-byte regions", 7, file.getRegionCount());
+      assertEquals("file should keep its size", 100L, file.getSize());
+      assertEquals("single bytes should be read from the right region", (byte)37, file.get(37L));
+      assertArrayEquals("whole-file stream should read every byte", contents, drain(file.stream()));
+
+      final byte[] range = new byte[50];
+      System.arraycopy(contents, 13, range, 0, range.length);
+      assertArrayEquals("range streams should cross region boundaries", range, drain(file.stream(13L, 63L)));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRejectsReadPastEnd() throws IOException {
+    try (final MappedDatafile file = MappedDatafile.open(writeTemp(new byte[10]))) {
+      file.get(10L);
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRejectsRangePastEnd() throws IOException {
+    try (final MappedDatafile file = MappedDatafile.open(writeTemp(new byte[10]))) {
+      file.stream(5L, 11L);
+    }
+  }
+}
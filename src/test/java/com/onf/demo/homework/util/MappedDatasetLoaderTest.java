@@ -0,0 +1,124 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Task;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link MappedDatasetLoader}, which parses dataset files on disk in parallel chunks.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class MappedDatasetLoaderTest {
+  /**
+   * Task record with awkward characters in its label, as JSON.
+   */
+  static final String trickyTaskJSON = "{\"uuid\": \"0b5e7b5b-5d2c-4b0e-9a53-3a0f1a7c2a11\", \"location\": "
+      + "{\"uuid\": \"9e6c1b8e-6a44-4d55-8a0e-6d9f77c0c0de\", \"label\": \"Pier 39, \\\"{[the]}\\\" \\\\ café\", "
+      + "\"geopoint\": {\"latitude\": -122.409821, \"longitude\": 37.808673}}}";
+
+  private static File writeTemp(final String json) throws IOException {
+    final File file = File.createTempFile("dataset", ".json");
+    file.deleteOnExit();
+    Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static List<Task> collect(final Iterable<Task> tasks) {
+    final List<Task> collected = new ArrayList<>();
+    for (final Task task : tasks) {
+      collected.add(task);
+    }
+    return collected;
+  }
+
+  @Test
+  public void testMatchesStreamedLoad() throws IOException {
+    final FileUtil files = new FileUtil();
+    final SampleDataset streamed = DatasetLoader.load(files.streamFromJAR("testsuite.json"));
+    final File file = writeTemp(files.fileContentsFromJARAsString("testsuite.json"));
+
+    for (final int threads : new int[] {1, 4}) {
+      try (final MappedDatasetLoader loader = MappedDatasetLoader.open(file, threads, 512L)) {
+        assertTrue("tasks should be split into several chunks", loader.getChunkCount() > 1);
+        final SampleDataset mapped = loader.toDataset();
+        assertEquals("mapped tasks should match streamed tasks, in order",
+                     new ArrayList<>(streamed.getGeneratedTasks()), new ArrayList<>(mapped.getGeneratedTasks()));
+        assertEquals("mapped drivers should match streamed drivers",
+                     new ArrayList<>(streamed.getGeneratedDrivers()), new ArrayList<>(mapped.getGeneratedDrivers()));
+        assertEquals("mapped names should match streamed names",
+                     streamed.getNames().getFirstNames(), mapped.getNames().getFirstNames());
+      }
+    }
+  }
+
+  @Test
+  public void testChunksSplitOnTaskBoundaries() throws IOException {
+    final StringBuilder json = new StringBuilder("\uFEFF{\"names\": {\"first\": [\"a\", \"b\"], \"last\": []}, \"tasks\": [");
+    for (int i = 0; i < 20; i++) {
+      json.append(i == 0 ? "" : ",\n  ").append(trickyTaskJSON);
+    }
+    json.append("], \"drivers\": [").append(DatasetLoaderTest.driverJSON).append("]}");
+
+    try (final MappedDatasetLoader loader = MappedDatasetLoader.open(writeTemp(json.toString()), 3, 1L)) {
+      assertEquals("every task should get its own chunk", 20, loader.getChunkCount());
+      assertEquals("drivers after the tasks should be found", "Bill Withers", loader.drivers().get(0).getName());
+      final List<Task> tasks = collect(loader.tasks());
+      assertEquals("every task should be read", 20, tasks.size());
+      assertEquals("labels should survive chunking intact",
+                   "Pier 39, \"{[the]}\" \\ café", tasks.get(19).getLocation().getLabel());
+    }
+  }
+
+  @Test
+  public void testMissingSectionsAreEmpty() throws IOException {
+    try (final MappedDatasetLoader loader = MappedDatasetLoader.open(writeTemp("{\"tasks\": []}"))) {
+      assertEquals("an empty task array should have no chunks", 0, loader.getChunkCount());
+      final SampleDataset dataset = loader.toDataset();
+      assertTrue("a dataset with no drivers should have none", dataset.getGeneratedDrivers().isEmpty());
+      assertTrue("a dataset with no tasks should have none", dataset.getGeneratedTasks().isEmpty());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsTruncatedFile() throws IOException {
+    MappedDatasetLoader.open(writeTemp("{\"tasks\": [" + trickyTaskJSON + ", ")).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsNonObject() throws IOException {
+    MappedDatasetLoader.open(writeTemp("[]")).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsScalarTasks() throws IOException {
+    MappedDatasetLoader.open(writeTemp("{\"tasks\": 12}")).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testSurfacesChunkErrors() throws IOException {
+    try (final MappedDatasetLoader loader = MappedDatasetLoader.open(
+        writeTemp("{\"tasks\": [" + trickyTaskJSON + ", {\"uuid\": 5, \"location\": []}]}"), 2, 1L)) {
+      loader.toDataset();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTasksReadOnce() throws IOException {
+    try (final MappedDatasetLoader loader = MappedDatasetLoader.open(writeTemp("{\"tasks\": [" + trickyTaskJSON + "]}"))) {
+      final Iterable<Task> tasks = loader.tasks();
+      collect(tasks);
+      collect(tasks);
+    }
+  }
+}
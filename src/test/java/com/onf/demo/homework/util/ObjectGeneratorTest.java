@@ -7,6 +7,9 @@ import com.onf.demo.homework.struct.Location;
 import com.onf.demo.homework.struct.Task;
 import org.junit.Test;
 
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -57,4 +60,20 @@ public class ObjectGeneratorTest extends FixturedTest {
     assertNotNull("generated task must have a non-null UUID", newTask.getUuid());
     assertNotNull("generated task must have a non-null location", newTask.getLocation());
   }
+
+  @Test
+  public void testGenerateFromSeededSource() {
+    final NameHelper nameHelper = this.getSampleDataset().getNames();
+    final Task first = ObjectGenerator.generateTask(new SplitRandom(42L));
+    final Task second = ObjectGenerator.generateTask(new SplitRandom(42L));
+    assertEquals("tasks from the same seed should have the same UUID", first.getUuid(), second.getUuid());
+    assertEquals("tasks from the same seed should have the same location UUID",
+                 first.getLocation().getUuid(), second.getLocation().getUuid());
+    assertEquals("tasks from the same seed should have the same geopoint",
+                 first.getLocation().getGeopoint(), second.getLocation().getGeopoint());
+    assertEquals("seeded UUIDs should be version 4", 4, UUID.fromString(first.getUuid()).version());
+    assertEquals("drivers from the same seed should have the same name",
+                 ObjectGenerator.generateDriver(nameHelper, new SplitRandom(7L)).getName(),
+                 ObjectGenerator.generateDriver(nameHelper, new SplitRandom(7L)).getName());
+  }
 }
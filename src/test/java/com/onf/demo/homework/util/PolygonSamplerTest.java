@@ -0,0 +1,93 @@
+package com.onf.demo.homework.util;
+
+
+import com.onf.demo.homework.struct.Geopoint;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Test the {@link PolygonSampler}, which draws generated points from inside the geo boundary.
+ */
+public class PolygonSamplerTest {
+  /**
+   * L-shaped ring, wound clockwise and closed: a 2x2 square with its top right quarter missing.
+   */
+  private static final double[] concaveRing = {
+    0.0, 0.0,  0.0, 2.0,  1.0, 2.0,  1.0, 1.0,  2.0, 1.0,  2.0, 0.0,  0.0, 0.0
+  };
+
+  @Test
+  public void testTriangulatesConcaveRing() {
+    final PolygonSampler sampler = new PolygonSampler(Collections.singletonList(concaveRing));
+    assertEquals("L-shaped ring should split into four triangles", 4, sampler.getTriangleCount());
+    assertEquals("triangles should cover the area of the ring exactly", 3.0, sampler.getArea(), 1e-12);
+  }
+
+  @Test
+  public void testSamplesOnlyInsideConcaveRing() {
+    final PolygonSampler sampler = new PolygonSampler(Collections.singletonList(concaveRing));
+    final SplitRandom random = new SplitRandom(42L);
+    int inLowerHalf = 0;
+    final int samples = 30000;
+    for (int i = 0; i < samples; i++) {
+      final Geopoint point = sampler.sample(random);
+      assertTrue("sampled point should be inside the ring", sampler.contains(point.getLatitude(), point.getLongitude()));
+      assertFalse("sampled point should not be in the missing corner",
+                  point.getLatitude() > 1.0 && point.getLongitude() > 1.0);
+      if (point.getLatitude() < 1.0)
+        inLowerHalf++;
+    }
+
+    // the lower half holds two thirds of the area, so should get two thirds of the points
+    assertEquals("points should be spread evenly by area", 2.0 / 3.0, (double)inLowerHalf / samples, 0.02);
+  }
+
+  @Test
+  public void testSamplesEveryPartOfMultiPolygon() {
+    final PolygonSampler sampler = new PolygonSampler(Arrays.asList(
+      new double[]{0.0, 0.0,  1.0, 0.0,  1.0, 1.0,  0.0, 1.0},
+      new double[]{10.0, 10.0,  13.0, 10.0,  13.0, 11.0,  10.0, 11.0}));
+    final SplitRandom random = new SplitRandom(7L);
+    int inSmallPart = 0;
+    final int samples = 20000;
+    for (int i = 0; i < samples; i++) {
+      final Geopoint point = sampler.sample(random);
+      assertTrue("sampled point should be inside one of the parts",
+                 sampler.contains(point.getLatitude(), point.getLongitude()));
+      if (point.getLatitude() < 5.0)
+        inSmallPart++;
+    }
+    assertEquals("each part should get points in proportion to its area", 0.25, (double)inSmallPart / samples, 0.02);
+  }
+
+  @Test
+  public void testSamplingIsDeterministic() {
+    final PolygonSampler sampler = new PolygonSampler(Collections.singletonList(concaveRing));
+    final SplitRandom first = new SplitRandom(99L);
+    final SplitRandom second = new SplitRandom(99L);
+    for (int i = 0; i < 100; i++)
+      assertEquals("same seed should sample the same points", sampler.sample(first), sampler.sample(second));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyBoundary() {
+    new PolygonSampler(Collections.singletonList(new double[]{0.0, 0.0,  1.0, 1.0,  2.0, 2.0}));
+  }
+
+  @Test
+  public void testGeneratedLocationsStayInsideBoundary() {
+    final SplitRandom random = new SplitRandom(1L);
+    for (int i = 0; i < 10000; i++) {
+      final Geopoint point = ObjectGenerator.randomLocationWithinBounds(random);
+      assertTrue("generated location should be inside the geo boundary",
+                 ObjectGenerator.boundarySampler.contains(point.getLatitude(), point.getLongitude()));
+    }
+  }
+}
@@ -1,10 +1,19 @@
 package com.onf.demo.homework.util;
 
 
+import com.onf.demo.homework.struct.Driver;
+import com.onf.demo.homework.struct.Location;
+import com.onf.demo.homework.struct.Task;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 
 
@@ -26,4 +35,58 @@ public final class SampleDatasetTest {
     final SampleDataset dataset = SampleDataset.loadKnownDataset(KnownDataset.TEST_SAMPLE);
     assertNotNull("loading a known dataset should work", dataset);
   }
+
+  @Test
+  public void testWrapRecords() {
+    final List<Task> tasks = Arrays.asList(ObjectGenerator.generateTask(), ObjectGenerator.generateTask());
+    final List<Driver> drivers = Collections.singletonList(ObjectGenerator.generateDriver());
+    final SampleDataset dataset = SampleDataset.of(tasks, drivers);
+    assertEquals("wrapped dataset should hold the given tasks", tasks, new ArrayList<>(dataset.getGeneratedTasks()));
+    assertEquals("wrapped dataset should hold the given drivers", drivers, new ArrayList<>(dataset.getGeneratedDrivers()));
+  }
+
+  @Test
+  public void testSeededGenerationIgnoresThreadCount() {
+    final DatasetSpec spec = DatasetSpec.defaultSpec();
+    final SampleDataset sequential = SampleDataset.generateDataset(spec, 1234L, 1);
+    final SampleDataset parallel = SampleDataset.generateDataset(spec, 1234L, 4);
+
+    final List<Task> sequentialTasks = new ArrayList<>(sequential.getGeneratedTasks());
+    final List<Task> parallelTasks = new ArrayList<>(parallel.getGeneratedTasks());
+    assertEquals("the same seed should give the same tasks on any number of threads", sequentialTasks, parallelTasks);
+    for (int i = 0; i < sequentialTasks.size(); i++) {
+      final Location want = sequentialTasks.get(i).getLocation();
+      final Location got = parallelTasks.get(i).getLocation();
+      assertEquals("the same seed should give the same locations", want.getUuid(), got.getUuid());
+      assertEquals("the same seed should give the same geopoints", want.getGeopoint(), got.getGeopoint());
+    }
+
+    final List<Driver> sequentialDrivers = new ArrayList<>(sequential.getGeneratedDrivers());
+    final List<Driver> parallelDrivers = new ArrayList<>(parallel.getGeneratedDrivers());
+    assertEquals("the same seed should give the same drivers on any number of threads",
+                 sequentialDrivers, parallelDrivers);
+    for (int i = 0; i < sequentialDrivers.size(); i++) {
+      assertEquals("the same seed should give the same driver names",
+                   sequentialDrivers.get(i).getName(), parallelDrivers.get(i).getName());
+    }
+  }
+
+  @Test
+  public void testSeedsGiveDifferentDatasets() {
+    final DatasetSpec spec = DatasetSpec.defaultSpec();
+    assertNotEquals("different seeds should give different tasks",
+                    new ArrayList<>(SampleDataset.generateDataset(spec, 1L).getGeneratedTasks()),
+                    new ArrayList<>(SampleDataset.generateDataset(spec, 2L).getGeneratedTasks()));
+  }
+
+  @Test
+  public void testSeededSpecRepeats() {
+    final DatasetSpec spec = DatasetSpec.defaultSpec().withSeed(77L);
+    final SampleDataset first = SampleDataset.generateDataset(spec);
+    final SampleDataset second = SampleDataset.generateDataset(spec);
+    assertEquals("a seeded spec should always generate the same tasks",
+                 new ArrayList<>(first.getGeneratedTasks()), new ArrayList<>(second.getGeneratedTasks()));
+    assertEquals("a seeded spec should always generate the same drivers",
+                 new ArrayList<>(first.getGeneratedDrivers()), new ArrayList<>(second.getGeneratedDrivers()));
+  }
 }
@@ -0,0 +1,75 @@
+package com.onf.demo.homework.util;
+
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Tests the {@link SplitRandom} generator, and the per-item streams derived from it.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class SplitRandomTest {
+  @Test
+  public void testSameSeedSameSequence() {
+    final SplitRandom first = new SplitRandom(99L);
+    final SplitRandom second = new SplitRandom(99L);
+    for (int i = 0; i < 100; i++) {
+      assertEquals("generators with the same seed should agree", first.nextLong(), second.nextLong());
+    }
+  }
+
+  @Test
+  public void testReseedRestartsSequence() {
+    final SplitRandom random = new SplitRandom(5L);
+    final long firstDraw = random.nextLong();
+    random.nextLong();
+    random.setSeed(5L);
+    assertEquals("re-seeding should restart the sequence", firstDraw, random.nextLong());
+  }
+
+  @Test
+  public void testStreamsDiffer() {
+    assertNotEquals("neighbouring items should get different streams",
+                    SplitRandom.streamSeed(1L, 1, 0L), SplitRandom.streamSeed(1L, 1, 1L));
+    assertNotEquals("different kinds of item should get different streams",
+                    SplitRandom.streamSeed(1L, 1, 0L), SplitRandom.streamSeed(1L, 2, 0L));
+    assertNotEquals("different seeds should give different streams",
+                    SplitRandom.streamSeed(1L, 1, 0L), SplitRandom.streamSeed(2L, 1, 0L));
+  }
+
+  @Test
+  public void testBoundedDraws() {
+    final SplitRandom random = new SplitRandom(3L);
+    for (int i = 0; i < 10000; i++) {
+      final int value = random.nextInt(17);
+      assertTrue("bounded draws should stay within bounds", value >= 0 && value < 17);
+      final double fraction = random.nextDouble();
+      assertTrue("doubles should be in [0, 1)", fraction >= 0.0 && fraction < 1.0);
+    }
+  }
+
+  @Test
+  public void testGaussianDraws() {
+    final SplitRandom random = new SplitRandom(11L);
+    double sum = 0.0;
+    double sumOfSquares = 0.0;
+    final int samples = 50000;
+    for (int i = 0; i < samples; i++) {
+      final double value = random.nextGaussian();
+      sum += value;
+      sumOfSquares += value * value;
+    }
+    assertEquals("gaussian draws should average zero", 0.0, sum / samples, 0.02);
+    assertEquals("gaussian draws should have unit variance", 1.0, sumOfSquares / samples, 0.03);
+
+    random.setSeed(11L);
+    final double first = random.nextGaussian();
+    random.nextGaussian();
+    random.setSeed(11L);
+    assertEquals("re-seeding should restart gaussian draws too", first, random.nextGaussian(), 0.0);
+  }
+}